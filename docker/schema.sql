@@ -30,6 +30,8 @@ student_email VARCHAR(40) NOT NULL,
 student_phone VARCHAR(20) NOT NULL,
 student_password VARCHAR(100) NOT NULL
 );
+DROP SEQUENCE IF EXISTS users_user_id_seq;
+CREATE SEQUENCE users_user_id_seq INCREMENT BY 50;
 DROP TABLE IF EXISTS students_to_courses CASCADE;
 CREATE TABLE students_to_courses(
 student_id INT REFERENCES students(student_id) ON DELETE CASCADE,
@@ -47,6 +49,27 @@ student_id INT REFERENCES students(student_id) ON DELETE CASCADE,
 group_id INT REFERENCES groups(group_id) ON DELETE CASCADE,
 PRIMARY KEY(student_id,group_id)
 );
+DROP TABLE IF EXISTS lesson_series CASCADE;
+CREATE TABLE lesson_series(
+series_id SERIAL PRIMARY KEY,
+series_start TIMESTAMP NOT NULL,
+series_end TIMESTAMP NOT NULL,
+series_until DATE NOT NULL,
+series_interval INT NOT NULL,
+series_online BOOLEAN NOT NULL,
+series_link TEXT,
+series_classroom INT REFERENCES classrooms(classroom_id) ON DELETE CASCADE,
+series_course INT REFERENCES courses(course_id) ON DELETE CASCADE,
+series_teacher INT REFERENCES teachers(teacher_id) ON DELETE CASCADE,
+series_group INT REFERENCES groups(group_id) ON DELETE CASCADE
+);
+DROP TABLE IF EXISTS lesson_series_exceptions CASCADE;
+CREATE TABLE lesson_series_exceptions(
+series_id INT REFERENCES lesson_series(series_id) ON DELETE CASCADE,
+exception_date DATE NOT NULL,
+PRIMARY KEY(series_id, exception_date)
+);
+CREATE EXTENSION IF NOT EXISTS btree_gist;
 DROP TABLE IF EXISTS lessons CASCADE;
 CREATE TABLE lessons(
 lesson_id SERIAL PRIMARY KEY,
@@ -57,8 +80,32 @@ lesson_link TEXT,
 lesson_classroom INT REFERENCES classrooms(classroom_id) ON DELETE CASCADE,
 lesson_course INT REFERENCES courses(course_id) ON DELETE CASCADE,
 lesson_teacher INT REFERENCES teachers(teacher_id) ON DELETE CASCADE,
-lesson_group INT REFERENCES groups(group_id) ON DELETE CASCADE
+lesson_group INT REFERENCES groups(group_id) ON DELETE CASCADE,
+lesson_series INT REFERENCES lesson_series(series_id) ON DELETE SET NULL,
+CONSTRAINT lessons_teacher_overlap EXCLUDE USING gist (lesson_teacher WITH =, tsrange(lesson_start, lesson_end, '[]') WITH &&),
+CONSTRAINT lessons_group_overlap EXCLUDE USING gist (lesson_group WITH =, tsrange(lesson_start, lesson_end, '[]') WITH &&),
+CONSTRAINT lessons_classroom_overlap EXCLUDE USING gist (lesson_classroom WITH =, tsrange(lesson_start, lesson_end, '[]') WITH &&)
+);
+DROP TABLE IF EXISTS lesson_changes CASCADE;
+CREATE TABLE lesson_changes(
+change_id BIGSERIAL PRIMARY KEY,
+change_lesson INT NOT NULL,
+change_type VARCHAR(10) NOT NULL,
+change_time TIMESTAMP NOT NULL,
+change_position BIGINT
+);
+CREATE INDEX lesson_changes_time ON lesson_changes(change_time);
+CREATE UNIQUE INDEX lesson_changes_position ON lesson_changes(change_position);
+ALTER SEQUENCE lesson_changes_change_id_seq INCREMENT BY 50;
+DROP TABLE IF EXISTS reference_changes CASCADE;
+CREATE TABLE reference_changes(
+change_id BIGSERIAL PRIMARY KEY,
+change_reference VARCHAR(10) NOT NULL,
+change_time TIMESTAMP NOT NULL,
+change_position BIGINT
 );
+CREATE UNIQUE INDEX reference_changes_position ON reference_changes(change_position);
+ALTER SEQUENCE reference_changes_change_id_seq INCREMENT BY 50;
 INSERT INTO groups VALUES(1, 'AB-22');
 INSERT INTO groups VALUES(2, 'FR-33');
 INSERT INTO courses VALUES(1, 'Law', 'test-courses');
@@ -86,6 +133,9 @@ INSERT INTO students_to_groups (student_id, group_id) VALUES(3,1);
 INSERT INTO students_to_groups (student_id, group_id) VALUES(4,1);
 INSERT INTO students_to_groups (student_id, group_id) VALUES(5,2);
 INSERT INTO students_to_groups (student_id, group_id) VALUES(6,2);
-INSERT INTO lessons VALUES(1, '2021-10-19 10:00:00', '2021-10-19 12:00:00', false, null, 1,1,1,1); 
-INSERT INTO lessons VALUES(2, '2021-10-19 15:00:00', '2021-10-19 17:00:00', true, 'test-link', 2,2,2,2); 
-INSERT INTO lessons VALUES(3, '2021-10-19 21:00:00', '2021-10-19 22:00:00', true, 'test-link', 2,2,2,2);
\ No newline at end of file
+INSERT INTO lessons VALUES(1, '2021-10-19 10:00:00', '2021-10-19 12:00:00', false, null, 1,1,1,1, null); 
+INSERT INTO lessons VALUES(2, '2021-10-19 15:00:00', '2021-10-19 17:00:00', true, 'test-link', 2,2,2,2, null); 
+INSERT INTO lessons VALUES(3, '2021-10-19 21:00:00', '2021-10-19 22:00:00', true, 'test-link', 2,2,2,2, null);
+SELECT setval('lessons_lesson_id_seq', (SELECT MAX(lesson_id) FROM lessons));
+ALTER SEQUENCE lessons_lesson_id_seq INCREMENT BY 50;
+SELECT setval('users_user_id_seq', GREATEST((SELECT MAX(student_id) FROM students), (SELECT MAX(teacher_id) FROM teachers)));
\ No newline at end of file
@@ -0,0 +1,161 @@
+package org.university.benchmark;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.university.entity.LessonView;
+import org.university.entity.TimetableScope;
+import org.university.utils.PDFDataGenerator;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+
+/**
+ * Compares the streaming PDF rendering of {@link PDFDataGenerator} with the
+ * former rendering, which built the whole table before adding it to the
+ * document, for a week, a semester and a department-wide year of lessons.
+ * Run it with
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec
+ * </pre>
+ *
+ * The GC profiler reports the bytes allocated per rendering
+ * ({@code gc.alloc.rate.norm}) beside the throughput. The forks run on a small
+ * heap, so the buffered rendering of a large timetable shows its retained
+ * table as GC time or an OutOfMemoryError while the streaming one does not.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx128m")
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class PdfRenderingBenchmark {
+
+    private static final String[] HEADER = { "Date", "Start lesson", "End lesson", "Group", "Teacher", "Course",
+            "Classroom", "Lesson link" };
+
+    @Param({ "200", "4000", "40000" })
+    int lessons;
+
+    private final PDFDataGenerator generator = new PDFDataGenerator();
+
+    @Benchmark
+    public long streaming() {
+        CountingOutputStream output = new CountingOutputStream();
+        generator.writeTimetable(output, TimetableScope.ALL, "University", new LessonIterator(lessons));
+        return output.count;
+    }
+
+    @Benchmark
+    public long buffered() {
+        CountingOutputStream output = new CountingOutputStream();
+        Document document = new Document();
+        PdfWriter.getInstance(document, output);
+        document.setPageSize(PageSize.A4);
+        document.open();
+        document.add(new Paragraph("University"));
+        document.add(new Paragraph(" "));
+        PdfPTable table = new PdfPTable(HEADER.length);
+        table.setWidthPercentage(100.0f);
+        Font font = new Font(Font.HELVETICA, 12, Font.BOLDITALIC);
+        for (String title : HEADER) {
+            PdfPCell cell = new PdfPCell(new Phrase(title, font));
+            cell.setHorizontalAlignment(Element.ALIGN_CENTER);
+            table.addCell(cell);
+        }
+        Iterator<LessonView> iterator = new LessonIterator(lessons);
+        while (iterator.hasNext()) {
+            LessonView lesson = iterator.next();
+            table.addCell(lesson.getStartLesson().toLocalDate().toString());
+            table.addCell(lesson.getStartLesson().toLocalTime().toString());
+            table.addCell(lesson.getEndLesson().toLocalTime().toString());
+            table.addCell(lesson.getGroupName());
+            table.addCell(lesson.getTeacherName());
+            table.addCell(lesson.getCourseName());
+            table.addCell(lesson.getClassroomNumber().toString());
+            table.addCell(lesson.getLessonLink());
+        }
+        document.add(table);
+        document.close();
+        return output.count;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().parent(new CommandLineOptions(args))
+                .include(PdfRenderingBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+    }
+
+    /**
+     * Creates the lessons while they are rendered, as the database cursor
+     * does, so that the lessons themselves are not measured.
+     */
+    private static final class LessonIterator implements Iterator<LessonView> {
+
+        private static final LocalDateTime FIRST_LESSON = LocalDateTime.of(2021, 9, 1, 8, 0);
+
+        private final int size;
+        private int next;
+
+        LessonIterator(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public LessonView next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int id = next++;
+            LocalDateTime start = FIRST_LESSON.plusDays(id / 40).plusMinutes(id % 40 * 15);
+            return new LessonView(id, start, start.plusMinutes(90), false, "https://meet.university.org/" + id,
+                    id % 20, "Course " + id % 20, id % 30, "Teacher " + id % 30, "teacher" + id % 30 + "@mail.ru",
+                    id % 40, "GR-" + id % 40, id % 25, "Main building");
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
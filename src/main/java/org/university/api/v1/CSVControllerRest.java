@@ -1,22 +1,45 @@
 package org.university.api.v1;
 
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.server.ResponseStatusException;
 import org.university.dto.GroupDto;
 import org.university.dto.UserDto;
 import org.university.entity.DayTimetable;
+import org.university.entity.TimetableScope;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.InvalidLessonTimeException;
 import org.university.service.DayTimetableService;
+import org.university.service.TimetableExportService;
+import org.university.service.cache.Artifact;
+import org.university.service.cache.ArtifactCache;
+import org.university.service.cache.ArtifactKey;
+import org.university.service.cache.TimetableKey.Period;
+import org.university.service.export.ExportFormat;
+import org.university.service.export.ExportRange;
+import org.university.service.export.TimetableExport;
 import org.university.utils.CSVDataGenerator;
+import org.university.utils.FileLeases.Lease;
+import org.university.utils.FileSender;
 
 import com.opencsv.CSVWriter;
 
@@ -36,33 +59,136 @@ public class CSVControllerRest {
 
     DayTimetableService timetableService;
     CSVDataGenerator csvGenerator;
+    TimetableExportService exportService;
+    ArtifactCache artifactCache;
+    FileSender fileSender;
 
-    @GetMapping("/weekgroup")    
-    public void createWeekGroupTimetableCSV(@RequestBody GroupDto group, HttpServletResponse response) {
-        List<DayTimetable> timetables = timetableService.createWeekGroupTimetable(LocalDate.now(), group.getName());
-        createGroupTimetable(timetables, response, group.getName());        
+    @GetMapping("/weekgroup")
+    public void createWeekGroupTimetableCSV(@RequestBody GroupDto group, HttpServletRequest request,
+            HttpServletResponse response) {
+        LocalDate day = LocalDate.now();
+        sendTimetable(artifactCache.findGroupKey(group.getName(), Period.WEEK, day, ExportFormat.CSV),
+                () -> timetableService.createWeekGroupTimetable(day, group.getName()), TimetableScope.GROUP,
+                group.getName(), request, response);
     }
 
-    @GetMapping("/monthgroup")    
-    public void createMonthGroupTimetableCSV(@RequestBody GroupDto group, HttpServletResponse response) {
-        List<DayTimetable> timetables = timetableService.createMonthGroupTimetable(LocalDate.now(), group.getName());
-        createGroupTimetable(timetables, response, group.getName());
+    @GetMapping("/monthgroup")
+    public void createMonthGroupTimetableCSV(@RequestBody GroupDto group, HttpServletRequest request,
+            HttpServletResponse response) {
+        LocalDate day = LocalDate.now();
+        sendTimetable(artifactCache.findGroupKey(group.getName(), Period.MONTH, day, ExportFormat.CSV),
+                () -> timetableService.createMonthGroupTimetable(day, group.getName()), TimetableScope.GROUP,
+                group.getName(), request, response);
     }
 
-    @GetMapping("/weekteacher")    
-    public void createWeekTeacherTimetableCSV(@RequestBody UserDto teacher,
+    @GetMapping("/weekteacher")
+    public void createWeekTeacherTimetableCSV(@RequestBody UserDto teacher, HttpServletRequest request,
             HttpServletResponse response) {
-        List<DayTimetable> timetables = timetableService.createWeekTeacherTimetable(LocalDate.now(),
-                teacher.getEmail());
-        createTeacherTimetable(timetables, response, teacher.getName());
+        LocalDate day = LocalDate.now();
+        sendTimetable(
+                artifactCache.findTeacherKey(teacher.getEmail(), teacher.getName(), Period.WEEK, day,
+                        ExportFormat.CSV),
+                () -> timetableService.createWeekTeacherTimetable(day, teacher.getEmail()), TimetableScope.TEACHER,
+                teacher.getName(), request, response);
     }
 
-    @GetMapping("/monthteacher")    
-    public void createMonthTeacherTimetableCSV(@RequestBody UserDto teacher,
+    @GetMapping("/monthteacher")
+    public void createMonthTeacherTimetableCSV(@RequestBody UserDto teacher, HttpServletRequest request,
             HttpServletResponse response) {
-        List<DayTimetable> timetables = timetableService.createMonthTeacherTimetable(LocalDate.now(),
-                teacher.getEmail());
-        createTeacherTimetable(timetables, response, teacher.getName());
+        LocalDate day = LocalDate.now();
+        sendTimetable(
+                artifactCache.findTeacherKey(teacher.getEmail(), teacher.getName(), Period.MONTH, day,
+                        ExportFormat.CSV),
+                () -> timetableService.createMonthTeacherTimetable(day, teacher.getEmail()), TimetableScope.TEACHER,
+                teacher.getName(), request, response);
+    }
+
+    @GetMapping("/group/{groupname}")
+    public void exportGroupTimetableCSV(@PathVariable("groupname") String groupName,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+            @RequestParam(value = "semester", required = false) String semester, HttpServletResponse response) {
+        TimetableExport export;
+        try {
+            ExportRange range = ExportRange.of(from, to, semester);
+            export = exportService.findGroupExport(groupName, range.getFrom(), range.getTo());
+        } catch (EntityNotExistException | InvalidLessonTimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        writeExport(export, response);
+    }
+
+    @GetMapping("/teacher/{teacheremail}")
+    public void exportTeacherTimetableCSV(@PathVariable("teacheremail") String teacherEmail,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+            @RequestParam(value = "semester", required = false) String semester, HttpServletResponse response) {
+        TimetableExport export;
+        try {
+            ExportRange range = ExportRange.of(from, to, semester);
+            export = exportService.findTeacherExport(teacherEmail, range.getFrom(), range.getTo());
+        } catch (EntityNotExistException | InvalidLessonTimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        writeExport(export, response);
+    }
+
+    @GetMapping("/all")
+    public void exportUniversityTimetableCSV(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+            @RequestParam(value = "semester", required = false) String semester, HttpServletResponse response) {
+        TimetableExport export;
+        try {
+            ExportRange range = ExportRange.of(from, to, semester);
+            export = exportService.findUniversityExport(range.getFrom(), range.getTo());
+        } catch (InvalidLessonTimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        writeExport(export, response);
+    }
+
+    private void writeExport(TimetableExport export, HttpServletResponse response) {
+        response.setContentType(CSV);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader("Content-Disposition", String.format("attachment; filename=%s timetable.csv",
+                export.getName()));
+        try {
+            exportService.writeCsv(export, response.getWriter());
+        } catch (IOException e) {
+            log.error("File creation failed!");
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "File creation failed!");
+        }
+    }
+
+    private void sendTimetable(Optional<ArtifactKey> key, Supplier<List<DayTimetable>> timetables,
+            TimetableScope scope, String name, HttpServletRequest request, HttpServletResponse response) {
+        if (!key.isPresent()) {
+            if (scope == TimetableScope.GROUP) {
+                createGroupTimetable(timetables.get(), response, name);
+            } else {
+                createTeacherTimetable(timetables.get(), response, name);
+            }
+            return;
+        }
+        try (Lease<Artifact> lease = artifactCache.get(key.get(), output -> {
+            CSVWriter writer = new CSVWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            writer.writeAll(scope == TimetableScope.GROUP ? csvGenerator.generateGroupsData(timetables.get())
+                    : csvGenerator.generateTeachersData(timetables.get()));
+            writer.flush();
+        })) {
+            Artifact artifact = lease.get();
+            if (new ServletWebRequest(request, response).checkNotModified(artifact.getETag())) {
+                return;
+            }
+            response.setContentType(CSV);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.setHeader("Content-Disposition", String.format("attachment; filename=%s timetable.csv", name));
+            fileSender.send(artifact.getFile(), artifact.getSize(), request, response);
+        } catch (IOException e) {
+            log.error("File creation failed!");
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "File creation failed!");
+        }
     }
 
     private void createGroupTimetable(List<DayTimetable> timetables, HttpServletResponse response, String groupName){
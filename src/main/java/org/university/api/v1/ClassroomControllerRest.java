@@ -14,9 +14,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.university.dto.ClassroomDto;
 import org.university.entity.Classroom;
 import org.university.service.ClassroomService;
+import org.university.service.cache.ResourceVersions;
+import org.university.service.event.ReferenceDataChangedEvent.Reference;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -29,9 +32,13 @@ import lombok.experimental.FieldDefaults;
 public class ClassroomControllerRest {
 
     ClassroomService classroomService;
+    ResourceVersions versions;
 
     @GetMapping()
-    public List<Classroom> getAll() {
+    public List<Classroom> getAll(WebRequest request) {
+        if (request.checkNotModified(versions.getListingTag(Reference.CLASSROOM))) {
+            return null;
+        }
         return classroomService.findAllClassrooms();
     }
 
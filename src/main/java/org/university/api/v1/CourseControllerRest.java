@@ -13,9 +13,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.university.dto.CourseDto;
 import org.university.entity.Course;
 import org.university.service.CourseService;
+import org.university.service.cache.ResourceVersions;
+import org.university.service.event.ReferenceDataChangedEvent.Reference;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -28,9 +31,13 @@ import lombok.experimental.FieldDefaults;
 public class CourseControllerRest {
 
     CourseService courseService;
+    ResourceVersions versions;
 
     @GetMapping()
-    public List<Course> getAll() {
+    public List<Course> getAll(WebRequest request) {
+        if (request.checkNotModified(versions.getListingTag(Reference.COURSE))) {
+            return null;
+        }
         return courseService.findAllCourses();
     }
 
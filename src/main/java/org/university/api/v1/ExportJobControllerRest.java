@@ -0,0 +1,135 @@
+package org.university.api.v1;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.LocalDate;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.Valid;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.university.dto.ExportJobDto;
+import org.university.dto.ExportRequestDto;
+import org.university.dto.ExportStatsDto;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.ExportNotReadyException;
+import org.university.exceptions.ExportRejectedException;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.service.ExportJobService;
+import org.university.service.TimetableArchiveService;
+import org.university.service.export.ExportFormat;
+import org.university.service.export.ExportJob;
+import org.university.utils.FileLeases.Lease;
+import org.university.utils.FileSender;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/v1/exports")
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+@Slf4j
+public class ExportJobControllerRest {
+
+    private static final String ZIP = "application/zip";
+
+    ExportJobService jobService;
+    FileSender fileSender;
+    TimetableArchiveService archiveService;
+
+    @PostMapping()
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ExportJobDto submitExport(@Valid @RequestBody ExportRequestDto exportRequest, Principal principal,
+            HttpServletResponse response) {
+        ExportJobDto job;
+        try {
+            job = jobService.submit(exportRequest, ownerOf(principal));
+        } catch (EntityNotExistException | InvalidLessonTimeException | IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (ExportRejectedException e) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+        }
+        response.setHeader(HttpHeaders.LOCATION, "/api/v1/exports/" + job.getId());
+        return job;
+    }
+
+    @GetMapping("/stats")
+    public ExportStatsDto getStats() {
+        return jobService.getStats();
+    }
+
+    @GetMapping("/archive")
+    public void downloadArchive(@RequestParam("format") ExportFormat format,
+            @RequestParam("from") @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = ISO.DATE) LocalDate to, HttpServletResponse response) {
+        response.setContentType(ZIP);
+        response.setHeader("Content-Disposition", String.format("attachment; filename=timetables %s %s.zip", from,
+                to));
+        try {
+            archiveService.writeArchive(format, from, to, response.getOutputStream());
+        } catch (InvalidLessonTimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IOException e) {
+            log.error("Archive creation failed!");
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Archive creation failed!");
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ExportJobDto getExport(@PathVariable("id") String id, Principal principal) {
+        try {
+            return jobService.findJob(id, ownerOf(principal));
+        } catch (EntityNotExistException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}/file")
+    public void downloadExport(@PathVariable("id") String id, Principal principal, HttpServletRequest request,
+            HttpServletResponse response) {
+        Lease<ExportJob> lease;
+        try {
+            lease = jobService.findFinishedJob(id, ownerOf(principal));
+        } catch (EntityNotExistException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (ExportNotReadyException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+        try (Lease<ExportJob> held = lease) {
+            ExportJob job = held.get();
+            response.setContentType(job.getFormat().getContentType());
+            response.setHeader("Content-Disposition", String.format("attachment; filename=%s", job.getFileName()));
+            fileSender.send(job.getFile(), job.getSize(), request, response);
+        } catch (IOException e) {
+            log.error("File download failed!");
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "File download failed!");
+        }
+    }
+
+    /**
+     * Jobs are counted and looked up per user, so an export is never run on
+     * behalf of no one.
+     */
+    private static String ownerOf(Principal principal) {
+        if (principal == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        return principal.getName();
+    }
+}
@@ -0,0 +1,39 @@
+package org.university.api.v1;
+
+import java.util.List;
+
+import javax.validation.Valid;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.university.dto.FreeSlotDto;
+import org.university.dto.FreeSlotQueryDto;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.service.FreeSlotService;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@RestController
+@RequestMapping("/api/v1/timetables/freeslots")
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class FreeSlotControllerRest {
+
+    FreeSlotService freeSlotService;
+
+    @GetMapping()
+    public List<FreeSlotDto> findFreeSlots(@Valid @RequestBody FreeSlotQueryDto query) {
+        try {
+            return freeSlotService.findFreeSlots(query);
+        } catch (InvalidLessonTimeException | EntityNotExistException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -13,12 +13,15 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 import org.university.dto.GroupDto;
 import org.university.dto.StudentDto;
 import org.university.entity.Group;
 import org.university.exceptions.EntityAlreadyExistException;
 import org.university.service.GroupService;
+import org.university.service.cache.ResourceVersions;
+import org.university.service.event.ReferenceDataChangedEvent.Reference;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -31,9 +34,13 @@ import lombok.experimental.FieldDefaults;
 public class GroupControllerRest {
 
     GroupService groupService;
+    ResourceVersions versions;
 
     @GetMapping()
-    public List<Group> getAll() {
+    public List<Group> getAll(WebRequest request) {
+        if (request.checkNotModified(versions.getListingTag(Reference.GROUP))) {
+            return null;
+        }
         return groupService.findAllGroups();
     }
 
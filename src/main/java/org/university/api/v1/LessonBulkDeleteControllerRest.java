@@ -0,0 +1,35 @@
+package org.university.api.v1;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.university.dto.BulkDeleteReportDto;
+import org.university.dto.LessonBulkDeleteDto;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.service.LessonBulkDeleteService;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@RestController
+@RequestMapping("/api/v1/timetables/lessons")
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class LessonBulkDeleteControllerRest {
+
+    LessonBulkDeleteService bulkDeleteService;
+
+    @DeleteMapping()
+    public BulkDeleteReportDto deleteLessons(@RequestBody LessonBulkDeleteDto criteria) {
+        try {
+            return bulkDeleteService.deleteLessons(criteria);
+        } catch (InvalidLessonTimeException | EntityNotExistException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
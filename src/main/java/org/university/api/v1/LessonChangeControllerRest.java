@@ -0,0 +1,33 @@
+package org.university.api.v1;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.university.dto.LessonChangesDto;
+import org.university.exceptions.InvalidTokenException;
+import org.university.service.LessonChangeService;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@RestController
+@RequestMapping("/api/v1/timetables/changes")
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class LessonChangeControllerRest {
+
+    LessonChangeService changeService;
+
+    @GetMapping()
+    public LessonChangesDto getChanges(@RequestParam(required = false) Long since) {
+        try {
+            return changeService.findChangesSince(since);
+        } catch (InvalidTokenException e) {
+            throw new ResponseStatusException(HttpStatus.GONE, e.getMessage());
+        }
+    }
+}
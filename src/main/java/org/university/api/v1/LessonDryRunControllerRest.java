@@ -0,0 +1,29 @@
+package org.university.api.v1;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.university.dto.DryRunReportDto;
+import org.university.dto.LessonChangeDto;
+import org.university.service.LessonDryRunService;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@RestController
+@RequestMapping("/api/v1/timetables/dryrun")
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class LessonDryRunControllerRest {
+
+    LessonDryRunService dryRunService;
+
+    @PostMapping()
+    public DryRunReportDto validate(@RequestBody List<LessonChangeDto> changes) {
+        return dryRunService.validate(changes);
+    }
+}
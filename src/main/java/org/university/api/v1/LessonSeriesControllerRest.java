@@ -0,0 +1,54 @@
+package org.university.api.v1;
+
+import javax.validation.Valid;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.university.dto.LessonSeriesDto;
+import org.university.entity.LessonSeries;
+import org.university.exceptions.ClassroomBusyException;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.InvalidClassroomCapacityException;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.exceptions.InvalidLinkException;
+import org.university.service.LessonSeriesService;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@RestController
+@RequestMapping("/api/v1/timetables/series")
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class LessonSeriesControllerRest {
+
+    LessonSeriesService seriesService;
+
+    @PostMapping()
+    @ResponseStatus(HttpStatus.CREATED)
+    public LessonSeries addSeries(@Valid @RequestBody LessonSeriesDto series) {
+        try {
+            return seriesService.addSeries(series);
+        } catch (InvalidLessonTimeException | InvalidClassroomCapacityException | ClassroomBusyException
+                | InvalidLinkException | EntityNotExistException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @PatchMapping()
+    public void editSeries(@Valid @RequestBody LessonSeriesDto series) {
+        try {
+            seriesService.editSeries(series);
+        } catch (InvalidLessonTimeException | InvalidClassroomCapacityException | ClassroomBusyException
+                | InvalidLinkException | EntityNotExistException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
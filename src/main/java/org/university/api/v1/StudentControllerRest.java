@@ -1,10 +1,14 @@
 package org.university.api.v1;
 
+import java.io.InputStream;
+import java.io.Reader;
 import java.util.List;
+import java.util.Locale;
 
 import javax.validation.Valid;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -16,6 +20,7 @@ import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import org.university.dto.ImportReportDto;
 import org.university.dto.StudentDto;
 import org.university.entity.Course;
 import org.university.entity.Student;
@@ -25,6 +30,9 @@ import org.university.exceptions.InvalidPhotoException;
 import org.university.service.CourseService;
 import org.university.service.PhotoService;
 import org.university.service.StudentService;
+import org.university.service.UserImportService;
+import org.university.utils.CSVDataReader;
+import org.university.utils.JSONDataReader;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -39,6 +47,9 @@ public class StudentControllerRest {
     StudentService studentService;
     CourseService courseService;
     PhotoService photoService;
+    UserImportService importService;
+    CSVDataReader csvReader;
+    JSONDataReader jsonReader;
 
     @GetMapping(params = { "page", "size" })
     public List<Student> getStudents(@RequestParam("page") int page, @RequestParam("size") int size) {
@@ -88,6 +99,24 @@ public class StudentControllerRest {
         }
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ImportReportDto importStudents(InputStream json, Locale locale) {
+        try {
+            return importService.importStudents(jsonReader.readUsers(json), locale);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ImportReportDto importStudentsCsv(Reader csv, Locale locale) {
+        try {
+            return importService.importStudents(csvReader.readUsers(csv), locale);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     private int getLastPage(int size) {
         if ((studentService.findAll().size() % size) != 0) {
             return studentService.findAll().size() / size;
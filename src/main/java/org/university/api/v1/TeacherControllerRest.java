@@ -1,10 +1,14 @@
 package org.university.api.v1;
 
+import java.io.InputStream;
+import java.io.Reader;
 import java.util.List;
+import java.util.Locale;
 
 import javax.validation.Valid;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,6 +19,7 @@ import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import org.university.dto.ImportReportDto;
 import org.university.dto.UserDto;
 import org.university.entity.Teacher;
 import org.university.exceptions.AuthorisationFailException;
@@ -22,6 +27,9 @@ import org.university.exceptions.EmailExistException;
 import org.university.exceptions.InvalidPhotoException;
 import org.university.service.PhotoService;
 import org.university.service.TeacherService;
+import org.university.service.UserImportService;
+import org.university.utils.CSVDataReader;
+import org.university.utils.JSONDataReader;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -35,6 +43,9 @@ public class TeacherControllerRest {
 
     TeacherService teacherService;
     PhotoService photoService;
+    UserImportService importService;
+    CSVDataReader csvReader;
+    JSONDataReader jsonReader;
 
     @GetMapping(params = { "page", "size" })
     public List<Teacher> getTeachers(@RequestParam("page") int page, @RequestParam("size") int size) {
@@ -72,6 +83,24 @@ public class TeacherControllerRest {
         }
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ImportReportDto importTeachers(InputStream json, Locale locale) {
+        try {
+            return importService.importTeachers(jsonReader.readUsers(json), locale);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ImportReportDto importTeachersCsv(Reader csv, Locale locale) {
+        try {
+            return importService.importTeachers(csvReader.readUsers(csv), locale);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     private int getLastPage(int size) {
         if ((teacherService.findAll().size() % size) != 0) {
             return teacherService.findAll().size() / size;
@@ -0,0 +1,25 @@
+package org.university.api.v1;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.university.dto.CacheStatsDto;
+import org.university.service.cache.TimetableCache;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@RestController
+@RequestMapping("/api/v1/timetables/cache")
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class TimetableCacheControllerRest {
+
+    TimetableCache cache;
+
+    @GetMapping()
+    public CacheStatsDto getStats() {
+        return cache.getStats();
+    }
+}
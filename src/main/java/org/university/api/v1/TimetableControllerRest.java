@@ -1,11 +1,16 @@
 package org.university.api.v1;
 
+import java.io.Reader;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 import javax.validation.Valid;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -13,18 +18,27 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 import org.university.dto.DayTimetableDto;
+import org.university.dto.ImportReportDto;
 import org.university.dto.LessonDto;
 import org.university.entity.DayTimetable;
+import org.university.entity.TimetableScope;
 import org.university.exceptions.ClassroomBusyException;
+import org.university.exceptions.EntityNotExistException;
 import org.university.exceptions.InvalidClassroomCapacityException;
 import org.university.exceptions.InvalidLessonTimeException;
 import org.university.exceptions.InvalidLinkException;
 import org.university.service.DayTimetableService;
+import org.university.service.LessonImportService;
 import org.university.service.LessonService;
+import org.university.service.cache.ResourceVersions;
+import org.university.service.cache.TimetableKey.Period;
+import org.university.utils.CSVDataReader;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -38,6 +52,9 @@ public class TimetableControllerRest {
 
     DayTimetableService timetableService;
     LessonService lessonService;
+    LessonImportService importService;
+    CSVDataReader csvReader;
+    ResourceVersions versions;
 
     @GetMapping()
     public DayTimetable getTimetable() {
@@ -61,13 +78,25 @@ public class TimetableControllerRest {
     }
 
     @GetMapping("/weekgroup/{groupname}")
-    public List<DayTimetable> createWeekGroupTimetable(@PathVariable("groupname") String groupName) {
-        return timetableService.createWeekGroupTimetable(LocalDate.now(), groupName);
+    public List<DayTimetable> createWeekGroupTimetable(@PathVariable("groupname") String groupName,
+            @RequestParam(value = "date", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate date,
+            WebRequest request) {
+        LocalDate day = date == null ? LocalDate.now() : date;
+        if (isNotModified(versions.getGroupTimetableTag(groupName, Period.WEEK, day), request)) {
+            return null;
+        }
+        return timetableService.createWeekGroupTimetable(day, groupName);
     }
 
     @GetMapping("/monthgroup/{groupname}")
-    public List<DayTimetable> createMonthGroupTimetable(@PathVariable("groupname") String groupName) {
-        return timetableService.createMonthGroupTimetable(LocalDate.now(), groupName);
+    public List<DayTimetable> createMonthGroupTimetable(@PathVariable("groupname") String groupName,
+            @RequestParam(value = "date", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate date,
+            WebRequest request) {
+        LocalDate day = date == null ? LocalDate.now() : date;
+        if (isNotModified(versions.getGroupTimetableTag(groupName, Period.MONTH, day), request)) {
+            return null;
+        }
+        return timetableService.createMonthGroupTimetable(day, groupName);
     }
 
     @GetMapping("/teacher")
@@ -80,13 +109,37 @@ public class TimetableControllerRest {
     }
 
     @GetMapping("/weekteacher/{teacheremail}")
-    public List<DayTimetable> createWeekTeacherTimetable(@PathVariable("teacheremail") String teacherEmail) {
-        return timetableService.createWeekTeacherTimetable(LocalDate.now(), teacherEmail);
+    public List<DayTimetable> createWeekTeacherTimetable(@PathVariable("teacheremail") String teacherEmail,
+            @RequestParam(value = "date", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate date,
+            WebRequest request) {
+        LocalDate day = date == null ? LocalDate.now() : date;
+        if (isNotModified(versions.getTeacherTimetableTag(teacherEmail, Period.WEEK, day), request)) {
+            return null;
+        }
+        return timetableService.createWeekTeacherTimetable(day, teacherEmail);
     }
 
     @GetMapping("/monthteacher/{teacheremail}")
-    public List<DayTimetable> createMonthTeacherTimetable(@PathVariable("teacheremail") String teacherEmail) {
-        return timetableService.createMonthTeacherTimetable(LocalDate.now(), teacherEmail);
+    public List<DayTimetable> createMonthTeacherTimetable(@PathVariable("teacheremail") String teacherEmail,
+            @RequestParam(value = "date", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate date,
+            WebRequest request) {
+        LocalDate day = date == null ? LocalDate.now() : date;
+        if (isNotModified(versions.getTeacherTimetableTag(teacherEmail, Period.MONTH, day), request)) {
+            return null;
+        }
+        return timetableService.createMonthTeacherTimetable(day, teacherEmail);
+    }
+
+    @GetMapping("/range")
+    public List<DayTimetable> createTimetable(@RequestParam("scope") TimetableScope scope,
+            @RequestParam(value = "id", required = false) Integer id,
+            @RequestParam("from") @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = ISO.DATE) LocalDate to) {
+        try {
+            return timetableService.createTimetable(scope, id, from, to);
+        } catch (InvalidLessonTimeException | EntityNotExistException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 
     @PostMapping()
@@ -100,6 +153,20 @@ public class TimetableControllerRest {
         }
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ImportReportDto importLessons(@RequestBody List<LessonDto> lessons) {
+        return importService.importLessons(lessons);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ImportReportDto importLessonsCsv(Reader csv) {
+        try {
+            return importService.importLessons(csvReader.readLessons(csv));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     @DeleteMapping("/{id}")
     public void deleteLesson(@PathVariable("id") int id) {
         LessonDto lesson = new LessonDto();
@@ -116,4 +183,8 @@ public class TimetableControllerRest {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
     }
+
+    private static boolean isNotModified(Optional<String> tag, WebRequest request) {
+        return tag.isPresent() && request.checkNotModified(tag.get());
+    }
 }
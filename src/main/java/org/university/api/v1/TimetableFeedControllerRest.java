@@ -0,0 +1,83 @@
+package org.university.api.v1;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.service.TimetableFeedService;
+import org.university.service.feed.TimetableFeed;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/v1/ics")
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+@Slf4j
+public class TimetableFeedControllerRest {
+
+    private static final String ICS = "text/calendar";
+
+    TimetableFeedService feedService;
+
+    @GetMapping("/group/{groupname}")
+    public void getGroupFeed(@PathVariable("groupname") String groupName,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+            WebRequest request, HttpServletResponse response) {
+        TimetableFeed feed;
+        try {
+            feed = feedService.findGroupFeed(groupName, from, to);
+        } catch (EntityNotExistException | InvalidLessonTimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        writeFeed(feed, request, response);
+    }
+
+    @GetMapping("/teacher/{teacheremail}")
+    public void getTeacherFeed(@PathVariable("teacheremail") String teacherEmail,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+            WebRequest request, HttpServletResponse response) {
+        TimetableFeed feed;
+        try {
+            feed = feedService.findTeacherFeed(teacherEmail, from, to);
+        } catch (EntityNotExistException | InvalidLessonTimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        writeFeed(feed, request, response);
+    }
+
+    private void writeFeed(TimetableFeed feed, WebRequest request, HttpServletResponse response) {
+        if (request.checkNotModified(feed.getTag())) {
+            return;
+        }
+        response.setContentType(ICS);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader("Content-Disposition", String.format("inline; filename=%s timetable.ics",
+                feed.getName()));
+        try {
+            feedService.writeFeed(feed, response.getWriter());
+        } catch (IOException e) {
+            log.error("Feed writing failed!");
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Feed writing failed!");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.university.api.v1;
+
+import javax.validation.Valid;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.university.dto.TimetableGenerationDto;
+import org.university.dto.TimetableGenerationReportDto;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.service.TimetableGeneratorService;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@RestController
+@RequestMapping("/api/v1/timetables/generate")
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class TimetableGeneratorControllerRest {
+
+    TimetableGeneratorService generatorService;
+
+    @PostMapping()
+    public TimetableGenerationReportDto generate(@Valid @RequestBody TimetableGenerationDto generation) {
+        try {
+            return generatorService.generate(generation);
+        } catch (InvalidLessonTimeException | EntityNotExistException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
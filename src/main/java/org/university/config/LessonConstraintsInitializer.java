@@ -0,0 +1,54 @@
+package org.university.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Adds the lesson overlap constraints once the application has started. The
+ * script cannot run with the other {@code spring.sql.init} scripts: those run
+ * before Hibernate creates the tables, so on a fresh database there would be
+ * no lessons table to constrain yet.
+ */
+@Component
+@Slf4j
+public class LessonConstraintsInitializer implements ApplicationRunner {
+
+    private final DataSource dataSource;
+    private final Resource script;
+    private final String separator;
+
+    public LessonConstraintsInitializer(DataSource dataSource,
+            @Value("${timetable.lessons.constraints-script:classpath:lessonsOverlapConstraints.sql}") Resource script,
+            @Value("${spring.sql.init.separator:;}") String separator) {
+        this.dataSource = dataSource;
+        this.script = script;
+        this.separator = separator;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            ScriptUtils.executeSqlScript(connection, new EncodedResource(script), false, false,
+                    ScriptUtils.DEFAULT_COMMENT_PREFIX, separator,
+                    ScriptUtils.DEFAULT_BLOCK_COMMENT_START_DELIMITER,
+                    ScriptUtils.DEFAULT_BLOCK_COMMENT_END_DELIMITER);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        log.info("Lesson overlap constraints applied from {}", script.getDescription());
+    }
+}
@@ -45,6 +45,9 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
         .antMatchers("/teachers/edit").hasAnyAuthority(TEACHER, ADMIN)
         .antMatchers("/timetables/new").hasAnyAuthority(TEACHER, ADMIN)
         .antMatchers("/timetables/edit").hasAnyAuthority(TEACHER, ADMIN)
+        .antMatchers("/api/v1/exports/archive").hasAuthority(ADMIN)
+        .antMatchers("/api/v1/exports/**").hasAnyAuthority(TEACHER, ADMIN, STUDENT)
+        .antMatchers("/api/v1/students/import", "/api/v1/teachers/import").hasAuthority(ADMIN)
         .antMatchers(HttpMethod.DELETE, "/**").hasAuthority(ADMIN)
         .antMatchers(HttpMethod.POST, "/students").permitAll()
         .antMatchers(HttpMethod.GET,"/").permitAll()
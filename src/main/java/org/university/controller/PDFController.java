@@ -1,20 +1,42 @@
 package org.university.controller;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
 import org.university.dto.GroupDto;
 import org.university.dto.UserDto;
 import org.university.entity.DayTimetable;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.InvalidLessonTimeException;
 import org.university.service.DayTimetableService;
+import org.university.service.TimetableExportService;
+import org.university.service.cache.Artifact;
+import org.university.service.cache.ArtifactCache;
+import org.university.service.cache.ArtifactKey;
+import org.university.service.cache.TimetableKey.Period;
+import org.university.service.export.ExportFormat;
+import org.university.service.export.ExportRange;
+import org.university.service.export.TimetableExport;
+import org.university.utils.FileLeases.Lease;
+import org.university.utils.FileSender;
 import org.university.utils.PDFDataGenerator;
 
 import lombok.AccessLevel;
@@ -33,46 +55,141 @@ public class PDFController {
 
     DayTimetableService timetableService;
     PDFDataGenerator pdfGenerator;
+    TimetableExportService exportService;
+    ArtifactCache artifactCache;
+    FileSender fileSender;
 
     @PostMapping("/weekgroup")
-    public void createWeekGroupTimetablePDF(@ModelAttribute("group") GroupDto group, HttpServletResponse response) {
-        List<DayTimetable> timetables = timetableService.createWeekGroupTimetable(LocalDate.now(), group.getName());
-        createTimetable(timetables, response, group);
+    public void createWeekGroupTimetablePDF(@ModelAttribute("group") GroupDto group, HttpServletRequest request,
+            HttpServletResponse response) {
+        LocalDate day = LocalDate.now();
+        sendTimetable(artifactCache.findGroupKey(group.getName(), Period.WEEK, day, ExportFormat.PDF),
+                () -> timetableService.createWeekGroupTimetable(day, group.getName()), group, request, response);
     }
 
     @PostMapping("/monthgroup")
-    public void createMonthGroupTimetablePDF(@ModelAttribute("group") GroupDto group, HttpServletResponse response) {
-        List<DayTimetable> timetables = timetableService.createMonthGroupTimetable(LocalDate.now(), group.getName());
-        createTimetable(timetables, response, group);
+    public void createMonthGroupTimetablePDF(@ModelAttribute("group") GroupDto group, HttpServletRequest request,
+            HttpServletResponse response) {
+        LocalDate day = LocalDate.now();
+        sendTimetable(artifactCache.findGroupKey(group.getName(), Period.MONTH, day, ExportFormat.PDF),
+                () -> timetableService.createMonthGroupTimetable(day, group.getName()), group, request, response);
     }
 
     @PostMapping("/weekteacher")
     public void createWeekTeacherTimetablePDF(@ModelAttribute("teacher") UserDto teacher,
-            HttpServletResponse response) {
-        List<DayTimetable> timetables = timetableService.createWeekTeacherTimetable(LocalDate.now(),
-                teacher.getEmail());
-        createTimetable(timetables, response, teacher);
+            HttpServletRequest request, HttpServletResponse response) {
+        LocalDate day = LocalDate.now();
+        sendTimetable(
+                artifactCache.findTeacherKey(teacher.getEmail(), teacher.getName(), Period.WEEK, day,
+                        ExportFormat.PDF),
+                () -> timetableService.createWeekTeacherTimetable(day, teacher.getEmail()), teacher, request,
+                response);
     }
 
     @PostMapping("/monthteacher")
     public void createMonthTeacherTimetablePDF(@ModelAttribute("teacher") UserDto teacher,
-            HttpServletResponse response) {
-        List<DayTimetable> timetables = timetableService.createMonthTeacherTimetable(LocalDate.now(),
-                teacher.getEmail());
-        createTimetable(timetables, response, teacher);
+            HttpServletRequest request, HttpServletResponse response) {
+        LocalDate day = LocalDate.now();
+        sendTimetable(
+                artifactCache.findTeacherKey(teacher.getEmail(), teacher.getName(), Period.MONTH, day,
+                        ExportFormat.PDF),
+                () -> timetableService.createMonthTeacherTimetable(day, teacher.getEmail()), teacher, request,
+                response);
+    }
+
+    @PostMapping("/group")
+    public void exportGroupTimetablePDF(@ModelAttribute("group") GroupDto group,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+            @RequestParam(value = "semester", required = false) String semester, HttpServletResponse response) {
+        TimetableExport export;
+        try {
+            ExportRange range = ExportRange.of(from, to, semester);
+            export = exportService.findGroupExport(group.getName(), range.getFrom(), range.getTo());
+        } catch (EntityNotExistException | InvalidLessonTimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        writeExport(export, response);
+    }
+
+    @PostMapping("/teacher")
+    public void exportTeacherTimetablePDF(@ModelAttribute("teacher") UserDto teacher,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+            @RequestParam(value = "semester", required = false) String semester, HttpServletResponse response) {
+        TimetableExport export;
+        try {
+            ExportRange range = ExportRange.of(from, to, semester);
+            export = exportService.findTeacherExport(teacher.getEmail(), range.getFrom(), range.getTo());
+        } catch (EntityNotExistException | InvalidLessonTimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        writeExport(export, response);
+    }
+
+    @PostMapping("/all")
+    public void exportUniversityTimetablePDF(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+            @RequestParam(value = "semester", required = false) String semester, HttpServletResponse response) {
+        TimetableExport export;
+        try {
+            ExportRange range = ExportRange.of(from, to, semester);
+            export = exportService.findUniversityExport(range.getFrom(), range.getTo());
+        } catch (InvalidLessonTimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        writeExport(export, response);
+    }
+
+    private void writeExport(TimetableExport export, HttpServletResponse response) {
+        response.setHeader("X-Frame-Options", "");
+        response.setContentType(PDF);
+        response.setHeader("Content-Disposition", String.format("attachment; filename=%s timetable.pdf",
+                export.getName()));
+        try {
+            exportService.writePdf(export, response.getOutputStream());
+        } catch (IOException e) {
+            log.error("File creation failed!");
+        }
+    }
+
+    private void sendTimetable(Optional<ArtifactKey> key, Supplier<List<DayTimetable>> timetables, Object entity,
+            HttpServletRequest request, HttpServletResponse response) {
+        if (!key.isPresent()) {
+            createTimetable(timetables.get(), response, entity);
+            return;
+        }
+        try (Lease<Artifact> lease = artifactCache.get(key.get(),
+                output -> writeTimetable(output, timetables.get(), entity))) {
+            Artifact artifact = lease.get();
+            if (new ServletWebRequest(request, response).checkNotModified(artifact.getETag())) {
+                return;
+            }
+            response.setHeader("X-Frame-Options", "");
+            response.setContentType(PDF);
+            fileSender.send(artifact.getFile(), artifact.getSize(), request, response);
+        } catch (IOException e) {
+            log.error("File creation failed!");
+        }
     }
 
     private void createTimetable(List<DayTimetable> timetables, HttpServletResponse response, Object entity) {
         try (ServletOutputStream output = response.getOutputStream()) {
             response.setHeader("X-Frame-Options", "");
             response.setContentType(PDF);
-            if (entity.getClass().equals(GroupDto.class)) {
-                pdfGenerator.generateGroupTimetable(output, timetables, ((GroupDto) entity).getName());
-            } else {
-                pdfGenerator.generateTeacherTimetable(output, timetables, ((UserDto) entity).getName());
-            }
+            writeTimetable(output, timetables, entity);
         } catch (IOException e) {
             log.error("File creation failed!");
         }
     }
+
+    private void writeTimetable(OutputStream output, List<DayTimetable> timetables, Object entity)
+            throws IOException {
+        if (entity.getClass().equals(GroupDto.class)) {
+            pdfGenerator.generateGroupTimetable(output, timetables, ((GroupDto) entity).getName());
+        } else {
+            pdfGenerator.generateTeacherTimetable(output, timetables, ((UserDto) entity).getName());
+        }
+    }
 }
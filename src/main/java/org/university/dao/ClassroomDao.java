@@ -1,13 +1,24 @@
 package org.university.dao;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 import org.university.entity.Classroom;
+import org.university.entity.ReferenceId;
 
 @Repository
 public interface ClassroomDao extends CrudRepository<Classroom, Integer> {
 
     Optional<Classroom> findByNumber(Integer number);
+
+    List<Classroom> findAllByNumberIn(Collection<Integer> numbers);
+
+    List<Classroom> findAllByCapacityGreaterThanEqualOrderByCapacityAscNumberAsc(int capacity);
+
+    @Query("SELECT new org.university.entity.ReferenceId(r.number, r.id) FROM Classroom r")
+    List<ReferenceId> findAllReferenceIds();
 }
@@ -1,13 +1,22 @@
 package org.university.dao;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 import org.university.entity.Course;
+import org.university.entity.ReferenceId;
 
 @Repository
 public interface CourseDao extends CrudRepository<Course, Integer> {
     
     Optional<Course> findByName(String name);
+
+    List<Course> findAllByNameIn(Collection<String> names);
+
+    @Query("SELECT new org.university.entity.ReferenceId(c.name, c.id) FROM Course c")
+    List<ReferenceId> findAllReferenceIds();
 }
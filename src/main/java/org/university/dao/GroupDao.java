@@ -1,13 +1,24 @@
 package org.university.dao;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.university.entity.Group;
+import org.university.entity.ReferenceId;
 
 @Repository
 public interface GroupDao extends JpaRepository<Group, Integer> {
 
     Optional<Group> findByName(String name);
+
+    @EntityGraph(attributePaths = "students")
+    List<Group> findAllByNameIn(Collection<String> names);
+
+    @Query("SELECT new org.university.entity.ReferenceId(g.name, g.id) FROM Group g")
+    List<ReferenceId> findAllReferenceIds();
 }
@@ -0,0 +1,43 @@
+package org.university.dao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.university.entity.LessonChange;
+
+@Repository
+public interface LessonChangeDao extends JpaRepository<LessonChange, Long> {
+
+    @Query("SELECT c FROM LessonChange c WHERE c.position > :since ORDER BY c.position")
+    List<LessonChange> findAllSealedAfter(@Param("since") long since, Pageable pageable);
+
+    @Query("SELECT MIN(c.position) FROM LessonChange c")
+    Long findFirstPosition();
+
+    @Query("SELECT MAX(c.position) FROM LessonChange c")
+    Long findLastPosition();
+
+    @Query("SELECT MIN(c.id) FROM LessonChange c WHERE c.position IS NULL")
+    Long findFirstUnsealedId();
+
+    /**
+     * Holds a transaction scoped lock that keeps sealers on other nodes out
+     * until this transaction ends.
+     */
+    @Query(value = "SELECT CAST(pg_advisory_xact_lock(:key) AS VARCHAR)", nativeQuery = true)
+    String lockForSealing(@Param("key") long key);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE LessonChange c SET c.position = c.id + :offset WHERE c.position IS NULL AND c.id >= :firstId")
+    int sealFrom(@Param("firstId") long firstId, @Param("offset") long offset);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM LessonChange c WHERE c.changedAt < :before AND c.position < :lastPosition")
+    int deleteAllOlderThan(@Param("before") LocalDateTime before, @Param("lastPosition") long lastPosition);
+}
@@ -1,12 +1,26 @@
 package org.university.dao;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.university.entity.Classroom;
+import org.university.entity.Course;
+import org.university.entity.Group;
 import org.university.entity.Lesson;
+import org.university.entity.LessonSlot;
+import org.university.entity.LessonView;
+import org.university.entity.Teacher;
 
 @Repository
 public interface LessonDao extends JpaRepository<Lesson, Integer> {
@@ -15,7 +29,100 @@ public interface LessonDao extends JpaRepository<Lesson, Integer> {
     
     List<Lesson> findAllByStartLessonBetweenAndGroupIdOrderByStartLesson(LocalDateTime startLesson, LocalDateTime endLesson, int groupId);
 
+    String LESSON_VIEW_SELECT = "SELECT new org.university.entity.LessonView(l.id, l.startLesson, l.endLesson, "
+            + "l.onlineLesson, l.lessonLink, c.id, c.name, t.id, t.name, t.email, g.id, g.name, r.number, r.address) "
+            + "FROM Lesson l JOIN l.course c JOIN l.teacher t JOIN l.group g JOIN l.classroom r ";
+
+    @Query(LESSON_VIEW_SELECT + "ORDER BY l.startLesson")
+    List<LessonView> findAllViews();
+
+    @Query(LESSON_VIEW_SELECT + "WHERE l.id IN :ids")
+    List<LessonView> findAllViewsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query(LESSON_VIEW_SELECT + "WHERE c.id = :courseId OR t.id = :teacherId OR g.id = :groupId "
+            + "OR r.id = :classroomId")
+    List<LessonView> findAllViewsReferencing(@Param("courseId") Integer courseId,
+            @Param("teacherId") Integer teacherId, @Param("groupId") Integer groupId,
+            @Param("classroomId") Integer classroomId);
+
+    @Query(LESSON_VIEW_SELECT + "WHERE l.startLesson BETWEEN :from AND :to ORDER BY l.startLesson")
+    List<LessonView> findAllViewsBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query(LESSON_VIEW_SELECT + "WHERE l.startLesson BETWEEN :from AND :to AND t.id = :teacherId "
+            + "ORDER BY l.startLesson")
+    List<LessonView> findAllViewsOfTeacherBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+            @Param("teacherId") int teacherId);
+
+    @Query(LESSON_VIEW_SELECT + "WHERE l.startLesson BETWEEN :from AND :to AND g.id = :groupId "
+            + "ORDER BY l.startLesson")
+    List<LessonView> findAllViewsOfGroupBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+            @Param("groupId") int groupId);
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "200"))
+    @Query(LESSON_VIEW_SELECT + "WHERE l.startLesson BETWEEN :from AND :to ORDER BY l.startLesson, g.name")
+    Stream<LessonView> streamViewsBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "200"))
+    @Query(LESSON_VIEW_SELECT + "WHERE l.startLesson BETWEEN :from AND :to AND t.id = :teacherId "
+            + "ORDER BY l.startLesson")
+    Stream<LessonView> streamViewsOfTeacherBetween(@Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to, @Param("teacherId") int teacherId);
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "200"))
+    @Query(LESSON_VIEW_SELECT + "WHERE l.startLesson BETWEEN :from AND :to AND g.id = :groupId "
+            + "ORDER BY l.startLesson")
+    Stream<LessonView> streamViewsOfGroupBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+            @Param("groupId") int groupId);
+
     Optional<Lesson> findByStartLessonAndTeacherIdAndGroupId(LocalDateTime startLesson, int teacherId, int groupId);
     
     List<Lesson> findAllByStartLessonBetweenOrderByStartLesson(LocalDateTime startLesson, LocalDateTime endLesson);
+
+    @Query("SELECT new org.university.entity.LessonSlot(l.id, l.startLesson, l.endLesson, l.teacher.id, l.group.id, "
+            + "l.classroom.id) FROM Lesson l")
+    List<LessonSlot> findAllSlots();
+
+    @Query("SELECT new org.university.entity.LessonSlot(l.id, l.startLesson, l.endLesson, l.teacher.id, l.group.id, "
+            + "l.classroom.id) FROM Lesson l WHERE l.id IN :ids")
+    List<LessonSlot> findAllSlotsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT new org.university.entity.LessonSlot(l.id, l.startLesson, l.endLesson, l.teacher.id, l.group.id, "
+            + "l.classroom.id) FROM Lesson l WHERE l.startLesson <= :end AND l.endLesson >= :start "
+            + "AND (l.teacher.id = :teacherId OR l.group.id = :groupId OR l.classroom.id = :classroomId)")
+    List<LessonSlot> findAllSlotsOverlapping(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+            @Param("teacherId") Integer teacherId, @Param("groupId") Integer groupId,
+            @Param("classroomId") Integer classroomId);
+
+    @Query("SELECT new org.university.entity.LessonSlot(l.id, l.startLesson, l.endLesson, l.teacher.id, l.group.id, "
+            + "l.classroom.id) FROM Lesson l WHERE l.seriesId = :seriesId AND l.startLesson >= :from")
+    List<LessonSlot> findAllSlotsOfSeriesFrom(@Param("seriesId") int seriesId, @Param("from") LocalDateTime from);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Lesson l SET l.course = :course, l.teacher = :teacher, l.group = :group, "
+            + "l.classroom = :classroom, l.onlineLesson = :onlineLesson, l.lessonLink = :lessonLink "
+            + "WHERE l.seriesId = :seriesId AND l.startLesson >= :from")
+    int updateSeriesFrom(@Param("seriesId") int seriesId, @Param("from") LocalDateTime from,
+            @Param("course") Course course, @Param("teacher") Teacher teacher, @Param("group") Group group,
+            @Param("classroom") Classroom classroom, @Param("onlineLesson") Boolean onlineLesson,
+            @Param("lessonLink") String lessonLink);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Lesson l WHERE l.seriesId = :seriesId AND l.startLesson >= :from")
+    int deleteSeriesFrom(@Param("seriesId") int seriesId, @Param("from") LocalDateTime from);
+
+    @Query("SELECT l.id FROM Lesson l WHERE l.startLesson >= :from AND l.startLesson < :to "
+            + "AND (:teacherId IS NULL OR l.teacher.id = :teacherId) AND (:groupId IS NULL OR l.group.id = :groupId) "
+            + "AND (:classroomId IS NULL OR l.classroom.id = :classroomId) ORDER BY l.id")
+    List<Integer> findAllIdsMatching(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+            @Param("teacherId") Integer teacherId, @Param("groupId") Integer groupId,
+            @Param("classroomId") Integer classroomId);
+
+    @Query("SELECT l.id FROM Lesson l WHERE l.course.id = :courseId OR l.teacher.id = :teacherId "
+            + "OR l.group.id = :groupId OR l.classroom.id = :classroomId")
+    List<Integer> findAllIdsReferencing(@Param("courseId") Integer courseId, @Param("teacherId") Integer teacherId,
+            @Param("groupId") Integer groupId, @Param("classroomId") Integer classroomId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Lesson l WHERE l.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Integer> ids);
 }
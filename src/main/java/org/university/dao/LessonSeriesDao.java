@@ -0,0 +1,9 @@
+package org.university.dao;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.university.entity.LessonSeries;
+
+@Repository
+public interface LessonSeriesDao extends JpaRepository<LessonSeries, Integer> {
+}
@@ -0,0 +1,34 @@
+package org.university.dao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.university.entity.ReferenceChange;
+
+@Repository
+public interface ReferenceChangeDao extends JpaRepository<ReferenceChange, Long> {
+
+    List<ReferenceChange> findAllByPositionGreaterThanOrderByPosition(long position);
+
+    @Query("SELECT MAX(c.position) FROM ReferenceChange c")
+    Long findLastPosition();
+
+    @Query("SELECT MIN(c.id) FROM ReferenceChange c WHERE c.position IS NULL")
+    Long findFirstUnsealedId();
+
+    @Query(value = "SELECT CAST(pg_advisory_xact_lock(:key) AS VARCHAR)", nativeQuery = true)
+    String lockForSealing(@Param("key") long key);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ReferenceChange c SET c.position = c.id + :offset WHERE c.position IS NULL AND c.id >= :firstId")
+    int sealFrom(@Param("firstId") long firstId, @Param("offset") long offset);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM ReferenceChange c WHERE c.changedAt < :before AND c.position < :lastPosition")
+    int deleteAllOlderThan(@Param("before") LocalDateTime before, @Param("lastPosition") long lastPosition);
+}
@@ -1,7 +1,11 @@
 package org.university.dao;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.university.entity.Student;
 
@@ -9,4 +13,9 @@ import org.university.entity.Student;
 public interface StudentDao extends UserDao<Student> {
     
     Optional<Student> findByEmail(String email);
+
+    @Query(value = "SELECT student_email FROM students WHERE student_email IN (:emails) "
+            + "UNION SELECT teacher_email FROM teachers WHERE teacher_email IN (:emails) "
+            + "UNION SELECT email FROM temporary_users WHERE email IN (:emails)", nativeQuery = true)
+    List<String> findAllRegisteredEmailsIn(@Param("emails") Collection<String> emails);
 }
@@ -1,12 +1,21 @@
 package org.university.dao;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.university.entity.ReferenceId;
 import org.university.entity.Teacher;
 
 @Repository
 public interface TeacherDao extends UserDao<Teacher> {
     
     Optional<Teacher> findByEmail(String email);
+
+    List<Teacher> findAllByEmailIn(Collection<String> emails);
+
+    @Query("SELECT new org.university.entity.ReferenceId(t.email, t.id) FROM Teacher t")
+    List<ReferenceId> findAllReferenceIds();
 }
@@ -0,0 +1,16 @@
+package org.university.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeleteReportDto {
+    private int deleted;
+    private List<Integer> lessonIds = new ArrayList<>();
+}
@@ -0,0 +1,22 @@
+package org.university.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDto {
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+    private int size;
+    private int maxSize;
+
+    public double getHitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
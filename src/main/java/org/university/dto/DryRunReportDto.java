@@ -0,0 +1,20 @@
+package org.university.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class DryRunReportDto {
+    private int checked;
+    private List<ImportErrorDto> violations = new ArrayList<>();
+
+    public void addViolation(int row, String message) {
+        violations.add(new ImportErrorDto(row, message));
+    }
+
+    public boolean isValid() {
+        return violations.isEmpty();
+    }
+}
@@ -0,0 +1,21 @@
+package org.university.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJobDto {
+    private String id;
+    private String status;
+    private String format;
+    private String name;
+    private String from;
+    private String to;
+    private Long size;
+    private String submittedAt;
+    private String finishedAt;
+    private String error;
+}
@@ -0,0 +1,30 @@
+package org.university.dto;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.university.entity.TimetableScope;
+import org.university.service.export.ExportFormat;
+
+import lombok.Data;
+
+@Data
+public class ExportRequestDto {
+
+    @NotNull
+    private TimetableScope scope;
+
+    private String name;
+
+    @NotNull
+    private ExportFormat format;
+
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    @NotEmpty
+    private String from;
+
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    @NotEmpty
+    private String to;
+}
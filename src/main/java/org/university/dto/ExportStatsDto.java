@@ -0,0 +1,18 @@
+package org.university.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportStatsDto {
+    private int queued;
+    private int running;
+    private long completed;
+    private long failed;
+    private long rejected;
+    private long averageRenderMillis;
+    private long maxRenderMillis;
+}
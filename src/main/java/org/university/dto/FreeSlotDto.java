@@ -0,0 +1,14 @@
+package org.university.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeSlotDto {
+    private String startLesson;
+    private String endLesson;
+    private int classroomNumber;
+}
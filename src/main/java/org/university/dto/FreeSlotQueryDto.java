@@ -0,0 +1,35 @@
+package org.university.dto;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import lombok.Data;
+
+@Data
+public class FreeSlotQueryDto {
+
+    @NotEmpty
+    private String teacherEmail;
+
+    @NotEmpty
+    private String groupName;
+
+    private int minCapacity;
+
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    @NotEmpty
+    private String from;
+
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    @NotEmpty
+    private String to;
+
+    @NotNull
+    @Positive
+    private Integer duration;
+
+    private int limit = 20;
+}
@@ -0,0 +1,13 @@
+package org.university.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportErrorDto {
+    private int row;
+    private String message;
+}
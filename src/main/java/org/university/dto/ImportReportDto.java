@@ -0,0 +1,16 @@
+package org.university.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class ImportReportDto {
+    private int imported;
+    private List<ImportErrorDto> errors = new ArrayList<>();
+
+    public void addError(int row, String message) {
+        errors.add(new ImportErrorDto(row, message));
+    }
+}
@@ -0,0 +1,13 @@
+package org.university.dto;
+
+import lombok.Data;
+
+@Data
+public class LessonBulkDeleteDto {
+
+    private String from;
+    private String to;
+    private String groupName;
+    private String teacherEmail;
+    private Integer classroomNumber;
+}
@@ -0,0 +1,14 @@
+package org.university.dto;
+
+import lombok.Data;
+
+@Data
+public class LessonChangeDto {
+
+    public enum Operation {
+        CREATE, EDIT, DELETE
+    }
+
+    private Operation operation;
+    private LessonDto lesson;
+}
@@ -0,0 +1,17 @@
+package org.university.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.university.entity.LessonView;
+
+import lombok.Data;
+
+@Data
+public class LessonChangesDto {
+
+    private long token;
+    private boolean more;
+    private List<LessonView> lessons = new ArrayList<>();
+    private List<Integer> deletedLessonIds = new ArrayList<>();
+}
@@ -0,0 +1,32 @@
+package org.university.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.validation.constraints.NotEmpty;
+
+import lombok.Data;
+
+@Data
+public class LessonSeriesDto {
+    private Integer id;
+    private String courseName;
+    private String teacherEmail;
+    private String groupName;
+    private Integer classroomNumber;
+    private Boolean onlineLesson;
+    private String lessonLink;
+
+    @NotEmpty
+    private String startLesson;
+
+    @NotEmpty
+    private String endLesson;
+
+    @NotEmpty
+    private String untilDate;
+
+    private Integer intervalWeeks = 1;
+    private List<String> exceptionDates = new ArrayList<>();
+    private String editFrom;
+}
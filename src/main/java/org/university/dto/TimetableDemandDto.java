@@ -0,0 +1,11 @@
+package org.university.dto;
+
+import lombok.Data;
+
+@Data
+public class TimetableDemandDto {
+    private String groupName;
+    private String courseName;
+    private String teacherEmail;
+    private int hoursPerWeek;
+}
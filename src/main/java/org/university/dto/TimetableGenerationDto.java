@@ -0,0 +1,26 @@
+package org.university.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.validation.constraints.NotEmpty;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import lombok.Data;
+
+@Data
+public class TimetableGenerationDto {
+
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    @NotEmpty
+    private String weekStart;
+
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    private String untilDate;
+
+    @NotEmpty
+    private List<TimetableDemandDto> demands = new ArrayList<>();
+
+    private long timeBudgetMillis = 2000;
+}
@@ -0,0 +1,10 @@
+package org.university.dto;
+
+import lombok.Data;
+
+@Data
+public class TimetableGenerationReportDto {
+    private int placedLessons;
+    private int unplacedLessons;
+    private ImportReportDto importReport;
+}
@@ -0,0 +1,26 @@
+package org.university.email;
+
+import java.util.ResourceBundle;
+
+import org.springframework.web.util.UriComponentsBuilder;
+import org.university.entity.User;
+
+public class AccountCreatedEmailContext<T> extends AbstractEmailContext<T> {
+
+    @Override
+    public void init(T context) {
+        User user = (User) context;
+        put("name", user.getName());
+        put("email", user.getEmail());
+        setTemplateLocation("emails/account-created");
+        setSubject(ResourceBundle.getBundle("/i18n/messages", getEmailLanguage()).getString("accountcreated"));
+        setFrom("noreply@gmail.com");
+        setTo(user.getEmail());
+    }
+
+    public void buildLoginUrl(final String baseURL) {
+        final String url = UriComponentsBuilder.fromHttpUrl(baseURL).path("DepartmentUniversity/login")
+                .toUriString();
+        put("loginURL", url);
+    }
+}
@@ -14,5 +14,5 @@ import lombok.experimental.FieldDefaults;
 @AllArgsConstructor
 public class DayTimetable {
     LocalDate day;
-    List<Lesson> lessons;
+    List<LessonView> lessons;
 }
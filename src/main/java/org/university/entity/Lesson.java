@@ -10,6 +10,7 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 
 import lombok.AccessLevel;
@@ -33,7 +34,8 @@ import lombok.experimental.FieldDefaults;
 public class Lesson {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lessons_seq")
+    @SequenceGenerator(name = "lessons_seq", sequenceName = "lessons_lesson_id_seq", allocationSize = 50)
     @Column(name = "lesson_id", unique = true, nullable = false)
     Integer id;
 
@@ -64,4 +66,7 @@ public class Lesson {
 
     @Column(name = "lesson_link")
     String lessonLink;
+
+    @Column(name = "lesson_series")
+    Integer seriesId;
 }
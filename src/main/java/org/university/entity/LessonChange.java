@@ -0,0 +1,64 @@
+package org.university.entity;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Append-only journal entry recording that a lesson was created, updated or
+ * deleted. Ids come from a pooled sequence so entries are inserted in batches;
+ * the position, handed out in commit order once the entry is committed, is
+ * what clients use as sync token.
+ */
+@Entity
+@Table(name = "lesson_changes")
+@Builder(setterPrefix = "with")
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@Setter(value = AccessLevel.PACKAGE)
+@Getter
+@EqualsAndHashCode
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class LessonChange {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lesson_changes_seq")
+    @SequenceGenerator(name = "lesson_changes_seq", sequenceName = "lesson_changes_change_id_seq",
+            allocationSize = 50)
+    @Column(name = "change_id", nullable = false)
+    Long id;
+
+    @Column(name = "change_position", unique = true)
+    Long position;
+
+    @Column(name = "change_lesson", nullable = false)
+    Integer lessonId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 10)
+    Type type;
+
+    @Column(name = "change_time", columnDefinition = "TIMESTAMP", nullable = false)
+    LocalDateTime changedAt;
+}
@@ -0,0 +1,82 @@
+package org.university.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import javax.persistence.CollectionTable;
+import javax.persistence.Column;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+@Entity
+@Table(name = "lesson_series")
+@Builder(setterPrefix = "with")
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@Setter(value = AccessLevel.PACKAGE)
+@Getter
+@EqualsAndHashCode
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class LessonSeries {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "series_id", nullable = false)
+    Integer id;
+
+    @ManyToOne
+    @JoinColumn(name = "series_course", referencedColumnName = "course_id")
+    Course course;
+
+    @ManyToOne
+    @JoinColumn(name = "series_teacher", referencedColumnName = "teacher_id")
+    Teacher teacher;
+
+    @ManyToOne
+    @JoinColumn(name = "series_group", referencedColumnName = "group_id")
+    Group group;
+
+    @ManyToOne
+    @JoinColumn(name = "series_classroom", referencedColumnName = "classroom_id")
+    Classroom classroom;
+
+    @Column(name = "series_start", columnDefinition = "TIMESTAMP", nullable = false)
+    LocalDateTime startLesson;
+
+    @Column(name = "series_end", columnDefinition = "TIMESTAMP", nullable = false)
+    LocalDateTime endLesson;
+
+    @Column(name = "series_until", nullable = false)
+    LocalDate untilDate;
+
+    @Column(name = "series_interval", nullable = false)
+    Integer intervalWeeks;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "lesson_series_exceptions", joinColumns = @JoinColumn(name = "series_id"))
+    @Column(name = "exception_date", nullable = false)
+    Set<LocalDate> exceptionDates;
+
+    @Column(name = "series_online", nullable = false)
+    Boolean onlineLesson;
+
+    @Column(name = "series_link")
+    String lessonLink;
+}
@@ -0,0 +1,29 @@
+package org.university.entity;
+
+import java.time.LocalDateTime;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@EqualsAndHashCode
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class LessonSlot {
+    Integer id;
+    LocalDateTime startLesson;
+    LocalDateTime endLesson;
+    Integer teacherId;
+    Integer groupId;
+    Integer classroomId;
+
+    public static LessonSlot of(Lesson lesson) {
+        return new LessonSlot(lesson.getId(), lesson.getStartLesson(), lesson.getEndLesson(),
+                lesson.getTeacher() == null ? null : lesson.getTeacher().getId(),
+                lesson.getGroup() == null ? null : lesson.getGroup().getId(),
+                lesson.getClassroom() == null ? null : lesson.getClassroom().getId());
+    }
+}
@@ -0,0 +1,42 @@
+package org.university.entity;
+
+import java.time.LocalDateTime;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Read-only lesson of a timetable, carrying only what is shown to the user
+ * instead of the whole entity graph of its group and teacher.
+ */
+@Getter
+@EqualsAndHashCode
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class LessonView {
+    Integer id;
+    LocalDateTime startLesson;
+    LocalDateTime endLesson;
+    Boolean onlineLesson;
+    String lessonLink;
+    Integer courseId;
+    String courseName;
+    Integer teacherId;
+    String teacherName;
+    String teacherEmail;
+    Integer groupId;
+    String groupName;
+    Integer classroomNumber;
+    String classroomAddress;
+
+    public static LessonView of(Lesson lesson) {
+        return new LessonView(lesson.getId(), lesson.getStartLesson(), lesson.getEndLesson(),
+                lesson.getOnlineLesson(), lesson.getLessonLink(), lesson.getCourse().getId(),
+                lesson.getCourse().getName(), lesson.getTeacher().getId(), lesson.getTeacher().getName(),
+                lesson.getTeacher().getEmail(), lesson.getGroup().getId(), lesson.getGroup().getName(),
+                lesson.getClassroom().getNumber(), lesson.getClassroom().getAddress());
+    }
+}
@@ -0,0 +1,53 @@
+package org.university.entity;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Journal entry recording that courses, groups, teachers or classrooms were
+ * changed, read by every node to invalidate what it resolved from them. Nodes
+ * read entries by the position handed out in commit order.
+ */
+@Entity
+@Table(name = "reference_changes")
+@Builder(setterPrefix = "with")
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@Setter(value = AccessLevel.PACKAGE)
+@Getter
+@EqualsAndHashCode
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ReferenceChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reference_changes_seq")
+    @SequenceGenerator(name = "reference_changes_seq", sequenceName = "reference_changes_change_id_seq",
+            allocationSize = 50)
+    @Column(name = "change_id", nullable = false)
+    Long id;
+
+    @Column(name = "change_position", unique = true)
+    Long position;
+
+    @Column(name = "change_reference", nullable = false, length = 10)
+    String reference;
+
+    @Column(name = "change_time", columnDefinition = "TIMESTAMP", nullable = false)
+    LocalDateTime changedAt;
+}
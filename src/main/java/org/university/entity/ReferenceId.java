@@ -0,0 +1,20 @@
+package org.university.entity;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Natural key of a course, group, teacher or classroom, such as a name or an
+ * email, with the id it resolves to.
+ */
+@Getter
+@EqualsAndHashCode
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class ReferenceId {
+    Object key;
+    Integer id;
+}
@@ -0,0 +1,5 @@
+package org.university.entity;
+
+public enum TimetableScope {
+    ALL, GROUP, TEACHER
+}
@@ -0,0 +1,8 @@
+package org.university.exceptions;
+
+public class ExportNotReadyException extends RuntimeException {
+
+    public ExportNotReadyException(String message) {
+        super(message);
+    }
+}
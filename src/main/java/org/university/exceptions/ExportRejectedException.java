@@ -0,0 +1,8 @@
+package org.university.exceptions;
+
+public class ExportRejectedException extends RuntimeException {
+
+    public ExportRejectedException(String message) {
+        super(message);
+    }
+}
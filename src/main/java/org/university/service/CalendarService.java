@@ -2,6 +2,7 @@ package org.university.service;
 
 import java.io.IOException;
 import java.security.GeneralSecurityException;
+import java.util.List;
 
 import org.university.entity.Lesson;
 
@@ -12,4 +13,10 @@ public interface CalendarService {
     void deleteLesson(String lessonId) throws IOException, GeneralSecurityException;
     
     void updateLesson(Lesson lesson) throws IOException, GeneralSecurityException;
+
+    void createLessons(List<Lesson> lessons);
+
+    void updateLessons(List<Lesson> lessons);
+
+    void deleteLessons(List<Integer> lessonIds);
 }
@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.util.List;
 
 import org.university.entity.DayTimetable;
+import org.university.entity.TimetableScope;
 
 public interface DayTimetableService {
     
@@ -20,4 +21,6 @@ public interface DayTimetableService {
     List<DayTimetable> createWeekTeacherTimetable(LocalDate date, String teacherEmail);
     
     List<DayTimetable> createWeekGroupTimetable(LocalDate date, String groupName);
+
+    List<DayTimetable> createTimetable(TimetableScope scope, Integer id, LocalDate from, LocalDate to);
 }
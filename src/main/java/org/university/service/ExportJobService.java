@@ -0,0 +1,20 @@
+package org.university.service;
+
+import org.university.dto.ExportJobDto;
+import org.university.dto.ExportRequestDto;
+import org.university.dto.ExportStatsDto;
+import org.university.service.export.ExportJob;
+import org.university.utils.FileLeases.Lease;
+
+public interface ExportJobService {
+
+    ExportJobDto submit(ExportRequestDto request, String owner);
+
+    ExportJobDto findJob(String id, String owner);
+
+    Lease<ExportJob> findFinishedJob(String id, String owner);
+
+    ExportStatsDto getStats();
+
+    void purgeExpired();
+}
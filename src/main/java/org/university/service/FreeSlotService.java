@@ -0,0 +1,11 @@
+package org.university.service;
+
+import java.util.List;
+
+import org.university.dto.FreeSlotDto;
+import org.university.dto.FreeSlotQueryDto;
+
+public interface FreeSlotService {
+
+    List<FreeSlotDto> findFreeSlots(FreeSlotQueryDto query);
+}
@@ -0,0 +1,19 @@
+package org.university.service;
+
+import java.util.List;
+
+import org.university.dto.BulkDeleteReportDto;
+import org.university.dto.LessonBulkDeleteDto;
+import org.university.service.event.ReferenceDataChangedEvent.Reference;
+
+public interface LessonBulkDeleteService {
+
+    BulkDeleteReportDto deleteLessons(LessonBulkDeleteDto criteria);
+
+    /**
+     * Records as deleted the lessons of a course, teacher, group or classroom
+     * that the database deletes together with it. Must be called before the
+     * reference itself is deleted.
+     */
+    List<Integer> deleteLessonsReferencing(Reference reference, int referenceId);
+}
@@ -0,0 +1,18 @@
+package org.university.service;
+
+import java.util.Collection;
+
+import org.university.dto.LessonChangesDto;
+import org.university.entity.LessonChange;
+import org.university.exceptions.InvalidTokenException;
+
+public interface LessonChangeService {
+
+    void recordChanges(LessonChange.Type type, Collection<Integer> lessonIds);
+
+    LessonChangesDto findChangesSince(Long token) throws InvalidTokenException;
+
+    int seal();
+
+    int compact();
+}
@@ -0,0 +1,11 @@
+package org.university.service;
+
+import java.util.List;
+
+import org.university.dto.DryRunReportDto;
+import org.university.dto.LessonChangeDto;
+
+public interface LessonDryRunService {
+
+    DryRunReportDto validate(List<LessonChangeDto> changes);
+}
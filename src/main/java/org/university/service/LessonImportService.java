@@ -0,0 +1,11 @@
+package org.university.service;
+
+import java.util.List;
+
+import org.university.dto.ImportReportDto;
+import org.university.dto.LessonDto;
+
+public interface LessonImportService {
+
+    ImportReportDto importLessons(List<LessonDto> lessons);
+}
@@ -0,0 +1,11 @@
+package org.university.service;
+
+import org.university.dto.LessonSeriesDto;
+import org.university.entity.LessonSeries;
+
+public interface LessonSeriesService {
+
+    LessonSeries addSeries(LessonSeriesDto seriesDto);
+
+    void editSeries(LessonSeriesDto seriesDto);
+}
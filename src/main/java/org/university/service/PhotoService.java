@@ -5,4 +5,6 @@ import org.university.dto.UserDto;
 public interface PhotoService {
     
     String savePhoto(UserDto user);
+
+    String findDefaultPhoto(UserDto user);
 }
@@ -0,0 +1,12 @@
+package org.university.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+import org.university.service.export.ExportFormat;
+
+public interface TimetableArchiveService {
+
+    void writeArchive(ExportFormat format, LocalDate from, LocalDate to, OutputStream output) throws IOException;
+}
@@ -0,0 +1,21 @@
+package org.university.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.time.LocalDate;
+
+import org.university.service.export.TimetableExport;
+
+public interface TimetableExportService {
+
+    TimetableExport findGroupExport(String groupName, LocalDate from, LocalDate to);
+
+    TimetableExport findTeacherExport(String teacherEmail, LocalDate from, LocalDate to);
+
+    TimetableExport findUniversityExport(LocalDate from, LocalDate to);
+
+    void writeCsv(TimetableExport export, Writer writer) throws IOException;
+
+    void writePdf(TimetableExport export, OutputStream output);
+}
@@ -0,0 +1,16 @@
+package org.university.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+
+import org.university.service.feed.TimetableFeed;
+
+public interface TimetableFeedService {
+
+    TimetableFeed findGroupFeed(String groupName, LocalDate from, LocalDate to);
+
+    TimetableFeed findTeacherFeed(String teacherEmail, LocalDate from, LocalDate to);
+
+    void writeFeed(TimetableFeed feed, Writer writer) throws IOException;
+}
@@ -0,0 +1,9 @@
+package org.university.service;
+
+import org.university.dto.TimetableGenerationDto;
+import org.university.dto.TimetableGenerationReportDto;
+
+public interface TimetableGeneratorService {
+
+    TimetableGenerationReportDto generate(TimetableGenerationDto generation);
+}
@@ -0,0 +1,14 @@
+package org.university.service;
+
+import java.util.Iterator;
+import java.util.Locale;
+
+import org.university.dto.ImportReportDto;
+import org.university.dto.UserDto;
+
+public interface UserImportService {
+
+    ImportReportDto importStudents(Iterator<UserDto> students, Locale locale);
+
+    ImportReportDto importTeachers(Iterator<UserDto> teachers, Locale locale);
+}
@@ -0,0 +1,28 @@
+package org.university.service.cache;
+
+import java.nio.file.Path;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Rendered export stored on disk, with the digest of its content as a strong
+ * entity tag.
+ */
+@Getter
+@EqualsAndHashCode
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class Artifact {
+    ArtifactKey key;
+    Path file;
+    long size;
+    String digest;
+
+    public String getETag() {
+        return "\"" + digest + "\"";
+    }
+}
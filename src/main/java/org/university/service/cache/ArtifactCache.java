@@ -0,0 +1,227 @@
+package org.university.service.cache;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.university.entity.LessonSlot;
+import org.university.entity.TimetableScope;
+import org.university.service.cache.TimetableKey.Period;
+import org.university.service.event.TimetableReferenceChangedEvent;
+import org.university.service.export.ExportFormat;
+import org.university.service.readmodel.TimetableReadModel;
+import org.university.utils.FileLeases;
+import org.university.utils.FileLeases.Lease;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rendered PDF and CSV timetables kept as files of a local directory, least
+ * recently used first evicted when their total size exceeds a limit.
+ * Artifacts are addressed by the version tag of their timetable, so a changed
+ * timetable is rendered again under another key; the artifacts of a scope are
+ * also deleted as soon as the read model reports a committed change of one of
+ * its lessons, and all of them when a course, teacher, group or classroom is
+ * edited. Artifacts are leased while they are sent, and a file dropped during
+ * a send is deleted only after it. Files left by an earlier run are deleted
+ * on startup.
+ */
+@Component
+@Slf4j
+public class ArtifactCache {
+
+    private static final Duration SENDFILE_GRACE = Duration.ofMinutes(1);
+
+    private final ResourceVersions versions;
+    private final ReferenceResolver resolver;
+    private final Path directory;
+    private final long maxBytes;
+    private final FileLeases leases;
+    private final Map<String, Artifact> artifacts = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    @Autowired
+    public ArtifactCache(ResourceVersions versions, ReferenceResolver resolver, TimetableReadModel readModel,
+            @Value("${export.artifacts.directory:${java.io.tmpdir}/university-artifacts}") String directory,
+            @Value("${export.artifacts.max-megabytes:256}") long maxMegabytes) {
+        this(versions, resolver, Paths.get(directory), maxMegabytes * 1024 * 1024);
+        readModel.addListener(this::invalidate);
+    }
+
+    public ArtifactCache(ResourceVersions versions, ReferenceResolver resolver, Path directory, long maxBytes) {
+        this(versions, resolver, directory, maxBytes, new FileLeases(SENDFILE_GRACE, Clock.systemUTC()));
+    }
+
+    public ArtifactCache(ResourceVersions versions, ReferenceResolver resolver, Path directory, long maxBytes,
+            FileLeases leases) {
+        this.versions = versions;
+        this.resolver = resolver;
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.leases = leases;
+    }
+
+    @PostConstruct
+    public void clearDirectory() {
+        FileLeases.clearDirectory(directory);
+    }
+
+    public Optional<ArtifactKey> findGroupKey(String groupName, Period period, LocalDate date, ExportFormat format) {
+        return resolver.findGroupId(groupName)
+                .map(groupId -> keyOf(timetableKeyOf(TimetableScope.GROUP, groupId, period, date), format, groupName));
+    }
+
+    public Optional<ArtifactKey> findTeacherKey(String teacherEmail, String title, Period period, LocalDate date,
+            ExportFormat format) {
+        return resolver.findTeacherId(teacherEmail)
+                .map(teacherId -> keyOf(timetableKeyOf(TimetableScope.TEACHER, teacherId, period, date), format,
+                        title));
+    }
+
+    /**
+     * Leases the stored artifact of the key, rendering and storing it on a
+     * miss; its file stays in place until the lease is closed. An artifact
+     * rendered while a lesson of its scope changed is stored under the former
+     * version of the timetable, which is not requested again and ages out.
+     */
+    public Lease<Artifact> get(ArtifactKey key, Renderer renderer) throws IOException {
+        synchronized (this) {
+            Artifact artifact = artifacts.get(key.getHash());
+            if (artifact != null && Files.exists(artifact.getFile())) {
+                return leases.acquire(artifact.getFile(), artifact);
+            }
+        }
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, key.getHash(), ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream output = new DigestOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary)), digest)) {
+                renderer.render(output);
+            }
+            Path file = directory.resolve(key.getHash() + key.getFormat().getExtension());
+            synchronized (this) {
+                leases.keep(file);
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Artifact artifact = new Artifact(key, file, Files.size(file), toHex(digest.digest()));
+                store(artifact);
+                return leases.acquire(file, artifact);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    public void invalidate(LessonSlot slot) {
+        LocalDate from = slot.getStartLesson().toLocalDate();
+        LocalDate to = slot.getEndLesson().toLocalDate();
+        int removed = 0;
+        synchronized (this) {
+            Iterator<Artifact> iterator = artifacts.values().iterator();
+            while (iterator.hasNext()) {
+                Artifact artifact = iterator.next();
+                if (artifact.getKey().getTimetable().covers(slot.getTeacherId(), slot.getGroupId(), from, to)) {
+                    iterator.remove();
+                    delete(artifact);
+                    removed++;
+                }
+            }
+        }
+        log.debug("Lesson {} invalidated {} rendered timetables", slot.getId(), removed);
+    }
+
+    @Order(4)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceChanged(TimetableReferenceChangedEvent event) {
+        clear();
+    }
+
+    public synchronized void clear() {
+        artifacts.values().forEach(this::delete);
+        artifacts.clear();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    @Scheduled(fixedDelayString = "${export.artifacts.sweep-ms:60000}")
+    public synchronized void sweep() {
+        leases.sweep();
+    }
+
+    private synchronized void store(Artifact artifact) {
+        Artifact replaced = artifacts.put(artifact.getKey().getHash(), artifact);
+        if (replaced != null) {
+            totalBytes -= replaced.getSize();
+        }
+        totalBytes += artifact.getSize();
+        Iterator<Artifact> eldest = artifacts.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Artifact evicted = eldest.next();
+            if (evicted == artifact) {
+                break;
+            }
+            eldest.remove();
+            delete(evicted);
+        }
+    }
+
+    private void delete(Artifact artifact) {
+        totalBytes -= artifact.getSize();
+        leases.delete(artifact.getFile());
+    }
+
+    private ArtifactKey keyOf(TimetableKey timetable, ExportFormat format, String title) {
+        String tag = String.join("|", versions.getTimetableTag(timetable), format.name(), title);
+        return new ArtifactKey(timetable, format, toHex(sha256().digest(tag.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static TimetableKey timetableKeyOf(TimetableScope scope, int entityId, Period period, LocalDate date) {
+        return period == Period.WEEK ? TimetableKey.week(scope, entityId, date)
+                : period == Period.MONTH ? TimetableKey.month(scope, entityId, date)
+                        : TimetableKey.day(scope, entityId, date);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        return String.format("%064x", new BigInteger(1, bytes));
+    }
+
+    @FunctionalInterface
+    public interface Renderer {
+
+        void render(OutputStream output) throws IOException;
+    }
+}
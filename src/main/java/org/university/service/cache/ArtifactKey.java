@@ -0,0 +1,26 @@
+package org.university.service.cache;
+
+import org.university.service.export.ExportFormat;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Identifies a rendered export of a timetable by the hash of its format,
+ * title and the version tag of the timetable, so that a change of any of
+ * them addresses another artifact.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class ArtifactKey {
+    TimetableKey timetable;
+    ExportFormat format;
+    String hash;
+}
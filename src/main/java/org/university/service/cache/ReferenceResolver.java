@@ -0,0 +1,174 @@
+package org.university.service.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.university.dao.ClassroomDao;
+import org.university.dao.CourseDao;
+import org.university.dao.GroupDao;
+import org.university.dao.ReferenceChangeDao;
+import org.university.dao.TeacherDao;
+import org.university.entity.Classroom;
+import org.university.entity.Course;
+import org.university.entity.Group;
+import org.university.entity.ReferenceChange;
+import org.university.entity.Teacher;
+import org.university.service.event.ReferenceDataChangedEvent;
+import org.university.service.event.ReferenceDataChangedEvent.Reference;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resolves course names, group names, teacher emails and classroom numbers to
+ * ids from memory. The ids are loaded in bulk at startup and reloaded when the
+ * reference data changes, here after commit and on other nodes through the
+ * reference change journal they poll. Journal entries are numbered in commit
+ * order by the same sealing the lesson change journal uses, so an entry whose
+ * transaction commits late is still read.
+ */
+@Component
+@Slf4j
+public class ReferenceResolver {
+
+    private static final Set<Reference> RESOLVED = EnumSet.of(Reference.COURSE, Reference.GROUP, Reference.TEACHER,
+            Reference.CLASSROOM);
+    private static final Duration JOURNAL_RETENTION = Duration.ofDays(1);
+    private static final long SEAL_LOCK = 0x5243L;
+
+    private final CourseDao courseDao;
+    private final GroupDao groupDao;
+    private final TeacherDao teacherDao;
+    private final ClassroomDao classroomDao;
+    private final ReferenceChangeDao changeDao;
+    private final Clock clock;
+    private final ResolvedIds<String> courseIds = new ResolvedIds<>();
+    private final ResolvedIds<String> groupIds = new ResolvedIds<>();
+    private final ResolvedIds<String> teacherIds = new ResolvedIds<>();
+    private final ResolvedIds<Integer> classroomIds = new ResolvedIds<>();
+    private final AtomicLong lastPosition = new AtomicLong();
+
+    @Autowired
+    public ReferenceResolver(CourseDao courseDao, GroupDao groupDao, TeacherDao teacherDao,
+            ClassroomDao classroomDao, ReferenceChangeDao changeDao) {
+        this(courseDao, groupDao, teacherDao, classroomDao, changeDao, Clock.systemDefaultZone());
+    }
+
+    public ReferenceResolver(CourseDao courseDao, GroupDao groupDao, TeacherDao teacherDao,
+            ClassroomDao classroomDao, ReferenceChangeDao changeDao, Clock clock) {
+        this.courseDao = courseDao;
+        this.groupDao = groupDao;
+        this.teacherDao = teacherDao;
+        this.classroomDao = classroomDao;
+        this.changeDao = changeDao;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void load() {
+        Long position = changeDao.findLastPosition();
+        lastPosition.set(position == null ? 0 : position);
+        RESOLVED.forEach(this::reload);
+        log.info("Reference resolver loaded {} courses, {} groups, {} teachers and {} classrooms",
+                courseIds.size(), groupIds.size(), teacherIds.size(), classroomIds.size());
+    }
+
+    public Optional<Integer> findCourseId(String name) {
+        return courseIds.find(name, key -> courseDao.findByName(key).map(Course::getId));
+    }
+
+    public Optional<Integer> findGroupId(String name) {
+        return groupIds.find(name, key -> groupDao.findByName(key).map(Group::getId));
+    }
+
+    public Optional<Integer> findTeacherId(String email) {
+        return teacherIds.find(email, key -> teacherDao.findByEmail(key).map(Teacher::getId));
+    }
+
+    public Optional<Integer> findClassroomId(Integer number) {
+        return classroomIds.find(number, key -> classroomDao.findByNumber(key).map(Classroom::getId));
+    }
+
+    /**
+     * Journals the change in the transaction making it, so that other nodes
+     * see it exactly when the change is committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void recordChange(ReferenceDataChangedEvent event) {
+        if (RESOLVED.contains(event.getReference())) {
+            changeDao.save(ReferenceChange.builder().withReference(event.getReference().name())
+                    .withChangedAt(LocalDateTime.now(clock)).build());
+        }
+    }
+
+    @Order(3)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        if (RESOLVED.contains(event.getReference())) {
+            reload(event.getReference());
+        }
+    }
+
+    /**
+     * Reloads the ids changed by other nodes since the last poll.
+     */
+    @Scheduled(fixedDelayString = "${timetable.references.poll-ms:5000}")
+    public void pollChanges() {
+        List<ReferenceChange> changes = changeDao.findAllByPositionGreaterThanOrderByPosition(lastPosition.get());
+        if (changes.isEmpty()) {
+            return;
+        }
+        changes.stream().map(change -> Reference.valueOf(change.getReference())).distinct().forEach(this::reload);
+        lastPosition.set(changes.get(changes.size() - 1).getPosition());
+    }
+
+    /**
+     * Numbers the committed journal entries above every position handed out
+     * before, one node at a time.
+     */
+    @Transactional
+    @Scheduled(fixedDelayString = "${timetable.references.seal-ms:1000}")
+    public void seal() {
+        changeDao.lockForSealing(SEAL_LOCK);
+        Long firstId = changeDao.findFirstUnsealedId();
+        if (firstId != null) {
+            Long position = changeDao.findLastPosition();
+            changeDao.sealFrom(firstId, (position == null ? 0 : position) + 1 - firstId);
+        }
+    }
+
+    @Transactional
+    @Scheduled(cron = "${timetable.references.compact-cron:0 40 3 * * *}")
+    public void compact() {
+        Long position = changeDao.findLastPosition();
+        if (position != null) {
+            changeDao.deleteAllOlderThan(LocalDateTime.now(clock).minus(JOURNAL_RETENTION), position);
+        }
+    }
+
+    private void reload(Reference reference) {
+        if (reference == Reference.COURSE) {
+            courseIds.reload(courseDao.findAllReferenceIds());
+        } else if (reference == Reference.GROUP) {
+            groupIds.reload(groupDao.findAllReferenceIds());
+        } else if (reference == Reference.TEACHER) {
+            teacherIds.reload(teacherDao.findAllReferenceIds());
+        } else if (reference == Reference.CLASSROOM) {
+            classroomIds.reload(classroomDao.findAllReferenceIds());
+        }
+    }
+}
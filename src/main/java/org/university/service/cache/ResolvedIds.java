@@ -0,0 +1,55 @@
+package org.university.service.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.university.entity.ReferenceId;
+
+/**
+ * Ids of one kind of reference data by natural key. Misses are loaded and
+ * kept unless the ids were reloaded meanwhile, so a lookup racing with an
+ * invalidation never puts back a stale id.
+ */
+class ResolvedIds<K> {
+
+    private final Map<K, Integer> ids = new ConcurrentHashMap<>();
+    private long generation;
+
+    Optional<Integer> find(K key, Function<K, Optional<Integer>> loader) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        Integer id = ids.get(key);
+        if (id != null) {
+            return Optional.of(id);
+        }
+        long loadedGeneration = generation();
+        Optional<Integer> loaded = loader.apply(key);
+        loaded.ifPresent(loadedId -> putIfCurrent(key, loadedId, loadedGeneration));
+        return loaded;
+    }
+
+    @SuppressWarnings("unchecked")
+    synchronized void reload(Collection<ReferenceId> referenceIds) {
+        generation++;
+        ids.clear();
+        referenceIds.forEach(referenceId -> ids.put((K) referenceId.getKey(), referenceId.getId()));
+    }
+
+    int size() {
+        return ids.size();
+    }
+
+    private synchronized long generation() {
+        return generation;
+    }
+
+    private synchronized void putIfCurrent(K key, Integer id, long loadedGeneration) {
+        if (generation == loadedGeneration) {
+            ids.put(key, id);
+        }
+    }
+}
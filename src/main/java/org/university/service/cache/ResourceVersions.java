@@ -0,0 +1,124 @@
+package org.university.service.cache;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.university.entity.LessonSlot;
+import org.university.entity.TimetableScope;
+import org.university.service.cache.TimetableKey.Period;
+import org.university.service.event.ReferenceDataChangedEvent;
+import org.university.service.event.ReferenceDataChangedEvent.Reference;
+import org.university.service.event.TimetableReferenceChangedEvent;
+import org.university.service.readmodel.TimetableReadModel;
+
+/**
+ * Version counters of timetables per scope and of reference data listings,
+ * bumped after commit by every change that can alter them. Entity tags built
+ * from them let clients revalidate a response without it being recomputed.
+ * Tags carry the start time of this instance, so counters restarting from
+ * zero never repeat a tag.
+ */
+@Component
+public class ResourceVersions {
+
+    private final TimetableReadModel readModel;
+    private final String epoch;
+    private final AtomicLong timetableReferenceVersion = new AtomicLong();
+    private final AtomicLong allLessonsVersion = new AtomicLong();
+    private final Map<Integer, AtomicLong> teacherVersions = new ConcurrentHashMap<>();
+    private final Map<Integer, AtomicLong> groupVersions = new ConcurrentHashMap<>();
+    private final Map<Reference, AtomicLong> listingVersions = new EnumMap<>(Reference.class);
+
+    @Autowired
+    public ResourceVersions(TimetableReadModel readModel) {
+        this(readModel, Clock.systemUTC());
+        readModel.addListener(this::bump);
+    }
+
+    public ResourceVersions(TimetableReadModel readModel, Clock clock) {
+        this.readModel = readModel;
+        this.epoch = Long.toString(clock.millis(), Character.MAX_RADIX);
+        for (Reference reference : Reference.values()) {
+            listingVersions.put(reference, new AtomicLong());
+        }
+    }
+
+    public Optional<String> getTeacherTimetableTag(String teacherEmail, Period period, LocalDate date) {
+        return readModel.findTeacherId(teacherEmail)
+                .map(teacherId -> getTimetableTag(keyOf(TimetableScope.TEACHER, teacherId, period, date)));
+    }
+
+    public Optional<String> getGroupTimetableTag(String groupName, Period period, LocalDate date) {
+        return readModel.findGroupId(groupName)
+                .map(groupId -> getTimetableTag(keyOf(TimetableScope.GROUP, groupId, period, date)));
+    }
+
+    public String getTimetableTag(TimetableKey key) {
+        return String.join("-", "timetable", epoch, Long.toString(timetableReferenceVersion.get()),
+                Long.toString(getVersion(key.getScope(), key.getEntityId())), key.getScope().name(),
+                String.valueOf(key.getEntityId()), key.getPeriod().name(), key.getFirstDay().toString());
+    }
+
+    /**
+     * Returns the tag of a timetable over an arbitrary range of days, which
+     * changes whenever any lesson of the teacher or group changes.
+     */
+    public String getRangeTag(TimetableScope scope, int entityId, LocalDate from, LocalDate to) {
+        return String.join("-", "range", epoch, Long.toString(timetableReferenceVersion.get()),
+                Long.toString(getVersion(scope, entityId)), scope.name(), String.valueOf(entityId), from.toString(),
+                to.toString());
+    }
+
+    public String getListingTag(Reference reference) {
+        return String.join("-", reference.name().toLowerCase(), epoch,
+                Long.toString(listingVersions.get(reference).get()));
+    }
+
+    public long getVersion(TimetableScope scope, Integer entityId) {
+        if (scope == TimetableScope.TEACHER) {
+            return versionOf(teacherVersions, entityId).get();
+        }
+        if (scope == TimetableScope.GROUP) {
+            return versionOf(groupVersions, entityId).get();
+        }
+        return allLessonsVersion.get();
+    }
+
+    public void bump(LessonSlot slot) {
+        allLessonsVersion.incrementAndGet();
+        versionOf(teacherVersions, slot.getTeacherId()).incrementAndGet();
+        versionOf(groupVersions, slot.getGroupId()).incrementAndGet();
+    }
+
+    @Order(2)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        if (event instanceof TimetableReferenceChangedEvent) {
+            timetableReferenceVersion.incrementAndGet();
+        }
+        listingVersions.get(event.getReference()).incrementAndGet();
+        // groups are listed with their students and the students' courses
+        if (event.getReference() == Reference.COURSE || event.getReference() == Reference.STUDENT) {
+            listingVersions.get(Reference.GROUP).incrementAndGet();
+        }
+    }
+
+    private static AtomicLong versionOf(Map<Integer, AtomicLong> versions, Integer entityId) {
+        return versions.computeIfAbsent(entityId, key -> new AtomicLong());
+    }
+
+    private static TimetableKey keyOf(TimetableScope scope, int entityId, Period period, LocalDate date) {
+        return period == Period.WEEK ? TimetableKey.week(scope, entityId, date)
+                : period == Period.MONTH ? TimetableKey.month(scope, entityId, date)
+                        : TimetableKey.day(scope, entityId, date);
+    }
+}
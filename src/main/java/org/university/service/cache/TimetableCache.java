@@ -0,0 +1,145 @@
+package org.university.service.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.university.dto.CacheStatsDto;
+import org.university.entity.LessonSlot;
+import org.university.service.event.TimetableReferenceChangedEvent;
+import org.university.service.readmodel.TimetableReadModel;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded least-recently-used cache of computed timetables. Entries are
+ * dropped as soon as the read model reports a committed change of a lesson in
+ * their scope and period, all entries are dropped when a course, teacher,
+ * group or classroom is edited, and entries expire after a maximum age.
+ */
+@Component
+@Slf4j
+public class TimetableCache {
+
+    private final int maxSize;
+    private final Duration maxAge;
+    private final Clock clock;
+    private final Map<TimetableKey, Entry> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private long generation;
+
+    @Autowired
+    public TimetableCache(TimetableReadModel readModel,
+            @Value("${timetable.cache.max-size:2000}") int maxSize,
+            @Value("${timetable.cache.max-age-minutes:10}") long maxAgeMinutes) {
+        this(maxSize, Duration.ofMinutes(maxAgeMinutes), Clock.systemUTC());
+        readModel.addListener(this::invalidate);
+    }
+
+    public TimetableCache(int maxSize, Duration maxAge, Clock clock) {
+        this.maxSize = maxSize;
+        this.maxAge = maxAge;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<TimetableKey, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TimetableKey, Entry> eldest) {
+                if (size() > TimetableCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached timetable of the key, computing and caching it on a
+     * miss. A value computed while a lesson of its scope changed is returned
+     * but not cached.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(TimetableKey key, Supplier<T> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && !isExpired(entry)) {
+                hits.incrementAndGet();
+                return (T) entry.value;
+            }
+            misses.incrementAndGet();
+            loadGeneration = generation;
+        }
+        T value = loader.get();
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                entries.put(key, new Entry(value, clock.instant()));
+            }
+        }
+        return value;
+    }
+
+    public void invalidate(LessonSlot slot) {
+        LocalDate from = slot.getStartLesson().toLocalDate();
+        LocalDate to = slot.getEndLesson().toLocalDate();
+        int removed = 0;
+        synchronized (this) {
+            generation++;
+            Iterator<TimetableKey> keys = entries.keySet().iterator();
+            while (keys.hasNext()) {
+                if (keys.next().covers(slot.getTeacherId(), slot.getGroupId(), from, to)) {
+                    keys.remove();
+                    removed++;
+                }
+            }
+        }
+        invalidations.addAndGet(removed);
+        log.debug("Lesson {} invalidated {} cached timetables", slot.getId(), removed);
+    }
+
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceChanged(TimetableReferenceChangedEvent event) {
+        clear();
+    }
+
+    public synchronized void clear() {
+        generation++;
+        invalidations.addAndGet(entries.size());
+        entries.clear();
+    }
+
+    public synchronized CacheStatsDto getStats() {
+        return new CacheStatsDto(hits.get(), misses.get(), evictions.get(), invalidations.get(), entries.size(),
+                maxSize);
+    }
+
+    private boolean isExpired(Entry entry) {
+        return entry.loadedAt.plus(maxAge).isBefore(clock.instant());
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final Instant loadedAt;
+
+        private Entry(Object value, Instant loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
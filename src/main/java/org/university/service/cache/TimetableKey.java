@@ -0,0 +1,61 @@
+package org.university.service.cache;
+
+import java.time.LocalDate;
+
+import org.university.entity.TimetableScope;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Identifies a computed timetable: whose lessons it shows and which days it
+ * covers.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class TimetableKey {
+
+    public enum Period {
+        DAY, WEEK, MONTH
+    }
+
+    TimetableScope scope;
+    Integer entityId;
+    Period period;
+    LocalDate firstDay;
+
+    public static TimetableKey day(TimetableScope scope, Integer entityId, LocalDate date) {
+        return new TimetableKey(scope, entityId, Period.DAY, date);
+    }
+
+    public static TimetableKey week(TimetableScope scope, Integer entityId, LocalDate date) {
+        return new TimetableKey(scope, entityId, Period.WEEK, date.minusDays(date.getDayOfWeek().getValue() - 1L));
+    }
+
+    public static TimetableKey month(TimetableScope scope, Integer entityId, LocalDate date) {
+        return new TimetableKey(scope, entityId, Period.MONTH, date.withDayOfMonth(1));
+    }
+
+    public LocalDate getLastDay() {
+        if (period == Period.WEEK) {
+            return firstDay.plusDays(6);
+        }
+        if (period == Period.MONTH) {
+            return firstDay.withDayOfMonth(firstDay.lengthOfMonth());
+        }
+        return firstDay;
+    }
+
+    boolean covers(Integer teacherId, Integer groupId, LocalDate from, LocalDate to) {
+        boolean inScope = scope == TimetableScope.ALL || (scope == TimetableScope.GROUP && entityId.equals(groupId))
+                || (scope == TimetableScope.TEACHER && entityId.equals(teacherId));
+        return inScope && !firstDay.isAfter(to) && !getLastDay().isBefore(from);
+    }
+}
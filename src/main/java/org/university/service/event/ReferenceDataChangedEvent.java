@@ -0,0 +1,27 @@
+package org.university.service.event;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Published when courses, teachers, groups, classrooms or students are added,
+ * edited or removed, so that versions of the listings built from them can be
+ * bumped.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class ReferenceDataChangedEvent {
+
+    public enum Reference {
+        COURSE, TEACHER, GROUP, CLASSROOM, STUDENT
+    }
+
+    Reference reference;
+}
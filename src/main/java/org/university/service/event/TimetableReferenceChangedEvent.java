@@ -0,0 +1,30 @@
+package org.university.service.event;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Published when a course, teacher, group or classroom that lessons refer to
+ * is edited, so that flattened timetable entries can pick up its new name,
+ * number or address.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class TimetableReferenceChangedEvent extends ReferenceDataChangedEvent {
+
+    int id;
+
+    public TimetableReferenceChangedEvent(Reference reference, int id) {
+        super(reference);
+        this.id = id;
+    }
+
+    public Integer getIdOf(Reference expected) {
+        return getReference() == expected ? id : null;
+    }
+}
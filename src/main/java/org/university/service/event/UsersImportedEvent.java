@@ -0,0 +1,38 @@
+package org.university.service.event;
+
+import java.util.List;
+import java.util.Locale;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Published for every chunk of students or teachers saved by a bulk import,
+ * so that their account emails are sent once the import is committed. Only
+ * what the emails need is carried, not the saved entities.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class UsersImportedEvent {
+
+    List<Account> accounts;
+    Locale locale;
+
+    @Getter
+    @EqualsAndHashCode
+    @ToString
+    @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+    @AllArgsConstructor
+    public static class Account {
+
+        String name;
+        String email;
+    }
+}
@@ -0,0 +1,16 @@
+package org.university.service.export;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public enum ExportFormat {
+    PDF("application/pdf", ".pdf"), CSV("text/csv", ".csv");
+
+    String contentType;
+    String extension;
+}
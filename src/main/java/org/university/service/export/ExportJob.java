@@ -0,0 +1,59 @@
+package org.university.service.export;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import lombok.Getter;
+
+/**
+ * Export rendered in the background into a file of the export store. The
+ * state is written by the worker rendering it and read by request threads.
+ */
+@Getter
+public class ExportJob {
+
+    public enum Status {
+        QUEUED, RUNNING, DONE, FAILED
+    }
+
+    private final String id;
+    private final String owner;
+    private final TimetableExport export;
+    private final ExportFormat format;
+    private final LocalDateTime submittedAt;
+    private volatile Status status = Status.QUEUED;
+    private volatile Path file;
+    private volatile long size;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public ExportJob(String id, String owner, TimetableExport export, ExportFormat format,
+            LocalDateTime submittedAt) {
+        this.id = id;
+        this.owner = owner;
+        this.export = export;
+        this.format = format;
+        this.submittedAt = submittedAt;
+    }
+
+    public void start() {
+        status = Status.RUNNING;
+    }
+
+    public void finish(Path file, long size, LocalDateTime finishedAt) {
+        this.file = file;
+        this.size = size;
+        this.finishedAt = finishedAt;
+        status = Status.DONE;
+    }
+
+    public void fail(String error, LocalDateTime finishedAt) {
+        this.error = error;
+        this.finishedAt = finishedAt;
+        status = Status.FAILED;
+    }
+
+    public String getFileName() {
+        return export.getName() + " timetable" + format.getExtension();
+    }
+}
@@ -0,0 +1,54 @@
+package org.university.service.export;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.university.exceptions.InvalidLessonTimeException;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Days of an export given either as explicit dates or as a named semester:
+ * "autumn-2021" runs from the 1st of September 2021 to the 31st of January
+ * 2022 and "spring-2022" from the 1st of February to the 30th of June 2022.
+ */
+@Getter
+@EqualsAndHashCode
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class ExportRange {
+
+    private static final Pattern SEMESTER = Pattern.compile("(autumn|spring)-(\\d{4})");
+
+    LocalDate from;
+    LocalDate to;
+
+    public static ExportRange of(LocalDate from, LocalDate to, String semester) {
+        if (semester == null) {
+            return new ExportRange(from, to);
+        }
+        if (from != null || to != null) {
+            throw new InvalidLessonTimeException("invalidrange");
+        }
+        return ofSemester(semester);
+    }
+
+    public static ExportRange ofSemester(String semester) {
+        Matcher matcher = SEMESTER.matcher(semester.toLowerCase(Locale.ROOT));
+        if (!matcher.matches()) {
+            throw new InvalidLessonTimeException("invalidsemester");
+        }
+        int year = Integer.parseInt(matcher.group(2));
+        if (matcher.group(1).equals("autumn")) {
+            return new ExportRange(LocalDate.of(year, Month.SEPTEMBER, 1), LocalDate.of(year + 1, Month.JANUARY, 31));
+        }
+        return new ExportRange(LocalDate.of(year, Month.FEBRUARY, 1), LocalDate.of(year, Month.JUNE, 30));
+    }
+}
@@ -0,0 +1,29 @@
+package org.university.service.export;
+
+import java.time.LocalDate;
+
+import org.university.entity.TimetableScope;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Resolved export of the timetable of a group, a teacher or the whole
+ * university over a range of days. The entity id is null for the whole
+ * university.
+ */
+@Getter
+@EqualsAndHashCode
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class TimetableExport {
+
+    TimetableScope scope;
+    Integer entityId;
+    String name;
+    LocalDate from;
+    LocalDate to;
+}
@@ -0,0 +1,101 @@
+package org.university.service.feed;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import org.university.entity.LessonView;
+
+/**
+ * Writes lessons as iCalendar (RFC 5545) events one at a time, so that a feed
+ * is streamed without keeping its lessons in memory. Times are written in UTC
+ * and lines longer than 75 octets are folded.
+ */
+public class IcsWriter {
+
+    private static final String CRLF = "\r\n";
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final DateTimeFormatter UTC_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private final Writer writer;
+    private final ZoneId zone;
+    private final String timestamp;
+
+    public IcsWriter(Writer writer, ZoneId zone, LocalDateTime now) {
+        this.writer = writer;
+        this.zone = zone;
+        this.timestamp = formatTime(now);
+    }
+
+    public void writeHeader(String calendarName) throws IOException {
+        writeLine("BEGIN:VCALENDAR");
+        writeLine("VERSION:2.0");
+        writeLine("PRODID:-//University department//Timetable//EN");
+        writeLine("CALSCALE:GREGORIAN");
+        writeLine("METHOD:PUBLISH");
+        writeLine("X-WR-CALNAME:" + escape(calendarName));
+        writeLine("REFRESH-INTERVAL;VALUE=DURATION:PT1H");
+        writeLine("X-PUBLISHED-TTL:PT1H");
+    }
+
+    public void write(LessonView lesson) throws IOException {
+        writeLine("BEGIN:VEVENT");
+        writeLine("UID:lesson-" + lesson.getId() + "@departmentuniversity");
+        writeLine("DTSTAMP:" + timestamp);
+        writeLine("DTSTART:" + formatTime(lesson.getStartLesson()));
+        writeLine("DTEND:" + formatTime(lesson.getEndLesson()));
+        writeLine("SUMMARY:" + escape(lesson.getCourseName()));
+        if (Boolean.TRUE.equals(lesson.getOnlineLesson()) && lesson.getLessonLink() != null) {
+            writeLine("LOCATION:" + escape(lesson.getLessonLink()));
+            writeLine("URL:" + lesson.getLessonLink());
+        } else {
+            writeLine("LOCATION:" + escape(lesson.getClassroomNumber() + ", " + lesson.getClassroomAddress()));
+        }
+        writeLine("DESCRIPTION:"
+                + escape("Teacher: " + lesson.getTeacherName() + "\nGroup: " + lesson.getGroupName()));
+        writeLine("END:VEVENT");
+    }
+
+    public void writeFooter() throws IOException {
+        writeLine("END:VCALENDAR");
+        writer.flush();
+    }
+
+    private String formatTime(LocalDateTime time) {
+        return time.atZone(zone).withZoneSameInstant(ZoneOffset.UTC).format(UTC_TIME);
+    }
+
+    private void writeLine(String line) throws IOException {
+        StringBuilder folded = new StringBuilder(line.length() + 8);
+        int octets = 0;
+        for (int i = 0; i < line.length(); i += Character.charCount(line.codePointAt(i))) {
+            int codePoint = line.codePointAt(i);
+            int length = utf8Length(codePoint);
+            if (octets + length > MAX_LINE_OCTETS) {
+                folded.append(CRLF).append(' ');
+                octets = 1;
+            }
+            folded.appendCodePoint(codePoint);
+            octets += length;
+        }
+        writer.write(folded.append(CRLF).toString());
+    }
+
+    private static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        }
+        if (codePoint < 0x800) {
+            return 2;
+        }
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+
+    private static String escape(String text) {
+        return String.valueOf(text).replace("\\", "\\\\").replace(";", "\\;").replace(",", "\\,").replace("\r", "")
+                .replace("\n", "\\n");
+    }
+}
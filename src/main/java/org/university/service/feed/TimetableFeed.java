@@ -0,0 +1,29 @@
+package org.university.service.feed;
+
+import java.time.LocalDate;
+
+import org.university.entity.TimetableScope;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Resolved calendar feed of a group or a teacher over a range of days, with
+ * the entity tag of its current content.
+ */
+@Getter
+@EqualsAndHashCode
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class TimetableFeed {
+
+    TimetableScope scope;
+    int entityId;
+    String name;
+    LocalDate from;
+    LocalDate to;
+    String tag;
+}
@@ -4,9 +4,11 @@ import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.university.entity.Lesson;
 import org.university.service.CalendarService;
@@ -16,7 +18,10 @@ import com.google.api.services.calendar.Calendar;
 import com.google.api.services.calendar.model.Event;
 import com.google.api.services.calendar.model.EventDateTime;
 
+import lombok.extern.slf4j.Slf4j;
+
 @Service
+@Slf4j
 @PropertySource("classpath:googlecalendar.properties")
 public class CalendarServiceImpl implements CalendarService {
 
@@ -82,4 +87,40 @@ public class CalendarServiceImpl implements CalendarService {
         event.setEnd(createEventTime(lesson.getEndLesson()));
         calendar.events().update(calendarId, formatEventId(lessonId), event).execute();
     }
+
+    @Override
+    @Async("calendarExecutor")
+    public void createLessons(List<Lesson> lessons) {
+        for (Lesson lesson : lessons) {
+            try {
+                createLesson(lesson);
+            } catch (IOException | GeneralSecurityException e) {
+                log.error("Add lesson {} in calendar failed", lesson.getId());
+            }
+        }
+    }
+
+    @Override
+    @Async("calendarExecutor")
+    public void updateLessons(List<Lesson> lessons) {
+        for (Lesson lesson : lessons) {
+            try {
+                updateLesson(lesson);
+            } catch (IOException | GeneralSecurityException e) {
+                log.error("Edit lesson {} in calendar failed", lesson.getId());
+            }
+        }
+    }
+
+    @Override
+    @Async("calendarExecutor")
+    public void deleteLessons(List<Integer> lessonIds) {
+        for (Integer lessonId : lessonIds) {
+            try {
+                deleteLesson(Integer.toString(lessonId));
+            } catch (IOException | GeneralSecurityException e) {
+                log.error("Delete lesson {} from calendar failed", lessonId);
+            }
+        }
+    }
 }
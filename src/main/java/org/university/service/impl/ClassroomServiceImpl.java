@@ -2,6 +2,7 @@ package org.university.service.impl;
 
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.university.dao.ClassroomDao;
@@ -10,6 +11,11 @@ import org.university.entity.Classroom;
 import org.university.exceptions.EntityAlreadyExistException;
 import org.university.exceptions.EntityNotExistException;
 import org.university.service.ClassroomService;
+import org.university.service.LessonBulkDeleteService;
+import org.university.service.cache.ReferenceResolver;
+import org.university.service.event.ReferenceDataChangedEvent;
+import org.university.service.event.ReferenceDataChangedEvent.Reference;
+import org.university.service.event.TimetableReferenceChangedEvent;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -25,13 +31,13 @@ import lombok.extern.slf4j.Slf4j;
 public class ClassroomServiceImpl implements ClassroomService {
 
     ClassroomDao classroomDao;
+    ApplicationEventPublisher eventPublisher;
+    ReferenceResolver resolver;
+    LessonBulkDeleteService lessonDeleteService;
 
     @Override
     public Classroom createClassroom(int classroomNumber) {
-        if (!classroomDao.findByNumber(classroomNumber).isPresent()) {
-            throw new EntityNotExistException();
-        }
-        return classroomDao.findByNumber(classroomNumber).get();
+        return resolver.findClassroomId(classroomNumber).flatMap(classroomDao::findById).orElseThrow(EntityNotExistException::new);
     }
 
     @Override
@@ -41,6 +47,7 @@ public class ClassroomServiceImpl implements ClassroomService {
             throw new EntityAlreadyExistException("classroomexist");
         } else {
             classroomDao.save(classroom);
+            eventPublisher.publishEvent(new ReferenceDataChangedEvent(Reference.CLASSROOM));
             log.info("Classroom with number {} added succesfull!", classroom.getNumber());
         }      
     }
@@ -53,7 +60,9 @@ public class ClassroomServiceImpl implements ClassroomService {
     @Override
     public void delete(@NonNull ClassroomDto classroomDto) {
         if (classroomDao.existsById(classroomDto.getId())) {
+            lessonDeleteService.deleteLessonsReferencing(Reference.CLASSROOM, classroomDto.getId());
             classroomDao.deleteById(classroomDto.getId());
+            eventPublisher.publishEvent(new ReferenceDataChangedEvent(Reference.CLASSROOM));
             log.info("Classroom with id {} deleted!", classroomDto.getId());
         }
     }
@@ -62,6 +71,7 @@ public class ClassroomServiceImpl implements ClassroomService {
     public void edit(@NonNull ClassroomDto classroomDto) {
         Classroom classroom = mapDtoToEntity(classroomDto);
         classroomDao.save(classroom);
+        eventPublisher.publishEvent(new TimetableReferenceChangedEvent(Reference.CLASSROOM, classroom.getId()));
         log.info("Classroom with number {} edited succesfull!", classroom.getNumber());        
     }
 
@@ -3,6 +3,7 @@ package org.university.service.impl;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.university.dao.CourseDao;
@@ -11,6 +12,11 @@ import org.university.entity.Course;
 import org.university.exceptions.EntityAlreadyExistException;
 import org.university.exceptions.EntityNotExistException;
 import org.university.service.CourseService;
+import org.university.service.LessonBulkDeleteService;
+import org.university.service.cache.ReferenceResolver;
+import org.university.service.event.ReferenceDataChangedEvent;
+import org.university.service.event.ReferenceDataChangedEvent.Reference;
+import org.university.service.event.TimetableReferenceChangedEvent;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -26,13 +32,13 @@ import lombok.extern.slf4j.Slf4j;
 public class CourseServiceImpl implements CourseService {
 
     CourseDao courseDao;
+    ApplicationEventPublisher eventPublisher;
+    ReferenceResolver resolver;
+    LessonBulkDeleteService lessonDeleteService;
 
     @Override    
     public Course createCourse(String courseName) {
-        if (!courseDao.findByName(courseName).isPresent()) {
-            throw new EntityNotExistException();
-        }
-        return courseDao.findByName(courseName).get();
+        return resolver.findCourseId(courseName).flatMap(courseDao::findById).orElseThrow(EntityNotExistException::new);
     }
 
     @Override    
@@ -42,6 +48,7 @@ public class CourseServiceImpl implements CourseService {
             throw new EntityAlreadyExistException("courseexist");
         }
         courseDao.save(course);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Reference.COURSE));
         log.info("Course with name {} added succesfull!", course.getName());
     }
 
@@ -54,7 +61,9 @@ public class CourseServiceImpl implements CourseService {
     public void delete(@NonNull CourseDto courseDto) {
         Course course = mapDtoToEntity(courseDto);
         if (existCourse(course)) {
+            lessonDeleteService.deleteLessonsReferencing(Reference.COURSE, course.getId());
             courseDao.deleteById(course.getId());
+            eventPublisher.publishEvent(new ReferenceDataChangedEvent(Reference.COURSE));
             log.info("Course with name {} deleted!", course.getName());
         }
     }
@@ -66,6 +75,7 @@ public class CourseServiceImpl implements CourseService {
             throw new EntityAlreadyExistException("courseexist");
         }
         courseDao.save(course);
+        eventPublisher.publishEvent(new TimetableReferenceChangedEvent(Reference.COURSE, course.getId()));
         log.info("Course with name {} edited succesfull!", course.getName());
     }
 
@@ -2,146 +2,159 @@ package org.university.service.impl;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.Month;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.university.dao.GroupDao;
-import org.university.dao.LessonDao;
 import org.university.dao.TeacherDao;
 import org.university.entity.DayTimetable;
-import org.university.entity.Group;
-import org.university.entity.Lesson;
-import org.university.entity.Teacher;
+import org.university.entity.LessonView;
+import org.university.entity.TimetableScope;
 import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.InvalidLessonTimeException;
 import org.university.service.DayTimetableService;
+import org.university.service.cache.ReferenceResolver;
+import org.university.service.cache.TimetableCache;
+import org.university.service.cache.TimetableKey;
+import org.university.service.readmodel.TimetableReadModel;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
+import lombok.NonNull;
 import lombok.experimental.FieldDefaults;
 
 @Service
 @AllArgsConstructor
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
-@Transactional
+@Transactional(readOnly = true)
 public class DayTimetableServiceImpl implements DayTimetableService {
 
-    LessonDao lessonDao;
+    private static final int MAX_RANGE_DAYS = 366;
+
+    TimetableReadModel readModel;
     TeacherDao teacherDao;
     GroupDao groupDao;
+    TimetableCache cache;
+    ReferenceResolver resolver;
 
     @Override
     public DayTimetable createTeacherTimetable(LocalDate date, String teacherEmail) {
         int teacherId = checkAndGetTeacherId(teacherEmail);
-        return new DayTimetable(date, lessonDao.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(
-                date.atStartOfDay(), date.atStartOfDay().plusHours(23), teacherId));
+        return cache.get(TimetableKey.day(TimetableScope.TEACHER, teacherId, date),
+                () -> new DayTimetable(date, readModel.findAllOfTeacherBetween(date.atStartOfDay(),
+                        date.atStartOfDay().plusHours(23), teacherId)));
     }
 
     @Override
     public DayTimetable createGroupTimetable(LocalDate date, String groupName) {
         int groupId = checkAndGetGroupId(groupName);
-        return new DayTimetable(date, lessonDao.findAllByStartLessonBetweenAndGroupIdOrderByStartLesson(
-                date.atStartOfDay(), date.atStartOfDay().plusHours(23), groupId));
+        return cache.get(TimetableKey.day(TimetableScope.GROUP, groupId, date),
+                () -> new DayTimetable(date, readModel.findAllOfGroupBetween(date.atStartOfDay(),
+                        date.atStartOfDay().plusHours(23), groupId)));
     }
 
     @Override
     public List<DayTimetable> createMonthTeacherTimetable(LocalDate date, String teacherEmail) {
         int teacherId = checkAndGetTeacherId(teacherEmail);
-        Month month = date.getMonth();
-        LocalDateTime monthStart = LocalDateTime.of(date.getYear(), month, 1, 0, 0);
-        LocalDateTime monthEnd = LocalDateTime.of(date.getYear(), month, month.maxLength(), 23, 0);
-        List<Lesson> lessons = lessonDao.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(monthStart, monthEnd,
-                teacherId);
-        return fillMonthTimetable(lessons, date);
+        TimetableKey key = TimetableKey.month(TimetableScope.TEACHER, teacherId, date);
+        return cache.get(key, () -> splitByDays(readModel.findAllOfTeacherBetween(startOf(key), endOf(key),
+                teacherId)));
     }
 
     @Override
     public List<DayTimetable> createMonthGroupTimetable(LocalDate date, String groupName) {
         int groupId = checkAndGetGroupId(groupName);
-        Month month = date.getMonth();        
-        LocalDateTime monthStart = LocalDateTime.of(date.getYear(), month, 1, 0, 0);
-        LocalDateTime monthEnd = LocalDateTime.of(date.getYear(), month, month.maxLength(), 23, 0);
-        List<Lesson> lessons = lessonDao.findAllByStartLessonBetweenAndGroupIdOrderByStartLesson(monthStart, monthEnd,
-                groupId);
-        return fillMonthTimetable(lessons, date);
+        TimetableKey key = TimetableKey.month(TimetableScope.GROUP, groupId, date);
+        return cache.get(key, () -> splitByDays(readModel.findAllOfGroupBetween(startOf(key), endOf(key), groupId)));
     }
     
-    private List<DayTimetable> fillMonthTimetable(List<Lesson> lessons, LocalDate date) {
-        List<DayTimetable> monthTimetable = new ArrayList<>();
-        Month month = date.getMonth();        
-        for (int i = 1; i <= month.maxLength(); i++) {
-            LocalDate day = LocalDate.of(date.getYear(), month, i);
-            List<Lesson> dayLessons = new ArrayList<>();
-            for (Lesson lesson : lessons) {
-                if (lesson.getStartLesson().getDayOfMonth() == i) {
-                    dayLessons.add(lesson);
-                }
-            }
-            if (!dayLessons.isEmpty()) {
-                DayTimetable dayTimetable = new DayTimetable(day, dayLessons);
-                monthTimetable.add(dayTimetable);
-            }
-        }
-        return monthTimetable;
-    }
-
     @Override
     public DayTimetable createDayTimetable(LocalDate date) {
-        return new DayTimetable(date, lessonDao.findAllByStartLessonBetweenOrderByStartLesson(date.atStartOfDay(),
-                date.atStartOfDay().plusHours(23)));
+        return cache.get(TimetableKey.day(TimetableScope.ALL, null, date),
+                () -> new DayTimetable(date, readModel.findAllBetween(date.atStartOfDay(),
+                        date.atStartOfDay().plusHours(23))));
     }
 
     @Override
     public List<DayTimetable> createWeekTeacherTimetable(LocalDate date, String teacherEmail) {
         int teacherId = checkAndGetTeacherId(teacherEmail);
-        LocalDate monday = date.minusDays(date.getDayOfWeek().getValue() - 1);
-        List<Lesson> lessons = lessonDao.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(
-                monday.atStartOfDay(), monday.plusDays(6).atStartOfDay().plusHours(23), teacherId);
-        return fillWeekTimetable(lessons, monday);
+        TimetableKey key = TimetableKey.week(TimetableScope.TEACHER, teacherId, date);
+        return cache.get(key, () -> splitByDays(readModel.findAllOfTeacherBetween(startOf(key), endOf(key),
+                teacherId)));
     }
 
     @Override
     public List<DayTimetable> createWeekGroupTimetable(LocalDate date, String groupName) {
         int groupId = checkAndGetGroupId(groupName);
-        LocalDate monday = date.minusDays(date.getDayOfWeek().getValue() - 1);
-        List<Lesson> lessons = lessonDao.findAllByStartLessonBetweenAndGroupIdOrderByStartLesson(monday.atStartOfDay(),
-                monday.plusDays(6).atStartOfDay().plusHours(23), groupId);
-        return fillWeekTimetable(lessons, monday);
+        TimetableKey key = TimetableKey.week(TimetableScope.GROUP, groupId, date);
+        return cache.get(key, () -> splitByDays(readModel.findAllOfGroupBetween(startOf(key), endOf(key), groupId)));
     }
 
-    private List<DayTimetable> fillWeekTimetable(List<Lesson> lessons, LocalDate monday) {
-        List<DayTimetable> weekTimetable = new ArrayList<>();
-        for (int i = 0; i < 7; i++) {
-            LocalDate day = monday.plusDays(i);
-            List<Lesson> dayLessons = new ArrayList<>();
-            for (Lesson lesson : lessons) {
-                if (lesson.getStartLesson().getDayOfMonth() == day.getDayOfMonth()) {
-                    dayLessons.add(lesson);
-                }
+    @Override
+    public List<DayTimetable> createTimetable(@NonNull TimetableScope scope, Integer id, LocalDate from,
+            LocalDate to) {
+        if (from == null || to == null || to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new InvalidLessonTimeException("invalidrange");
+        }
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.atTime(LocalTime.MAX);
+        if (scope == TimetableScope.GROUP) {
+            if (id == null || !groupDao.existsById(id)) {
+                throw new EntityNotExistException("groupnotexist");
             }
-            if (!dayLessons.isEmpty()) {
-                DayTimetable dayTimetable = new DayTimetable(day, dayLessons);
-                weekTimetable.add(dayTimetable);
+            return splitByDays(readModel.findAllOfGroupBetween(start, end, id));
+        }
+        if (scope == TimetableScope.TEACHER) {
+            if (id == null || !teacherDao.existsById(id)) {
+                throw new EntityNotExistException("teachernotexist");
             }
+            return splitByDays(readModel.findAllOfTeacherBetween(start, end, id));
         }
-        return weekTimetable;
+        return splitByDays(readModel.findAllBetween(start, end));
     }
 
-    private int checkAndGetTeacherId(String teacherEmail) {
-        if (!teacherDao.findByEmail(teacherEmail).isPresent()) {
-            throw new EntityNotExistException();
+    private static LocalDateTime startOf(TimetableKey key) {
+        return key.getFirstDay().atStartOfDay();
+    }
+
+    private static LocalDateTime endOf(TimetableKey key) {
+        return key.getLastDay().atStartOfDay().plusHours(23);
+    }
+
+    /**
+     * Groups lessons sorted by start into one timetable per day that has
+     * lessons, in a single pass.
+     */
+    private static List<DayTimetable> splitByDays(List<LessonView> lessons) {
+        List<DayTimetable> timetables = new ArrayList<>();
+        List<LessonView> dayLessons = new ArrayList<>();
+        LocalDate day = null;
+        for (LessonView lesson : lessons) {
+            LocalDate lessonDay = lesson.getStartLesson().toLocalDate();
+            if (!lessonDay.equals(day)) {
+                if (day != null) {
+                    timetables.add(new DayTimetable(day, dayLessons));
+                }
+                day = lessonDay;
+                dayLessons = new ArrayList<>();
+            }
+            dayLessons.add(lesson);
         }
-        Teacher teacher = teacherDao.findByEmail(teacherEmail).get();
-        return teacher.getId();
+        if (day != null) {
+            timetables.add(new DayTimetable(day, dayLessons));
+        }
+        return timetables;
+    }
+
+    private int checkAndGetTeacherId(String teacherEmail) {
+        return resolver.findTeacherId(teacherEmail).orElseThrow(EntityNotExistException::new);
     }
 
     private int checkAndGetGroupId(String groupName) {
-        if (!groupDao.findByName(groupName).isPresent()) {
-            throw new EntityNotExistException();
-        }
-        Group group = groupDao.findByName(groupName).get();
-        return group.getId();
+        return resolver.findGroupId(groupName).orElseThrow(EntityNotExistException::new);
     }
 }
@@ -0,0 +1,264 @@
+package org.university.service.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.university.dto.ExportJobDto;
+import org.university.dto.ExportRequestDto;
+import org.university.dto.ExportStatsDto;
+import org.university.entity.TimetableScope;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.ExportNotReadyException;
+import org.university.exceptions.ExportRejectedException;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.service.ExportJobService;
+import org.university.service.TimetableExportService;
+import org.university.service.export.ExportFormat;
+import org.university.service.export.ExportJob;
+import org.university.service.export.ExportJob.Status;
+import org.university.service.export.TimetableExport;
+import org.university.utils.FileLeases;
+import org.university.utils.FileLeases.Lease;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Renders exports on a bounded worker pool into files of a local store,
+ * instead of on the request thread. Every user may have a few exports queued
+ * or rendering at a time, and finished exports are kept for a while to be
+ * downloaded; a file expiring during a download is deleted after it.
+ */
+@Service
+@Slf4j
+public class ExportJobServiceImpl implements ExportJobService {
+
+    private static final Duration SENDFILE_GRACE = Duration.ofMinutes(1);
+
+    private final TimetableExportService exportService;
+    private final Executor executor;
+    private final Path directory;
+    private final int userLimit;
+    private final Duration retention;
+    private final Clock clock;
+    private final FileLeases leases;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, Integer> activeJobs = new HashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong renderNanos = new AtomicLong();
+    private final AtomicLong maxRenderNanos = new AtomicLong();
+
+    @Autowired
+    public ExportJobServiceImpl(TimetableExportService exportService, @Qualifier("exportExecutor") Executor executor,
+            @Value("${export.jobs.directory:${java.io.tmpdir}/university-exports}") String directory,
+            @Value("${export.jobs.per-user:2}") int userLimit,
+            @Value("${export.jobs.retention-minutes:60}") long retentionMinutes) {
+        this(exportService, executor, Paths.get(directory), userLimit,
+                Duration.ofMinutes(retentionMinutes), Clock.systemDefaultZone());
+    }
+
+    public ExportJobServiceImpl(TimetableExportService exportService, Executor executor, Path directory,
+            int userLimit, Duration retention, Clock clock) {
+        this.exportService = exportService;
+        this.executor = executor;
+        this.directory = directory;
+        this.userLimit = userLimit;
+        this.retention = retention;
+        this.clock = clock;
+        this.leases = new FileLeases(SENDFILE_GRACE, clock);
+    }
+
+    @PostConstruct
+    public void clearDirectory() {
+        FileLeases.clearDirectory(directory);
+    }
+
+    @Override
+    public ExportJobDto submit(@NonNull ExportRequestDto request, @NonNull String owner) {
+        TimetableExport export = resolve(request);
+        if (!tryAcquire(owner)) {
+            rejected.incrementAndGet();
+            throw new ExportRejectedException("exportlimit");
+        }
+        ExportJob job = new ExportJob(UUID.randomUUID().toString(), owner, export, request.getFormat(),
+                LocalDateTime.now(clock));
+        jobs.put(job.getId(), job);
+        queued.incrementAndGet();
+        try {
+            executor.execute(() -> render(job));
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            jobs.remove(job.getId());
+            release(owner);
+            rejected.incrementAndGet();
+            throw new ExportRejectedException("exportqueuefull");
+        }
+        log.info("Export {} of {} timetable queued", job.getId(), export.getName());
+        return mapJobToDto(job);
+    }
+
+    @Override
+    public ExportJobDto findJob(String id, @NonNull String owner) {
+        return mapJobToDto(findOwnJob(id, owner));
+    }
+
+    @Override
+    public synchronized Lease<ExportJob> findFinishedJob(String id, @NonNull String owner) {
+        ExportJob job = findOwnJob(id, owner);
+        if (job.getStatus() != Status.DONE) {
+            throw new ExportNotReadyException("exportnotready");
+        }
+        return leases.acquire(job.getFile(), job);
+    }
+
+    @Override
+    public ExportStatsDto getStats() {
+        long finished = completed.get() + failed.get();
+        return new ExportStatsDto(queued.get(), running.get(), completed.get(), failed.get(), rejected.get(),
+                finished == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(renderNanos.get() / finished),
+                TimeUnit.NANOSECONDS.toMillis(maxRenderNanos.get()));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${export.jobs.purge-ms:60000}")
+    public synchronized void purgeExpired() {
+        LocalDateTime expiredBefore = LocalDateTime.now(clock).minus(retention);
+        jobs.values().removeIf(job -> {
+            if (job.getFinishedAt() == null || !job.getFinishedAt().isBefore(expiredBefore)) {
+                return false;
+            }
+            if (job.getFile() != null) {
+                leases.delete(job.getFile());
+            }
+            return true;
+        });
+        leases.sweep();
+    }
+
+    void render(ExportJob job) {
+        queued.decrementAndGet();
+        running.incrementAndGet();
+        job.start();
+        long started = System.nanoTime();
+        Path file = directory.resolve(job.getId() + job.getFormat().getExtension());
+        try {
+            Files.createDirectories(directory);
+            if (job.getFormat() == ExportFormat.CSV) {
+                try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                    exportService.writeCsv(job.getExport(), writer);
+                }
+            } else {
+                try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(file))) {
+                    exportService.writePdf(job.getExport(), output);
+                }
+            }
+            job.finish(file, Files.size(file), LocalDateTime.now(clock));
+            completed.incrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            log.error("Export {} failed!", job.getId(), e);
+            deleteQuietly(file);
+            job.fail("exportfailed", LocalDateTime.now(clock));
+            failed.incrementAndGet();
+        } finally {
+            long nanos = System.nanoTime() - started;
+            renderNanos.addAndGet(nanos);
+            maxRenderNanos.accumulateAndGet(nanos, Math::max);
+            running.decrementAndGet();
+            release(job.getOwner());
+        }
+    }
+
+    private TimetableExport resolve(ExportRequestDto request) {
+        LocalDate from = parseDate(request.getFrom());
+        LocalDate to = parseDate(request.getTo());
+        if (request.getScope() == TimetableScope.GROUP) {
+            return exportService.findGroupExport(request.getName(), from, to);
+        }
+        if (request.getScope() == TimetableScope.TEACHER) {
+            return exportService.findTeacherExport(request.getName(), from, to);
+        }
+        return exportService.findUniversityExport(from, to);
+    }
+
+    private ExportJob findOwnJob(String id, String owner) {
+        ExportJob job = id == null ? null : jobs.get(id);
+        if (job == null || !job.getOwner().equals(owner)) {
+            throw new EntityNotExistException("exportnotexist");
+        }
+        return job;
+    }
+
+    private synchronized boolean tryAcquire(String owner) {
+        int active = activeJobs.getOrDefault(owner, 0);
+        if (active >= userLimit) {
+            return false;
+        }
+        activeJobs.put(owner, active + 1);
+        return true;
+    }
+
+    private synchronized void release(String owner) {
+        activeJobs.computeIfPresent(owner, (key, active) -> active == 1 ? null : active - 1);
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Export file {} was not deleted!", file);
+        }
+    }
+
+    private static LocalDate parseDate(String date) {
+        if (date == null) {
+            throw new InvalidLessonTimeException("invalidrange");
+        }
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new InvalidLessonTimeException("invalidrange");
+        }
+    }
+
+    private static ExportJobDto mapJobToDto(ExportJob job) {
+        TimetableExport export = job.getExport();
+        return new ExportJobDto(job.getId(), job.getStatus().name(), job.getFormat().name(), export.getName(),
+                export.getFrom().toString(), export.getTo().toString(),
+                job.getStatus() == Status.DONE ? job.getSize() : null, job.getSubmittedAt().toString(),
+                job.getFinishedAt() == null ? null : job.getFinishedAt().toString(), job.getError());
+    }
+}
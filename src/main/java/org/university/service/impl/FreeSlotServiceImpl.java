@@ -0,0 +1,126 @@
+package org.university.service.impl;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.university.dao.ClassroomDao;
+import org.university.dao.GroupDao;
+import org.university.dao.TeacherDao;
+import org.university.dto.FreeSlotDto;
+import org.university.dto.FreeSlotQueryDto;
+import org.university.entity.Classroom;
+import org.university.entity.Group;
+import org.university.entity.Teacher;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.service.FreeSlotService;
+import org.university.service.index.LessonConflictIndex;
+import org.university.service.validator.LessonValidator;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.experimental.FieldDefaults;
+
+@Service
+@AllArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@Transactional(readOnly = true)
+public class FreeSlotServiceImpl implements FreeSlotService {
+
+    private static final int SLOTS_PER_HOUR = 60 / LessonConflictIndex.SLOT_MINUTES;
+    private static final int FIRST_START_SLOT = LessonValidator.LESSONS_START_TIME * SLOTS_PER_HOUR;
+    private static final int LAST_START_SLOT = (LessonValidator.LESSONS_FINISH_TIME + 1) * SLOTS_PER_HOUR - 1;
+    private static final int MAX_RANGE_DAYS = 92;
+    private static final int MAX_LIMIT = 100;
+
+    TeacherDao teacherDao;
+    GroupDao groupDao;
+    ClassroomDao classroomDao;
+    LessonConflictIndex conflictIndex;
+
+    @Override
+    public List<FreeSlotDto> findFreeSlots(@NonNull FreeSlotQueryDto query) {
+        LocalDate from = parseDate(query.getFrom());
+        LocalDate to = parseDate(query.getTo());
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) > MAX_RANGE_DAYS) {
+            throw new InvalidLessonTimeException("invalidrange");
+        }
+        if (query.getDuration() == null || query.getDuration() <= 0) {
+            throw new InvalidLessonTimeException("endearlierstart");
+        }
+        Teacher teacher = teacherDao.findByEmail(query.getTeacherEmail())
+                .orElseThrow(() -> new EntityNotExistException("teachernotexist"));
+        Group group = groupDao.findByName(query.getGroupName())
+                .orElseThrow(() -> new EntityNotExistException("groupnotexist"));
+        int capacity = Math.max(query.getMinCapacity(), group.getStudents().size());
+        List<Classroom> classrooms = classroomDao.findAllByCapacityGreaterThanEqualOrderByCapacityAscNumberAsc(capacity);
+        int limit = Math.min(Math.max(query.getLimit(), 1), MAX_LIMIT);
+        int durationSlots = query.getDuration() / LessonConflictIndex.SLOT_MINUTES;
+        List<FreeSlotDto> freeSlots = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to) && freeSlots.size() < limit; day = day.plusDays(1)) {
+            if (day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                findFreeSlots(day, teacher, group, classrooms, durationSlots, query.getDuration(),
+                        limit - freeSlots.size(), freeSlots);
+            }
+        }
+        return freeSlots;
+    }
+
+    private void findFreeSlots(LocalDate day, Teacher teacher, Group group, List<Classroom> classrooms,
+            int durationSlots, int duration, int limit, List<FreeSlotDto> freeSlots) {
+        BitSet busy = conflictIndex.teacherBusySlots(teacher.getId(), day);
+        busy.or(conflictIndex.groupBusySlots(group.getId(), day));
+        if (busy.nextClearBit(FIRST_START_SLOT) > LAST_START_SLOT) {
+            return;
+        }
+        List<BitSet> classroomsBusy = new ArrayList<>(classrooms.size());
+        for (Classroom classroom : classrooms) {
+            classroomsBusy.add(conflictIndex.classroomBusySlots(classroom.getId(), day));
+        }
+        int found = 0;
+        for (int start = FIRST_START_SLOT; start <= LAST_START_SLOT && found < limit; start++) {
+            int end = start + durationSlots;
+            if (end >= LessonConflictIndex.SLOTS_PER_DAY) {
+                return;
+            }
+            if (!isFree(busy, start, end)) {
+                continue;
+            }
+            for (int i = 0; i < classrooms.size(); i++) {
+                if (isFree(classroomsBusy.get(i), start, end)) {
+                    LocalDateTime startLesson = day.atStartOfDay()
+                            .plusMinutes((long) start * LessonConflictIndex.SLOT_MINUTES);
+                    freeSlots.add(new FreeSlotDto(startLesson.toString(),
+                            startLesson.plusMinutes(duration).toString(), classrooms.get(i).getNumber()));
+                    found++;
+                    break;
+                }
+            }
+        }
+    }
+
+    private static boolean isFree(BitSet busy, int fromSlot, int toSlot) {
+        int firstBusy = busy.nextSetBit(fromSlot);
+        return firstBusy == -1 || firstBusy > toSlot;
+    }
+
+    private static LocalDate parseDate(String date) {
+        if (date == null) {
+            throw new InvalidLessonTimeException("invalidtime");
+        }
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new InvalidLessonTimeException("invalidtime");
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.university.service.impl;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.university.dao.GroupDao;
@@ -14,6 +15,11 @@ import org.university.entity.Student;
 import org.university.exceptions.EntityAlreadyExistException;
 import org.university.exceptions.EntityNotExistException;
 import org.university.service.GroupService;
+import org.university.service.LessonBulkDeleteService;
+import org.university.service.cache.ReferenceResolver;
+import org.university.service.event.ReferenceDataChangedEvent;
+import org.university.service.event.ReferenceDataChangedEvent.Reference;
+import org.university.service.event.TimetableReferenceChangedEvent;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -29,14 +35,14 @@ import lombok.extern.slf4j.Slf4j;
 public class GroupServiceImpl implements GroupService {
 
     GroupDao groupDao;
-    StudentDao studentDao;    
+    StudentDao studentDao;
+    ApplicationEventPublisher eventPublisher;
+    ReferenceResolver resolver;
+    LessonBulkDeleteService lessonDeleteService;
 
     @Override
     public Group createGroup(String name) {
-        if (!groupDao.findByName(name).isPresent()) {
-            throw new EntityNotExistException();
-        }
-        return groupDao.findByName(name).get();
+        return resolver.findGroupId(name).flatMap(groupDao::findById).orElseThrow(EntityNotExistException::new);
     }
 
     @Override
@@ -46,6 +52,7 @@ public class GroupServiceImpl implements GroupService {
             throw new EntityAlreadyExistException("groupexist");
         }
         groupDao.save(group);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Reference.GROUP));
         log.info("Group with name {} added succesfull!", group.getName());
     }
 
@@ -57,9 +64,11 @@ public class GroupServiceImpl implements GroupService {
     @Override
     public void delete(@NonNull GroupDto groupDto) {
         Group group = groupDao.findById(groupDto.getId()).get();
+        lessonDeleteService.deleteLessonsReferencing(Reference.GROUP, group.getId());
         group.getStudents().clear();
         groupDao.saveAndFlush(group);
         groupDao.deleteById(group.getId());
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Reference.GROUP));
     }
 
     @Override
@@ -69,6 +78,7 @@ public class GroupServiceImpl implements GroupService {
             throw new EntityAlreadyExistException("groupexist");
         }
         groupDao.save(group);
+        eventPublisher.publishEvent(new TimetableReferenceChangedEvent(Reference.GROUP, group.getId()));
         log.info("Group with name {} edited succesfull!", group.getName());
     }
 
@@ -85,6 +95,7 @@ public class GroupServiceImpl implements GroupService {
         Group group = groupDao.findByName(studentDto.getGroupName()).get();
         group.addStudent(student);
         groupDao.save(group);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Reference.GROUP));
         log.info("Student with id {} added to group {}!", student.getId(), group.getName());
     }
 
@@ -95,6 +106,7 @@ public class GroupServiceImpl implements GroupService {
         Group group = groupDao.findByName(studentDto.getGroupName()).get();
         group.removeStudent(student);
         groupDao.save(group);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Reference.GROUP));
         log.info("Student with id {} deleted from group {}!", student.getId(), group.getName());
     }
 
@@ -0,0 +1,120 @@
+package org.university.service.impl;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.university.dao.ClassroomDao;
+import org.university.dao.GroupDao;
+import org.university.dao.LessonDao;
+import org.university.dao.TeacherDao;
+import org.university.dto.BulkDeleteReportDto;
+import org.university.dto.LessonBulkDeleteDto;
+import org.university.entity.LessonChange;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.service.CalendarService;
+import org.university.service.LessonBulkDeleteService;
+import org.university.service.LessonChangeService;
+import org.university.service.event.ReferenceDataChangedEvent.Reference;
+import org.university.service.event.TimetableReferenceChangedEvent;
+import org.university.service.index.LessonConflictIndex;
+import org.university.utils.TransactionCallbacks;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@AllArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@Slf4j
+@Transactional
+public class LessonBulkDeleteServiceImpl implements LessonBulkDeleteService {
+
+    private static final LocalDate UNBOUNDED_FROM = LocalDate.of(1970, 1, 1);
+    private static final LocalDate UNBOUNDED_TO = LocalDate.of(9999, 12, 30);
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
+    LessonDao lessonDao;
+    GroupDao groupDao;
+    TeacherDao teacherDao;
+    ClassroomDao classroomDao;
+    CalendarService calendarService;
+    LessonConflictIndex conflictIndex;
+    LessonChangeService changeService;
+
+    @Override
+    public BulkDeleteReportDto deleteLessons(@NonNull LessonBulkDeleteDto criteria) {
+        if (criteria.getFrom() == null && criteria.getTo() == null && criteria.getGroupName() == null
+                && criteria.getTeacherEmail() == null && criteria.getClassroomNumber() == null) {
+            throw new InvalidLessonTimeException("invalidrange");
+        }
+        LocalDate from = criteria.getFrom() == null ? UNBOUNDED_FROM : parseDate(criteria.getFrom());
+        LocalDate to = criteria.getTo() == null ? UNBOUNDED_TO : parseDate(criteria.getTo());
+        if (to.isBefore(from)) {
+            throw new InvalidLessonTimeException("invalidrange");
+        }
+        Integer teacherId = criteria.getTeacherEmail() == null ? null
+                : teacherDao.findByEmail(criteria.getTeacherEmail())
+                        .orElseThrow(() -> new EntityNotExistException("teachernotexist")).getId();
+        Integer groupId = criteria.getGroupName() == null ? null
+                : groupDao.findByName(criteria.getGroupName())
+                        .orElseThrow(() -> new EntityNotExistException("groupnotexist")).getId();
+        Integer classroomId = criteria.getClassroomNumber() == null ? null
+                : classroomDao.findByNumber(criteria.getClassroomNumber())
+                        .orElseThrow(() -> new EntityNotExistException("classroomnotexist")).getId();
+        List<Integer> lessonIds = lessonDao.findAllIdsMatching(from.atStartOfDay(), to.plusDays(1).atStartOfDay(),
+                teacherId, groupId, classroomId);
+        if (lessonIds.isEmpty()) {
+            return new BulkDeleteReportDto();
+        }
+        int deleted = deleteInChunks(lessonIds);
+        changeService.recordChanges(LessonChange.Type.DELETED, lessonIds);
+        lessonIds.forEach(conflictIndex::remove);
+        TransactionCallbacks.afterCommit(() -> calendarService.deleteLessons(lessonIds));
+        log.info("Deleted {} lessons in bulk", deleted);
+        return new BulkDeleteReportDto(deleted, lessonIds);
+    }
+
+    @Override
+    public List<Integer> deleteLessonsReferencing(@NonNull Reference reference, int referenceId) {
+        TimetableReferenceChangedEvent deleted = new TimetableReferenceChangedEvent(reference, referenceId);
+        List<Integer> lessonIds = lessonDao.findAllIdsReferencing(deleted.getIdOf(Reference.COURSE),
+                deleted.getIdOf(Reference.TEACHER), deleted.getIdOf(Reference.GROUP),
+                deleted.getIdOf(Reference.CLASSROOM));
+        if (lessonIds.isEmpty()) {
+            return lessonIds;
+        }
+        changeService.recordChanges(LessonChange.Type.DELETED, lessonIds);
+        lessonIds.forEach(conflictIndex::remove);
+        TransactionCallbacks.afterCommit(() -> calendarService.deleteLessons(lessonIds));
+        log.info("Deleting {} lessons of {} with id {}", lessonIds.size(), reference, referenceId);
+        return lessonIds;
+    }
+
+    /**
+     * Deletes exactly the lessons that are journaled, in chunks that keep each
+     * statement well under the bind parameter limit of the driver.
+     */
+    private int deleteInChunks(List<Integer> lessonIds) {
+        int deleted = 0;
+        for (int start = 0; start < lessonIds.size(); start += DELETE_CHUNK_SIZE) {
+            deleted += lessonDao.deleteAllByIdIn(
+                    lessonIds.subList(start, Math.min(start + DELETE_CHUNK_SIZE, lessonIds.size())));
+        }
+        return deleted;
+    }
+
+    private static LocalDate parseDate(String date) {
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new InvalidLessonTimeException("invalidtime");
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.university.service.impl;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.university.dao.LessonChangeDao;
+import org.university.dao.LessonDao;
+import org.university.dto.LessonChangesDto;
+import org.university.entity.LessonChange;
+import org.university.entity.LessonView;
+import org.university.exceptions.InvalidTokenException;
+import org.university.service.LessonChangeService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Journal of lesson changes that clients poll with the position of the last
+ * change they have seen. Entries get no position when they are written; a
+ * sealer numbers the committed ones above every position handed out before,
+ * one node at a time, so an entry committing late is numbered late instead of
+ * being skipped however long its transaction ran.
+ */
+@Service
+@Slf4j
+@Transactional
+public class LessonChangeServiceImpl implements LessonChangeService {
+
+    private static final long SEAL_LOCK = 0x4C43L;
+
+    private final LessonChangeDao changeDao;
+    private final LessonDao lessonDao;
+    private final Duration retention;
+    private final int pageSize;
+    private final Clock clock;
+
+    @Autowired
+    public LessonChangeServiceImpl(LessonChangeDao changeDao, LessonDao lessonDao,
+            @Value("${timetable.changes.retention-days:30}") long retentionDays,
+            @Value("${timetable.changes.page-size:500}") int pageSize) {
+        this(changeDao, lessonDao, Duration.ofDays(retentionDays), pageSize, Clock.systemDefaultZone());
+    }
+
+    public LessonChangeServiceImpl(LessonChangeDao changeDao, LessonDao lessonDao, Duration retention,
+            int pageSize, Clock clock) {
+        this.changeDao = changeDao;
+        this.lessonDao = lessonDao;
+        this.retention = retention;
+        this.pageSize = pageSize;
+        this.clock = clock;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChanges(LessonChange.Type type, Collection<Integer> lessonIds) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<LessonChange> changes = lessonIds.stream().filter(Objects::nonNull).distinct()
+                .map(lessonId -> LessonChange.builder().withLessonId(lessonId).withType(type).withChangedAt(now)
+                        .build())
+                .collect(Collectors.toList());
+        changeDao.saveAll(changes);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LessonChangesDto findChangesSince(Long token) throws InvalidTokenException {
+        long lastPosition = orZero(changeDao.findLastPosition());
+        LessonChangesDto changes = new LessonChangesDto();
+        if (token == null) {
+            changes.setToken(lastPosition);
+            return changes;
+        }
+        long firstPosition = orZero(changeDao.findFirstPosition());
+        if (token < 0 || token > lastPosition || token < firstPosition - 1) {
+            throw new InvalidTokenException("tokenexpired");
+        }
+        List<LessonChange> page = changeDao.findAllSealedAfter(token, PageRequest.of(0, pageSize));
+        changes.setToken(page.isEmpty() ? token : page.get(page.size() - 1).getPosition());
+        changes.setMore(page.size() == pageSize);
+        if (page.isEmpty()) {
+            return changes;
+        }
+        List<Integer> lessonIds = page.stream().map(LessonChange::getLessonId).distinct()
+                .collect(Collectors.toList());
+        List<LessonView> lessons = lessonDao.findAllViewsByIdIn(lessonIds);
+        Set<Integer> foundIds = lessons.stream().map(LessonView::getId).collect(Collectors.toSet());
+        changes.setLessons(lessons);
+        lessonIds.stream().filter(lessonId -> !foundIds.contains(lessonId))
+                .forEach(changes.getDeletedLessonIds()::add);
+        return changes;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${timetable.changes.seal-ms:1000}")
+    public int seal() {
+        changeDao.lockForSealing(SEAL_LOCK);
+        Long firstId = changeDao.findFirstUnsealedId();
+        if (firstId == null) {
+            return 0;
+        }
+        long lastPosition = orZero(changeDao.findLastPosition());
+        return changeDao.sealFrom(firstId, lastPosition + 1 - firstId);
+    }
+
+    @Override
+    @Scheduled(cron = "${timetable.changes.compact-cron:0 30 3 * * *}")
+    public int compact() {
+        Long lastPosition = changeDao.findLastPosition();
+        if (lastPosition == null) {
+            return 0;
+        }
+        int deleted = changeDao.deleteAllOlderThan(LocalDateTime.now(clock).minus(retention), lastPosition);
+        log.info("Compacted {} lesson changes", deleted);
+        return deleted;
+    }
+
+    private static long orZero(Long id) {
+        return id == null ? 0 : id;
+    }
+}
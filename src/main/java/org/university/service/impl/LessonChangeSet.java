@@ -0,0 +1,66 @@
+package org.university.service.impl;
+
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+import org.university.entity.Lesson;
+
+/**
+ * Dimensions of a lesson that differ between its persisted and edited state,
+ * so that editing re-checks only the affected resource schedules.
+ */
+class LessonChangeSet {
+
+    enum Dimension {
+        TIME, TEACHER, GROUP, CLASSROOM, LINK
+    }
+
+    private final Set<Dimension> changed;
+
+    private LessonChangeSet(Set<Dimension> changed) {
+        this.changed = changed;
+    }
+
+    static LessonChangeSet of(Lesson persisted, Lesson edited) {
+        Set<Dimension> changed = EnumSet.noneOf(Dimension.class);
+        if (!persisted.getStartLesson().isEqual(edited.getStartLesson())
+                || !persisted.getEndLesson().isEqual(edited.getEndLesson())) {
+            changed.add(Dimension.TIME);
+        }
+        if (!Objects.equals(persisted.getTeacher().getId(), edited.getTeacher().getId())) {
+            changed.add(Dimension.TEACHER);
+        }
+        if (!Objects.equals(persisted.getGroup().getId(), edited.getGroup().getId())) {
+            changed.add(Dimension.GROUP);
+        }
+        if (!Objects.equals(persisted.getClassroom().getId(), edited.getClassroom().getId())) {
+            changed.add(Dimension.CLASSROOM);
+        }
+        if (!Objects.equals(persisted.getOnlineLesson(), edited.getOnlineLesson())
+                || !Objects.equals(persisted.getLessonLink(), edited.getLessonLink())) {
+            changed.add(Dimension.LINK);
+        }
+        return new LessonChangeSet(changed);
+    }
+
+    boolean contains(Dimension dimension) {
+        return changed.contains(dimension);
+    }
+
+    boolean teacherScheduleChanged() {
+        return changed.contains(Dimension.TIME) || changed.contains(Dimension.TEACHER);
+    }
+
+    boolean groupScheduleChanged() {
+        return changed.contains(Dimension.TIME) || changed.contains(Dimension.GROUP);
+    }
+
+    boolean classroomScheduleChanged() {
+        return changed.contains(Dimension.TIME) || changed.contains(Dimension.CLASSROOM);
+    }
+
+    boolean slotChanged() {
+        return teacherScheduleChanged() || groupScheduleChanged() || classroomScheduleChanged();
+    }
+}
@@ -0,0 +1,118 @@
+package org.university.service.impl;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.university.dao.ClassroomDao;
+import org.university.dao.CourseDao;
+import org.university.dao.GroupDao;
+import org.university.dao.TeacherDao;
+import org.university.dto.DryRunReportDto;
+import org.university.dto.LessonChangeDto;
+import org.university.dto.LessonChangeDto.Operation;
+import org.university.dto.LessonDto;
+import org.university.entity.Lesson;
+import org.university.entity.LessonSlot;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.InvalidClassroomCapacityException;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.exceptions.InvalidLinkException;
+import org.university.service.LessonDryRunService;
+import org.university.service.index.ConflictSandbox;
+import org.university.service.index.LessonConflictIndex;
+import org.university.service.validator.LessonValidator;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.experimental.FieldDefaults;
+
+@Service
+@AllArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@Transactional(readOnly = true)
+public class LessonDryRunServiceImpl implements LessonDryRunService {
+
+    CourseDao courseDao;
+    GroupDao groupDao;
+    TeacherDao teacherDao;
+    ClassroomDao classroomDao;
+    LessonValidator validator;
+    LessonConflictIndex conflictIndex;
+
+    @Override
+    public DryRunReportDto validate(@NonNull List<LessonChangeDto> changes) {
+        List<LessonDto> lessonDtos = changes.stream().map(LessonChangeDto::getLesson).filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        LessonReferences references = LessonReferences.load(courseDao, groupDao, teacherDao, classroomDao,
+                lessonDtos);
+        DryRunReportDto report = new DryRunReportDto();
+        ConflictSandbox sandbox = conflictIndex.sandbox();
+        boolean[] rejected = new boolean[changes.size()];
+        for (int i = 0; i < changes.size(); i++) {
+            LessonChangeDto change = changes.get(i);
+            if (change.getOperation() == null || change.getLesson() == null) {
+                report.addViolation(i + 1, "invalidchange");
+                rejected[i] = true;
+            } else if (change.getOperation() != Operation.CREATE) {
+                Integer id = change.getLesson().getId();
+                if (id == null || !conflictIndex.contains(id)) {
+                    report.addViolation(i + 1, "lessonnotexist");
+                    rejected[i] = true;
+                } else {
+                    sandbox.remove(id);
+                }
+            }
+        }
+        for (int i = 0; i < changes.size(); i++) {
+            LessonChangeDto change = changes.get(i);
+            if (!rejected[i] && change.getOperation() != Operation.DELETE) {
+                Integer id = change.getOperation() == Operation.EDIT ? change.getLesson().getId() : -(i + 1);
+                check(references, change.getLesson(), id, i + 1, sandbox, report);
+            }
+        }
+        report.setChecked(changes.size());
+        return report;
+    }
+
+    private void check(LessonReferences references, LessonDto lessonDto, int id, int row, ConflictSandbox sandbox,
+            DryRunReportDto report) {
+        Lesson lesson;
+        try {
+            lesson = references.toLesson(lessonDto, id);
+        } catch (EntityNotExistException | InvalidLessonTimeException e) {
+            report.addViolation(row, e.getMessage());
+            return;
+        }
+        validate(validator::validateCapacity, lesson, row, report);
+        validate(validator::validateTime, lesson, row, report);
+        validate(validator::validateLink, lesson, row, report);
+        if (!lesson.getEndLesson().isAfter(lesson.getStartLesson())) {
+            return;
+        }
+        LessonSlot slot = new LessonSlot(id, lesson.getStartLesson(), lesson.getEndLesson(),
+                lesson.getTeacher().getId(), lesson.getGroup().getId(), lesson.getClassroom().getId());
+        if (sandbox.isTeacherOrGroupBusy(slot)) {
+            report.addViolation(row, "groupteacherbusy");
+        }
+        if (sandbox.isClassroomBusy(slot)) {
+            report.addViolation(row, "classroombusy");
+        }
+        sandbox.add(slot);
+    }
+
+    /**
+     * Checks one rule, so that a broken rule does not hide the others.
+     */
+    private static void validate(Consumer<Lesson> rule, Lesson lesson, int row, DryRunReportDto report) {
+        try {
+            rule.accept(lesson);
+        } catch (InvalidLessonTimeException | InvalidClassroomCapacityException | InvalidLinkException e) {
+            report.addViolation(row, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.university.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.university.dao.ClassroomDao;
+import org.university.dao.CourseDao;
+import org.university.dao.GroupDao;
+import org.university.dao.LessonDao;
+import org.university.dao.TeacherDao;
+import org.university.dto.ImportReportDto;
+import org.university.dto.LessonDto;
+import org.university.entity.Lesson;
+import org.university.entity.LessonChange;
+import org.university.entity.LessonSlot;
+import org.university.exceptions.ClassroomBusyException;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.InvalidClassroomCapacityException;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.exceptions.InvalidLinkException;
+import org.university.service.CalendarService;
+import org.university.service.LessonChangeService;
+import org.university.service.LessonImportService;
+import org.university.service.index.ConflictSandbox;
+import org.university.service.index.LessonConflictIndex;
+import org.university.service.validator.LessonValidator;
+import org.university.utils.TransactionCallbacks;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@AllArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@Slf4j
+@Transactional
+public class LessonImportServiceImpl implements LessonImportService {
+
+    LessonDao lessonDao;
+    CourseDao courseDao;
+    GroupDao groupDao;
+    TeacherDao teacherDao;
+    ClassroomDao classroomDao;
+    LessonValidator validator;
+    CalendarService calendarService;
+    LessonConflictIndex conflictIndex;
+    LessonChangeService changeService;
+
+    @Override
+    public ImportReportDto importLessons(@NonNull List<LessonDto> lessonDtos) {
+        LessonReferences references = LessonReferences.load(courseDao, groupDao, teacherDao, classroomDao,
+                lessonDtos);
+        ImportReportDto report = new ImportReportDto();
+        ConflictSandbox sandbox = conflictIndex.sandbox();
+        List<Lesson> lessons = new ArrayList<>();
+        for (int i = 0; i < lessonDtos.size(); i++) {
+            int row = i + 1;
+            try {
+                Lesson lesson = references.toLesson(lessonDtos.get(i), null);
+                validator.validate(lesson);
+                LessonSlot slot = new LessonSlot(-row, lesson.getStartLesson(), lesson.getEndLesson(),
+                        lesson.getTeacher().getId(), lesson.getGroup().getId(), lesson.getClassroom().getId());
+                if (sandbox.isTeacherOrGroupBusy(slot)) {
+                    throw new InvalidLessonTimeException("groupteacherbusy");
+                }
+                if (sandbox.isClassroomBusy(slot)) {
+                    throw new ClassroomBusyException("classroombusy");
+                }
+                sandbox.add(slot);
+                lessons.add(lesson);
+            } catch (EntityNotExistException | InvalidLessonTimeException | InvalidClassroomCapacityException
+                    | ClassroomBusyException | InvalidLinkException e) {
+                report.addError(row, e.getMessage());
+            }
+        }
+        lessonDao.saveAll(lessons);
+        lessonDao.flush();
+        changeService.recordChanges(LessonChange.Type.CREATED,
+                lessons.stream().map(Lesson::getId).collect(Collectors.toList()));
+        lessons.forEach(conflictIndex::put);
+        TransactionCallbacks.afterCommit(() -> calendarService.createLessons(lessons));
+        report.setImported(lessons.size());
+        log.info("Imported {} lessons, rejected {}", lessons.size(), report.getErrors().size());
+        return report;
+    }
+}
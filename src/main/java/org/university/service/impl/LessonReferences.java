@@ -0,0 +1,95 @@
+package org.university.service.impl;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.university.dao.ClassroomDao;
+import org.university.dao.CourseDao;
+import org.university.dao.GroupDao;
+import org.university.dao.TeacherDao;
+import org.university.dto.LessonDto;
+import org.university.entity.Classroom;
+import org.university.entity.Course;
+import org.university.entity.Group;
+import org.university.entity.Lesson;
+import org.university.entity.Teacher;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.InvalidLessonTimeException;
+
+/**
+ * Courses, groups, teachers and classrooms referenced by a batch of lessons,
+ * loaded with one query per entity type.
+ */
+class LessonReferences {
+
+    private final Map<String, Course> courses;
+    private final Map<String, Group> groups;
+    private final Map<String, Teacher> teachers;
+    private final Map<Integer, Classroom> classrooms;
+
+    private LessonReferences(Map<String, Course> courses, Map<String, Group> groups, Map<String, Teacher> teachers,
+            Map<Integer, Classroom> classrooms) {
+        this.courses = courses;
+        this.groups = groups;
+        this.teachers = teachers;
+        this.classrooms = classrooms;
+    }
+
+    static LessonReferences load(CourseDao courseDao, GroupDao groupDao, TeacherDao teacherDao,
+            ClassroomDao classroomDao, List<LessonDto> lessonDtos) {
+        return new LessonReferences(
+                courseDao.findAllByNameIn(collect(lessonDtos, LessonDto::getCourseName)).stream()
+                        .collect(Collectors.toMap(Course::getName, Function.identity(), (first, second) -> first)),
+                groupDao.findAllByNameIn(collect(lessonDtos, LessonDto::getGroupName)).stream()
+                        .collect(Collectors.toMap(Group::getName, Function.identity(), (first, second) -> first)),
+                teacherDao.findAllByEmailIn(collect(lessonDtos, LessonDto::getTeacherEmail)).stream()
+                        .collect(Collectors.toMap(Teacher::getEmail, Function.identity(), (first, second) -> first)),
+                classroomDao.findAllByNumberIn(collect(lessonDtos, LessonDto::getClassroomNumber)).stream()
+                        .collect(Collectors.toMap(Classroom::getNumber, Function.identity(),
+                                (first, second) -> first)));
+    }
+
+    Lesson toLesson(LessonDto lessonDto, Integer id) {
+        return Lesson.builder()
+                .withId(id)
+                .withCourse(find(courses, lessonDto.getCourseName(), "coursenotexist"))
+                .withGroup(find(groups, lessonDto.getGroupName(), "groupnotexist"))
+                .withTeacher(find(teachers, lessonDto.getTeacherEmail(), "teachernotexist"))
+                .withClassroom(find(classrooms, lessonDto.getClassroomNumber(), "classroomnotexist"))
+                .withStartLesson(parseTime(lessonDto.getStartLesson()))
+                .withEndLesson(parseTime(lessonDto.getEndLesson()))
+                .withOnlineLesson(lessonDto.getOnlineLesson())
+                .withLessonLink(lessonDto.getLessonLink())
+                .build();
+    }
+
+    private static <T> Set<T> collect(List<LessonDto> lessonDtos, Function<LessonDto, T> key) {
+        return lessonDtos.stream().filter(Objects::nonNull).map(key).filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static <K, V> V find(Map<K, V> entities, K key, String message) {
+        V entity = key == null ? null : entities.get(key);
+        if (entity == null) {
+            throw new EntityNotExistException(message);
+        }
+        return entity;
+    }
+
+    private static LocalDateTime parseTime(String time) {
+        if (time == null) {
+            throw new InvalidLessonTimeException("invalidtime");
+        }
+        try {
+            return LocalDateTime.parse(time);
+        } catch (DateTimeParseException e) {
+            throw new InvalidLessonTimeException("invalidtime");
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package org.university.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.university.dao.ClassroomDao;
+import org.university.dao.CourseDao;
+import org.university.dao.GroupDao;
+import org.university.dao.LessonDao;
+import org.university.dao.LessonSeriesDao;
+import org.university.dao.TeacherDao;
+import org.university.dto.LessonSeriesDto;
+import org.university.entity.Lesson;
+import org.university.entity.LessonChange;
+import org.university.entity.LessonSeries;
+import org.university.entity.LessonSlot;
+import org.university.exceptions.ClassroomBusyException;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.service.CalendarService;
+import org.university.service.LessonChangeService;
+import org.university.service.LessonSeriesService;
+import org.university.service.index.ConflictSandbox;
+import org.university.service.index.LessonConflictIndex;
+import org.university.service.validator.LessonValidator;
+import org.university.utils.TransactionCallbacks;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@AllArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@Slf4j
+@Transactional
+public class LessonSeriesServiceImpl implements LessonSeriesService {
+
+    private static final int MAX_DAYS = 366;
+
+    LessonSeriesDao seriesDao;
+    LessonDao lessonDao;
+    CourseDao courseDao;
+    GroupDao groupDao;
+    TeacherDao teacherDao;
+    ClassroomDao classroomDao;
+    LessonValidator validator;
+    CalendarService calendarService;
+    LessonConflictIndex conflictIndex;
+    LessonChangeService changeService;
+
+    @Override
+    public LessonSeries addSeries(@NonNull LessonSeriesDto seriesDto) {
+        LessonSeries series = seriesDao.save(mapDtoToEntity(seriesDto, null));
+        List<Lesson> lessons = expand(series, series.getStartLesson().toLocalDate());
+        checkLessons(series, lessons, new ArrayList<>());
+        lessonDao.saveAll(lessons);
+        lessonDao.flush();
+        changeService.recordChanges(LessonChange.Type.CREATED, idsOf(lessons));
+        lessons.forEach(conflictIndex::put);
+        TransactionCallbacks.afterCommit(() -> calendarService.createLessons(lessons));
+        log.info("Lesson series {} added with {} lessons", series.getId(), lessons.size());
+        return series;
+    }
+
+    @Override
+    public void editSeries(@NonNull LessonSeriesDto seriesDto) {
+        LessonSeries current = seriesDao.findById(seriesDto.getId()).orElseThrow(EntityNotExistException::new);
+        LessonSeries series = mapDtoToEntity(seriesDto, current.getId());
+        LocalDate editFrom = seriesDto.getEditFrom() == null ? LocalDate.now()
+                : parse(seriesDto.getEditFrom(), LocalDate::parse);
+        LocalDateTime from = editFrom.atStartOfDay();
+        List<LessonSlot> futureSlots = lessonDao.findAllSlotsOfSeriesFrom(series.getId(), from);
+        List<Integer> futureIds = futureSlots.stream().map(LessonSlot::getId).collect(Collectors.toList());
+        if (sameRule(current, series)) {
+            List<Lesson> lessons = futureSlots.stream()
+                    .map(slot -> createOccurrence(series, slot.getId(), slot.getStartLesson(), slot.getEndLesson()))
+                    .collect(Collectors.toList());
+            checkLessons(series, lessons, futureIds);
+            lessonDao.updateSeriesFrom(series.getId(), from, series.getCourse(), series.getTeacher(),
+                    series.getGroup(), series.getClassroom(), series.getOnlineLesson(), series.getLessonLink());
+            changeService.recordChanges(LessonChange.Type.UPDATED, futureIds);
+            lessons.forEach(conflictIndex::put);
+            TransactionCallbacks.afterCommit(() -> calendarService.updateLessons(lessons));
+        } else {
+            List<Lesson> lessons = expand(series, editFrom);
+            checkLessons(series, lessons, futureIds);
+            lessonDao.deleteSeriesFrom(series.getId(), from);
+            lessonDao.saveAll(lessons);
+            lessonDao.flush();
+            changeService.recordChanges(LessonChange.Type.DELETED, futureIds);
+            changeService.recordChanges(LessonChange.Type.CREATED, idsOf(lessons));
+            futureIds.forEach(conflictIndex::remove);
+            lessons.forEach(conflictIndex::put);
+            TransactionCallbacks.afterCommit(() -> {
+                calendarService.deleteLessons(futureIds);
+                calendarService.createLessons(lessons);
+            });
+        }
+        seriesDao.save(series);
+        log.info("Lesson series {} edited from {}", series.getId(), editFrom);
+    }
+
+    private List<Lesson> expand(LessonSeries series, LocalDate from) {
+        Duration duration = Duration.between(series.getStartLesson(), series.getEndLesson());
+        List<Lesson> lessons = new ArrayList<>();
+        for (LocalDateTime start = series.getStartLesson(); !start.toLocalDate().isAfter(series.getUntilDate());
+                start = start.plusWeeks(series.getIntervalWeeks())) {
+            if (!start.toLocalDate().isBefore(from) && !series.getExceptionDates().contains(start.toLocalDate())) {
+                lessons.add(createOccurrence(series, null, start, start.plus(duration)));
+            }
+        }
+        return lessons;
+    }
+
+    private void checkLessons(LessonSeries series, List<Lesson> lessons, Collection<Integer> replacedIds) {
+        if (lessons.isEmpty()) {
+            return;
+        }
+        lessons.forEach(validator::validate);
+        LocalDateTime start = lessons.get(0).getStartLesson();
+        LocalDateTime end = lessons.get(lessons.size() - 1).getEndLesson();
+        List<LessonSlot> savedSlots = lessonDao.findAllSlotsOverlapping(start, end, series.getTeacher().getId(),
+                series.getGroup().getId(), series.getClassroom().getId()).stream()
+                .filter(slot -> !replacedIds.contains(slot.getId())).collect(Collectors.toList());
+        ConflictSandbox sandbox = LessonConflictIndex.of(savedSlots).sandbox();
+        for (int i = 0; i < lessons.size(); i++) {
+            Lesson lesson = lessons.get(i);
+            LessonSlot slot = new LessonSlot(lesson.getId() == null ? -(i + 1) : lesson.getId(),
+                    lesson.getStartLesson(), lesson.getEndLesson(), series.getTeacher().getId(),
+                    series.getGroup().getId(), series.getClassroom().getId());
+            if (sandbox.isTeacherOrGroupBusy(slot)) {
+                throw new InvalidLessonTimeException("groupteacherbusy");
+            }
+            if (sandbox.isClassroomBusy(slot)) {
+                throw new ClassroomBusyException("classroombusy");
+            }
+            sandbox.add(slot);
+        }
+    }
+
+    private static List<Integer> idsOf(List<Lesson> lessons) {
+        return lessons.stream().map(Lesson::getId).collect(Collectors.toList());
+    }
+
+    private boolean sameRule(LessonSeries current, LessonSeries series) {
+        return current.getStartLesson().isEqual(series.getStartLesson())
+                && current.getEndLesson().isEqual(series.getEndLesson())
+                && current.getUntilDate().isEqual(series.getUntilDate())
+                && current.getIntervalWeeks().equals(series.getIntervalWeeks())
+                && Objects.equals(current.getExceptionDates(), series.getExceptionDates());
+    }
+
+    private static Lesson createOccurrence(LessonSeries series, Integer id, LocalDateTime start, LocalDateTime end) {
+        return Lesson.builder()
+                .withId(id)
+                .withCourse(series.getCourse())
+                .withTeacher(series.getTeacher())
+                .withGroup(series.getGroup())
+                .withClassroom(series.getClassroom())
+                .withStartLesson(start)
+                .withEndLesson(end)
+                .withOnlineLesson(series.getOnlineLesson())
+                .withLessonLink(series.getLessonLink())
+                .withSeriesId(series.getId())
+                .build();
+    }
+
+    private LessonSeries mapDtoToEntity(LessonSeriesDto seriesDto, Integer id) {
+        LessonSeries series = LessonSeries.builder()
+                .withId(id)
+                .withCourse(courseDao.findByName(seriesDto.getCourseName())
+                        .orElseThrow(() -> new EntityNotExistException("coursenotexist")))
+                .withTeacher(teacherDao.findByEmail(seriesDto.getTeacherEmail())
+                        .orElseThrow(() -> new EntityNotExistException("teachernotexist")))
+                .withGroup(groupDao.findByName(seriesDto.getGroupName())
+                        .orElseThrow(() -> new EntityNotExistException("groupnotexist")))
+                .withClassroom(classroomDao.findByNumber(seriesDto.getClassroomNumber())
+                        .orElseThrow(() -> new EntityNotExistException("classroomnotexist")))
+                .withStartLesson(parse(seriesDto.getStartLesson(), LocalDateTime::parse))
+                .withEndLesson(parse(seriesDto.getEndLesson(), LocalDateTime::parse))
+                .withUntilDate(parse(seriesDto.getUntilDate(), LocalDate::parse))
+                .withIntervalWeeks(seriesDto.getIntervalWeeks())
+                .withExceptionDates(seriesDto.getExceptionDates().stream().map(date -> parse(date, LocalDate::parse))
+                        .collect(Collectors.toSet()))
+                .withOnlineLesson(seriesDto.getOnlineLesson())
+                .withLessonLink(seriesDto.getLessonLink())
+                .build();
+        if (series.getIntervalWeeks() == null || series.getIntervalWeeks() < 1) {
+            throw new InvalidLessonTimeException("invalidinterval");
+        }
+        LocalDate startDate = series.getStartLesson().toLocalDate();
+        if (series.getUntilDate().isBefore(startDate) || series.getUntilDate().isAfter(startDate.plusDays(MAX_DAYS))) {
+            throw new InvalidLessonTimeException("invaliduntil");
+        }
+        return series;
+    }
+
+    private static <T> T parse(String value, Function<String, T> parser) {
+        if (value == null) {
+            throw new InvalidLessonTimeException("invalidtime");
+        }
+        try {
+            return parser.apply(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidLessonTimeException("invalidtime");
+        }
+    }
+}
@@ -2,23 +2,26 @@ package org.university.service.impl;
 
 import java.io.IOException;
 import java.security.GeneralSecurityException;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
 import java.util.Optional;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.university.dao.LessonDao;
 import org.university.dto.LessonDto;
 import org.university.entity.Lesson;
+import org.university.entity.LessonChange;
 import org.university.exceptions.ClassroomBusyException;
 import org.university.exceptions.EntityAlreadyExistException;
 import org.university.exceptions.EntityNotExistException;
 import org.university.exceptions.InvalidLessonTimeException;
 import org.university.service.CalendarService;
+import org.university.service.LessonChangeService;
 import org.university.service.LessonService;
+import org.university.service.impl.LessonChangeSet.Dimension;
+import org.university.service.index.LessonConflictIndex;
 import org.university.service.mapper.LessonDtoMapper;
 import org.university.service.validator.LessonValidator;
 
@@ -35,10 +38,16 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional
 public class LessonServiceImpl implements LessonService {
 
+    private static final String CLASSROOM_OVERLAP_CONSTRAINT = "lessons_classroom_overlap";
+    private static final String TEACHER_OVERLAP_CONSTRAINT = "lessons_teacher_overlap";
+    private static final String GROUP_OVERLAP_CONSTRAINT = "lessons_group_overlap";
+
     LessonDao lessonDao;
     LessonValidator validator;
     LessonDtoMapper mapper;
     CalendarService calendarService;
+    LessonConflictIndex conflictIndex;
+    LessonChangeService changeService;
 
     @Override
     public Lesson createLesson(LocalDateTime startLesson, int teacherId, int groupId) {
@@ -57,7 +66,9 @@ public class LessonServiceImpl implements LessonService {
         if (!checkFreeClassroom(lesson)) {
             throw new ClassroomBusyException("classroombusy");
         }
-        lessonDao.save(lesson);
+        saveLesson(lesson);
+        changeService.recordChanges(LessonChange.Type.CREATED, Collections.singletonList(lesson.getId()));
+        conflictIndex.put(lesson);
         try {
             calendarService.createLesson(lesson);
         } catch (IOException | GeneralSecurityException e) {
@@ -68,13 +79,15 @@ public class LessonServiceImpl implements LessonService {
 
     @Override
     public void edit(@NonNull LessonDto lessonDto) {
-        Lesson lesson = mapper.mapDtoToEntity(lessonDto);
-        validator.validate(lesson);
-        checkLessonTime(lesson, lessonDto);
-        if ((!checkTimeNotChange(lessonDto) || !checkClassroomNotChange(lessonDto)) && !checkFreeClassroom(lesson)) {
-            throw new ClassroomBusyException("classroombusy");
-        }
-        lessonDao.save(lesson);
+        Lesson persisted = lessonDao.findById(lessonDto.getId())
+                .orElseThrow(() -> new EntityNotExistException("lessonnotexist"));
+        Lesson lesson = mapper.mapDtoToEntity(lessonDto, persisted);
+        LessonChangeSet changes = LessonChangeSet.of(persisted, lesson);
+        validateChanges(lesson, changes);
+        checkChangedSchedules(lesson, changes, persisted.getId());
+        saveLesson(lesson);
+        changeService.recordChanges(LessonChange.Type.UPDATED, Collections.singletonList(lesson.getId()));
+        conflictIndex.put(lesson);
         try {
             calendarService.updateLesson(lesson);
         } catch (IOException | GeneralSecurityException e) {
@@ -88,6 +101,8 @@ public class LessonServiceImpl implements LessonService {
         Lesson lesson = deleteChainedEntities(lessonDao.findById(lessonDto.getId()).get());
         lessonDao.save(lesson);
         lessonDao.deleteById(lesson.getId());
+        changeService.recordChanges(LessonChange.Type.DELETED, Collections.singletonList(lesson.getId()));
+        conflictIndex.remove(lesson.getId());
         try {
             calendarService.deleteLesson(Integer.toString(lesson.getId()));
         } catch (IOException | GeneralSecurityException e) {
@@ -103,82 +118,71 @@ public class LessonServiceImpl implements LessonService {
     }
 
     private void checkLessonTime(Lesson lesson, LessonDto lessonDto) {
-        LocalDateTime startLessons = lesson.getStartLesson().toLocalDate().atStartOfDay();
-        LocalDateTime endLessons = startLessons.plusHours(23);
-        List<Lesson> teacherLessons = lessonDao.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(startLessons,
-                endLessons, lesson.getTeacher().getId());
-        List<Lesson> groupLessons = lessonDao.findAllByStartLessonBetweenAndGroupIdOrderByStartLesson(startLessons,
-                endLessons, lesson.getGroup().getId());
-        if (lessonDto.getId() != null) {
-            teacherLessons = deleteEditedLessonFromList(lessonDto.getId(), teacherLessons);
-            groupLessons = deleteEditedLessonFromList(lessonDto.getId(), groupLessons);
-        }
-        if (!checkFreeTime(lesson, teacherLessons) || !checkFreeTime(lesson, groupLessons)) {
+        LocalDateTime start = lesson.getStartLesson();
+        LocalDateTime end = lesson.getEndLesson();
+        if (conflictIndex.isTeacherBusy(lesson.getTeacher().getId(), start, end, lessonDto.getId())
+                || conflictIndex.isGroupBusy(lesson.getGroup().getId(), start, end, lessonDto.getId())) {
             throw new InvalidLessonTimeException("groupteacherbusy");
         }
     }
 
-    private boolean checkTimeNotChange(LessonDto lessonDto) {
-        return (lessonDao.findById(lessonDto.getId()).get().getStartLesson()
-                .isEqual(LocalDateTime.parse(lessonDto.getStartLesson()))
-                && lessonDao.findById(lessonDto.getId()).get().getEndLesson()
-                        .isEqual(LocalDateTime.parse(lessonDto.getEndLesson())));
-    }
-
-    private boolean checkClassroomNotChange(LessonDto lessonDto) {
-        return lessonDao.findById(lessonDto.getId()).get().getClassroom().getNumber()
-                .equals(lessonDto.getClassroomNumber());
-    }
-
-    private boolean existLesson(Lesson lesson) {
-        return !lessonDao.findById(lesson.getId()).equals(Optional.empty());
-    }
-
-    private boolean checkFreeTime(Lesson lesson, List<Lesson> lessons) {
-        if (lessons.isEmpty()) {
-            return true;
-        }
-        LocalDateTime inputLessonStart = lesson.getStartLesson();
-        LocalDateTime inputLessonEnd = lesson.getEndLesson();
-        for (int i = 0; i < lessons.size(); i++) {
-            if (i == 0 && inputLessonEnd.isBefore(lessons.get(i).getStartLesson())) {
-                return true;
-            }
-            if ((i + 1) == lessons.size() && inputLessonStart.isAfter(lessons.get(i).getEndLesson())) {
-                return true;
+    /**
+     * Overlaps are checked against the conflict index before saving; the
+     * exclusion constraints of the lessons table catch the writes that race
+     * past it.
+     */
+    private void saveLesson(Lesson lesson) {
+        try {
+            lessonDao.saveAndFlush(lesson);
+        } catch (DataIntegrityViolationException e) {
+            String cause = String.valueOf(e.getMostSpecificCause().getMessage());
+            if (cause.contains(CLASSROOM_OVERLAP_CONSTRAINT)) {
+                throw new ClassroomBusyException("classroombusy");
             }
-            if (inputLessonStart.isAfter(lessons.get(i).getEndLesson())
-                    && inputLessonEnd.isBefore(lessons.get(i + 1).getStartLesson())) {
-                return true;
+            if (cause.contains(TEACHER_OVERLAP_CONSTRAINT) || cause.contains(GROUP_OVERLAP_CONSTRAINT)) {
+                throw new InvalidLessonTimeException("groupteacherbusy");
             }
+            throw e;
         }
-        return false;
     }
 
-    private boolean checkFreeClassroom(Lesson inputLesson) {
-        LocalDate lessonDate = inputLesson.getStartLesson().toLocalDate();
-        List<Lesson> dayLessons = lessonDao.findAllByStartLessonBetweenOrderByStartLesson(lessonDate.atStartOfDay(),
-                lessonDate.atStartOfDay().plusHours(23));
-        List<Lesson> classroomLessons = new ArrayList<>();
-        for (Lesson lesson : dayLessons) {
-            if (inputLesson.getClassroom().equals(lesson.getClassroom())) {
-                classroomLessons.add(lesson);
-            }
+    private void validateChanges(Lesson lesson, LessonChangeSet changes) {
+        if (changes.contains(Dimension.GROUP) || changes.contains(Dimension.CLASSROOM)) {
+            validator.validateCapacity(lesson);
         }
-        if (inputLesson.getId() != null) {
-            classroomLessons = deleteEditedLessonFromList(inputLesson.getId(), classroomLessons);
+        if (changes.contains(Dimension.TIME)) {
+            validator.validateTime(lesson);
+        }
+        if (changes.contains(Dimension.LINK)) {
+            validator.validateLink(lesson);
         }
-        return checkFreeTime(inputLesson, classroomLessons);
     }
 
-    private List<Lesson> deleteEditedLessonFromList(int editedLessonId, List<Lesson> lessons) {
-        List<Lesson> lessonsWithoutEdited = new ArrayList<>();
-        for (int i = 0; i < lessons.size(); i++) {
-            if (lessons.get(i).getId() != editedLessonId) {
-                lessonsWithoutEdited.add(lessons.get(i));
-            }
+    private void checkChangedSchedules(Lesson lesson, LessonChangeSet changes, Integer lessonId) {
+        if (!changes.slotChanged()) {
+            return;
+        }
+        LocalDateTime start = lesson.getStartLesson();
+        LocalDateTime end = lesson.getEndLesson();
+        Integer teacherId = changes.teacherScheduleChanged() ? lesson.getTeacher().getId() : null;
+        Integer groupId = changes.groupScheduleChanged() ? lesson.getGroup().getId() : null;
+        Integer classroomId = changes.classroomScheduleChanged() ? lesson.getClassroom().getId() : null;
+        if ((teacherId != null && conflictIndex.isTeacherBusy(teacherId, start, end, lessonId))
+                || (groupId != null && conflictIndex.isGroupBusy(groupId, start, end, lessonId))) {
+            throw new InvalidLessonTimeException("groupteacherbusy");
         }
-        return lessonsWithoutEdited;
+        if (classroomId != null && conflictIndex.isClassroomBusy(classroomId, start, end, lessonId)) {
+            throw new ClassroomBusyException("classroombusy");
+        }
+    }
+
+    private boolean existLesson(Lesson lesson) {
+        return !lessonDao.findById(lesson.getId()).equals(Optional.empty());
+    }
+
+    private boolean checkFreeClassroom(Lesson lesson) {
+        return !conflictIndex.isClassroomBusy(lesson.getClassroom().getId(), lesson.getStartLesson(),
+                lesson.getEndLesson(), lesson.getId());
     }
 
     private Lesson deleteChainedEntities(Lesson lesson) {
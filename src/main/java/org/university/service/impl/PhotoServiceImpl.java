@@ -29,17 +29,21 @@ public class PhotoServiceImpl implements PhotoService {
             validator.validate(user.getPhoto());
             photoName = awsS3Service.uploadFile(user.getPhoto());
         } else {
-            if (checkUserIsStudent(user)) {
-                photoName = checkUserIsMan(user) ? String.format("%smalestudent.png", DEFAULT_PATH)
-                        : String.format("%sfemalestudent.png", DEFAULT_PATH);
-            } else {
-                photoName = checkUserIsMan(user) ? String.format("%smaleteacher.png", DEFAULT_PATH)
-                        : String.format("%sfemaleteacher.png", DEFAULT_PATH);
-            }
+            photoName = findDefaultPhoto(user);
         }
         return photoName;
     }
 
+    @Override
+    public String findDefaultPhoto(UserDto user) {
+        if (checkUserIsStudent(user)) {
+            return checkUserIsMan(user) ? String.format("%smalestudent.png", DEFAULT_PATH)
+                    : String.format("%sfemalestudent.png", DEFAULT_PATH);
+        }
+        return checkUserIsMan(user) ? String.format("%smaleteacher.png", DEFAULT_PATH)
+                : String.format("%sfemaleteacher.png", DEFAULT_PATH);
+    }
+
     private boolean checkUserIsStudent(UserDto user) {
         return (user.getClass() == StudentDto.class
                 || (user.getDesiredRole() != null && user.getDesiredRole().equals("STUDENT")));
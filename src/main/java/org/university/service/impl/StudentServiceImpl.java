@@ -3,6 +3,7 @@ package org.university.service.impl;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,6 +19,8 @@ import org.university.exceptions.EntityNotExistException;
 import org.university.service.EmailService;
 import org.university.service.SecureTokenService;
 import org.university.service.StudentService;
+import org.university.service.event.ReferenceDataChangedEvent;
+import org.university.service.event.ReferenceDataChangedEvent.Reference;
 import org.university.service.validator.Validator;
 
 import lombok.AccessLevel;
@@ -37,15 +40,29 @@ public class StudentServiceImpl extends AbstractUserServiceImpl<Student> impleme
     CourseDao courseDao;
     RoleDao roleDao;
     PasswordEncoder encoder;    
+    ApplicationEventPublisher eventPublisher;
 
     public StudentServiceImpl(StudentDao studentDao, CourseDao courseDao, EmailService<User> emailService,
             SecureTokenService secureTokenService, Validator<User> validator,
-            PasswordEncoder encoder, RoleDao roleDao) {
+            PasswordEncoder encoder, RoleDao roleDao, ApplicationEventPublisher eventPublisher) {
         super(studentDao, validator, emailService, secureTokenService);        
         this.studentDao = studentDao;
         this.courseDao = courseDao;
         this.encoder = encoder;
         this.roleDao = roleDao;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void delete(@NonNull UserDto userDto) {
+        super.delete(userDto);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Reference.STUDENT));
+    }
+
+    @Override
+    public void edit(@NonNull UserDto userDto) {
+        super.edit(userDto);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Reference.STUDENT));
     }
 
     @Override
@@ -71,6 +88,7 @@ public class StudentServiceImpl extends AbstractUserServiceImpl<Student> impleme
         if (!student.getCourses().contains(course)) {
             student.addCourse(course);
             studentDao.save(student);
+            eventPublisher.publishEvent(new ReferenceDataChangedEvent(Reference.STUDENT));
             log.info("Student with id {} added to course {}!", student.getId(), course.getName());
         }
     }
@@ -83,6 +101,7 @@ public class StudentServiceImpl extends AbstractUserServiceImpl<Student> impleme
         if (student.getCourses().contains(course)) {
             student.removeCourse(course);
             studentDao.save(student);
+            eventPublisher.publishEvent(new ReferenceDataChangedEvent(Reference.STUDENT));
             log.info("Student with id {} deleted from course {}!", student.getId(), course.getName());
         }
     }
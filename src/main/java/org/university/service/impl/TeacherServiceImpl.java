@@ -2,6 +2,7 @@ package org.university.service.impl;
 
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,11 +13,16 @@ import org.university.entity.Teacher;
 import org.university.entity.User;
 import org.university.exceptions.EntityNotExistException;
 import org.university.service.EmailService;
+import org.university.service.LessonBulkDeleteService;
 import org.university.service.SecureTokenService;
 import org.university.service.TeacherService;
+import org.university.service.event.ReferenceDataChangedEvent;
+import org.university.service.event.ReferenceDataChangedEvent.Reference;
+import org.university.service.event.TimetableReferenceChangedEvent;
 import org.university.service.validator.Validator;
 
 import lombok.AccessLevel;
+import lombok.NonNull;
 import lombok.experimental.FieldDefaults;
 
 @Service
@@ -29,14 +35,32 @@ public class TeacherServiceImpl extends AbstractUserServiceImpl<Teacher> impleme
     TeacherDao teacherDao;
     RoleDao roleDao;
     PasswordEncoder encoder;    
+    ApplicationEventPublisher eventPublisher;
+    LessonBulkDeleteService lessonDeleteService;
 
     public TeacherServiceImpl(TeacherDao teacherDao, EmailService<User> emailService,
             SecureTokenService secureTokenService,
-            Validator<User> validator, PasswordEncoder encoder, RoleDao roleDao) {
+            Validator<User> validator, PasswordEncoder encoder, RoleDao roleDao,
+            ApplicationEventPublisher eventPublisher, LessonBulkDeleteService lessonDeleteService) {
         super(teacherDao, validator, emailService, secureTokenService);
         this.encoder = encoder;
         this.teacherDao = teacherDao;
         this.roleDao = roleDao;
+        this.eventPublisher = eventPublisher;
+        this.lessonDeleteService = lessonDeleteService;
+    }
+
+    @Override
+    public void edit(@NonNull UserDto userDto) {
+        super.edit(userDto);
+        eventPublisher.publishEvent(new TimetableReferenceChangedEvent(Reference.TEACHER, userDto.getId()));
+    }
+
+    @Override
+    public void delete(@NonNull UserDto userDto) {
+        lessonDeleteService.deleteLessonsReferencing(Reference.TEACHER, userDto.getId());
+        super.delete(userDto);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Reference.TEACHER));
     }
 
     @Override
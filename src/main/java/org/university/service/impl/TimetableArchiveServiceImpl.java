@@ -0,0 +1,164 @@
+package org.university.service.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.university.dao.GroupDao;
+import org.university.dao.LessonDao;
+import org.university.dao.TeacherDao;
+import org.university.entity.LessonView;
+import org.university.entity.ReferenceId;
+import org.university.entity.Teacher;
+import org.university.entity.TimetableScope;
+import org.university.service.TimetableArchiveService;
+import org.university.service.TimetableExportService;
+import org.university.service.export.ExportFormat;
+import org.university.service.export.TimetableExport;
+import org.university.utils.CSVDataGenerator;
+import org.university.utils.PDFDataGenerator;
+
+import com.opencsv.CSVWriter;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exports the timetables of every group and teacher into one ZIP archive.
+ * The lessons of the range are read by a single query and shared by all the
+ * timetables, which are rendered on a bounded pool and written to the archive
+ * in the order they are finished. Only a window of rendered timetables waits
+ * for the archive at a time, so a slow client holds back the rendering
+ * instead of filling the memory.
+ */
+@Service
+@Slf4j
+public class TimetableArchiveServiceImpl implements TimetableArchiveService {
+
+    private static final String GROUPS = "groups/";
+    private static final String TEACHERS = "teachers/";
+
+    private final TimetableExportService exportService;
+    private final LessonDao lessonDao;
+    private final GroupDao groupDao;
+    private final TeacherDao teacherDao;
+    private final CSVDataGenerator csvGenerator;
+    private final PDFDataGenerator pdfGenerator;
+    private final Executor executor;
+    private final int window;
+
+    @Autowired
+    public TimetableArchiveServiceImpl(TimetableExportService exportService, LessonDao lessonDao, GroupDao groupDao,
+            TeacherDao teacherDao, CSVDataGenerator csvGenerator, PDFDataGenerator pdfGenerator,
+            @Qualifier("archiveExecutor") Executor executor, @Value("${export.archive.window:16}") int window) {
+        this.exportService = exportService;
+        this.lessonDao = lessonDao;
+        this.groupDao = groupDao;
+        this.teacherDao = teacherDao;
+        this.csvGenerator = csvGenerator;
+        this.pdfGenerator = pdfGenerator;
+        this.executor = executor;
+        this.window = window;
+    }
+
+    @Override
+    public void writeArchive(@NonNull ExportFormat format, LocalDate from, LocalDate to, @NonNull OutputStream output)
+            throws IOException {
+        TimetableExport university = exportService.findUniversityExport(from, to);
+        List<LessonView> lessons = lessonDao.findAllViewsBetween(from.atStartOfDay(), to.atTime(LocalTime.MAX));
+        Map<Integer, List<LessonView>> groupLessons = lessons.stream()
+                .collect(Collectors.groupingBy(LessonView::getGroupId));
+        Map<Integer, List<LessonView>> teacherLessons = lessons.stream()
+                .collect(Collectors.groupingBy(LessonView::getTeacherId));
+        List<Callable<ArchiveEntry>> renders = new ArrayList<>();
+        for (ReferenceId group : groupDao.findAllReferenceIds()) {
+            String name = group.getKey().toString();
+            renders.add(() -> render(format, TimetableScope.GROUP, GROUPS + name, name,
+                    groupLessons.getOrDefault(group.getId(), Collections.emptyList())));
+        }
+        for (Teacher teacher : teacherDao.findAll()) {
+            renders.add(() -> render(format, TimetableScope.TEACHER, TEACHERS + teacher.getEmail(),
+                    teacher.getName(), teacherLessons.getOrDefault(teacher.getId(), Collections.emptyList())));
+        }
+        int entries = writeEntries(renders, new ZipOutputStream(output));
+        log.info("Archived {} {} timetables of {} lessons from {} to {}", entries, format, lessons.size(),
+                university.getFrom(), university.getTo());
+    }
+
+    private int writeEntries(List<Callable<ArchiveEntry>> renders, ZipOutputStream archive) throws IOException {
+        CompletionService<ArchiveEntry> completion = new ExecutorCompletionService<>(executor);
+        List<Future<ArchiveEntry>> futures = new ArrayList<>();
+        Iterator<Callable<ArchiveEntry>> pending = renders.iterator();
+        int written = 0;
+        try {
+            while (futures.size() < window && pending.hasNext()) {
+                futures.add(completion.submit(pending.next()));
+            }
+            while (written < futures.size()) {
+                ArchiveEntry entry = completion.take().get();
+                if (pending.hasNext()) {
+                    futures.add(completion.submit(pending.next()));
+                }
+                archive.putNextEntry(new ZipEntry(entry.name));
+                archive.write(entry.content);
+                archive.closeEntry();
+                written++;
+            }
+            archive.finish();
+            return written;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("exportfailed", e);
+        } catch (ExecutionException e) {
+            throw new IOException("exportfailed", e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private ArchiveEntry render(ExportFormat format, TimetableScope scope, String path, String title,
+            List<LessonView> lessons) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        if (format == ExportFormat.CSV) {
+            Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+            csvGenerator.writeData(scope, lessons.iterator(), new CSVWriter(writer));
+        } else {
+            pdfGenerator.writeTimetable(output, scope, title, lessons.iterator());
+        }
+        return new ArchiveEntry(path + format.getExtension(), output.toByteArray());
+    }
+
+    private static final class ArchiveEntry {
+
+        private final String name;
+        private final byte[] content;
+
+        ArchiveEntry(String name, byte[] content) {
+            this.name = name;
+            this.content = content;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.university.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.university.dao.GroupDao;
+import org.university.dao.LessonDao;
+import org.university.dao.TeacherDao;
+import org.university.entity.Group;
+import org.university.entity.LessonView;
+import org.university.entity.Teacher;
+import org.university.entity.TimetableScope;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.service.TimetableExportService;
+import org.university.service.cache.ReferenceResolver;
+import org.university.service.export.TimetableExport;
+import org.university.utils.CSVDataGenerator;
+import org.university.utils.PDFDataGenerator;
+
+import com.opencsv.CSVWriter;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@AllArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@Slf4j
+@Transactional(readOnly = true)
+public class TimetableExportServiceImpl implements TimetableExportService {
+
+    private static final long MAX_RANGE_DAYS = 366;
+    private static final String UNIVERSITY = "University";
+
+    GroupDao groupDao;
+    TeacherDao teacherDao;
+    LessonDao lessonDao;
+    ReferenceResolver resolver;
+    CSVDataGenerator csvGenerator;
+    PDFDataGenerator pdfGenerator;
+
+    @Override
+    public TimetableExport findGroupExport(@NonNull String groupName, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        Group group = resolver.findGroupId(groupName).flatMap(groupDao::findById)
+                .orElseThrow(() -> new EntityNotExistException("groupnotexist"));
+        return new TimetableExport(TimetableScope.GROUP, group.getId(), group.getName(), from, to);
+    }
+
+    @Override
+    public TimetableExport findTeacherExport(@NonNull String teacherEmail, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        Teacher teacher = resolver.findTeacherId(teacherEmail).flatMap(teacherDao::findById)
+                .orElseThrow(() -> new EntityNotExistException("teachernotexist"));
+        return new TimetableExport(TimetableScope.TEACHER, teacher.getId(), teacher.getName(), from, to);
+    }
+
+    @Override
+    public TimetableExport findUniversityExport(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return new TimetableExport(TimetableScope.ALL, null, UNIVERSITY, from, to);
+    }
+
+    /**
+     * Writes the lessons of the export while they are read from a database
+     * cursor, so the export is never held in memory whatever its range.
+     */
+    @Override
+    public void writeCsv(@NonNull TimetableExport export, @NonNull Writer writer) throws IOException {
+        LocalDateTime start = export.getFrom().atStartOfDay();
+        LocalDateTime end = export.getTo().atTime(LocalTime.MAX);
+        try (Stream<LessonView> lessons = streamLessons(export, start, end)) {
+            long rows = csvGenerator.writeData(export.getScope(), lessons.iterator(), new CSVWriter(writer));
+            log.debug("Exported {} lessons of {} timetable", rows, export.getName());
+        }
+    }
+
+    @Override
+    public void writePdf(@NonNull TimetableExport export, @NonNull OutputStream output) {
+        LocalDateTime start = export.getFrom().atStartOfDay();
+        LocalDateTime end = export.getTo().atTime(LocalTime.MAX);
+        try (Stream<LessonView> lessons = streamLessons(export, start, end)) {
+            long rows = pdfGenerator.writeTimetable(output, export.getScope(), export.getName(), lessons.iterator());
+            log.debug("Exported {} lessons of {} timetable", rows, export.getName());
+        }
+    }
+
+    private Stream<LessonView> streamLessons(TimetableExport export, LocalDateTime start, LocalDateTime end) {
+        if (export.getScope() == TimetableScope.GROUP) {
+            return lessonDao.streamViewsOfGroupBetween(start, end, export.getEntityId());
+        }
+        if (export.getScope() == TimetableScope.TEACHER) {
+            return lessonDao.streamViewsOfTeacherBetween(start, end, export.getEntityId());
+        }
+        return lessonDao.streamViewsBetween(start, end);
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new InvalidLessonTimeException("invalidrange");
+        }
+    }
+}
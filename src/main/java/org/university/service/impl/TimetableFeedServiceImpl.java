@@ -0,0 +1,114 @@
+package org.university.service.impl;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.university.dao.GroupDao;
+import org.university.dao.LessonDao;
+import org.university.dao.TeacherDao;
+import org.university.entity.Group;
+import org.university.entity.LessonView;
+import org.university.entity.Teacher;
+import org.university.entity.TimetableScope;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.service.TimetableFeedService;
+import org.university.service.cache.ResourceVersions;
+import org.university.service.feed.IcsWriter;
+import org.university.service.feed.TimetableFeed;
+
+import lombok.NonNull;
+
+@Service
+@Transactional(readOnly = true)
+public class TimetableFeedServiceImpl implements TimetableFeedService {
+
+    private static final long MAX_RANGE_DAYS = 366;
+
+    private final GroupDao groupDao;
+    private final TeacherDao teacherDao;
+    private final LessonDao lessonDao;
+    private final ResourceVersions versions;
+    private final int pastDays;
+    private final int futureDays;
+    private final ZoneId zone;
+    private final Clock clock;
+
+    @Autowired
+    public TimetableFeedServiceImpl(GroupDao groupDao, TeacherDao teacherDao, LessonDao lessonDao,
+            ResourceVersions versions, @Value("${timetable.feed.past-days:14}") int pastDays,
+            @Value("${timetable.feed.future-days:120}") int futureDays,
+            @Value("${timetable.feed.time-zone:${google.calendar.time.zone:UTC}}") String zone) {
+        this(groupDao, teacherDao, lessonDao, versions, pastDays, futureDays, ZoneId.of(zone),
+                Clock.system(ZoneId.of(zone)));
+    }
+
+    public TimetableFeedServiceImpl(GroupDao groupDao, TeacherDao teacherDao, LessonDao lessonDao,
+            ResourceVersions versions, int pastDays, int futureDays, ZoneId zone, Clock clock) {
+        this.groupDao = groupDao;
+        this.teacherDao = teacherDao;
+        this.lessonDao = lessonDao;
+        this.versions = versions;
+        this.pastDays = pastDays;
+        this.futureDays = futureDays;
+        this.zone = zone;
+        this.clock = clock;
+    }
+
+    @Override
+    public TimetableFeed findGroupFeed(@NonNull String groupName, LocalDate from, LocalDate to) {
+        Group group = groupDao.findByName(groupName).orElseThrow(() -> new EntityNotExistException("groupnotexist"));
+        return createFeed(TimetableScope.GROUP, group.getId(), group.getName(), from, to);
+    }
+
+    @Override
+    public TimetableFeed findTeacherFeed(@NonNull String teacherEmail, LocalDate from, LocalDate to) {
+        Teacher teacher = teacherDao.findByEmail(teacherEmail)
+                .orElseThrow(() -> new EntityNotExistException("teachernotexist"));
+        return createFeed(TimetableScope.TEACHER, teacher.getId(), teacher.getName(), from, to);
+    }
+
+    /**
+     * Writes the lessons of the feed while they are read from a database
+     * cursor, so the feed is never held in memory whatever its range.
+     */
+    @Override
+    public void writeFeed(@NonNull TimetableFeed feed, @NonNull Writer writer) throws IOException {
+        LocalDateTime start = feed.getFrom().atStartOfDay();
+        LocalDateTime end = feed.getTo().atTime(LocalTime.MAX);
+        IcsWriter ics = new IcsWriter(writer, zone, LocalDateTime.now(clock));
+        ics.writeHeader(feed.getName() + " timetable");
+        try (Stream<LessonView> lessons = feed.getScope() == TimetableScope.GROUP
+                ? lessonDao.streamViewsOfGroupBetween(start, end, feed.getEntityId())
+                : lessonDao.streamViewsOfTeacherBetween(start, end, feed.getEntityId())) {
+            for (Iterator<LessonView> iterator = lessons.iterator(); iterator.hasNext();) {
+                ics.write(iterator.next());
+            }
+        }
+        ics.writeFooter();
+    }
+
+    private TimetableFeed createFeed(TimetableScope scope, int entityId, String name, LocalDate from, LocalDate to) {
+        LocalDate today = LocalDate.now(clock);
+        LocalDate firstDay = from == null ? today.minusDays(pastDays) : from;
+        LocalDate lastDay = to == null ? today.plusDays(futureDays) : to;
+        if (lastDay.isBefore(firstDay) || ChronoUnit.DAYS.between(firstDay, lastDay) >= MAX_RANGE_DAYS) {
+            throw new InvalidLessonTimeException("invalidrange");
+        }
+        // the feed carries the time it was generated at, so equal tags mean equivalent, not identical, content
+        String tag = "W/\"" + versions.getRangeTag(scope, entityId, firstDay, lastDay) + "\"";
+        return new TimetableFeed(scope, entityId, name, firstDay, lastDay, tag);
+    }
+}
@@ -0,0 +1,233 @@
+package org.university.service.impl;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.university.dao.ClassroomDao;
+import org.university.dao.CourseDao;
+import org.university.dao.GroupDao;
+import org.university.dao.TeacherDao;
+import org.university.dto.ImportReportDto;
+import org.university.dto.LessonDto;
+import org.university.dto.TimetableDemandDto;
+import org.university.dto.TimetableGenerationDto;
+import org.university.dto.TimetableGenerationReportDto;
+import org.university.entity.Classroom;
+import org.university.entity.Course;
+import org.university.entity.Group;
+import org.university.entity.Teacher;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.service.LessonImportService;
+import org.university.service.TimetableGeneratorService;
+import org.university.service.index.LessonConflictIndex;
+import org.university.service.solver.TimetableProblem;
+import org.university.service.solver.TimetableSolution;
+import org.university.service.solver.TimetableSolver;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@AllArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@Slf4j
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TimetableGeneratorServiceImpl implements TimetableGeneratorService {
+
+    private static final LocalTime[] PERIOD_STARTS = { LocalTime.of(9, 0), LocalTime.of(10, 15),
+            LocalTime.of(11, 30), LocalTime.of(12, 45), LocalTime.of(14, 0), LocalTime.of(15, 15),
+            LocalTime.of(16, 30), LocalTime.of(17, 45) };
+    private static final int LESSON_MINUTES = 60;
+    private static final int WORK_DAYS = 6;
+    private static final int MAX_WEEKS = 26;
+    private static final long MIN_BUDGET_MILLIS = 100;
+    private static final long MAX_BUDGET_MILLIS = 60_000;
+
+    CourseDao courseDao;
+    GroupDao groupDao;
+    TeacherDao teacherDao;
+    ClassroomDao classroomDao;
+    LessonConflictIndex conflictIndex;
+    TimetableSolver solver;
+    LessonImportService importService;
+
+    @Override
+    public TimetableGenerationReportDto generate(@NonNull TimetableGenerationDto generation) {
+        LocalDate from = parseDate(generation.getWeekStart());
+        LocalDate until = generation.getUntilDate() == null ? from.plusDays(WORK_DAYS)
+                : parseDate(generation.getUntilDate());
+        LocalDate firstMonday = from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        if (until.isBefore(from) || ChronoUnit.WEEKS.between(firstMonday, until) >= MAX_WEEKS) {
+            throw new InvalidLessonTimeException("invaliduntil");
+        }
+        List<LocalDate> mondays = new ArrayList<>();
+        for (LocalDate monday = firstMonday; !monday.isAfter(until); monday = monday.plusWeeks(1)) {
+            mondays.add(monday);
+        }
+        List<TimetableDemandDto> demands = generation.getDemands();
+        Map<String, Course> courses = findAll(courseDao.findAllByNameIn(collect(demands,
+                TimetableDemandDto::getCourseName)), Course::getName);
+        Map<String, Group> groups = findAll(groupDao.findAllByNameIn(collect(demands,
+                TimetableDemandDto::getGroupName)), Group::getName);
+        Map<String, Teacher> teachers = findAll(teacherDao.findAllByEmailIn(collect(demands,
+                TimetableDemandDto::getTeacherEmail)), Teacher::getEmail);
+        List<Classroom> classrooms = StreamSupport.stream(classroomDao.findAll().spliterator(), false)
+                .sorted(Comparator.comparing(Classroom::getCapacity)).collect(Collectors.toList());
+        int[] periodDays = new int[WORK_DAYS * PERIOD_STARTS.length];
+        for (int period = 0; period < periodDays.length; period++) {
+            periodDays[period] = period / PERIOD_STARTS.length;
+        }
+        TimetableProblem problem = new TimetableProblem(periodDays);
+        for (Classroom classroom : classrooms) {
+            problem.addRoom(blockedPeriods(conflictIndex::classroomBusySlots, classroom.getId(), mondays, from,
+                    until));
+        }
+        Map<Integer, Integer> teacherIndexes = new HashMap<>();
+        Map<Integer, Integer> groupIndexes = new HashMap<>();
+        List<TimetableDemandDto> unitDemands = new ArrayList<>();
+        for (TimetableDemandDto demand : demands) {
+            find(courses, demand.getCourseName(), "coursenotexist");
+            Teacher teacher = find(teachers, demand.getTeacherEmail(), "teachernotexist");
+            Group group = find(groups, demand.getGroupName(), "groupnotexist");
+            if (demand.getHoursPerWeek() < 1 || demand.getHoursPerWeek() > periodDays.length) {
+                throw new InvalidLessonTimeException("invalidhours");
+            }
+            int teacherIndex = teacherIndexes.computeIfAbsent(teacher.getId(), id -> problem
+                    .addTeacher(blockedPeriods(conflictIndex::teacherBusySlots, id, mondays, from, until)));
+            int groupIndex = groupIndexes.computeIfAbsent(group.getId(), id -> problem
+                    .addGroup(blockedPeriods(conflictIndex::groupBusySlots, id, mondays, from, until)));
+            int[] rooms = new int[classrooms.size()];
+            int roomCount = 0;
+            for (int room = 0; room < classrooms.size(); room++) {
+                if (classrooms.get(room).getCapacity() >= group.getStudents().size()) {
+                    rooms[roomCount++] = room;
+                }
+            }
+            problem.addDemand(teacherIndex, groupIndex, Arrays.copyOf(rooms, roomCount),
+                    demand.getHoursPerWeek());
+            for (int i = 0; i < demand.getHoursPerWeek(); i++) {
+                unitDemands.add(demand);
+            }
+        }
+        long budget = Math.min(Math.max(generation.getTimeBudgetMillis(), MIN_BUDGET_MILLIS), MAX_BUDGET_MILLIS);
+        TimetableSolution solution = solver.solve(problem, Duration.ofMillis(budget), from.toEpochDay());
+        List<LessonDto> lessons = new ArrayList<>();
+        for (int unit = 0; unit < problem.getUnits(); unit++) {
+            if (solution.isPlaced(unit)) {
+                addOccurrences(lessons, unitDemands.get(unit), solution.getPeriod(unit),
+                        classrooms.get(solution.getRoom(unit)), mondays, from, until);
+            }
+        }
+        ImportReportDto importReport = importService.importLessons(lessons);
+        TimetableGenerationReportDto report = new TimetableGenerationReportDto();
+        report.setPlacedLessons(solution.getPlacedUnits());
+        report.setUnplacedLessons(problem.getUnits() - solution.getPlacedUnits());
+        report.setImportReport(importReport);
+        log.info("Timetable generated for {} weeks from {}: {} weekly lessons placed, {} unplaced", mondays.size(),
+                from, report.getPlacedLessons(), report.getUnplacedLessons());
+        return report;
+    }
+
+    private boolean[] blockedPeriods(BiFunction<Integer, LocalDate, BitSet> busySlots, int resourceId,
+            List<LocalDate> mondays, LocalDate from, LocalDate until) {
+        boolean[] blocked = new boolean[WORK_DAYS * PERIOD_STARTS.length];
+        boolean[] inRange = new boolean[WORK_DAYS];
+        for (LocalDate monday : mondays) {
+            for (int day = 0; day < WORK_DAYS; day++) {
+                LocalDate date = monday.plusDays(day);
+                if (date.isBefore(from) || date.isAfter(until)) {
+                    continue;
+                }
+                inRange[day] = true;
+                BitSet busy = busySlots.apply(resourceId, date);
+                for (int i = 0; i < PERIOD_STARTS.length; i++) {
+                    int startSlot = PERIOD_STARTS[i].toSecondOfDay() / 60 / LessonConflictIndex.SLOT_MINUTES;
+                    int endSlot = (PERIOD_STARTS[i].toSecondOfDay() / 60 + LESSON_MINUTES)
+                            / LessonConflictIndex.SLOT_MINUTES;
+                    int firstBusy = busy.nextSetBit(startSlot);
+                    if (firstBusy >= 0 && firstBusy <= endSlot) {
+                        blocked[day * PERIOD_STARTS.length + i] = true;
+                    }
+                }
+            }
+        }
+        for (int period = 0; period < blocked.length; period++) {
+            blocked[period] |= !inRange[period / PERIOD_STARTS.length];
+        }
+        return blocked;
+    }
+
+    private static void addOccurrences(List<LessonDto> lessons, TimetableDemandDto demand, int period,
+            Classroom classroom, List<LocalDate> mondays, LocalDate from, LocalDate until) {
+        for (LocalDate monday : mondays) {
+            LocalDate date = monday.plusDays(period / PERIOD_STARTS.length);
+            if (date.isBefore(from) || date.isAfter(until)) {
+                continue;
+            }
+            LocalDateTime start = LocalDateTime.of(date, PERIOD_STARTS[period % PERIOD_STARTS.length]);
+            LessonDto lesson = new LessonDto();
+            lesson.setCourseName(demand.getCourseName());
+            lesson.setTeacherEmail(demand.getTeacherEmail());
+            lesson.setGroupName(demand.getGroupName());
+            lesson.setClassroomNumber(classroom.getNumber());
+            lesson.setStartLesson(start.toString());
+            lesson.setEndLesson(start.plusMinutes(LESSON_MINUTES).toString());
+            lesson.setOnlineLesson(false);
+            lessons.add(lesson);
+        }
+    }
+
+    private static <T> Set<T> collect(List<TimetableDemandDto> demands, Function<TimetableDemandDto, T> key) {
+        return demands.stream().map(key).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private static <K, V> Map<K, V> findAll(Collection<V> entities, Function<V, K> key) {
+        return entities.stream().collect(Collectors.toMap(key, Function.identity(), (first, second) -> first));
+    }
+
+    private static <K, V> V find(Map<K, V> entities, K key, String message) {
+        V entity = key == null ? null : entities.get(key);
+        if (entity == null) {
+            throw new EntityNotExistException(message);
+        }
+        return entity;
+    }
+
+    private static LocalDate parseDate(String date) {
+        if (date == null) {
+            throw new InvalidLessonTimeException("invalidtime");
+        }
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new InvalidLessonTimeException("invalidtime");
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package org.university.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.validation.Validator;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.university.dao.RoleDao;
+import org.university.dao.StudentDao;
+import org.university.dao.TeacherDao;
+import org.university.dao.UserDao;
+import org.university.dto.ImportReportDto;
+import org.university.dto.UserDto;
+import org.university.entity.Role;
+import org.university.entity.Student;
+import org.university.entity.Teacher;
+import org.university.entity.User;
+import org.university.service.PhotoService;
+import org.university.service.UserImportService;
+import org.university.service.event.ReferenceDataChangedEvent;
+import org.university.service.event.ReferenceDataChangedEvent.Reference;
+import org.university.service.event.UsersImportedEvent;
+import org.university.service.event.UsersImportedEvent.Account;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registers students or teachers read from a file a chunk at a time. The
+ * emails of a chunk are checked against every kind of user by one query,
+ * passwords are hashed on a bounded pool and the accounts are saved with
+ * batched inserts; their emails are queued and sent after the commit. Each
+ * chunk is flushed and detached once saved, so that the persistence context
+ * stays the size of a chunk however long the file is.
+ */
+@Service
+@Slf4j
+@Transactional
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final String STUDENT = "STUDENT";
+    private static final String TEACHER = "TEACHER";
+    private static final String[] CHECKED_PROPERTIES = { "name", "email", "phone", "password" };
+
+    private final StudentDao studentDao;
+    private final TeacherDao teacherDao;
+    private final RoleDao roleDao;
+    private final PasswordEncoder encoder;
+    private final PhotoService photoService;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final Executor executor;
+    private final int chunkSize;
+
+    @Autowired
+    public UserImportServiceImpl(StudentDao studentDao, TeacherDao teacherDao, RoleDao roleDao,
+            PasswordEncoder encoder, PhotoService photoService, Validator validator,
+            ApplicationEventPublisher eventPublisher, EntityManager entityManager,
+            @Qualifier("passwordExecutor") Executor executor, @Value("${import.users.chunk:500}") int chunkSize) {
+        this.studentDao = studentDao;
+        this.teacherDao = teacherDao;
+        this.roleDao = roleDao;
+        this.encoder = encoder;
+        this.photoService = photoService;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public ImportReportDto importStudents(@NonNull Iterator<UserDto> students, @NonNull Locale locale) {
+        return importUsers(students, locale, STUDENT, studentDao, Reference.STUDENT,
+                (user, password) -> Student.builder()
+                        .withSex(user.getSex())
+                        .withName(user.getName())
+                        .withEmail(user.getEmail())
+                        .withPhone(user.getPhone())
+                        .withPassword(password)
+                        .withPhoto(user.getPhotoName())
+                        .withEnabled(true)
+                        .build());
+    }
+
+    @Override
+    public ImportReportDto importTeachers(@NonNull Iterator<UserDto> teachers, @NonNull Locale locale) {
+        return importUsers(teachers, locale, TEACHER, teacherDao, Reference.TEACHER,
+                (user, password) -> Teacher.builder()
+                        .withSex(user.getSex())
+                        .withName(user.getName())
+                        .withEmail(user.getEmail())
+                        .withPhone(user.getPhone())
+                        .withPassword(password)
+                        .withScientificDegree(user.getScientificDegree())
+                        .withPhoto(user.getPhotoName())
+                        .withEnabled(true)
+                        .build());
+    }
+
+    private <E extends User> ImportReportDto importUsers(Iterator<UserDto> users, Locale locale, String roleName,
+            UserDao<E> userDao, Reference reference, BiFunction<UserDto, String, E> mapper) {
+        ImportReportDto report = new ImportReportDto();
+        List<UserDto> chunk = new ArrayList<>(chunkSize);
+        int firstRow = 1;
+        int imported = 0;
+        while (users.hasNext()) {
+            chunk.add(users.next());
+            if (chunk.size() == chunkSize) {
+                imported += importChunk(chunk, firstRow, locale, roleName, userDao, mapper, report);
+                firstRow += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += importChunk(chunk, firstRow, locale, roleName, userDao, mapper, report);
+        }
+        if (imported > 0) {
+            eventPublisher.publishEvent(new ReferenceDataChangedEvent(reference));
+        }
+        report.setImported(imported);
+        log.info("Imported {} {} accounts, rejected {}", imported, roleName.toLowerCase(Locale.ROOT),
+                report.getErrors().size());
+        return report;
+    }
+
+    private <E extends User> int importChunk(List<UserDto> chunk, int firstRow, Locale locale, String roleName,
+            UserDao<E> userDao, BiFunction<UserDto, String, E> mapper, ImportReportDto report) {
+        Map<Integer, String> errors = new TreeMap<>();
+        Map<Integer, UserDto> accepted = new TreeMap<>();
+        Set<String> emails = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            UserDto user = chunk.get(i);
+            if (!isValid(user, roleName)) {
+                errors.put(firstRow + i, "invaliduser");
+            } else if (!emails.add(user.getEmail())) {
+                errors.put(firstRow + i, "useremailexist");
+            } else {
+                accepted.put(firstRow + i, user);
+            }
+        }
+        if (!emails.isEmpty()) {
+            Set<String> registered = new HashSet<>(studentDao.findAllRegisteredEmailsIn(emails));
+            Iterator<Map.Entry<Integer, UserDto>> rows = accepted.entrySet().iterator();
+            while (rows.hasNext()) {
+                Map.Entry<Integer, UserDto> row = rows.next();
+                if (registered.contains(row.getValue().getEmail())) {
+                    errors.put(row.getKey(), "useremailexist");
+                    rows.remove();
+                }
+            }
+        }
+        errors.forEach(report::addError);
+        if (accepted.isEmpty()) {
+            return 0;
+        }
+        List<CompletableFuture<String>> passwords = accepted.values().stream()
+                .map(user -> CompletableFuture.supplyAsync(() -> encoder.encode(user.getPassword()), executor))
+                .collect(Collectors.toList());
+        // the role read for the previous chunk was detached with it
+        Role role = roleDao.findByName(roleName).get();
+        List<E> users = new ArrayList<>(accepted.size());
+        Iterator<CompletableFuture<String>> password = passwords.iterator();
+        for (UserDto user : accepted.values()) {
+            E entity = mapper.apply(withPhoto(user, roleName), password.next().join());
+            entity.setRole(role);
+            users.add(entity);
+        }
+        List<Account> accounts = userDao.saveAll(users).stream()
+                .map(user -> new Account(user.getName(), user.getEmail()))
+                .collect(Collectors.toList());
+        userDao.flush();
+        entityManager.clear();
+        eventPublisher.publishEvent(new UsersImportedEvent(accounts, locale));
+        return accounts.size();
+    }
+
+    private boolean isValid(UserDto user, String roleName) {
+        if (user.getSex() == null || user.getName() == null || user.getEmail() == null || user.getPhone() == null
+                || user.getPassword() == null) {
+            return false;
+        }
+        if (roleName.equals(TEACHER) && StringUtils.isBlank(user.getScientificDegree())) {
+            return false;
+        }
+        for (String property : CHECKED_PROPERTIES) {
+            if (!validator.validateProperty(user, property).isEmpty()) {
+                return false;
+            }
+        }
+        return !user.getEmail().isEmpty();
+    }
+
+    private UserDto withPhoto(UserDto user, String roleName) {
+        if (user.getPhotoName() == null) {
+            user.setDesiredRole(roleName);
+            user.setPhotoName(photoService.findDefaultPhoto(user));
+        }
+        return user;
+    }
+}
@@ -0,0 +1,95 @@
+package org.university.service.index;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.university.entity.LessonSlot;
+
+/**
+ * Lessons that are planned but not saved yet, checked together with the
+ * saved lessons of a {@link LessonConflictIndex}. Saved lessons can be marked
+ * as removed to try out edits and deletes. Not thread-safe, meant to live for
+ * one batch of changes.
+ */
+public class ConflictSandbox {
+
+    private final LessonConflictIndex base;
+    private final Map<Integer, LessonSlot> slots = new HashMap<>();
+    private final Set<Integer> removedLessons = new HashSet<>();
+    private final Map<Integer, IntervalSchedule> teacherSchedules = new HashMap<>();
+    private final Map<Integer, IntervalSchedule> groupSchedules = new HashMap<>();
+    private final Map<Integer, IntervalSchedule> classroomSchedules = new HashMap<>();
+
+    ConflictSandbox(LessonConflictIndex base) {
+        this.base = base;
+    }
+
+    public boolean isTeacherOrGroupBusy(LessonSlot slot) {
+        return isBusy(base::isTeacherBusyExcept, teacherSchedules, slot.getTeacherId(), slot)
+                || isBusy(base::isGroupBusyExcept, groupSchedules, slot.getGroupId(), slot);
+    }
+
+    public boolean isClassroomBusy(LessonSlot slot) {
+        return isBusy(base::isClassroomBusyExcept, classroomSchedules, slot.getClassroomId(), slot);
+    }
+
+    public void add(LessonSlot slot) {
+        remove(slot.getId());
+        slots.put(slot.getId(), slot);
+        add(teacherSchedules, slot.getTeacherId(), slot);
+        add(groupSchedules, slot.getGroupId(), slot);
+        add(classroomSchedules, slot.getClassroomId(), slot);
+    }
+
+    /**
+     * Frees the time of a saved or planned lesson for the following checks.
+     */
+    public void remove(int lessonId) {
+        removedLessons.add(lessonId);
+        LessonSlot slot = slots.remove(lessonId);
+        if (slot != null) {
+            long start = LessonConflictIndex.toEpochMinute(slot.getStartLesson());
+            remove(teacherSchedules, slot.getTeacherId(), lessonId, start);
+            remove(groupSchedules, slot.getGroupId(), lessonId, start);
+            remove(classroomSchedules, slot.getClassroomId(), lessonId, start);
+        }
+    }
+
+    private void add(Map<Integer, IntervalSchedule> schedules, Integer resourceId, LessonSlot slot) {
+        if (resourceId != null) {
+            schedules.computeIfAbsent(resourceId, id -> new IntervalSchedule()).add(slot.getId(),
+                    LessonConflictIndex.toEpochMinute(slot.getStartLesson()),
+                    LessonConflictIndex.toEpochMinute(slot.getEndLesson()));
+        }
+    }
+
+    private void remove(Map<Integer, IntervalSchedule> schedules, Integer resourceId, int lessonId, long start) {
+        if (resourceId != null && schedules.containsKey(resourceId)) {
+            schedules.get(resourceId).remove(lessonId, start);
+        }
+    }
+
+    private boolean isBusy(SavedLessonsCheck savedLessons, Map<Integer, IntervalSchedule> schedules,
+            Integer resourceId, LessonSlot slot) {
+        if (resourceId == null) {
+            return false;
+        }
+        Predicate<Integer> ignored = lessonId -> lessonId.equals(slot.getId()) || removedLessons.contains(lessonId);
+        if (savedLessons.isBusy(resourceId, slot.getStartLesson(), slot.getEndLesson(), ignored)) {
+            return true;
+        }
+        IntervalSchedule schedule = schedules.get(resourceId);
+        return schedule != null && schedule.overlaps(LessonConflictIndex.toEpochMinute(slot.getStartLesson()),
+                LessonConflictIndex.toEpochMinute(slot.getEndLesson()), slot.getId());
+    }
+
+    @FunctionalInterface
+    private interface SavedLessonsCheck {
+
+        boolean isBusy(int resourceId, LocalDateTime start, LocalDateTime end, Predicate<Integer> ignored);
+    }
+}
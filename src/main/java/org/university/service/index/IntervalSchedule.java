@@ -0,0 +1,94 @@
+package org.university.service.index;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Lessons of one teacher, group or classroom as closed [start, end] ranges of
+ * epoch minutes, ordered by start. An overlap probe only scans the starts that
+ * can reach the probed range, so it costs O(log n + k). Busy slots of a day are
+ * kept as a bitset built on first request and dropped when a lesson touching
+ * that day changes.
+ */
+class IntervalSchedule {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+    static final int SLOT_MINUTES = 15;
+    static final int SLOTS_PER_DAY = MINUTES_PER_DAY / SLOT_MINUTES;
+
+    private final NavigableMap<Long, Map<Integer, Long>> endsByStart = new TreeMap<>();
+    private final Map<Long, BitSet> busySlotsByDay = new HashMap<>();
+    private long maxLength;
+
+    synchronized void add(int lessonId, long start, long end) {
+        endsByStart.computeIfAbsent(start, key -> new HashMap<>()).put(lessonId, end);
+        maxLength = Math.max(maxLength, end - start);
+        evictDays(start, end);
+    }
+
+    synchronized void remove(int lessonId, long start) {
+        Map<Integer, Long> lessons = endsByStart.get(start);
+        if (lessons != null) {
+            Long end = lessons.remove(lessonId);
+            if (lessons.isEmpty()) {
+                endsByStart.remove(start);
+            }
+            if (end != null) {
+                evictDays(start, end);
+            }
+        }
+    }
+
+    synchronized boolean overlaps(long start, long end, Integer excludedLessonId) {
+        return overlaps(start, end, lessonId -> lessonId.equals(excludedLessonId));
+    }
+
+    synchronized boolean overlaps(long start, long end, Predicate<Integer> ignored) {
+        for (Map<Integer, Long> lessons : endsByStart.subMap(start - maxLength, true, end, true).values()) {
+            for (Map.Entry<Integer, Long> lesson : lessons.entrySet()) {
+                if (lesson.getValue() >= start && !ignored.test(lesson.getKey())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a copy of the busy bitset of the day starting at the given epoch
+     * minute. Bit i is set when some lesson touches the i-th quarter of an
+     * hour of that day.
+     */
+    synchronized BitSet busySlots(long dayStart) {
+        return (BitSet) busySlotsByDay.computeIfAbsent(dayStart, this::collectBusySlots).clone();
+    }
+
+    private BitSet collectBusySlots(long dayStart) {
+        long dayEnd = dayStart + MINUTES_PER_DAY - 1;
+        BitSet busy = new BitSet(SLOTS_PER_DAY);
+        for (Map.Entry<Long, Map<Integer, Long>> lessons : endsByStart
+                .subMap(dayStart - maxLength, true, dayEnd, true).entrySet()) {
+            for (Long end : lessons.getValue().values()) {
+                if (end >= dayStart) {
+                    int fromSlot = (int) ((Math.max(lessons.getKey(), dayStart) - dayStart) / SLOT_MINUTES);
+                    int toSlot = (int) ((Math.min(end, dayEnd) - dayStart) / SLOT_MINUTES);
+                    busy.set(fromSlot, toSlot + 1);
+                }
+            }
+        }
+        return busy;
+    }
+
+    private void evictDays(long start, long end) {
+        if (busySlotsByDay.isEmpty()) {
+            return;
+        }
+        for (long day = Math.floorDiv(start, MINUTES_PER_DAY); day <= Math.floorDiv(end, MINUTES_PER_DAY); day++) {
+            busySlotsByDay.remove(day * MINUTES_PER_DAY);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package org.university.service.index;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.university.dao.LessonChangeDao;
+import org.university.dao.LessonDao;
+import org.university.entity.Lesson;
+import org.university.entity.LessonChange;
+import org.university.entity.LessonSlot;
+import org.university.utils.TransactionCallbacks;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory schedules of every teacher, group and classroom, used to answer
+ * lesson overlap checks without querying the database. Changes made inside a
+ * transaction are applied after it commits; changes made by other nodes are
+ * read from the lesson change journal the index polls.
+ */
+@Component
+@Slf4j
+public class LessonConflictIndex {
+
+    public static final int SLOT_MINUTES = IntervalSchedule.SLOT_MINUTES;
+    public static final int SLOTS_PER_DAY = IntervalSchedule.SLOTS_PER_DAY;
+
+    private static final int POLL_PAGE_SIZE = 500;
+
+    private final LessonDao lessonDao;
+    private final LessonChangeDao changeDao;
+    private final Map<Integer, LessonSlot> slots = new ConcurrentHashMap<>();
+    private final Map<Integer, IntervalSchedule> teacherSchedules = new ConcurrentHashMap<>();
+    private final Map<Integer, IntervalSchedule> groupSchedules = new ConcurrentHashMap<>();
+    private final Map<Integer, IntervalSchedule> classroomSchedules = new ConcurrentHashMap<>();
+    private final List<Consumer<LessonSlot>> listeners = new CopyOnWriteArrayList<>();
+    private final List<BiConsumer<LessonSlot, LessonSlot>> changeListeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong lastPosition = new AtomicLong();
+
+    public LessonConflictIndex(LessonDao lessonDao, LessonChangeDao changeDao) {
+        this.lessonDao = lessonDao;
+        this.changeDao = changeDao;
+    }
+
+    public static LessonConflictIndex of(Collection<LessonSlot> lessons) {
+        LessonConflictIndex index = new LessonConflictIndex(null, null);
+        index.load(lessons);
+        return index;
+    }
+
+    @PostConstruct
+    public void load() {
+        Long position = changeDao.findLastPosition();
+        lastPosition.set(position == null ? 0 : position);
+        load(lessonDao.findAllSlots());
+        log.info("Lesson conflict index loaded with {} lessons", slots.size());
+    }
+
+    public void load(Collection<LessonSlot> lessons) {
+        lessons.forEach(this::apply);
+    }
+
+    public boolean isTeacherBusy(int teacherId, LocalDateTime start, LocalDateTime end, Integer excludedLessonId) {
+        return overlaps(teacherSchedules.get(teacherId), start, end, excludedLessonId);
+    }
+
+    public boolean isGroupBusy(int groupId, LocalDateTime start, LocalDateTime end, Integer excludedLessonId) {
+        return overlaps(groupSchedules.get(groupId), start, end, excludedLessonId);
+    }
+
+    public boolean isClassroomBusy(int classroomId, LocalDateTime start, LocalDateTime end,
+            Integer excludedLessonId) {
+        return overlaps(classroomSchedules.get(classroomId), start, end, excludedLessonId);
+    }
+
+    public boolean contains(int lessonId) {
+        return slots.containsKey(lessonId);
+    }
+
+    public BitSet teacherBusySlots(int teacherId, LocalDate day) {
+        return busySlots(teacherSchedules.get(teacherId), day);
+    }
+
+    public BitSet groupBusySlots(int groupId, LocalDate day) {
+        return busySlots(groupSchedules.get(groupId), day);
+    }
+
+    public BitSet classroomBusySlots(int classroomId, LocalDate day) {
+        return busySlots(classroomSchedules.get(classroomId), day);
+    }
+
+    public ConflictSandbox sandbox() {
+        return new ConflictSandbox(this);
+    }
+
+    public void put(Lesson lesson) {
+        if (lesson.getId() == null) {
+            return;
+        }
+        put(LessonSlot.of(lesson));
+    }
+
+    public void put(LessonSlot slot) {
+        TransactionCallbacks.afterCommit(() -> {
+            LessonSlot previous = apply(slot);
+            if (previous != null) {
+                notifyListeners(previous);
+            }
+            notifyListeners(slot);
+            notifyChangeListeners(previous, slot);
+        });
+    }
+
+    public void remove(int lessonId) {
+        TransactionCallbacks.afterCommit(() -> {
+            LessonSlot slot = slots.remove(lessonId);
+            if (slot != null) {
+                unindex(slot);
+                notifyListeners(slot);
+                notifyChangeListeners(slot, null);
+            }
+        });
+    }
+
+    /**
+     * Applies the current slots of the lessons changed since the last poll,
+     * by other nodes too, so that a lesson moved or deleted elsewhere stops
+     * blocking its old slot. Listeners are not called, the read model follows
+     * the journal itself. A slot read just before a commit of this node is
+     * corrected by the next poll, which reads that commit's journal entry.
+     */
+    @Scheduled(fixedDelayString = "${timetable.changes.poll-ms:5000}")
+    public void pollChanges() {
+        List<LessonChange> changes = changeDao.findAllSealedAfter(lastPosition.get(),
+                PageRequest.of(0, POLL_PAGE_SIZE));
+        if (changes.isEmpty()) {
+            return;
+        }
+        Set<Integer> lessonIds = changes.stream().map(LessonChange::getLessonId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Integer, LessonSlot> current = lessonDao.findAllSlotsByIdIn(lessonIds).stream()
+                .collect(Collectors.toMap(LessonSlot::getId, Function.identity()));
+        for (Integer lessonId : lessonIds) {
+            LessonSlot slot = current.get(lessonId);
+            if (slot != null) {
+                apply(slot);
+            } else {
+                LessonSlot removed = slots.remove(lessonId);
+                if (removed != null) {
+                    unindex(removed);
+                }
+            }
+        }
+        lastPosition.set(changes.get(changes.size() - 1).getPosition());
+    }
+
+    /**
+     * Registers a listener called after commit with every slot a lesson
+     * occupied or now occupies, once for its old and once for its new state.
+     */
+    public void addListener(Consumer<LessonSlot> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Registers a listener called after commit, once the slot listeners have
+     * run, with the old and the new slot of every changed lesson. The old slot
+     * is null for an added lesson and the new one for a removed lesson.
+     */
+    public void addChangeListener(BiConsumer<LessonSlot, LessonSlot> listener) {
+        changeListeners.add(listener);
+    }
+
+    private void notifyListeners(LessonSlot slot) {
+        listeners.forEach(listener -> listener.accept(slot));
+    }
+
+    private void notifyChangeListeners(LessonSlot previous, LessonSlot slot) {
+        changeListeners.forEach(listener -> listener.accept(previous, slot));
+    }
+
+    private LessonSlot apply(LessonSlot slot) {
+        LessonSlot previous = slots.put(slot.getId(), slot);
+        if (previous != null) {
+            unindex(previous);
+        }
+        long start = toEpochMinute(slot.getStartLesson());
+        long end = toEpochMinute(slot.getEndLesson());
+        schedule(teacherSchedules, slot.getTeacherId()).add(slot.getId(), start, end);
+        schedule(groupSchedules, slot.getGroupId()).add(slot.getId(), start, end);
+        schedule(classroomSchedules, slot.getClassroomId()).add(slot.getId(), start, end);
+        return previous;
+    }
+
+    private void unindex(LessonSlot slot) {
+        long start = toEpochMinute(slot.getStartLesson());
+        remove(teacherSchedules, slot.getTeacherId(), slot.getId(), start);
+        remove(groupSchedules, slot.getGroupId(), slot.getId(), start);
+        remove(classroomSchedules, slot.getClassroomId(), slot.getId(), start);
+    }
+
+    private IntervalSchedule schedule(Map<Integer, IntervalSchedule> schedules, Integer resourceId) {
+        if (resourceId == null) {
+            return new IntervalSchedule();
+        }
+        return schedules.computeIfAbsent(resourceId, id -> new IntervalSchedule());
+    }
+
+    private void remove(Map<Integer, IntervalSchedule> schedules, Integer resourceId, int lessonId, long start) {
+        if (resourceId != null && schedules.containsKey(resourceId)) {
+            schedules.get(resourceId).remove(lessonId, start);
+        }
+    }
+
+    boolean isTeacherBusyExcept(int teacherId, LocalDateTime start, LocalDateTime end, Predicate<Integer> ignored) {
+        return overlaps(teacherSchedules.get(teacherId), start, end, ignored);
+    }
+
+    boolean isGroupBusyExcept(int groupId, LocalDateTime start, LocalDateTime end, Predicate<Integer> ignored) {
+        return overlaps(groupSchedules.get(groupId), start, end, ignored);
+    }
+
+    boolean isClassroomBusyExcept(int classroomId, LocalDateTime start, LocalDateTime end,
+            Predicate<Integer> ignored) {
+        return overlaps(classroomSchedules.get(classroomId), start, end, ignored);
+    }
+
+    private boolean overlaps(IntervalSchedule schedule, LocalDateTime start, LocalDateTime end,
+            Integer excludedLessonId) {
+        return schedule != null
+                && schedule.overlaps(toEpochMinute(start), toEpochMinute(end), excludedLessonId);
+    }
+
+    private boolean overlaps(IntervalSchedule schedule, LocalDateTime start, LocalDateTime end,
+            Predicate<Integer> ignored) {
+        return schedule != null && schedule.overlaps(toEpochMinute(start), toEpochMinute(end), ignored);
+    }
+
+    private BitSet busySlots(IntervalSchedule schedule, LocalDate day) {
+        if (schedule == null) {
+            return new BitSet(SLOTS_PER_DAY);
+        }
+        return schedule.busySlots(toEpochMinute(day.atStartOfDay()));
+    }
+
+    static long toEpochMinute(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+}
@@ -0,0 +1,92 @@
+package org.university.service.mail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import javax.mail.MessagingException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.university.email.AccountCreatedEmailContext;
+import org.university.entity.User;
+import org.university.service.EmailService;
+import org.university.service.event.UsersImportedEvent;
+import org.university.service.event.UsersImportedEvent.Account;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Emails of the accounts created by bulk imports, queued when the import is
+ * committed and sent a batch at a time in the background, so that a large
+ * intake is not held up by the mail server.
+ */
+@Component
+@Slf4j
+public class AccountMailQueue {
+
+    private static final String BASE_URL = "http://localhost:8080";
+
+    private final EmailService<User> emailService;
+    private final BlockingQueue<AccountMail> mails;
+    private final int batch;
+
+    public AccountMailQueue(EmailService<User> emailService,
+            @Value("${import.mail.queue-capacity:20000}") int capacity,
+            @Value("${import.mail.batch:50}") int batch) {
+        this.emailService = emailService;
+        this.mails = new ArrayBlockingQueue<>(capacity);
+        this.batch = batch;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUsersImported(UsersImportedEvent event) {
+        int dropped = 0;
+        for (Account account : event.getAccounts()) {
+            if (!mails.offer(new AccountMail(account, event.getLocale()))) {
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            log.warn("Account mail queue is full, {} emails were not queued!", dropped);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${import.mail.delay-ms:10000}")
+    public void sendQueuedMails() {
+        List<AccountMail> pending = new ArrayList<>(batch);
+        mails.drainTo(pending, batch);
+        for (AccountMail mail : pending) {
+            try {
+                AccountCreatedEmailContext<User> context = new AccountCreatedEmailContext<>();
+                context.setEmailLanguage(mail.locale);
+                context.init(User.builder().withName(mail.account.getName())
+                        .withEmail(mail.account.getEmail()).build());
+                context.buildLoginUrl(BASE_URL);
+                emailService.sendMail(context);
+            } catch (MessagingException | MissingResourceException e) {
+                log.error("Send email is fail!");
+            }
+        }
+    }
+
+    public int getPendingCount() {
+        return mails.size();
+    }
+
+    private static final class AccountMail {
+
+        private final Account account;
+        private final Locale locale;
+
+        AccountMail(Account account, Locale locale) {
+            this.account = account;
+            this.locale = locale;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.university.service.mapper;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -8,8 +9,13 @@ import org.university.dao.ClassroomDao;
 import org.university.dao.CourseDao;
 import org.university.dao.TeacherDao;
 import org.university.dto.LessonDto;
+import org.university.entity.Classroom;
+import org.university.entity.Course;
 import org.university.entity.Lesson;
+import org.university.entity.Teacher;
+import org.university.exceptions.EntityNotExistException;
 import org.university.service.GroupService;
+import org.university.service.cache.ReferenceResolver;
 
 @Component
 public class LessonDtoMapper {    
@@ -26,17 +32,63 @@ public class LessonDtoMapper {
     @Autowired
     private ClassroomDao classroomDao;    
     
+    @Autowired
+    private ReferenceResolver resolver;
+    
     public Lesson mapDtoToEntity(LessonDto lesson) {
         return Lesson.builder()
                 .withId(lesson.getId())
-                .withCourse(courseDao.findByName(lesson.getCourseName()).get())
+                .withCourse(findCourse(lesson.getCourseName()))
                 .withGroup(groupService.createGroup(lesson.getGroupName()))
-                .withTeacher(teacherDao.findByEmail(lesson.getTeacherEmail()).get())
-                .withClassroom(classroomDao.findByNumber(lesson.getClassroomNumber()).get())
+                .withTeacher(findTeacher(lesson.getTeacherEmail()))
+                .withClassroom(findClassroom(lesson.getClassroomNumber()))
+                .withStartLesson(LocalDateTime.parse(lesson.getStartLesson()))
+                .withEndLesson(LocalDateTime.parse(lesson.getEndLesson()))
+                .withOnlineLesson(lesson.getOnlineLesson())
+                .withLessonLink(lesson.getLessonLink())
+                .build();
+    }
+
+    /**
+     * Maps an edited lesson, reusing the references of the persisted lesson
+     * which the dto did not change instead of looking them up again. The
+     * lesson stays in the series it was created by.
+     */
+    public Lesson mapDtoToEntity(LessonDto lesson, Lesson persisted) {
+        return Lesson.builder()
+                .withId(persisted.getId())
+                .withCourse(Objects.equals(persisted.getCourse().getName(), lesson.getCourseName())
+                        ? persisted.getCourse()
+                        : findCourse(lesson.getCourseName()))
+                .withGroup(Objects.equals(persisted.getGroup().getName(), lesson.getGroupName())
+                        ? persisted.getGroup()
+                        : groupService.createGroup(lesson.getGroupName()))
+                .withTeacher(Objects.equals(persisted.getTeacher().getEmail(), lesson.getTeacherEmail())
+                        ? persisted.getTeacher()
+                        : findTeacher(lesson.getTeacherEmail()))
+                .withClassroom(Objects.equals(persisted.getClassroom().getNumber(), lesson.getClassroomNumber())
+                        ? persisted.getClassroom()
+                        : findClassroom(lesson.getClassroomNumber()))
                 .withStartLesson(LocalDateTime.parse(lesson.getStartLesson()))
                 .withEndLesson(LocalDateTime.parse(lesson.getEndLesson()))
                 .withOnlineLesson(lesson.getOnlineLesson())
                 .withLessonLink(lesson.getLessonLink())
+                .withSeriesId(persisted.getSeriesId())
                 .build();
     }
+
+    private Course findCourse(String name) {
+        return resolver.findCourseId(name).flatMap(courseDao::findById)
+                .orElseThrow(() -> new EntityNotExistException("coursenotexist"));
+    }
+
+    private Teacher findTeacher(String email) {
+        return resolver.findTeacherId(email).flatMap(teacherDao::findById)
+                .orElseThrow(() -> new EntityNotExistException("teachernotexist"));
+    }
+
+    private Classroom findClassroom(Integer number) {
+        return resolver.findClassroomId(number).flatMap(classroomDao::findById)
+                .orElseThrow(() -> new EntityNotExistException("classroomnotexist"));
+    }
 }
@@ -0,0 +1,24 @@
+package org.university.service.push;
+
+import org.university.entity.LessonChange;
+import org.university.entity.LessonSlot;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Lesson change pushed to subscribers, carrying the new slot of the lesson or
+ * the last one for a deleted lesson.
+ */
+@Getter
+@EqualsAndHashCode
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class LessonNotification {
+
+    LessonChange.Type type;
+    LessonSlot lesson;
+}
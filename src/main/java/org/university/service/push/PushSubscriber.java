@@ -0,0 +1,95 @@
+package org.university.service.push;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+/**
+ * Open event stream with a bounded buffer of pending events. A subscriber too
+ * slow to keep up loses its buffered events and gets a single resync event
+ * instead, so that it catches up through the delta sync endpoint. The start
+ * of the send in progress is kept to tell a stalled connection.
+ */
+class PushSubscriber {
+
+    private static final Supplier<SseEventBuilder> RESYNC = () -> SseEmitter.event().name("resync").data("");
+
+    private static final long NOT_SENDING = -1;
+
+    private final SseEmitter emitter;
+    private final Queue<Supplier<SseEventBuilder>> buffer;
+    private final Clock clock;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile long sendStartedAt = NOT_SENDING;
+    private volatile boolean closed;
+
+    PushSubscriber(SseEmitter emitter, int bufferSize, Clock clock) {
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.clock = clock;
+    }
+
+    /**
+     * Buffers the event and returns true when the caller has to schedule
+     * {@link #drain()}, that is when no drain is pending yet.
+     */
+    boolean offer(Supplier<SseEventBuilder> event) {
+        if (closed) {
+            return false;
+        }
+        if (!buffer.offer(event)) {
+            buffer.clear();
+            buffer.offer(RESYNC);
+        }
+        return draining.compareAndSet(false, true);
+    }
+
+    boolean isIdle() {
+        return buffer.isEmpty();
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    boolean isSendingLongerThan(long timeoutMillis) {
+        long startedAt = sendStartedAt;
+        return startedAt != NOT_SENDING && clock.millis() - startedAt > timeoutMillis;
+    }
+
+    /**
+     * Sends buffered events until the buffer is empty and returns false when
+     * the connection turned out to be closed.
+     */
+    boolean drain() {
+        do {
+            for (Supplier<SseEventBuilder> event = buffer.poll(); event != null && !closed; event = buffer.poll()) {
+                sendStartedAt = clock.millis();
+                try {
+                    emitter.send(event.get());
+                } catch (IOException | IllegalStateException e) {
+                    close();
+                } finally {
+                    sendStartedAt = NOT_SENDING;
+                }
+            }
+            draining.set(false);
+        } while (!closed && !buffer.isEmpty() && draining.compareAndSet(false, true));
+        return !closed;
+    }
+
+    void close() {
+        closed = true;
+        buffer.clear();
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+}
@@ -0,0 +1,231 @@
+package org.university.service.push;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+import org.university.dao.GroupDao;
+import org.university.dao.TeacherDao;
+import org.university.entity.LessonChange;
+import org.university.entity.LessonSlot;
+import org.university.entity.TimetableScope;
+import org.university.exceptions.EntityNotExistException;
+import org.university.service.index.LessonConflictIndex;
+
+/**
+ * Fan-out of lesson changes to event streams subscribed to a group, a teacher
+ * or the whole timetable. Streams are asynchronous requests that hold no
+ * thread while idle, and events are sent by a small shared pool draining the
+ * bounded buffer of each subscriber, so a slow client never blocks a commit.
+ * A client whose send has been blocked longer than the send timeout is
+ * dropped at the next heartbeat; its stream is completed once the connector
+ * times the blocked write out, since the emitter is locked until then.
+ */
+@Component
+public class TimetablePushRegistry {
+
+    private static final int HEARTBEAT_BATCH_SIZE = 64;
+
+    private final GroupDao groupDao;
+    private final TeacherDao teacherDao;
+    private final Executor executor;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final Duration sendTimeout;
+    private final Clock clock;
+    private final Map<Integer, Set<PushSubscriber>> teacherSubscribers = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<PushSubscriber>> groupSubscribers = new ConcurrentHashMap<>();
+    private final Set<PushSubscriber> allSubscribers = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public TimetablePushRegistry(LessonConflictIndex conflictIndex, GroupDao groupDao, TeacherDao teacherDao,
+            @Qualifier("pushExecutor") Executor executor,
+            @Value("${timetable.push.buffer-size:32}") int bufferSize,
+            @Value("${timetable.push.timeout-minutes:30}") long timeoutMinutes,
+            @Value("${timetable.push.send-timeout-ms:10000}") long sendTimeoutMillis) {
+        this(groupDao, teacherDao, executor, bufferSize, Duration.ofMinutes(timeoutMinutes),
+                Duration.ofMillis(sendTimeoutMillis), Clock.systemUTC());
+        conflictIndex.addChangeListener(this::publish);
+    }
+
+    public TimetablePushRegistry(GroupDao groupDao, TeacherDao teacherDao, Executor executor, int bufferSize,
+            Duration timeout, Duration sendTimeout, Clock clock) {
+        this.groupDao = groupDao;
+        this.teacherDao = teacherDao;
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.sendTimeout = sendTimeout;
+        this.clock = clock;
+    }
+
+    public SseEmitter subscribe(TimetableScope scope, Integer id) {
+        if (scope == TimetableScope.GROUP && (id == null || !groupDao.existsById(id))) {
+            throw new EntityNotExistException("groupnotexist");
+        }
+        if (scope == TimetableScope.TEACHER && (id == null || !teacherDao.existsById(id))) {
+            throw new EntityNotExistException("teachernotexist");
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        register(scope, id, emitter);
+        return emitter;
+    }
+
+    void register(TimetableScope scope, Integer id, SseEmitter emitter) {
+        PushSubscriber subscriber = new PushSubscriber(emitter, bufferSize, clock);
+        Runnable unregister = () -> {
+            subscriber.close();
+            remove(scope, id, subscriber);
+        };
+        emitter.onCompletion(unregister);
+        emitter.onTimeout(unregister);
+        emitter.onError(error -> unregister.run());
+        add(scope, id, subscriber);
+    }
+
+    /**
+     * Pushes the change of a lesson to the subscribers of its old and new
+     * teacher and group, so that a lesson moved away is reported too.
+     */
+    public void publish(LessonSlot previous, LessonSlot slot) {
+        LessonNotification notification = new LessonNotification(previous == null ? LessonChange.Type.CREATED
+                : slot == null ? LessonChange.Type.DELETED : LessonChange.Type.UPDATED,
+                slot == null ? previous : slot);
+        Set<PushSubscriber> recipients = new LinkedHashSet<>(allSubscribers);
+        for (LessonSlot affected : new LessonSlot[] { previous, slot }) {
+            if (affected != null) {
+                addAll(recipients, teacherSubscribers.get(affected.getTeacherId()));
+                addAll(recipients, groupSubscribers.get(affected.getGroupId()));
+            }
+        }
+        String name = notification.getType().name().toLowerCase();
+        Supplier<SseEventBuilder> event = () -> SseEmitter.event().name(name)
+                .id(String.valueOf(notification.getLesson().getId()))
+                .data(notification, MediaType.APPLICATION_JSON);
+        recipients.forEach(subscriber -> offer(subscriber, event));
+    }
+
+    /**
+     * Sends a comment to idle subscribers, which keeps proxies from closing
+     * the connections and detects clients that went away, in batches of
+     * subscribers rather than one task each. Subscribers whose stream failed
+     * or stalled since the last heartbeat are dropped.
+     */
+    @Scheduled(fixedDelayString = "${timetable.push.heartbeat-ms:20000}")
+    public void heartbeat() {
+        forEachSubscriber(subscriber -> {
+            if (subscriber.isSendingLongerThan(sendTimeout.toMillis())) {
+                subscriber.close();
+            }
+        });
+        allSubscribers.removeIf(PushSubscriber::isClosed);
+        prune(teacherSubscribers);
+        prune(groupSubscribers);
+        Supplier<SseEventBuilder> event = () -> SseEmitter.event().comment("heartbeat");
+        List<PushSubscriber> batch = new ArrayList<>();
+        forEachSubscriber(subscriber -> {
+            if (subscriber.isIdle() && subscriber.offer(event)) {
+                batch.add(subscriber);
+            }
+            if (batch.size() == HEARTBEAT_BATCH_SIZE) {
+                drainLater(new ArrayList<>(batch));
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            drainLater(batch);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return allSubscribers.size() + teacherSubscribers.values().stream().mapToInt(Set::size).sum()
+                + groupSubscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    boolean isSubscribed(TimetableScope scope, int id) {
+        return subscribersOf(scope).containsKey(id);
+    }
+
+    private void offer(PushSubscriber subscriber, Supplier<SseEventBuilder> event) {
+        if (subscriber.offer(event)) {
+            drainLater(Collections.singletonList(subscriber));
+        }
+    }
+
+    private void drainLater(List<PushSubscriber> subscribers) {
+        executor.execute(() -> subscribers.forEach(subscriber -> {
+            if (!subscriber.drain()) {
+                subscriber.getEmitter().complete();
+            }
+        }));
+    }
+
+    private void forEachSubscriber(Consumer<PushSubscriber> action) {
+        allSubscribers.forEach(action);
+        teacherSubscribers.values().forEach(subscribers -> subscribers.forEach(action));
+        groupSubscribers.values().forEach(subscribers -> subscribers.forEach(action));
+    }
+
+    private void add(TimetableScope scope, Integer id, PushSubscriber subscriber) {
+        if (scope == TimetableScope.ALL) {
+            allSubscribers.add(subscriber);
+            return;
+        }
+        subscribersOf(scope).compute(id, (key, subscribers) -> {
+            Set<PushSubscriber> added = subscribers == null ? ConcurrentHashMap.newKeySet() : subscribers;
+            added.add(subscriber);
+            return added;
+        });
+    }
+
+    /**
+     * Removes the subscriber, and the subscribers of its teacher or group
+     * with it when it was the last, under the lock of the map entry, so that
+     * a subscriber added meanwhile never lands in a removed set.
+     */
+    private void remove(TimetableScope scope, Integer id, PushSubscriber subscriber) {
+        if (scope == TimetableScope.ALL) {
+            allSubscribers.remove(subscriber);
+            return;
+        }
+        subscribersOf(scope).computeIfPresent(id, (key, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private Map<Integer, Set<PushSubscriber>> subscribersOf(TimetableScope scope) {
+        return scope == TimetableScope.TEACHER ? teacherSubscribers : groupSubscribers;
+    }
+
+    private static void prune(Map<Integer, Set<PushSubscriber>> subscribersById) {
+        subscribersById.keySet().forEach(id -> subscribersById.computeIfPresent(id, (key, subscribers) -> {
+            subscribers.removeIf(PushSubscriber::isClosed);
+            return subscribers.isEmpty() ? null : subscribers;
+        }));
+    }
+
+    private static void addAll(Set<PushSubscriber> recipients, Collection<PushSubscriber> subscribers) {
+        if (subscribers != null) {
+            recipients.addAll(subscribers);
+        }
+    }
+}
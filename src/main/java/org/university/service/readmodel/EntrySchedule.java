@@ -0,0 +1,47 @@
+package org.university.service.readmodel;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.university.entity.LessonView;
+
+/**
+ * Timetable entries of one teacher, group or the whole university ordered by
+ * start and then by lesson id, so a range read is O(log n + k). Not thread
+ * safe, guarded by {@link TimetableReadModel}.
+ */
+class EntrySchedule {
+
+    private final NavigableMap<LocalDateTime, Map<Integer, LessonView>> entriesByStart = new TreeMap<>();
+
+    void add(LessonView entry) {
+        entriesByStart.computeIfAbsent(entry.getStartLesson(), key -> new TreeMap<>()).put(entry.getId(), entry);
+    }
+
+    void remove(LessonView entry) {
+        Map<Integer, LessonView> entries = entriesByStart.get(entry.getStartLesson());
+        if (entries != null) {
+            entries.remove(entry.getId());
+            if (entries.isEmpty()) {
+                entriesByStart.remove(entry.getStartLesson());
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return entriesByStart.isEmpty();
+    }
+
+    List<LessonView> between(LocalDateTime from, LocalDateTime to) {
+        List<LessonView> entries = new ArrayList<>();
+        if (from.isAfter(to)) {
+            return entries;
+        }
+        entriesByStart.subMap(from, true, to, true).values().forEach(lessons -> entries.addAll(lessons.values()));
+        return entries;
+    }
+}
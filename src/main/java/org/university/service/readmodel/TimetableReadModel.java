@@ -0,0 +1,279 @@
+package org.university.service.readmodel;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.university.dao.LessonChangeDao;
+import org.university.dao.LessonDao;
+import org.university.entity.LessonChange;
+import org.university.entity.LessonSlot;
+import org.university.entity.LessonView;
+import org.university.service.event.ReferenceDataChangedEvent.Reference;
+import org.university.service.event.TimetableReferenceChangedEvent;
+import org.university.service.index.LessonConflictIndex;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory store of flattened timetable entries, one per lesson, that
+ * timetable reads are served from without loading lesson graphs. Lessons
+ * changed after commit and edited references are marked stale and reloaded
+ * with a single query by the next read. Lessons changed by other nodes are
+ * read from the lesson change journal they poll.
+ */
+@Component
+@Slf4j
+public class TimetableReadModel {
+
+    private static final int POLL_PAGE_SIZE = 500;
+
+    private final LessonDao lessonDao;
+    private final LessonChangeDao changeDao;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock refreshLock = new ReentrantLock();
+    private final Map<Integer, LessonView> entries = new HashMap<>();
+    private final EntrySchedule allEntries = new EntrySchedule();
+    private final Map<Integer, EntrySchedule> teacherEntries = new HashMap<>();
+    private final Map<Integer, EntrySchedule> groupEntries = new HashMap<>();
+    private final Map<String, Integer> teacherIdsByEmail = new HashMap<>();
+    private final Map<String, Integer> groupIdsByName = new HashMap<>();
+    private final Map<Integer, String> teacherEmails = new HashMap<>();
+    private final Map<Integer, String> groupNames = new HashMap<>();
+    private final Set<Integer> staleLessonIds = ConcurrentHashMap.newKeySet();
+    private final Queue<TimetableReferenceChangedEvent> staleReferences = new ConcurrentLinkedQueue<>();
+    private final List<Consumer<LessonSlot>> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong lastPosition = new AtomicLong();
+
+    @Autowired
+    public TimetableReadModel(LessonDao lessonDao, LessonChangeDao changeDao, LessonConflictIndex conflictIndex) {
+        this(lessonDao, changeDao);
+        conflictIndex.addListener(slot -> {
+            markStale(slot.getId());
+            listeners.forEach(listener -> listener.accept(slot));
+        });
+    }
+
+    public TimetableReadModel(LessonDao lessonDao, LessonChangeDao changeDao) {
+        this.lessonDao = lessonDao;
+        this.changeDao = changeDao;
+    }
+
+    @PostConstruct
+    public void load() {
+        Long position = changeDao.findLastPosition();
+        lastPosition.set(position == null ? 0 : position);
+        load(lessonDao.findAllViews());
+        log.info("Timetable read model loaded with {} entries", entries.size());
+    }
+
+    public void load(Collection<LessonView> views) {
+        write(() -> views.forEach(this::apply));
+    }
+
+    public List<LessonView> findAllBetween(LocalDateTime from, LocalDateTime to) {
+        return read(() -> allEntries.between(from, to));
+    }
+
+    public List<LessonView> findAllOfTeacherBetween(LocalDateTime from, LocalDateTime to, int teacherId) {
+        return read(() -> between(teacherEntries.get(teacherId), from, to));
+    }
+
+    public List<LessonView> findAllOfGroupBetween(LocalDateTime from, LocalDateTime to, int groupId) {
+        return read(() -> between(groupEntries.get(groupId), from, to));
+    }
+
+    /**
+     * Returns the id of the teacher with the email if the teacher has lessons,
+     * without querying the database.
+     */
+    public Optional<Integer> findTeacherId(String email) {
+        return read(() -> Optional.ofNullable(teacherIdsByEmail.get(email)));
+    }
+
+    /**
+     * Returns the id of the group with the name if the group has lessons,
+     * without querying the database.
+     */
+    public Optional<Integer> findGroupId(String name) {
+        return read(() -> Optional.ofNullable(groupIdsByName.get(name)));
+    }
+
+    public int size() {
+        return read(entries::size);
+    }
+
+    /**
+     * Registers a listener called with every changed lesson slot once its
+     * entry is stale, so that derived views never reload the old entry.
+     */
+    public void addListener(Consumer<LessonSlot> listener) {
+        listeners.add(listener);
+    }
+
+    public void markStale(int lessonId) {
+        staleLessonIds.add(lessonId);
+    }
+
+    /**
+     * Reloads the lessons changed since the last poll, by other nodes too, and
+     * notifies the listeners with their slots before and after, so that
+     * derived views and versions follow writes made anywhere.
+     */
+    @Scheduled(fixedDelayString = "${timetable.changes.poll-ms:5000}")
+    public void pollChanges() {
+        List<LessonChange> changes = changeDao.findAllSealedAfter(lastPosition.get(),
+                PageRequest.of(0, POLL_PAGE_SIZE));
+        if (changes.isEmpty()) {
+            return;
+        }
+        Set<Integer> lessonIds = changes.stream().map(LessonChange::getLessonId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        List<LessonSlot> slots = new ArrayList<>(slotsOf(lessonIds));
+        lessonIds.forEach(this::markStale);
+        slots.addAll(slotsOf(lessonIds));
+        slots.forEach(slot -> listeners.forEach(listener -> listener.accept(slot)));
+        lastPosition.set(changes.get(changes.size() - 1).getPosition());
+    }
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceChanged(TimetableReferenceChangedEvent event) {
+        staleReferences.add(event);
+    }
+
+    /**
+     * Reloads stale entries one refresh at a time, so that an older snapshot is
+     * never applied over a newer one and readers arriving meanwhile wait for
+     * it. Lessons marked stale again during the query stay marked.
+     */
+    private void refreshStale() {
+        if (staleLessonIds.isEmpty() && staleReferences.isEmpty()) {
+            return;
+        }
+        refreshLock.lock();
+        try {
+            List<Integer> lessonIds = new ArrayList<>(staleLessonIds);
+            staleLessonIds.removeAll(lessonIds);
+            List<LessonView> views = lessonIds.isEmpty() ? new ArrayList<>()
+                    : lessonDao.findAllViewsByIdIn(lessonIds);
+            for (TimetableReferenceChangedEvent event = staleReferences.poll(); event != null;
+                    event = staleReferences.poll()) {
+                views.addAll(lessonDao.findAllViewsReferencing(event.getIdOf(Reference.COURSE),
+                        event.getIdOf(Reference.TEACHER), event.getIdOf(Reference.GROUP),
+                        event.getIdOf(Reference.CLASSROOM)));
+            }
+            write(() -> {
+                lessonIds.forEach(this::unapply);
+                views.forEach(this::apply);
+            });
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private List<LessonSlot> slotsOf(Collection<Integer> lessonIds) {
+        return read(() -> lessonIds.stream().map(entries::get).filter(Objects::nonNull)
+                .map(view -> new LessonSlot(view.getId(), view.getStartLesson(), view.getEndLesson(),
+                        view.getTeacherId(), view.getGroupId(), null))
+                .collect(Collectors.toList()));
+    }
+
+    private void apply(LessonView view) {
+        unapply(view.getId());
+        entries.put(view.getId(), view);
+        allEntries.add(view);
+        teacherEntries.computeIfAbsent(view.getTeacherId(), key -> new EntrySchedule()).add(view);
+        groupEntries.computeIfAbsent(view.getGroupId(), key -> new EntrySchedule()).add(view);
+        index(teacherIdsByEmail, teacherEmails, view.getTeacherEmail(), view.getTeacherId());
+        index(groupIdsByName, groupNames, view.getGroupName(), view.getGroupId());
+    }
+
+    private void unapply(int lessonId) {
+        LessonView view = entries.remove(lessonId);
+        if (view == null) {
+            return;
+        }
+        allEntries.remove(view);
+        if (removeFrom(teacherEntries, view.getTeacherId(), view)) {
+            teacherIdsByEmail.remove(teacherEmails.remove(view.getTeacherId()), view.getTeacherId());
+        }
+        if (removeFrom(groupEntries, view.getGroupId(), view)) {
+            groupIdsByName.remove(groupNames.remove(view.getGroupId()), view.getGroupId());
+        }
+    }
+
+    private static void index(Map<String, Integer> ids, Map<Integer, String> keys, String key, Integer id) {
+        String previous = keys.put(id, key);
+        if (previous != null && !previous.equals(key)) {
+            ids.remove(previous, id);
+        }
+        ids.put(key, id);
+    }
+
+    /**
+     * Returns true if the schedule is left empty and was dropped.
+     */
+    private static boolean removeFrom(Map<Integer, EntrySchedule> schedules, int key, LessonView view) {
+        EntrySchedule schedule = schedules.get(key);
+        if (schedule == null) {
+            return false;
+        }
+        schedule.remove(view);
+        if (schedule.isEmpty()) {
+            schedules.remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    private static List<LessonView> between(EntrySchedule schedule, LocalDateTime from, LocalDateTime to) {
+        return schedule == null ? new ArrayList<>() : schedule.between(from, to);
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        refreshStale();
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Runnable writer) {
+        lock.writeLock().lock();
+        try {
+            writer.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package org.university.service.solver;
+
+import java.util.Random;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * One tabu search run over a {@link TimetableProblem}. A clash of two units on
+ * a teacher, group or classroom, or a unit in a blocked period, costs
+ * {@link #HARD_WEIGHT}; two units of the same demand on one day cost one. Each
+ * step moves one unit to its best non-tabu period and classroom, and the run
+ * stops at the deadline, when the cost drops to zero or when it stops
+ * improving.
+ */
+class TabuSearch extends RecursiveTask<TimetableSolution> {
+
+    static final long HARD_WEIGHT = 1000;
+
+    private static final long serialVersionUID = 1L;
+    private static final int MIN_TENURE = 7;
+    private static final int UNIT_SAMPLES = 8;
+    private static final int MAX_STALE_STEPS = 50_000;
+
+    private final transient TimetableProblem problem;
+    private final long deadline;
+    private final Random random;
+    private final int[] periods;
+    private final int[] rooms;
+    private final int[][] teacherUse;
+    private final int[][] groupUse;
+    private final int[][] roomUse;
+    private final int[][] demandDayUse;
+    private final long[][] tabuUntil;
+    private long cost;
+
+    TabuSearch(TimetableProblem problem, long deadline, long seed) {
+        this.problem = problem;
+        this.deadline = deadline;
+        this.random = new Random(seed);
+        int units = problem.getUnits();
+        int periodCount = problem.getPeriods();
+        this.periods = new int[units];
+        this.rooms = new int[units];
+        this.teacherUse = new int[problem.teacherBlocked.size()][periodCount];
+        this.groupUse = new int[problem.groupBlocked.size()][periodCount];
+        this.roomUse = new int[problem.roomBlocked.size()][periodCount];
+        this.demandDayUse = new int[problem.demands][problem.days()];
+        this.tabuUntil = new long[units][periodCount];
+    }
+
+    @Override
+    protected TimetableSolution compute() {
+        placeGreedily();
+        int[] bestPeriods = periods.clone();
+        int[] bestRooms = rooms.clone();
+        long bestCost = cost;
+        long lastImprovement = 0;
+        for (long step = 0; bestCost > 0 && step - lastImprovement < MAX_STALE_STEPS
+                && System.nanoTime() < deadline; step++) {
+            int unit = pickUnit();
+            if (unit < 0) {
+                continue;
+            }
+            move(unit, step, bestCost);
+            if (cost < bestCost) {
+                bestCost = cost;
+                lastImprovement = step;
+                System.arraycopy(periods, 0, bestPeriods, 0, periods.length);
+                System.arraycopy(rooms, 0, bestRooms, 0, rooms.length);
+            }
+        }
+        return new TimetableSolution(problem, bestPeriods, bestRooms, bestCost);
+    }
+
+    private void placeGreedily() {
+        for (int unit = 0; unit < periods.length; unit++) {
+            periods[unit] = -1;
+        }
+        for (int unit : shuffledUnits()) {
+            if (problem.rooms(unit).length == 0) {
+                continue;
+            }
+            long bestCost = Long.MAX_VALUE;
+            int bestPeriod = -1;
+            int bestRoom = -1;
+            int ties = 0;
+            for (int period = 0; period < problem.getPeriods(); period++) {
+                for (int room : problem.rooms(unit)) {
+                    long placementCost = placementCost(unit, period, room);
+                    if (placementCost < bestCost) {
+                        bestCost = placementCost;
+                        bestPeriod = period;
+                        bestRoom = room;
+                        ties = 1;
+                    } else if (placementCost == bestCost && random.nextInt(++ties) == 0) {
+                        bestPeriod = period;
+                        bestRoom = room;
+                    }
+                }
+            }
+            place(unit, bestPeriod, bestRoom);
+            cost += bestCost;
+        }
+    }
+
+    private int pickUnit() {
+        if (periods.length == 0) {
+            return -1;
+        }
+        int picked = -1;
+        long pickedCost = -1;
+        for (int i = 0; i < UNIT_SAMPLES; i++) {
+            int unit = random.nextInt(periods.length);
+            if (periods[unit] < 0) {
+                continue;
+            }
+            unplace(unit);
+            long unitCost = placementCost(unit, periods[unit], rooms[unit]);
+            place(unit, periods[unit], rooms[unit]);
+            if (unitCost > pickedCost) {
+                picked = unit;
+                pickedCost = unitCost;
+            }
+        }
+        return picked;
+    }
+
+    private void move(int unit, long step, long bestCost) {
+        int fromPeriod = periods[unit];
+        int fromRoom = rooms[unit];
+        unplace(unit);
+        long currentCost = placementCost(unit, fromPeriod, fromRoom);
+        long bestDelta = Long.MAX_VALUE;
+        int bestPeriod = fromPeriod;
+        int bestRoom = fromRoom;
+        int ties = 0;
+        for (int period = 0; period < problem.getPeriods(); period++) {
+            for (int room : problem.rooms(unit)) {
+                if (period == fromPeriod && room == fromRoom) {
+                    continue;
+                }
+                long delta = placementCost(unit, period, room) - currentCost;
+                boolean aspiration = cost + delta < bestCost;
+                if (tabuUntil[unit][period] > step && !aspiration) {
+                    continue;
+                }
+                if (delta < bestDelta) {
+                    bestDelta = delta;
+                    bestPeriod = period;
+                    bestRoom = room;
+                    ties = 1;
+                } else if (delta == bestDelta && random.nextInt(++ties) == 0) {
+                    bestPeriod = period;
+                    bestRoom = room;
+                }
+            }
+        }
+        if (bestDelta == Long.MAX_VALUE) {
+            place(unit, fromPeriod, fromRoom);
+            return;
+        }
+        place(unit, bestPeriod, bestRoom);
+        cost += bestDelta;
+        tabuUntil[unit][fromPeriod] = step + MIN_TENURE + random.nextInt(MIN_TENURE);
+    }
+
+    private long placementCost(int unit, int period, int room) {
+        int teacher = problem.teacher(unit);
+        int group = problem.group(unit);
+        long hard = (long) teacherUse[teacher][period] + groupUse[group][period] + roomUse[room][period];
+        if (problem.teacherBlocked.get(teacher)[period]) {
+            hard++;
+        }
+        if (problem.groupBlocked.get(group)[period]) {
+            hard++;
+        }
+        if (problem.roomBlocked.get(room)[period]) {
+            hard++;
+        }
+        return hard * HARD_WEIGHT + demandDayUse[problem.demand(unit)][problem.periodDays[period]];
+    }
+
+    private void place(int unit, int period, int room) {
+        periods[unit] = period;
+        rooms[unit] = room;
+        update(unit, 1);
+    }
+
+    private void unplace(int unit) {
+        update(unit, -1);
+    }
+
+    private void update(int unit, int change) {
+        int period = periods[unit];
+        teacherUse[problem.teacher(unit)][period] += change;
+        groupUse[problem.group(unit)][period] += change;
+        roomUse[rooms[unit]][period] += change;
+        demandDayUse[problem.demand(unit)][problem.periodDays[period]] += change;
+    }
+
+    private int[] shuffledUnits() {
+        int[] units = new int[periods.length];
+        for (int i = 0; i < units.length; i++) {
+            units[i] = i;
+        }
+        for (int i = units.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int unit = units[i];
+            units[i] = units[j];
+            units[j] = unit;
+        }
+        return units;
+    }
+}
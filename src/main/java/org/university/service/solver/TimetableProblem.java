@@ -0,0 +1,95 @@
+package org.university.service.solver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Weekly timetabling problem: lesson units, each bound to a teacher and a
+ * group, to be placed into one of the week periods and one of the classrooms
+ * allowed for the unit. Resources may have periods blocked by lessons that are
+ * already scheduled.
+ */
+public class TimetableProblem {
+
+    final int[] periodDays;
+    final List<boolean[]> teacherBlocked = new ArrayList<>();
+    final List<boolean[]> groupBlocked = new ArrayList<>();
+    final List<boolean[]> roomBlocked = new ArrayList<>();
+    final List<int[]> units = new ArrayList<>();
+    final List<int[]> unitRooms = new ArrayList<>();
+    int demands;
+
+    /**
+     * @param periodDays day of week index of every period, periods of one day
+     *                   must share the index
+     */
+    public TimetableProblem(int[] periodDays) {
+        this.periodDays = periodDays.clone();
+    }
+
+    public int addTeacher(boolean[] blockedPeriods) {
+        return add(teacherBlocked, blockedPeriods);
+    }
+
+    public int addGroup(boolean[] blockedPeriods) {
+        return add(groupBlocked, blockedPeriods);
+    }
+
+    public int addRoom(boolean[] blockedPeriods) {
+        return add(roomBlocked, blockedPeriods);
+    }
+
+    /**
+     * Adds a demand of {@code count} lesson units and returns the index of its
+     * first unit. An empty {@code rooms} array leaves the units unplaced.
+     */
+    public int addDemand(int teacher, int group, int[] rooms, int count) {
+        int firstUnit = units.size();
+        for (int i = 0; i < count; i++) {
+            units.add(new int[] { demands, teacher, group });
+            unitRooms.add(rooms.clone());
+        }
+        demands++;
+        return firstUnit;
+    }
+
+    public int getPeriods() {
+        return periodDays.length;
+    }
+
+    public int getUnits() {
+        return units.size();
+    }
+
+    int days() {
+        int days = 0;
+        for (int day : periodDays) {
+            days = Math.max(days, day + 1);
+        }
+        return days;
+    }
+
+    int demand(int unit) {
+        return units.get(unit)[0];
+    }
+
+    int teacher(int unit) {
+        return units.get(unit)[1];
+    }
+
+    int group(int unit) {
+        return units.get(unit)[2];
+    }
+
+    int[] rooms(int unit) {
+        return unitRooms.get(unit);
+    }
+
+    private int add(List<boolean[]> resources, boolean[] blockedPeriods) {
+        if (blockedPeriods.length != periodDays.length) {
+            throw new IllegalArgumentException("Blocked periods must cover every period");
+        }
+        resources.add(blockedPeriods.clone());
+        return resources.size() - 1;
+    }
+}
@@ -0,0 +1,67 @@
+package org.university.service.solver;
+
+/**
+ * Period and classroom chosen for every unit of a {@link TimetableProblem}.
+ * Units left in a blocked period or clashing with an earlier unit are marked
+ * as not placed, so the placed units never conflict.
+ */
+public class TimetableSolution {
+
+    private final int[] periods;
+    private final int[] rooms;
+    private final boolean[] placed;
+    private final long cost;
+
+    TimetableSolution(TimetableProblem problem, int[] periods, int[] rooms, long cost) {
+        this.periods = periods.clone();
+        this.rooms = rooms.clone();
+        this.cost = cost;
+        this.placed = new boolean[periods.length];
+        boolean[][] teacherUsed = new boolean[problem.teacherBlocked.size()][problem.getPeriods()];
+        boolean[][] groupUsed = new boolean[problem.groupBlocked.size()][problem.getPeriods()];
+        boolean[][] roomUsed = new boolean[problem.roomBlocked.size()][problem.getPeriods()];
+        for (int unit = 0; unit < periods.length; unit++) {
+            int period = periods[unit];
+            if (period < 0) {
+                continue;
+            }
+            int teacher = problem.teacher(unit);
+            int group = problem.group(unit);
+            int room = rooms[unit];
+            if (!teacherUsed[teacher][period] && !groupUsed[group][period] && !roomUsed[room][period]
+                    && !problem.teacherBlocked.get(teacher)[period] && !problem.groupBlocked.get(group)[period]
+                    && !problem.roomBlocked.get(room)[period]) {
+                teacherUsed[teacher][period] = true;
+                groupUsed[group][period] = true;
+                roomUsed[room][period] = true;
+                placed[unit] = true;
+            }
+        }
+    }
+
+    public boolean isPlaced(int unit) {
+        return placed[unit];
+    }
+
+    public int getPeriod(int unit) {
+        return periods[unit];
+    }
+
+    public int getRoom(int unit) {
+        return rooms[unit];
+    }
+
+    public int getPlacedUnits() {
+        int count = 0;
+        for (boolean unitPlaced : placed) {
+            if (unitPlaced) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    long getCost() {
+        return cost;
+    }
+}
@@ -0,0 +1,45 @@
+package org.university.service.solver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs one differently seeded {@link TabuSearch} per worker of the solver pool
+ * within a shared time budget and keeps the cheapest result.
+ */
+@Component
+@Slf4j
+public class TimetableSolver {
+
+    private final ForkJoinPool pool;
+
+    public TimetableSolver(@Qualifier("timetableSolverPool") ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public TimetableSolution solve(TimetableProblem problem, Duration budget, long seed) {
+        long deadline = System.nanoTime() + budget.toNanos();
+        List<ForkJoinTask<TimetableSolution>> searches = new ArrayList<>();
+        for (int i = 0; i < pool.getParallelism(); i++) {
+            searches.add(pool.submit(new TabuSearch(problem, deadline, seed + i)));
+        }
+        TimetableSolution best = null;
+        for (ForkJoinTask<TimetableSolution> search : searches) {
+            TimetableSolution solution = search.join();
+            if (best == null || solution.getCost() < best.getCost()) {
+                best = solution;
+            }
+        }
+        log.info("Timetable solved by {} searches, {} of {} units placed with cost {}", searches.size(),
+                best.getPlacedUnits(), problem.getUnits(), best.getCost());
+        return best;
+    }
+}
@@ -13,15 +13,24 @@ import org.university.exceptions.InvalidLinkException;
 @Component
 public class LessonValidator implements Validator<Lesson> {
 
-    private static final int LESSONS_START_TIME = 9;
-    private static final int LESSONS_FINISH_TIME = 18;
+    public static final int LESSONS_START_TIME = 9;
+    public static final int LESSONS_FINISH_TIME = 18;
     private static final Pattern LESSON_LINK = Pattern.compile(".{5,100}");
 
     @Override
     public void validate(Lesson lesson) {
+        validateCapacity(lesson);
+        validateTime(lesson);
+        validateLink(lesson);
+    }
+
+    public void validateCapacity(Lesson lesson) {
         if (lesson.getGroup().getStudents().size() > lesson.getClassroom().getCapacity()) {
             throw new InvalidClassroomCapacityException("lessoncapacity");
         }
+    }
+
+    public void validateTime(Lesson lesson) {
         LocalDateTime inputLessonStart = lesson.getStartLesson();
         LocalDateTime inputLessonEnd = lesson.getEndLesson();
         if (inputLessonStart.getDayOfWeek().equals(DayOfWeek.SUNDAY)) {
@@ -33,6 +42,9 @@ public class LessonValidator implements Validator<Lesson> {
         if (inputLessonEnd.isBefore(inputLessonStart) || inputLessonEnd.isEqual(inputLessonStart)) {
             throw new InvalidLessonTimeException("endearlierstart");
         }
+    }
+
+    public void validateLink(Lesson lesson) {
         if (Boolean.TRUE.equals(lesson.getOnlineLesson())
                 && (lesson.getLessonLink() == null || !LESSON_LINK.matcher(lesson.getLessonLink()).matches())) {
             throw new InvalidLinkException("onlinelink");
@@ -1,64 +1,92 @@
 package org.university.utils;
 
 import java.io.IOException;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import org.springframework.stereotype.Component;
 import org.university.entity.DayTimetable;
-import org.university.entity.Lesson;
+import org.university.entity.LessonView;
+import org.university.entity.TimetableScope;
+
+import com.opencsv.CSVWriter;
 
 @Component()
 public class CSVDataGenerator {
 
+    private static final int FLUSH_ROWS = 200;
+
     public List<String[]> generateGroupsData(List<DayTimetable> timetables) throws IOException {
-        List<String[]> groupsData = new ArrayList<>();
-        String[] csvHeader = { "Date", "Start lesson", "End lesson", "Teacher", "Course", "Classroom", "Lesson link" };
-        groupsData.add(csvHeader);
-        for (DayTimetable timetable : timetables) {
-            List<Lesson> lessons = timetable.getLessons();
-            String date = timetable.getDay().toString();
-            for (int i = 0; i < lessons.size(); i++) {
-                if (i >= 1) {
-                    date = "";
-                }
-                String startLesson = lessons.get(i).getStartLesson().toLocalTime().toString();
-                String endLesson = lessons.get(i).getEndLesson().toLocalTime().toString();
-                String teacherName = lessons.get(i).getTeacher().getName();
-                String courseName = lessons.get(i).getCourse().getName();
-                int classroomNumber = lessons.get(i).getClassroom().getNumber();
-                String lessonLink = lessons.get(i).getLessonLink();
-                String[] row = { date, startLesson, endLesson, teacherName, courseName,
-                        Integer.toString(classroomNumber), lessonLink };
-                groupsData.add(row);
+        return generateData(TimetableScope.GROUP, timetables);
+    }
+
+    public List<String[]> generateTeachersData(List<DayTimetable> timetables) throws IOException {
+        return generateData(TimetableScope.TEACHER, timetables);
+    }
+
+    /**
+     * Writes a row per lesson as soon as it is read, flushing the writer every
+     * few hundred rows, so that exports of any range take constant memory and
+     * reach the client while they are read.
+     */
+    public long writeData(TimetableScope scope, Iterator<LessonView> lessons, CSVWriter writer) throws IOException {
+        writer.writeNext(headerOf(scope));
+        LocalDate day = null;
+        long rows = 0;
+        while (lessons.hasNext()) {
+            LessonView lesson = lessons.next();
+            LocalDate lessonDay = lesson.getStartLesson().toLocalDate();
+            writer.writeNext(rowOf(scope, lesson, lessonDay.equals(day) ? "" : lessonDay.toString()));
+            day = lessonDay;
+            if (++rows % FLUSH_ROWS == 0) {
+                writer.flush();
             }
         }
-        return groupsData;
+        writer.flush();
+        return rows;
     }
 
-    public List<String[]> generateTeachersData(List<DayTimetable> timetables) throws IOException {
-        List<String[]> teachersData = new ArrayList<>();
-        String[] csvHeader = { "Date", "Start lesson", "End lesson", "Group", "Course", "Classroom", "Lesson link" };
-        teachersData.add(csvHeader);
+    private static List<String[]> generateData(TimetableScope scope, List<DayTimetable> timetables) {
+        List<String[]> data = new ArrayList<>();
+        data.add(headerOf(scope));
         for (DayTimetable timetable : timetables) {
-            List<Lesson> lessons = timetable.getLessons();
             String date = timetable.getDay().toString();
-            for (int i = 0; i < lessons.size(); i++) {
-                if (i >= 1) {
-                    date = "";
-                }
-                String startLesson = lessons.get(i).getStartLesson().toLocalTime().toString();
-                String endLesson = lessons.get(i).getEndLesson().toLocalTime().toString();
-                String groupName = lessons.get(i).getGroup().getName();
-                String courseName = lessons.get(i).getCourse().getName();
-                int classroomNumber = lessons.get(i).getClassroom().getNumber();
-                String lessonLink = lessons.get(i).getLessonLink();
-                String[] row = { date, startLesson, endLesson, groupName, courseName, Integer.toString(classroomNumber),
-                        lessonLink };
-                teachersData.add(row);
+            for (LessonView lesson : timetable.getLessons()) {
+                data.add(rowOf(scope, lesson, date));
+                date = "";
             }
         }
-        return teachersData;
+        return data;
+    }
+
+    private static String[] headerOf(TimetableScope scope) {
+        if (scope == TimetableScope.GROUP) {
+            return new String[] { "Date", "Start lesson", "End lesson", "Teacher", "Course", "Classroom",
+                    "Lesson link" };
+        }
+        if (scope == TimetableScope.TEACHER) {
+            return new String[] { "Date", "Start lesson", "End lesson", "Group", "Course", "Classroom",
+                    "Lesson link" };
+        }
+        return new String[] { "Date", "Start lesson", "End lesson", "Group", "Teacher", "Course", "Classroom",
+                "Lesson link" };
     }
 
+    private static String[] rowOf(TimetableScope scope, LessonView lesson, String date) {
+        String startLesson = lesson.getStartLesson().toLocalTime().toString();
+        String endLesson = lesson.getEndLesson().toLocalTime().toString();
+        String classroomNumber = Integer.toString(lesson.getClassroomNumber());
+        if (scope == TimetableScope.GROUP) {
+            return new String[] { date, startLesson, endLesson, lesson.getTeacherName(), lesson.getCourseName(),
+                    classroomNumber, lesson.getLessonLink() };
+        }
+        if (scope == TimetableScope.TEACHER) {
+            return new String[] { date, startLesson, endLesson, lesson.getGroupName(), lesson.getCourseName(),
+                    classroomNumber, lesson.getLessonLink() };
+        }
+        return new String[] { date, startLesson, endLesson, lesson.getGroupName(), lesson.getTeacherName(),
+                lesson.getCourseName(), classroomNumber, lesson.getLessonLink() };
+    }
 }
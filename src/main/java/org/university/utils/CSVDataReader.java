@@ -0,0 +1,64 @@
+package org.university.utils;
+
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.university.dto.LessonDto;
+import org.university.dto.UserDto;
+
+import com.opencsv.bean.CsvToBeanBuilder;
+
+@Component()
+public class CSVDataReader {
+
+    public List<LessonDto> readLessons(Reader reader) {
+        try {
+            return new CsvToBeanBuilder<LessonDto>(reader)
+                    .withType(LessonDto.class)
+                    .withIgnoreEmptyLine(true)
+                    .build()
+                    .parse();
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("invalidcsv", e);
+        }
+    }
+
+    /**
+     * Returns the users of the rows as they are read, so that a file of any
+     * size is imported without being held in memory.
+     */
+    public Iterator<UserDto> readUsers(Reader reader) {
+        Iterator<UserDto> users;
+        try {
+            users = new CsvToBeanBuilder<UserDto>(reader)
+                    .withType(UserDto.class)
+                    .withIgnoreEmptyLine(true)
+                    .build()
+                    .iterator();
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("invalidcsv", e);
+        }
+        return new Iterator<UserDto>() {
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    return users.hasNext();
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException("invalidcsv", e);
+                }
+            }
+
+            @Override
+            public UserDto next() {
+                try {
+                    return users.next();
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException("invalidcsv", e);
+                }
+            }
+        };
+    }
+}
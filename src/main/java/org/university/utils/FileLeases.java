@@ -0,0 +1,151 @@
+package org.university.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Files handed out to be sent, whose deletion is put off while they are in
+ * use. A file is in use while it is leased and for a grace period after its
+ * last lease is released, because the connector opens a file handed to it for
+ * sendfile only after the request has returned; once opened, the file is read
+ * to the end even if it is deleted meanwhile. Deletions put off are carried
+ * out by {@link #sweep()}.
+ */
+@Slf4j
+public class FileLeases {
+
+    private final Duration grace;
+    private final Clock clock;
+    private final Map<Path, Usage> usages = new HashMap<>();
+    private final Set<Path> deletions = new LinkedHashSet<>();
+
+    public FileLeases(Duration grace, Clock clock) {
+        this.grace = grace;
+        this.clock = clock;
+    }
+
+    public synchronized <T> Lease<T> acquire(Path file, T value) {
+        usages.computeIfAbsent(file, key -> new Usage()).leases++;
+        return new Lease<>(file, value);
+    }
+
+    /**
+     * Deletes the file now when it is not in use, otherwise once it is no
+     * longer.
+     */
+    public synchronized void delete(Path file) {
+        if (isFree(file) && deleteQuietly(file)) {
+            usages.remove(file);
+            return;
+        }
+        deletions.add(file);
+    }
+
+    /**
+     * Cancels the deletion put off for the file, which is written again under
+     * the same name.
+     */
+    public synchronized void keep(Path file) {
+        deletions.remove(file);
+    }
+
+    public synchronized int sweep() {
+        int deleted = 0;
+        Iterator<Path> iterator = deletions.iterator();
+        while (iterator.hasNext()) {
+            Path file = iterator.next();
+            if (isFree(file) && deleteQuietly(file)) {
+                iterator.remove();
+                deleted++;
+            }
+        }
+        usages.entrySet().removeIf(usage -> isFree(usage.getKey()) && !deletions.contains(usage.getKey()));
+        return deleted;
+    }
+
+    public synchronized int getPendingDeletions() {
+        return deletions.size();
+    }
+
+    /**
+     * Deletes the files left in the directory, by an earlier run for example.
+     */
+    public static void clearDirectory(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, Files::isRegularFile)) {
+            files.forEach(FileLeases::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Directory {} was not cleared!", directory);
+        }
+    }
+
+    private synchronized void release(Path file) {
+        Usage usage = usages.get(file);
+        usage.leases--;
+        usage.releasedAt = clock.instant();
+    }
+
+    private boolean isFree(Path file) {
+        Usage usage = usages.get(file);
+        return usage == null
+                || usage.leases == 0 && !usage.releasedAt.plus(grace).isAfter(clock.instant());
+    }
+
+    private static boolean deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+            return true;
+        } catch (IOException e) {
+            log.warn("File {} was not deleted!", file);
+            return false;
+        }
+    }
+
+    private static class Usage {
+        private int leases;
+        private Instant releasedAt = Instant.MIN;
+    }
+
+    /**
+     * Use of a file, with the value it was handed out with; released when
+     * closed.
+     */
+    public final class Lease<T> implements Closeable {
+
+        private final Path file;
+        private final T value;
+        private boolean released;
+
+        private Lease(Path file, T value) {
+            this.file = file;
+            this.value = value;
+        }
+
+        public T get() {
+            return value;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                release(file);
+            }
+        }
+    }
+}
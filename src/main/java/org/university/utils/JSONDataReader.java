@@ -0,0 +1,73 @@
+package org.university.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.springframework.stereotype.Component;
+import org.university.dto.UserDto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.AllArgsConstructor;
+
+@Component
+@AllArgsConstructor
+public class JSONDataReader {
+
+    private ObjectMapper mapper;
+
+    /**
+     * Returns the users of a JSON array as its elements are parsed, so that a
+     * file of any size is imported without being held in memory.
+     */
+    public Iterator<UserDto> readUsers(InputStream input) {
+        JsonParser parser;
+        try {
+            parser = mapper.getFactory().createParser(input);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("invalidjson");
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("invalidjson", e);
+        }
+        return new Iterator<UserDto>() {
+
+            private JsonToken token;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    if (token == null) {
+                        token = parser.nextToken();
+                    }
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("invalidjson", e);
+                }
+                if (token == JsonToken.START_OBJECT) {
+                    return true;
+                }
+                if (token == JsonToken.END_ARRAY) {
+                    return false;
+                }
+                throw new IllegalArgumentException("invalidjson");
+            }
+
+            @Override
+            public UserDto next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                token = null;
+                try {
+                    return mapper.readValue(parser, UserDto.class);
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("invalidjson", e);
+                }
+            }
+        };
+    }
+}
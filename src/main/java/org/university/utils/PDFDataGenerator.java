@@ -2,11 +2,14 @@ package org.university.utils;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
 
 import org.springframework.stereotype.Component;
 import org.university.entity.DayTimetable;
-import org.university.entity.Lesson;
+import org.university.entity.LessonView;
+import org.university.entity.TimetableScope;
 
 import com.lowagie.text.Document;
 import com.lowagie.text.Element;
@@ -21,119 +24,124 @@ import com.lowagie.text.pdf.PdfWriter;
 @Component()
 public class PDFDataGenerator {
 
+    static final int FLUSH_ROWS = 100;
+
+    private static final Font HEADER_FONT = new Font(Font.HELVETICA, 12, Font.BOLDITALIC);
+    private static final PdfPCell[] GROUP_HEADER = headerOf("Date", "Start lesson", "End lesson", "Teacher",
+            "Course", "Classroom", "Lesson link");
+    private static final PdfPCell[] TEACHER_HEADER = headerOf("Date", "Start lesson", "End lesson", "Group",
+            "Course", "Classroom", "Lesson link");
+    private static final PdfPCell[] UNIVERSITY_HEADER = headerOf("Date", "Start lesson", "End lesson", "Group",
+            "Teacher", "Course", "Classroom", "Lesson link");
+
     public void generateGroupTimetable(OutputStream output, List<DayTimetable> timetables, String groupName) throws IOException {
-        Document document = new Document();
-        PdfWriter.getInstance(document, output);
-        document.setPageSize(PageSize.A4);
-        document.open();
-        document.add(new Paragraph(groupName));
-        document.add(new Paragraph(" "));
-        document.add((Element) generateGroupLessonTable(timetables));
-        document.close();
+        writeTimetable(output, TimetableScope.GROUP, groupName, timetables);
     }
 
-    private PdfPTable generateGroupLessonTable(List<DayTimetable> timetables) {
-        Font font = new Font(Font.HELVETICA, 12, Font.BOLDITALIC);
-        PdfPTable table = new PdfPTable(7);
-        table.setWidthPercentage(100.0f);
-        table.setWidths(new float[] { 4.0f, 4.0f, 4.0f, 4.0f, 4.0f, 4.0f, 4.0f });
-        PdfPCell cell = new PdfPCell();
-        cell.setHorizontalAlignment(Element.ALIGN_CENTER);
-        cell.setVerticalAlignment(Element.ALIGN_CENTER);
-        cell.setPhrase(new Phrase("Date", font));
-        table.addCell(cell);
-        cell.setPhrase(new Phrase("Start lesson", font));
-        table.addCell(cell);
-        cell.setPhrase(new Phrase("End lesson", font));
-        table.addCell(cell);
-        cell.setPhrase(new Phrase("Teacher", font));
-        table.addCell(cell);
-        cell.setPhrase(new Phrase("Course", font));
-        table.addCell(cell);
-        cell.setPhrase(new Phrase("Classroom", font));
-        table.addCell(cell);
-        cell.setPhrase(new Phrase("Lesson link", font));
-        table.addCell(cell);
+    public void generateTeacherTimetable(OutputStream output, List<DayTimetable> timetables, String teacherName) {
+        writeTimetable(output, TimetableScope.TEACHER, teacherName, timetables);
+    }
+
+    /**
+     * Writes the lessons as they are iterated into a table that is flushed to
+     * the document every hundred rows, so that only the rows of the current
+     * page are held in memory whatever the number of lessons.
+     */
+    public long writeTimetable(OutputStream output, TimetableScope scope, String title,
+            Iterator<LessonView> lessons) {
+        StreamingTable table = new StreamingTable(output, scope, title);
+        LocalDate day = null;
+        while (lessons.hasNext()) {
+            LessonView lesson = lessons.next();
+            LocalDate lessonDay = lesson.getStartLesson().toLocalDate();
+            table.addRow(lesson, lessonDay.equals(day) ? "" : lessonDay.toString());
+            day = lessonDay;
+        }
+        return table.close();
+    }
+
+    private static void writeTimetable(OutputStream output, TimetableScope scope, String title,
+            List<DayTimetable> timetables) {
+        StreamingTable table = new StreamingTable(output, scope, title);
         for (DayTimetable timetable : timetables) {
-            cell.setPhrase(new Phrase(timetable.getDay().toString()));
-            table.addCell(cell);
-            List<Lesson> lessons = timetable.getLessons();
-            for (int i = 0; i < lessons.size(); i++) {
-                if (i >= 1) {
-                    table.addCell("");
-                }
-                cell.setPhrase(new Phrase(lessons.get(i).getStartLesson().toLocalTime().toString()));
-                table.addCell(cell);
-                cell.setPhrase(new Phrase(lessons.get(i).getEndLesson().toLocalTime().toString()));
-                table.addCell(cell);
-                cell.setPhrase(new Phrase(lessons.get(i).getTeacher().getName()));
-                table.addCell(cell);
-                cell.setPhrase(new Phrase(lessons.get(i).getCourse().getName()));
-                table.addCell(cell);
-                cell.setPhrase(new Phrase(lessons.get(i).getClassroom().getNumber().toString()));
-                table.addCell(cell);
-                cell.setPhrase(new Phrase(lessons.get(i).getLessonLink()));
-                table.addCell(cell);
+            String date = timetable.getDay().toString();
+            for (LessonView lesson : timetable.getLessons()) {
+                table.addRow(lesson, date);
+                date = "";
             }
         }
-        return table;
+        table.close();
     }
-    
-    public void generateTeacherTimetable(OutputStream output, List<DayTimetable> timetables, String teacherName) {
-        Document document = new Document();
-        PdfWriter.getInstance(document, output);
-        document.setPageSize(PageSize.A4);
-        document.open();
-        document.add(new Paragraph(teacherName));
-        document.add(new Paragraph(" "));
-        document.add((Element) generateTeacherLessonTable(timetables));
-        document.close();
+
+    private static PdfPCell[] headerOf(String... titles) {
+        PdfPCell[] cells = new PdfPCell[titles.length];
+        for (int i = 0; i < titles.length; i++) {
+            cells[i] = cellOf(new Phrase(titles[i], HEADER_FONT));
+        }
+        return cells;
     }
 
-    private PdfPTable generateTeacherLessonTable(List<DayTimetable> timetables) {
-        Font font = new Font(Font.HELVETICA, 12, Font.BOLDITALIC);
-        PdfPTable table = new PdfPTable(7);
-        table.setWidthPercentage(100.0f);
-        table.setWidths(new float[] { 4.0f, 4.0f, 4.0f, 4.0f, 4.0f, 4.0f, 4.0f });
-        PdfPCell cell = new PdfPCell();
+    private static PdfPCell cellOf(Phrase phrase) {
+        PdfPCell cell = new PdfPCell(phrase);
         cell.setHorizontalAlignment(Element.ALIGN_CENTER);
         cell.setVerticalAlignment(Element.ALIGN_CENTER);
-        cell.setPhrase(new Phrase("Date", font));
-        table.addCell(cell);
-        cell.setPhrase(new Phrase("Start lesson", font));
-        table.addCell(cell);
-        cell.setPhrase(new Phrase("End lesson", font));
-        table.addCell(cell);
-        cell.setPhrase(new Phrase("Group", font));
-        table.addCell(cell);
-        cell.setPhrase(new Phrase("Course", font));
-        table.addCell(cell);
-        cell.setPhrase(new Phrase("Classroom", font));
-        table.addCell(cell);
-        cell.setPhrase(new Phrase("Lesson link", font));
-        table.addCell(cell);
-        for (DayTimetable timetable : timetables) {
-            cell.setPhrase(new Phrase(timetable.getDay().toString()));
-            table.addCell(cell);
-            List<Lesson> lessons = timetable.getLessons();
-            for (int i = 0; i < lessons.size(); i++) {
-                if (i >= 1) {
-                    table.addCell("");
-                }
-                cell.setPhrase(new Phrase(lessons.get(i).getStartLesson().toLocalTime().toString()));
-                table.addCell(cell);
-                cell.setPhrase(new Phrase(lessons.get(i).getEndLesson().toLocalTime().toString()));
-                table.addCell(cell);
-                cell.setPhrase(new Phrase(lessons.get(i).getGroup().getName()));
-                table.addCell(cell);
-                cell.setPhrase(new Phrase(lessons.get(i).getCourse().getName()));
-                table.addCell(cell);
-                cell.setPhrase(new Phrase(lessons.get(i).getClassroom().getNumber().toString()));
-                table.addCell(cell);
-                cell.setPhrase(new Phrase(lessons.get(i).getLessonLink()));
+        return cell;
+    }
+
+    private static final class StreamingTable {
+
+        private final Document document;
+        private final PdfPTable table;
+        private final TimetableScope scope;
+        private long rows;
+
+        StreamingTable(OutputStream output, TimetableScope scope, String title) {
+            this.scope = scope;
+            document = new Document();
+            PdfWriter.getInstance(document, output);
+            document.setPageSize(PageSize.A4);
+            document.open();
+            document.add(new Paragraph(title));
+            document.add(new Paragraph(" "));
+            PdfPCell[] header = scope == TimetableScope.GROUP ? GROUP_HEADER
+                    : scope == TimetableScope.TEACHER ? TEACHER_HEADER : UNIVERSITY_HEADER;
+            table = new PdfPTable(header.length);
+            table.setWidthPercentage(100.0f);
+            table.setHeaderRows(1);
+            table.setComplete(false);
+            for (PdfPCell cell : header) {
                 table.addCell(cell);
             }
         }
-        return table;
+
+        void addRow(LessonView lesson, String date) {
+            addCell(date);
+            addCell(lesson.getStartLesson().toLocalTime().toString());
+            addCell(lesson.getEndLesson().toLocalTime().toString());
+            if (scope != TimetableScope.GROUP) {
+                addCell(lesson.getGroupName());
+            }
+            if (scope != TimetableScope.TEACHER) {
+                addCell(lesson.getTeacherName());
+            }
+            addCell(lesson.getCourseName());
+            addCell(lesson.getClassroomNumber().toString());
+            addCell(lesson.getLessonLink());
+            if (++rows % FLUSH_ROWS == 0) {
+                // rows of an incomplete table are written and released, the header is kept for the next page
+                document.add(table);
+            }
+        }
+
+        long close() {
+            table.setComplete(true);
+            document.add(table);
+            document.close();
+            return rows;
+        }
+
+        private void addCell(String text) {
+            table.addCell(cellOf(new Phrase(text)));
+        }
     }
 }
@@ -0,0 +1,14 @@
+DO $$
+BEGIN
+    IF to_regclass('lesson_changes') IS NULL THEN
+        RETURN;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+            WHERE table_name = 'lesson_changes' AND column_name = 'change_position') THEN
+        ALTER TABLE lesson_changes ADD COLUMN change_position BIGINT;
+        CREATE UNIQUE INDEX lesson_changes_position ON lesson_changes(change_position);
+    END IF;
+    IF (SELECT increment_by FROM pg_sequences WHERE sequencename = 'lesson_changes_change_id_seq') = 1 THEN
+        ALTER SEQUENCE lesson_changes_change_id_seq INCREMENT BY 50;
+    END IF;
+END $$;
@@ -0,0 +1,19 @@
+DO $$
+BEGIN
+    IF to_regclass('lessons') IS NULL THEN
+        RETURN;
+    END IF;
+    CREATE EXTENSION IF NOT EXISTS btree_gist;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'lessons_teacher_overlap') THEN
+        ALTER TABLE lessons ADD CONSTRAINT lessons_teacher_overlap
+        EXCLUDE USING gist (lesson_teacher WITH =, tsrange(lesson_start, lesson_end, '[]') WITH &&);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'lessons_group_overlap') THEN
+        ALTER TABLE lessons ADD CONSTRAINT lessons_group_overlap
+        EXCLUDE USING gist (lesson_group WITH =, tsrange(lesson_start, lesson_end, '[]') WITH &&);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'lessons_classroom_overlap') THEN
+        ALTER TABLE lessons ADD CONSTRAINT lessons_classroom_overlap
+        EXCLUDE USING gist (lesson_classroom WITH =, tsrange(lesson_start, lesson_end, '[]') WITH &&);
+    END IF;
+END $$;
@@ -0,0 +1,8 @@
+DO $$
+BEGIN
+    IF (SELECT increment_by FROM pg_sequences WHERE sequencename = 'lessons_lesson_id_seq') = 1 THEN
+        LOCK TABLE lessons IN SHARE ROW EXCLUSIVE MODE;
+        PERFORM setval('lessons_lesson_id_seq', (SELECT COALESCE(MAX(lesson_id), 1) FROM lessons));
+        ALTER SEQUENCE lessons_lesson_id_seq INCREMENT BY 50;
+    END IF;
+END $$;
@@ -0,0 +1,14 @@
+DO $$
+BEGIN
+    IF to_regclass('reference_changes') IS NULL THEN
+        RETURN;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+            WHERE table_name = 'reference_changes' AND column_name = 'change_position') THEN
+        ALTER TABLE reference_changes ADD COLUMN change_position BIGINT;
+        CREATE UNIQUE INDEX reference_changes_position ON reference_changes(change_position);
+    END IF;
+    IF (SELECT increment_by FROM pg_sequences WHERE sequencename = 'reference_changes_change_id_seq') = 1 THEN
+        ALTER SEQUENCE reference_changes_change_id_seq INCREMENT BY 50;
+    END IF;
+END $$;
@@ -47,6 +47,8 @@ student_photo TEXT,
 student_enabled BOOLEAN,
 role INT REFERENCES roles(role_id) ON DELETE CASCADE
 );
+DROP SEQUENCE IF EXISTS users_user_id_seq;
+CREATE SEQUENCE users_user_id_seq INCREMENT BY 50;
 DROP TABLE IF EXISTS students_to_courses CASCADE;
 CREATE TABLE students_to_courses(
 student_id INT REFERENCES students(student_id) ON DELETE CASCADE,
@@ -64,6 +66,26 @@ student_id INT REFERENCES students(student_id) ON DELETE CASCADE,
 group_id INT REFERENCES groups(group_id) ON DELETE CASCADE,
 PRIMARY KEY(student_id,group_id)
 );
+DROP TABLE IF EXISTS lesson_series CASCADE;
+CREATE TABLE lesson_series(
+series_id SERIAL PRIMARY KEY,
+series_start TIMESTAMP NOT NULL,
+series_end TIMESTAMP NOT NULL,
+series_until DATE NOT NULL,
+series_interval INT NOT NULL,
+series_online BOOLEAN NOT NULL,
+series_link TEXT,
+series_classroom INT REFERENCES classrooms(classroom_id) ON DELETE CASCADE,
+series_course INT REFERENCES courses(course_id) ON DELETE CASCADE,
+series_teacher INT REFERENCES teachers(teacher_id) ON DELETE CASCADE,
+series_group INT REFERENCES groups(group_id) ON DELETE CASCADE
+);
+DROP TABLE IF EXISTS lesson_series_exceptions CASCADE;
+CREATE TABLE lesson_series_exceptions(
+series_id INT REFERENCES lesson_series(series_id) ON DELETE CASCADE,
+exception_date DATE NOT NULL,
+PRIMARY KEY(series_id, exception_date)
+);
 DROP TABLE IF EXISTS lessons CASCADE;
 CREATE TABLE lessons(
 lesson_id SERIAL PRIMARY KEY,
@@ -74,8 +96,29 @@ lesson_link TEXT,
 lesson_classroom INT REFERENCES classrooms(classroom_id) ON DELETE CASCADE,
 lesson_course INT REFERENCES courses(course_id) ON DELETE CASCADE,
 lesson_teacher INT REFERENCES teachers(teacher_id) ON DELETE CASCADE,
-lesson_group INT REFERENCES groups(group_id) ON DELETE CASCADE
+lesson_group INT REFERENCES groups(group_id) ON DELETE CASCADE,
+lesson_series INT REFERENCES lesson_series(series_id) ON DELETE SET NULL
+);
+DROP TABLE IF EXISTS lesson_changes CASCADE;
+CREATE TABLE lesson_changes(
+change_id BIGSERIAL PRIMARY KEY,
+change_lesson INT NOT NULL,
+change_type VARCHAR(10) NOT NULL,
+change_time TIMESTAMP NOT NULL,
+change_position BIGINT
+);
+CREATE INDEX lesson_changes_time ON lesson_changes(change_time);
+CREATE UNIQUE INDEX lesson_changes_position ON lesson_changes(change_position);
+ALTER SEQUENCE lesson_changes_change_id_seq INCREMENT BY 50;
+DROP TABLE IF EXISTS reference_changes CASCADE;
+CREATE TABLE reference_changes(
+change_id BIGSERIAL PRIMARY KEY,
+change_reference VARCHAR(10) NOT NULL,
+change_time TIMESTAMP NOT NULL,
+change_position BIGINT
 );
+CREATE UNIQUE INDEX reference_changes_position ON reference_changes(change_position);
+ALTER SEQUENCE reference_changes_change_id_seq INCREMENT BY 50;
 DROP TABLE IF EXISTS roles CASCADE;
 CREATE TABLE roles(
 role_id SERIAL PRIMARY KEY,
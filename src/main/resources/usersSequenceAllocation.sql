@@ -0,0 +1,21 @@
+DO $$
+DECLARE
+    last_id BIGINT;
+BEGIN
+    IF to_regclass('users_user_id_seq') IS NULL THEN
+        IF to_regclass('hibernate_sequence') IS NOT NULL THEN
+            SELECT last_value INTO last_id FROM hibernate_sequence;
+        END IF;
+        IF to_regclass('students') IS NOT NULL THEN
+            SELECT GREATEST(last_id, MAX(student_id)) INTO last_id FROM students;
+        END IF;
+        IF to_regclass('teachers') IS NOT NULL THEN
+            SELECT GREATEST(last_id, MAX(teacher_id)) INTO last_id FROM teachers;
+        END IF;
+        IF to_regclass('temporary_users') IS NOT NULL THEN
+            SELECT GREATEST(last_id, MAX(id)) INTO last_id FROM temporary_users;
+        END IF;
+        CREATE SEQUENCE users_user_id_seq INCREMENT BY 50;
+        PERFORM setval('users_user_id_seq', COALESCE(last_id, 1));
+    END IF;
+END $$;
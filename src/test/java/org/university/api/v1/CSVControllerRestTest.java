@@ -2,11 +2,17 @@ package org.university.api.v1;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -29,8 +35,16 @@ import org.university.dto.GroupDto;
 import org.university.dto.UserDto;
 import org.university.entity.DayTimetable;
 import org.university.entity.Lesson;
+import org.university.entity.LessonView;
+import org.university.entity.TimetableScope;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.InvalidLessonTimeException;
 import org.university.service.DayTimetableService;
+import org.university.service.TimetableExportService;
+import org.university.service.cache.ArtifactCache;
+import org.university.service.export.TimetableExport;
 import org.university.utils.CSVDataGenerator;
+import org.university.utils.FileSender;
 import org.university.utils.CreatorTestEntities;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -50,12 +64,19 @@ class CSVControllerRestTest {
     @Mock
     private DayTimetableService timetableServiceMock;
 
+    @Mock
+    private ArtifactCache artifactCacheMock;
+
+    @Mock
+    private TimetableExportService exportServiceMock;
+
     private CSVControllerRest csvController;
 
     @BeforeEach
     public void setUpBeforeClass() throws Exception {
         mapper = new ObjectMapper();
-        csvController = new CSVControllerRest(timetableServiceMock, new CSVDataGenerator());
+        csvController = new CSVControllerRest(timetableServiceMock, new CSVDataGenerator(), exportServiceMock,
+                artifactCacheMock, new FileSender());
         mockMvc = MockMvcBuilders.standaloneSetup(csvController).setControllerAdvice(new GlobalExceptionHandler()).build();
     }
 
@@ -63,7 +84,7 @@ class CSVControllerRestTest {
     void createWeekGroupTimetableCSV() throws Exception {
         GroupDto groupDto = new GroupDto();
         groupDto.setName("test");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
         when(timetableServiceMock.createWeekGroupTimetable(LocalDate.now(), "test")).thenReturn(timetables);
@@ -88,7 +109,7 @@ class CSVControllerRestTest {
     void createMonthGroupTimetableCSV() throws Exception {
         GroupDto groupDto = new GroupDto();
         groupDto.setName("test");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         lessons.remove(2);
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
@@ -114,7 +135,7 @@ class CSVControllerRestTest {
         UserDto teacher = new UserDto();
         teacher.setName("test name");
         teacher.setEmail("test email");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
         when(timetableServiceMock.createWeekTeacherTimetable(LocalDate.now(), "test email")).thenReturn(timetables);
@@ -140,7 +161,7 @@ class CSVControllerRestTest {
         UserDto teacher = new UserDto();
         teacher.setName("test name");
         teacher.setEmail("test email");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         lessons.remove(2);
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
@@ -164,7 +185,8 @@ class CSVControllerRestTest {
     @Test
     void createWeekGroupTimetableCSVWhenIOException() throws Exception {
         CSVDataGenerator csvDataGeneratorMock = mock(CSVDataGenerator.class);
-        CSVControllerRest csvController = new CSVControllerRest(timetableServiceMock, csvDataGeneratorMock);
+        CSVControllerRest csvController = new CSVControllerRest(timetableServiceMock, csvDataGeneratorMock,
+                exportServiceMock, artifactCacheMock, new FileSender());
         mockMvc = MockMvcBuilders.standaloneSetup(csvController).setControllerAdvice(new GlobalExceptionHandler()).build();
         Logger csvControllerLogger = (Logger) LoggerFactory.getLogger(CSVControllerRest.class);
         ListAppender<ILoggingEvent> listAppender = new ListAppender<>();
@@ -191,7 +213,8 @@ class CSVControllerRestTest {
     @Test
     void createWeekTeacherTimetableCSVWhenIOException() throws Exception {
         CSVDataGenerator csvDataGeneratorMock = mock(CSVDataGenerator.class);
-        CSVControllerRest csvController = new CSVControllerRest(timetableServiceMock, csvDataGeneratorMock);
+        CSVControllerRest csvController = new CSVControllerRest(timetableServiceMock, csvDataGeneratorMock,
+                exportServiceMock, artifactCacheMock, new FileSender());
         mockMvc = MockMvcBuilders.standaloneSetup(csvController).setControllerAdvice(new GlobalExceptionHandler()).build();
         Logger csvControllerLogger = (Logger) LoggerFactory.getLogger(CSVControllerRest.class);
         ListAppender<ILoggingEvent> listAppender = new ListAppender<>();
@@ -215,4 +238,61 @@ class CSVControllerRestTest {
         assertEquals("File creation failed!", logsList.get(0).getMessage());
         assertEquals(Level.ERROR, logsList.get(0).getLevel());
     }
+
+    @Test
+    void exportGroupTimetableCSVShouldWriteExportOfGroupInRequestedRange() throws Exception {
+        TimetableExport export = new TimetableExport(TimetableScope.GROUP, 1, "AB-22", LocalDate.of(2021, 9, 1),
+                LocalDate.of(2021, 12, 31));
+        when(exportServiceMock.findGroupExport("AB-22", LocalDate.of(2021, 9, 1), LocalDate.of(2021, 12, 31)))
+                .thenReturn(export);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, Writer.class).write("\"Date\"\n");
+            return null;
+        }).when(exportServiceMock).writeCsv(eq(export), any(Writer.class));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/csv/group/AB-22").param("from", "2021-09-01")
+                .param("to", "2021-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(MockMvcResultMatchers.header().string("Content-Disposition",
+                        "attachment; filename=AB-22 timetable.csv"))
+                .andExpect(MockMvcResultMatchers.content().string("\"Date\"\n"));
+    }
+
+    @Test
+    void exportTeacherTimetableCSVShouldReturnBadRequestWhenTeacherNotExists() throws Exception {
+        when(exportServiceMock.findTeacherExport("none@mail.ru", LocalDate.of(2021, 9, 1),
+                LocalDate.of(2021, 12, 31))).thenThrow(new EntityNotExistException("teachernotexist"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/csv/teacher/none@mail.ru").param("from", "2021-09-01")
+                .param("to", "2021-12-31"))
+                .andExpect(status().isBadRequest());
+        verify(exportServiceMock, never()).writeCsv(any(), any());
+    }
+
+    @Test
+    void exportUniversityTimetableCSVShouldReturnBadRequestWhenRangeInvalid() throws Exception {
+        when(exportServiceMock.findUniversityExport(LocalDate.of(2021, 9, 1), LocalDate.of(2023, 9, 1)))
+                .thenThrow(new InvalidLessonTimeException("invalidrange"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/csv/all").param("from", "2021-09-01")
+                .param("to", "2023-09-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportGroupTimetableCSVShouldWriteExportOfGroupInRequestedSemester() throws Exception {
+        TimetableExport export = new TimetableExport(TimetableScope.GROUP, 1, "AB-22", LocalDate.of(2021, 9, 1),
+                LocalDate.of(2022, 1, 31));
+        when(exportServiceMock.findGroupExport("AB-22", LocalDate.of(2021, 9, 1), LocalDate.of(2022, 1, 31)))
+                .thenReturn(export);
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/csv/group/AB-22").param("semester", "autumn-2021"))
+                .andExpect(status().isOk());
+        verify(exportServiceMock).writeCsv(eq(export), any(Writer.class));
+    }
+
+    @Test
+    void exportUniversityTimetableCSVShouldReturnBadRequestWhenSemesterGivenWithDates() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/csv/all").param("semester", "autumn-2021")
+                .param("from", "2021-09-01"))
+                .andExpect(status().isBadRequest());
+        verify(exportServiceMock, never()).findUniversityExport(any(), any());
+    }
 }
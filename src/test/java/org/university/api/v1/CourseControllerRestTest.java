@@ -3,11 +3,18 @@ package org.university.api.v1;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.hamcrest.Matchers;
@@ -16,6 +23,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -28,6 +36,10 @@ import org.university.controller.GlobalExceptionHandler;
 import org.university.dto.CourseDto;
 import org.university.entity.Course;
 import org.university.service.CourseService;
+import org.university.service.cache.ResourceVersions;
+import org.university.service.event.ReferenceDataChangedEvent.Reference;
+import org.university.service.event.ReferenceDataChangedEvent;
+import org.university.service.readmodel.TimetableReadModel;
 import org.university.utils.CreatorTestEntities;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -44,15 +56,34 @@ class CourseControllerRestTest {
 
     private CourseControllerRest courseController;
 
+    private ResourceVersions versions;
+
     @BeforeEach
     public void setUpBeforeClass() throws Exception {
         mapper = new ObjectMapper();
-        courseController = new CourseControllerRest(courseServiceMock);
+        versions = new ResourceVersions(mock(TimetableReadModel.class),
+                Clock.fixed(Instant.parse("2021-10-19T10:00:00Z"), ZoneOffset.UTC));
+        courseController = new CourseControllerRest(courseServiceMock, versions);
         mockMvc = MockMvcBuilders.standaloneSetup(courseController)
                 .setControllerAdvice(new GlobalExceptionHandler())
                 .build();
     }
 
+    @Test
+    void testGetAllWhenListingNotModified() throws Exception {
+        when(courseServiceMock.findAllCourses()).thenReturn(new ArrayList<>());
+        String tag = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/courses"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/courses").header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isNotModified());
+        versions.onReferenceDataChanged(new ReferenceDataChangedEvent(Reference.COURSE));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/courses").header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isOk());
+        verify(courseServiceMock, times(2)).findAllCourses();
+    }
+
     @Test
     void testGetAll() throws Exception {
         List<Course> courses = CreatorTestEntities.createCourses();
@@ -0,0 +1,202 @@
+package org.university.api.v1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Principal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.university.dto.ExportJobDto;
+import org.university.dto.ExportRequestDto;
+import org.university.entity.TimetableScope;
+import org.university.exceptions.ExportNotReadyException;
+import org.university.exceptions.ExportRejectedException;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.service.ExportJobService;
+import org.university.service.TimetableArchiveService;
+import org.university.service.export.ExportFormat;
+import org.university.service.export.ExportJob;
+import org.university.service.export.TimetableExport;
+import org.university.utils.FileLeases;
+import org.university.utils.FileLeases.Lease;
+import org.university.utils.FileSender;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(Lifecycle.PER_CLASS)
+class ExportJobControllerRestTest {
+
+    private static final String OWNER = "Bob@mail.ru";
+    private static final Principal PRINCIPAL = () -> OWNER;
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+
+    private MockMvc mockMvc;
+
+    private ObjectMapper mapper;
+
+    @Mock
+    private ExportJobService jobServiceMock;
+
+    @Mock
+    private TimetableArchiveService archiveServiceMock;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    public void setUpBeforeClass() throws Exception {
+        mapper = new ObjectMapper();
+        mockMvc = MockMvcBuilders.standaloneSetup(new ExportJobControllerRest(jobServiceMock, new FileSender(),
+                archiveServiceMock))
+                .build();
+    }
+
+    @Test
+    void testSubmitExport() throws Exception {
+        ExportRequestDto exportRequest = createRequest();
+        when(jobServiceMock.submit(exportRequest, OWNER)).thenReturn(new ExportJobDto("job-1", "QUEUED", "CSV",
+                "AB-22", "2021-09-01", "2021-12-31", null, "2021-10-19T10:00", null, null));
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/exports").principal(PRINCIPAL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(exportRequest)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/v1/exports/job-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    void testSubmitExportWhenUserHasTooManyJobs() throws Exception {
+        when(jobServiceMock.submit(eq(createRequest()), any())).thenThrow(new ExportRejectedException("exportlimit"));
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/exports").principal(PRINCIPAL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(createRequest())))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void testSubmitExportWhenNotAuthenticated() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/exports").contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(createRequest())))
+                .andExpect(status().isUnauthorized());
+        verify(jobServiceMock, never()).submit(any(), any());
+    }
+
+    @Test
+    void testDownloadExportWhenNotReady() throws Exception {
+        when(jobServiceMock.findFinishedJob("job-1", OWNER))
+                .thenThrow(new ExportNotReadyException("exportnotready"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/exports/job-1/file").principal(PRINCIPAL))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testDownloadExport() throws Exception {
+        ExportJob job = createFinishedJob("Date,Start lesson\n");
+        when(jobServiceMock.findFinishedJob("job-1", OWNER)).thenReturn(leaseOf(job));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/exports/job-1/file").principal(PRINCIPAL))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 18))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=AB-22 timetable.csv"))
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(content().string("Date,Start lesson\n"));
+    }
+
+    @Test
+    void testDownloadExportWhenConnectorSupportsSendfile() throws Exception {
+        ExportJob job = createFinishedJob("Date,Start lesson\n");
+        when(jobServiceMock.findFinishedJob("job-1", OWNER)).thenReturn(leaseOf(job));
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/exports/job-1/file")
+                .principal(PRINCIPAL)
+                .requestAttr(SENDFILE_SUPPORTED, Boolean.TRUE))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 18))
+                .andReturn();
+        MockHttpServletRequest request = result.getRequest();
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename"))
+                .isEqualTo(job.getFile().toAbsolutePath().toString());
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(18L);
+        assertThat(result.getResponse().getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void testDownloadArchive() throws Exception {
+        doAnswer(invocation -> {
+            invocation.getArgument(3, OutputStream.class).write("PK".getBytes(StandardCharsets.ISO_8859_1));
+            return null;
+        }).when(archiveServiceMock).writeArchive(eq(ExportFormat.PDF), eq(LocalDate.of(2021, 9, 1)),
+                eq(LocalDate.of(2021, 12, 31)), any(OutputStream.class));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/exports/archive").param("format", "PDF")
+                .param("from", "2021-09-01").param("to", "2021-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=timetables 2021-09-01 2021-12-31.zip"))
+                .andExpect(content().contentType("application/zip"))
+                .andExpect(content().string("PK"));
+    }
+
+    @Test
+    void testDownloadArchiveWhenRangeInvalid() throws Exception {
+        doThrow(new InvalidLessonTimeException("invalidrange")).when(archiveServiceMock).writeArchive(
+                eq(ExportFormat.CSV), eq(LocalDate.of(2021, 12, 31)), eq(LocalDate.of(2021, 9, 1)),
+                any(OutputStream.class));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/exports/archive").param("format", "CSV")
+                .param("from", "2021-12-31").param("to", "2021-09-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static Lease<ExportJob> leaseOf(ExportJob job) {
+        return new FileLeases(Duration.ZERO, Clock.systemUTC()).acquire(job.getFile(), job);
+    }
+
+    private ExportJob createFinishedJob(String content) throws Exception {
+        Path file = Files.write(directory.resolve("job-1.csv"), content.getBytes(StandardCharsets.UTF_8));
+        ExportJob job = new ExportJob("job-1", OWNER, new TimetableExport(TimetableScope.GROUP, 1, "AB-22",
+                LocalDate.of(2021, 9, 1), LocalDate.of(2021, 12, 31)), ExportFormat.CSV,
+                LocalDateTime.of(2021, 10, 19, 10, 0));
+        job.finish(file, Files.size(file), LocalDateTime.of(2021, 10, 19, 10, 1));
+        return job;
+    }
+
+    private static ExportRequestDto createRequest() {
+        ExportRequestDto exportRequest = new ExportRequestDto();
+        exportRequest.setScope(TimetableScope.GROUP);
+        exportRequest.setName("AB-22");
+        exportRequest.setFormat(ExportFormat.CSV);
+        exportRequest.setFrom("2021-09-01");
+        exportRequest.setTo("2021-12-31");
+        return exportRequest;
+    }
+}
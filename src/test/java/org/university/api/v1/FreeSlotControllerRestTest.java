@@ -0,0 +1,95 @@
+package org.university.api.v1;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.university.dto.FreeSlotDto;
+import org.university.dto.FreeSlotQueryDto;
+import org.university.exceptions.EntityNotExistException;
+import org.university.service.FreeSlotService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(Lifecycle.PER_CLASS)
+class FreeSlotControllerRestTest {
+
+    private MockMvc mockMvc;
+
+    private ObjectMapper mapper;
+
+    @Mock
+    private FreeSlotService freeSlotServiceMock;
+
+    @BeforeEach
+    public void setUpBeforeClass() throws Exception {
+        mapper = new ObjectMapper();
+        mockMvc = MockMvcBuilders.standaloneSetup(new FreeSlotControllerRest(freeSlotServiceMock)).build();
+    }
+
+    @Test
+    void testFindFreeSlots() throws Exception {
+        FreeSlotQueryDto query = createQuery();
+        when(freeSlotServiceMock.findFreeSlots(query))
+                .thenReturn(Arrays.asList(new FreeSlotDto("2021-10-19T12:15", "2021-10-19T13:15", 1)));
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get("/api/v1/timetables/freeslots")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(query));
+        ResultActions result = mockMvc.perform(request);
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].startLesson", is("2021-10-19T12:15")))
+                .andExpect(jsonPath("$[0].classroomNumber", is(1)));
+    }
+
+    @Test
+    void testFindFreeSlotsWhenTeacherNotExists() throws Exception {
+        FreeSlotQueryDto query = createQuery();
+        when(freeSlotServiceMock.findFreeSlots(query)).thenThrow(new EntityNotExistException("teachernotexist"));
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get("/api/v1/timetables/freeslots")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(query));
+        ResultActions result = mockMvc.perform(request);
+        result.andExpect(exception -> assertEquals(
+                exception.getResolvedException().getMessage(), "400 BAD_REQUEST \"teachernotexist\""))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testFindFreeSlotsWhenDurationMissing() throws Exception {
+        FreeSlotQueryDto query = createQuery();
+        query.setDuration(null);
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get("/api/v1/timetables/freeslots")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(query));
+        mockMvc.perform(request).andExpect(status().isBadRequest());
+    }
+
+    private static FreeSlotQueryDto createQuery() {
+        FreeSlotQueryDto query = new FreeSlotQueryDto();
+        query.setTeacherEmail("Bob@mail.ru");
+        query.setGroupName("AB-22");
+        query.setFrom("2021-10-19");
+        query.setTo("2021-10-20");
+        query.setDuration(60);
+        return query;
+    }
+}
@@ -4,11 +4,18 @@ import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.hamcrest.Matchers;
@@ -19,6 +26,7 @@ import org.junit.jupiter.api.TestInstance.Lifecycle;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -34,6 +42,10 @@ import org.university.entity.Group;
 import org.university.exceptions.EntityAlreadyExistException;
 import org.university.service.GroupService;
 import org.university.service.StudentService;
+import org.university.service.cache.ResourceVersions;
+import org.university.service.event.ReferenceDataChangedEvent.Reference;
+import org.university.service.event.ReferenceDataChangedEvent;
+import org.university.service.readmodel.TimetableReadModel;
 import org.university.utils.CreatorTestEntities;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -54,14 +66,33 @@ class GroupControllerRestTest {
 
     private GroupControllerRest groupController;
 
+    private ResourceVersions versions;
+
     @BeforeEach
     public void setUpBeforeClass() throws Exception {
         mapper = new ObjectMapper();
-        groupController = new GroupControllerRest(groupServiceMock);
+        versions = new ResourceVersions(mock(TimetableReadModel.class),
+                Clock.fixed(Instant.parse("2021-10-19T10:00:00Z"), ZoneOffset.UTC));
+        groupController = new GroupControllerRest(groupServiceMock, versions);
         mockMvc = MockMvcBuilders.standaloneSetup(groupController).setControllerAdvice(new GlobalExceptionHandler())
                 .build();
     }
 
+    @Test
+    void testGetAllWhenListingNotModified() throws Exception {
+        when(groupServiceMock.findAllGroups()).thenReturn(new ArrayList<>());
+        String tag = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/groups"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/groups").header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isNotModified());
+        versions.onReferenceDataChanged(new ReferenceDataChangedEvent(Reference.GROUP));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/groups").header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isOk());
+        verify(groupServiceMock, times(2)).findAllGroups();
+    }
+
     @Test
     void testGetAll() throws Exception {
         List<Group> groups = CreatorTestEntities.createGroups();
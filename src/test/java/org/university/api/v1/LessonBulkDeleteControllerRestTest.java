@@ -0,0 +1,81 @@
+package org.university.api.v1;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.university.dto.BulkDeleteReportDto;
+import org.university.dto.LessonBulkDeleteDto;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.service.LessonBulkDeleteService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(Lifecycle.PER_CLASS)
+class LessonBulkDeleteControllerRestTest {
+
+    private MockMvc mockMvc;
+
+    private ObjectMapper mapper;
+
+    @Mock
+    private LessonBulkDeleteService bulkDeleteServiceMock;
+
+    @BeforeEach
+    public void setUpBeforeClass() throws Exception {
+        mapper = new ObjectMapper();
+        mockMvc = MockMvcBuilders.standaloneSetup(new LessonBulkDeleteControllerRest(bulkDeleteServiceMock)).build();
+    }
+
+    @Test
+    void testDeleteLessons() throws Exception {
+        LessonBulkDeleteDto criteria = createCriteria();
+        when(bulkDeleteServiceMock.deleteLessons(criteria)).thenReturn(new BulkDeleteReportDto(2, Arrays.asList(2, 3)));
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.delete("/api/v1/timetables/lessons")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(criteria));
+        ResultActions result = mockMvc.perform(request);
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", is(2)))
+                .andExpect(jsonPath("$.lessonIds[1]", is(3)));
+    }
+
+    @Test
+    void testDeleteLessonsWhenRangeInvalid() throws Exception {
+        LessonBulkDeleteDto criteria = createCriteria();
+        when(bulkDeleteServiceMock.deleteLessons(criteria)).thenThrow(new InvalidLessonTimeException("invalidrange"));
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.delete("/api/v1/timetables/lessons")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(criteria));
+        ResultActions result = mockMvc.perform(request);
+        result.andExpect(exception -> assertEquals(
+                exception.getResolvedException().getMessage(), "400 BAD_REQUEST \"invalidrange\""));
+    }
+
+    private static LessonBulkDeleteDto createCriteria() {
+        LessonBulkDeleteDto criteria = new LessonBulkDeleteDto();
+        criteria.setFrom("2021-10-18");
+        criteria.setTo("2021-10-24");
+        criteria.setGroupName("FR-33");
+        return criteria;
+    }
+}
@@ -0,0 +1,57 @@
+package org.university.api.v1;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.university.dto.LessonChangesDto;
+import org.university.exceptions.InvalidTokenException;
+import org.university.service.LessonChangeService;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(Lifecycle.PER_CLASS)
+class LessonChangeControllerRestTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private LessonChangeService changeServiceMock;
+
+    @BeforeEach
+    public void setUpBeforeClass() throws Exception {
+        mockMvc = MockMvcBuilders.standaloneSetup(new LessonChangeControllerRest(changeServiceMock)).build();
+    }
+
+    @Test
+    void testGetChanges() throws Exception {
+        LessonChangesDto changes = new LessonChangesDto();
+        changes.setToken(12);
+        changes.setDeletedLessonIds(Arrays.asList(4, 7));
+        when(changeServiceMock.findChangesSince(10L)).thenReturn(changes);
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/timetables/changes").param("since", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token", is(12)))
+                .andExpect(jsonPath("$.more", is(false)))
+                .andExpect(jsonPath("$.deletedLessonIds[1]", is(7)));
+    }
+
+    @Test
+    void testGetChangesWhenTokenExpired() throws Exception {
+        when(changeServiceMock.findChangesSince(1L)).thenThrow(new InvalidTokenException("tokenexpired"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/timetables/changes").param("since", "1"))
+                .andExpect(status().isGone());
+    }
+}
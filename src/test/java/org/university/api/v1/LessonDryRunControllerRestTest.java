@@ -0,0 +1,70 @@
+package org.university.api.v1;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.university.dto.DryRunReportDto;
+import org.university.dto.LessonChangeDto;
+import org.university.dto.LessonChangeDto.Operation;
+import org.university.dto.LessonDto;
+import org.university.service.LessonDryRunService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(Lifecycle.PER_CLASS)
+class LessonDryRunControllerRestTest {
+
+    private MockMvc mockMvc;
+
+    private ObjectMapper mapper;
+
+    @Mock
+    private LessonDryRunService dryRunServiceMock;
+
+    @BeforeEach
+    public void setUpBeforeClass() throws Exception {
+        mapper = new ObjectMapper();
+        mockMvc = MockMvcBuilders.standaloneSetup(new LessonDryRunControllerRest(dryRunServiceMock)).build();
+    }
+
+    @Test
+    void testValidate() throws Exception {
+        LessonDto lesson = new LessonDto();
+        lesson.setId(1);
+        LessonChangeDto change = new LessonChangeDto();
+        change.setOperation(Operation.DELETE);
+        change.setLesson(lesson);
+        List<LessonChangeDto> changes = Arrays.asList(change);
+        DryRunReportDto report = new DryRunReportDto();
+        report.setChecked(1);
+        report.addViolation(1, "lessonnotexist");
+        when(dryRunServiceMock.validate(changes)).thenReturn(report);
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post("/api/v1/timetables/dryrun")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(changes));
+        ResultActions result = mockMvc.perform(request);
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid", is(false)))
+                .andExpect(jsonPath("$.violations[0].message", is("lessonnotexist")));
+    }
+}
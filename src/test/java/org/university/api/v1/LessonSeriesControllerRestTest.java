@@ -0,0 +1,156 @@
+package org.university.api.v1;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.HashSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.university.dto.LessonSeriesDto;
+import org.university.entity.LessonSeries;
+import org.university.exceptions.ClassroomBusyException;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.service.LessonSeriesService;
+import org.university.utils.CreatorTestEntities;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(Lifecycle.PER_CLASS)
+class LessonSeriesControllerRestTest {
+
+    private MockMvc mockMvc;
+
+    private ObjectMapper mapper;
+
+    @Mock
+    private LessonSeriesService seriesServiceMock;
+
+    @BeforeEach
+    public void setUpBeforeClass() throws Exception {
+        mapper = new ObjectMapper();
+        mockMvc = MockMvcBuilders.standaloneSetup(new LessonSeriesControllerRest(seriesServiceMock)).build();
+    }
+
+    @Test
+    void testAddSeries() throws Exception {
+        LessonSeriesDto seriesDto = createSeriesDto();
+        LessonSeries series = LessonSeries.builder()
+                .withId(1)
+                .withCourse(CreatorTestEntities.createCourses().get(0))
+                .withStartLesson(LocalDateTime.of(2021, Month.NOVEMBER, 1, 10, 0))
+                .withEndLesson(LocalDateTime.of(2021, Month.NOVEMBER, 1, 12, 0))
+                .withUntilDate(LocalDate.of(2021, Month.NOVEMBER, 29))
+                .withIntervalWeeks(1)
+                .withExceptionDates(new HashSet<>())
+                .build();
+        when(seriesServiceMock.addSeries(seriesDto)).thenReturn(series);
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post("/api/v1/timetables/series")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(seriesDto));
+        ResultActions result = mockMvc.perform(request);
+        result.andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.intervalWeeks", is(1)));
+    }
+
+    @Test
+    void testAddSeriesWhenOccurrenceBusy() throws Exception {
+        LessonSeriesDto seriesDto = createSeriesDto();
+        when(seriesServiceMock.addSeries(seriesDto)).thenThrow(new ClassroomBusyException("classroombusy"));
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post("/api/v1/timetables/series")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(seriesDto));
+        ResultActions result = mockMvc.perform(request);
+        result.andExpect(exception -> assertEquals(
+                exception.getResolvedException().getMessage(), "400 BAD_REQUEST \"classroombusy\""))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testAddSeriesWhenSeriesTooLong() throws Exception {
+        LessonSeriesDto seriesDto = createSeriesDto();
+        seriesDto.setUntilDate("2099-12-31");
+        when(seriesServiceMock.addSeries(seriesDto)).thenThrow(new InvalidLessonTimeException("invaliduntil"));
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post("/api/v1/timetables/series")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(seriesDto));
+        ResultActions result = mockMvc.perform(request);
+        result.andExpect(exception -> assertEquals(
+                exception.getResolvedException().getMessage(), "400 BAD_REQUEST \"invaliduntil\""))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testAddSeriesWhenInputInvalid() throws Exception {
+        LessonSeriesDto seriesDto = createSeriesDto();
+        seriesDto.setUntilDate(null);
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post("/api/v1/timetables/series")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(seriesDto));
+        mockMvc.perform(request).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testEditSeries() throws Exception {
+        LessonSeriesDto seriesDto = createSeriesDto();
+        seriesDto.setId(1);
+        seriesDto.setEditFrom("2021-11-15");
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.patch("/api/v1/timetables/series")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(seriesDto));
+        mockMvc.perform(request).andExpect(status().isOk());
+        verify(seriesServiceMock).editSeries(seriesDto);
+    }
+
+    @Test
+    void testEditSeriesWhenTeacherBusy() throws Exception {
+        LessonSeriesDto seriesDto = createSeriesDto();
+        seriesDto.setId(1);
+        doThrow(new InvalidLessonTimeException("groupteacherbusy")).when(seriesServiceMock).editSeries(seriesDto);
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.patch("/api/v1/timetables/series")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(seriesDto));
+        ResultActions result = mockMvc.perform(request);
+        result.andExpect(exception -> assertEquals(
+                exception.getResolvedException().getMessage(), "400 BAD_REQUEST \"groupteacherbusy\""))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static LessonSeriesDto createSeriesDto() {
+        LessonSeriesDto seriesDto = new LessonSeriesDto();
+        seriesDto.setCourseName("Law");
+        seriesDto.setTeacherEmail("Bob@mail.ru");
+        seriesDto.setGroupName("AB-22");
+        seriesDto.setClassroomNumber(1);
+        seriesDto.setStartLesson("2021-11-01T10:00");
+        seriesDto.setEndLesson("2021-11-01T12:00");
+        seriesDto.setUntilDate("2021-11-29");
+        seriesDto.setOnlineLesson(false);
+        return seriesDto;
+    }
+}
@@ -2,26 +2,39 @@ package org.university.api.v1;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.TestInstance.Lifecycle;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -30,9 +43,17 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.university.dto.GroupDto;
 import org.university.dto.UserDto;
 import org.university.entity.DayTimetable;
-import org.university.entity.Lesson;
+import org.university.entity.LessonView;
+import org.university.entity.TimetableScope;
 import org.university.service.DayTimetableService;
+import org.university.service.TimetableExportService;
+import org.university.service.cache.ArtifactCache;
+import org.university.service.cache.ReferenceResolver;
+import org.university.service.cache.ResourceVersions;
+import org.university.service.export.TimetableExport;
+import org.university.service.readmodel.TimetableReadModel;
 import org.university.utils.CreatorTestEntities;
+import org.university.utils.FileSender;
 import org.university.utils.PDFDataGenerator;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -55,12 +76,22 @@ class PDFControllerRestTest {
     @Mock
     private DayTimetableService timetableServiceMock;
 
+    @Mock
+    private TimetableExportService exportServiceMock;
+
+    @Mock
+    private ArtifactCache artifactCacheMock;
+
     private PDFControllerRest pdfController;
 
+    @TempDir
+    Path directory;
+
     @BeforeEach
     public void setUpBeforeClass() throws Exception {
         mapper = new ObjectMapper();
-        pdfController = new PDFControllerRest(timetableServiceMock, new PDFDataGenerator());
+        pdfController = new PDFControllerRest(timetableServiceMock, new PDFDataGenerator(), exportServiceMock,
+                artifactCacheMock, new FileSender());
         mockMvc = MockMvcBuilders.standaloneSetup(pdfController).build();
     }
 
@@ -68,7 +99,7 @@ class PDFControllerRestTest {
     void testCreateWeekGroupTimetablePDF() throws Exception {
         GroupDto groupDto = new GroupDto();
         groupDto.setName("test group week name");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
         when(timetableServiceMock.createWeekGroupTimetable(LocalDate.now(), "test group week name"))
@@ -95,7 +126,7 @@ class PDFControllerRestTest {
     void testCreateMonthGroupTimetablePDF() throws Exception {
         GroupDto groupDto = new GroupDto();
         groupDto.setName("test group mounth name");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         lessons.remove(2);
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
@@ -123,7 +154,7 @@ class PDFControllerRestTest {
         UserDto teacher = new UserDto();
         teacher.setName("test teacher week name");
         teacher.setEmail("test email");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
         when(timetableServiceMock.createWeekTeacherTimetable(LocalDate.now(), "test email")).thenReturn(timetables);
@@ -150,7 +181,7 @@ class PDFControllerRestTest {
         UserDto teacher = new UserDto();
         teacher.setName("test teacher month name");
         teacher.setEmail("test email");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         lessons.remove(2);
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
@@ -175,7 +206,8 @@ class PDFControllerRestTest {
     @Test
     void testCreateWeekGroupTimetablePDFWhenIOException() throws Exception {
         PDFDataGenerator dataGeneratorMock = Mockito.spy(PDFDataGenerator.class);
-        PDFControllerRest pdfController = new PDFControllerRest(timetableServiceMock, dataGeneratorMock);
+        PDFControllerRest pdfController = new PDFControllerRest(timetableServiceMock, dataGeneratorMock,
+                exportServiceMock, artifactCacheMock, new FileSender());
         mockMvc = MockMvcBuilders.standaloneSetup(pdfController).build();
         willAnswer(invocation -> {
             throw new IOException();
@@ -186,7 +218,7 @@ class PDFControllerRestTest {
         PDFControllerLogger.addAppender(listAppender);
         GroupDto groupDto = new GroupDto();
         groupDto.setName("test group week name");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
         when(timetableServiceMock.createWeekGroupTimetable(LocalDate.now(), "test group week name"))
@@ -203,4 +235,60 @@ class PDFControllerRestTest {
         assertEquals("File creation failed!", logsList.get(0).getMessage());
         assertEquals(Level.ERROR, logsList.get(0).getLevel());
     }
+
+    @Test
+    void testCreateWeekGroupTimetablePDFWhenRenderedBefore() throws Exception {
+        ReferenceResolver resolverMock = Mockito.mock(ReferenceResolver.class);
+        when(resolverMock.findGroupId("AB-22")).thenReturn(Optional.of(1));
+        ArtifactCache artifactCache = new ArtifactCache(new ResourceVersions(Mockito.mock(TimetableReadModel.class)),
+                resolverMock, directory, 1024 * 1024);
+        mockMvc = MockMvcBuilders.standaloneSetup(new PDFControllerRest(timetableServiceMock, new PDFDataGenerator(),
+                exportServiceMock, artifactCache, new FileSender())).build();
+        GroupDto groupDto = new GroupDto();
+        groupDto.setName("AB-22");
+        List<DayTimetable> timetables = new ArrayList<>();
+        timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), CreatorTestEntities.createLessonViews()));
+        when(timetableServiceMock.createWeekGroupTimetable(LocalDate.now(), "AB-22")).thenReturn(timetables);
+        MvcResult rendered = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/pdf/weekgroup")
+                .contentType(MediaType.APPLICATION_JSON).content(mapper.writeValueAsString(groupDto)))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/pdf"))
+                .andReturn();
+        String tag = rendered.getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/pdf/weekgroup").contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(groupDto)).header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/pdf/weekgroup").contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(groupDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, tag))
+                .andExpect(MockMvcResultMatchers.content()
+                        .bytes(rendered.getResponse().getContentAsByteArray()));
+        assertThat(tag).matches("\"[0-9a-f]{64}\"");
+        verify(timetableServiceMock, times(1)).createWeekGroupTimetable(LocalDate.now(), "AB-22");
+    }
+
+    @Test
+    void exportTeacherTimetablePDFShouldStreamExportOfTeacherInRequestedSemester() throws Exception {
+        TimetableExport export = new TimetableExport(TimetableScope.TEACHER, 1, "Bob Moren",
+                LocalDate.of(2022, 2, 1), LocalDate.of(2022, 6, 30));
+        when(exportServiceMock.findTeacherExport("Bob@mail.ru", LocalDate.of(2022, 2, 1), LocalDate.of(2022, 6, 30)))
+                .thenReturn(export);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("%PDF-".getBytes());
+            return null;
+        }).when(exportServiceMock).writePdf(eq(export), any(OutputStream.class));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/pdf/teacher/Bob@mail.ru").param("semester", "spring-2022"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/pdf"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=Bob Moren timetable.pdf"))
+                .andExpect(MockMvcResultMatchers.content().string("%PDF-"));
+    }
+
+    @Test
+    void exportGroupTimetablePDFShouldReturnBadRequestWhenSemesterUnknown() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/pdf/group/AB-22").param("semester", "winter-2021"))
+                .andExpect(status().isBadRequest());
+        verify(exportServiceMock, never()).writePdf(any(), any());
+    }
 }
@@ -4,6 +4,7 @@ import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -11,7 +12,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,7 +34,9 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.university.controller.GlobalExceptionHandler;
+import org.university.dto.ImportReportDto;
 import org.university.dto.StudentDto;
+import org.university.dto.UserDto;
 import org.university.entity.Course;
 import org.university.entity.Student;
 import org.university.exceptions.EmailExistException;
@@ -40,7 +45,10 @@ import org.university.exceptions.InvalidPhotoException;
 import org.university.service.CourseService;
 import org.university.service.PhotoService;
 import org.university.service.StudentService;
+import org.university.service.UserImportService;
+import org.university.utils.CSVDataReader;
 import org.university.utils.CreatorTestEntities;
+import org.university.utils.JSONDataReader;
 import org.university.utils.Sex;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -62,12 +70,16 @@ class StudentControllerRestTest {
     @Mock
     private PhotoService photoServiceMock;
 
+    @Mock
+    private UserImportService importServiceMock;
+
     private StudentControllerRest studentController;
 
     @BeforeEach
     public void setUpBeforeClass() throws Exception {
         mapper = new ObjectMapper();
-        studentController = new StudentControllerRest(studentServiceMock, courseServiceMock, photoServiceMock);
+        studentController = new StudentControllerRest(studentServiceMock, courseServiceMock, photoServiceMock,
+                importServiceMock, new CSVDataReader(), new JSONDataReader(mapper));
         mockMvc = MockMvcBuilders.standaloneSetup(studentController)
                 .setControllerAdvice(new GlobalExceptionHandler())
                 .build();
@@ -374,4 +386,41 @@ class StudentControllerRestTest {
             String contentType) {
         return new MockMultipartFile(requetsPart, filename, contentType, originalContent.getBytes());
     }
+
+    @Test
+    void importStudentsCsvShouldPassRowsOfFileToImportService() throws Exception {
+        List<UserDto> students = new ArrayList<>();
+        when(importServiceMock.importStudents(any(), any())).thenAnswer(invocation -> {
+            invocation.getArgument(0, Iterator.class).forEachRemaining(student -> students.add((UserDto) student));
+            ImportReportDto report = new ImportReportDto();
+            report.setImported(students.size());
+            return report;
+        });
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/students/import").contentType("text/csv")
+                .locale(Locale.ENGLISH)
+                .content("name,email,phone,password,sex\nJohn Smith,Smith@email.ru,89758657788,secret,MALE\n"
+                        + "Kate Smith,Kate@email.ru,89758657789,secret,FEMALE\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(2)));
+        assertEquals("Smith@email.ru", students.get(0).getEmail());
+        assertEquals(Sex.FEMALE, students.get(1).getSex());
+        assertEquals("89758657789", students.get(1).getPhone());
+    }
+
+    @Test
+    void importStudentsShouldPassElementsOfJsonArrayToImportService() throws Exception {
+        List<UserDto> students = new ArrayList<>();
+        when(importServiceMock.importStudents(any(), any())).thenAnswer(invocation -> {
+            invocation.getArgument(0, Iterator.class).forEachRemaining(student -> students.add((UserDto) student));
+            return new ImportReportDto();
+        });
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/students/import")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"name\":\"John Smith\",\"email\":\"Smith@email.ru\",\"sex\":\"MALE\"},"
+                        + "{\"name\":\"Kate Smith\",\"email\":\"Kate@email.ru\"}]"))
+                .andExpect(status().isOk());
+        assertEquals(2, students.size());
+        assertEquals("Kate Smith", students.get(1).getName());
+        assertEquals(Sex.MALE, students.get(0).getSex());
+    }
 }
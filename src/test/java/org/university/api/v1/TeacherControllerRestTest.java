@@ -4,6 +4,7 @@ import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -11,6 +12,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import org.hamcrest.Matchers;
@@ -31,13 +33,17 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.university.controller.GlobalExceptionHandler;
+import org.university.dto.ImportReportDto;
 import org.university.dto.UserDto;
 import org.university.entity.Teacher;
 import org.university.exceptions.EmailExistException;
 import org.university.exceptions.InvalidPhotoException;
 import org.university.service.PhotoService;
 import org.university.service.TeacherService;
+import org.university.service.UserImportService;
+import org.university.utils.CSVDataReader;
 import org.university.utils.CreatorTestEntities;
+import org.university.utils.JSONDataReader;
 import org.university.utils.Sex;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -56,12 +62,16 @@ class TeacherControllerRestTest {
     @Mock
     private PhotoService photoServiceMock;
 
+    @Mock
+    private UserImportService importServiceMock;
+
     private TeacherControllerRest teacherController;
 
     @BeforeEach
     public void setUpBeforeClass() throws Exception {
         mapper = new ObjectMapper();
-        teacherController = new TeacherControllerRest(teacherServiceMock, photoServiceMock);
+        teacherController = new TeacherControllerRest(teacherServiceMock, photoServiceMock, importServiceMock,
+                new CSVDataReader(), new JSONDataReader(mapper));
         mockMvc = MockMvcBuilders.standaloneSetup(teacherController).setControllerAdvice(new GlobalExceptionHandler())
                 .build();
     }
@@ -306,4 +316,19 @@ class TeacherControllerRestTest {
             String contentType) {
         return new MockMultipartFile(requetsPart, filename, contentType, originalContent.getBytes());
     }
+
+    @Test
+    void importTeachersShouldReturnBadRequestWhenJsonIsNotArray() throws Exception {
+        when(importServiceMock.importTeachers(any(), any())).thenAnswer(invocation -> {
+            invocation.getArgument(0, Iterator.class).forEachRemaining(teacher -> {
+            });
+            return new ImportReportDto();
+        });
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/teachers/import").contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"name\":\"Bob\"}, 5]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/teachers/import").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Bob\"}"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,43 @@
+package org.university.api.v1;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.university.dto.CacheStatsDto;
+import org.university.service.cache.TimetableCache;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(Lifecycle.PER_CLASS)
+class TimetableCacheControllerRestTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private TimetableCache cacheMock;
+
+    @BeforeEach
+    public void setUpBeforeClass() throws Exception {
+        mockMvc = MockMvcBuilders.standaloneSetup(new TimetableCacheControllerRest(cacheMock)).build();
+    }
+
+    @Test
+    void testGetStats() throws Exception {
+        when(cacheMock.getStats()).thenReturn(new CacheStatsDto(3, 1, 0, 2, 5, 2000));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/timetables/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits", is(3)))
+                .andExpect(jsonPath("$.hitRatio", is(0.75)));
+    }
+}
@@ -5,16 +5,23 @@ import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.Month;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import java.util.Optional;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,6 +30,7 @@ import org.junit.jupiter.api.TestInstance.Lifecycle;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -32,15 +40,22 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.university.dto.DayTimetableDto;
+import org.university.dto.ImportReportDto;
 import org.university.dto.LessonDto;
 import org.university.entity.DayTimetable;
-import org.university.entity.Lesson;
+import org.university.entity.LessonSlot;
+import org.university.entity.LessonView;
+import org.university.entity.TimetableScope;
 import org.university.exceptions.ClassroomBusyException;
 import org.university.exceptions.InvalidClassroomCapacityException;
 import org.university.exceptions.InvalidLessonTimeException;
 import org.university.exceptions.InvalidLinkException;
 import org.university.service.DayTimetableService;
+import org.university.service.LessonImportService;
 import org.university.service.LessonService;
+import org.university.service.cache.ResourceVersions;
+import org.university.service.readmodel.TimetableReadModel;
+import org.university.utils.CSVDataReader;
 import org.university.utils.CreatorTestEntities;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -59,18 +74,29 @@ class TimetableControllerRestTest {
     @Mock
     private DayTimetableService timetableServiceMock;
 
+    @Mock
+    private LessonImportService importServiceMock;
+
+    @Mock
+    private TimetableReadModel readModelMock;
+
     private TimetableControllerRest timetableController;
 
+    private ResourceVersions versions;
+
     @BeforeEach
     public void setUpBeforeClass() throws Exception {
         mapper = new ObjectMapper();
-        timetableController = new TimetableControllerRest(timetableServiceMock, lessonServiceMock);
+        versions = new ResourceVersions(readModelMock,
+                Clock.fixed(Instant.parse("2021-10-19T10:00:00Z"), ZoneOffset.UTC));
+        timetableController = new TimetableControllerRest(timetableServiceMock, lessonServiceMock, importServiceMock,
+                new CSVDataReader(), versions);
         mockMvc = MockMvcBuilders.standaloneSetup(timetableController).build();
     }
 
     @Test
     void testGetTimetable() throws Exception {        
-        List<Lesson> lessons = CreatorTestEntities.createLessons();        
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();        
         DayTimetable timetable = new DayTimetable(LocalDate.now(), lessons);
         when(timetableServiceMock.createDayTimetable(LocalDate.now())).thenReturn(timetable);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get("/api/v1/timetables")
@@ -88,7 +114,7 @@ class TimetableControllerRestTest {
     void testGetTimetableOnDay() throws Exception {
         DayTimetableDto timetableDto = new DayTimetableDto();
         timetableDto.setDay("2020-10-20");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         DayTimetable timetable = new DayTimetable(LocalDate.parse("2020-10-20"), lessons);
         when(timetableServiceMock.createDayTimetable(LocalDate.of(2020, Month.OCTOBER, 20))).thenReturn(timetable);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get("/api/v1/timetables/date")
@@ -123,7 +149,7 @@ class TimetableControllerRestTest {
         DayTimetableDto timetableDto = new DayTimetableDto();
         timetableDto.setDay("2020-10-20");
         timetableDto.setGroupName("Test");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         DayTimetable timetable = new DayTimetable(LocalDate.parse("2020-10-20"), lessons);
         when(timetableServiceMock.createGroupTimetable(LocalDate.of(2020, Month.OCTOBER, 20), "Test"))
                 .thenReturn(timetable);
@@ -156,7 +182,7 @@ class TimetableControllerRestTest {
 
     @Test
     void testCreateWeekGroupTimetable() throws Exception {
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
         when(timetableServiceMock.createWeekGroupTimetable(LocalDate.now(), "test")).thenReturn(timetables);
@@ -171,9 +197,94 @@ class TimetableControllerRestTest {
                 .andExpect(jsonPath("$[0].lessons[2].id", is(3)));
     }
 
+    @Test
+    void testCreateWeekGroupTimetableWhenDateGiven() throws Exception {
+        List<DayTimetable> timetables = new ArrayList<>();
+        timetables.add(new DayTimetable(LocalDate.parse("2021-10-19"), CreatorTestEntities.createLessonViews()));
+        when(timetableServiceMock.createWeekGroupTimetable(LocalDate.parse("2021-10-19"), "test"))
+                .thenReturn(timetables);
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .get("/api/v1/timetables/weekgroup/test?date=2021-10-19").contentType(MediaType.APPLICATION_JSON);
+        ResultActions result = mockMvc.perform(request);
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$", Matchers.hasSize(1)))
+                .andExpect(jsonPath("$[0].lessons[0].id", is(1)));
+    }
+
+    @Test
+    void testCreateTimetableForRange() throws Exception {
+        List<DayTimetable> timetables = new ArrayList<>();
+        timetables.add(new DayTimetable(LocalDate.parse("2021-10-19"), CreatorTestEntities.createLessonViews()));
+        when(timetableServiceMock.createTimetable(TimetableScope.GROUP, 1, LocalDate.parse("2021-10-18"),
+                LocalDate.parse("2021-10-24"))).thenReturn(timetables);
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .get("/api/v1/timetables/range?scope=GROUP&id=1&from=2021-10-18&to=2021-10-24")
+                .contentType(MediaType.APPLICATION_JSON);
+        ResultActions result = mockMvc.perform(request);
+        result.andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", Matchers.hasSize(1)))
+                .andExpect(jsonPath("$[0].lessons[2].id", is(3)));
+    }
+
+    @Test
+    void testCreateTimetableForRangeWhenRangeInvalid() throws Exception {
+        when(timetableServiceMock.createTimetable(TimetableScope.ALL, null, LocalDate.parse("2021-10-24"),
+                LocalDate.parse("2021-10-18"))).thenThrow(new InvalidLessonTimeException("invalidrange"));
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .get("/api/v1/timetables/range?scope=ALL&from=2021-10-24&to=2021-10-18")
+                .contentType(MediaType.APPLICATION_JSON);
+        ResultActions result = mockMvc.perform(request);
+        result.andExpect(exception -> assertEquals(exception.getResolvedException().getMessage(),
+                "400 BAD_REQUEST \"invalidrange\""))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testCreateWeekGroupTimetableWhenTimetableNotModified() throws Exception {
+        when(readModelMock.findGroupId("test")).thenReturn(Optional.of(1));
+        when(timetableServiceMock.createWeekGroupTimetable(LocalDate.parse("2021-10-19"), "test"))
+                .thenReturn(new ArrayList<>());
+        String tag = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/timetables/weekgroup/test?date=2021-10-19"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/timetables/weekgroup/test?date=2021-10-21")
+                .header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isNotModified());
+        verify(timetableServiceMock, times(1)).createWeekGroupTimetable(LocalDate.parse("2021-10-19"), "test");
+    }
+
+    @Test
+    void testCreateWeekGroupTimetableWhenLessonOfGroupChanged() throws Exception {
+        when(readModelMock.findGroupId("test")).thenReturn(Optional.of(1));
+        when(timetableServiceMock.createWeekGroupTimetable(LocalDate.parse("2021-10-19"), "test"))
+                .thenReturn(new ArrayList<>());
+        String tag = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/timetables/weekgroup/test?date=2021-10-19"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        versions.bump(new LessonSlot(1, LocalDateTime.parse("2021-10-20T10:00"),
+                LocalDateTime.parse("2021-10-20T12:00"), 1, 1, 1));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/timetables/weekgroup/test?date=2021-10-19")
+                .header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testCreateMonthTeacherTimetableWhenOtherMonthRequested() throws Exception {
+        when(readModelMock.findTeacherId("test")).thenReturn(Optional.of(1));
+        when(timetableServiceMock.createMonthTeacherTimetable(LocalDate.parse("2021-10-19"), "test"))
+                .thenReturn(new ArrayList<>());
+        when(timetableServiceMock.createMonthTeacherTimetable(LocalDate.parse("2021-11-19"), "test"))
+                .thenReturn(new ArrayList<>());
+        String tag = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/timetables/monthteacher/test?date=2021-10-19"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/timetables/monthteacher/test?date=2021-11-19")
+                .header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void testCreateMonthGroupTimetable() throws Exception {
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
         when(timetableServiceMock.createMonthGroupTimetable(LocalDate.now(), "test")).thenReturn(timetables);
@@ -193,7 +304,7 @@ class TimetableControllerRestTest {
         DayTimetableDto timetableDto = new DayTimetableDto();
         timetableDto.setDay("2020-10-20");
         timetableDto.setTeacherEmail("Test");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         DayTimetable timetable = new DayTimetable(LocalDate.parse("2020-10-20"), lessons);
         when(timetableServiceMock.createTeacherTimetable(LocalDate.of(2020, Month.OCTOBER, 20), "Test"))
                 .thenReturn(timetable);
@@ -227,7 +338,7 @@ class TimetableControllerRestTest {
 
     @Test
     void testCreateWeekTeacherTimetable() throws Exception {
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
         when(timetableServiceMock.createWeekTeacherTimetable(LocalDate.now(), "test")).thenReturn(timetables);
@@ -244,7 +355,7 @@ class TimetableControllerRestTest {
 
     @Test
     void testCreateMonthTeacherTimetable() throws Exception {
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
         when(timetableServiceMock.createMonthTeacherTimetable(LocalDate.now(), "test")).thenReturn(timetables);
@@ -469,4 +580,59 @@ class TimetableControllerRestTest {
                 exception.getResolvedException().getMessage(), "400 BAD_REQUEST \"Message about invalid link!\""))                
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void testImportLessonsWhenInputJson() throws Exception {
+        LessonDto lesson = new LessonDto();
+        lesson.setCourseName("Law");
+        lesson.setStartLesson("2021-10-20T10:00");
+        lesson.setEndLesson("2021-10-20T12:00");
+        ImportReportDto report = new ImportReportDto();
+        report.setImported(1);
+        when(importServiceMock.importLessons(Arrays.asList(lesson))).thenReturn(report);
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post("/api/v1/timetables/import")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(Arrays.asList(lesson)));
+        ResultActions result = mockMvc.perform(request);
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)));
+    }
+
+    @Test
+    void testImportLessonsWhenInputCsv() throws Exception {
+        LessonDto lesson = new LessonDto();
+        lesson.setCourseName("Law");
+        lesson.setTeacherEmail("Bob@mail.ru");
+        lesson.setGroupName("AB-22");
+        lesson.setStartLesson("2021-10-20T10:00");
+        lesson.setEndLesson("2021-10-20T12:00");
+        lesson.setClassroomNumber(1);
+        lesson.setOnlineLesson(false);
+        ImportReportDto report = new ImportReportDto();
+        report.addError(1, "groupteacherbusy");
+        when(importServiceMock.importLessons(Arrays.asList(lesson))).thenReturn(report);
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post("/api/v1/timetables/import")
+                .contentType("text/csv")
+                .accept(MediaType.APPLICATION_JSON)
+                .content("courseName,teacherEmail,groupName,startLesson,endLesson,classroomNumber,onlineLesson\n"
+                        + "Law,Bob@mail.ru,AB-22,2021-10-20T10:00,2021-10-20T12:00,1,false\n");
+        ResultActions result = mockMvc.perform(request);
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(0)))
+                .andExpect(jsonPath("$.errors[0].row", is(1)))
+                .andExpect(jsonPath("$.errors[0].message", is("groupteacherbusy")));
+    }
+
+    @Test
+    void testImportLessonsWhenInputCsvInvalid() throws Exception {
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post("/api/v1/timetables/import")
+                .contentType("text/csv")
+                .accept(MediaType.APPLICATION_JSON)
+                .content("courseName,classroomNumber\nLaw,first\n");
+        ResultActions result = mockMvc.perform(request);
+        result.andExpect(exception -> assertEquals(
+                exception.getResolvedException().getMessage(), "400 BAD_REQUEST \"invalidcsv\""))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,79 @@
+package org.university.api.v1;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.Writer;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.university.entity.TimetableScope;
+import org.university.exceptions.EntityNotExistException;
+import org.university.service.TimetableFeedService;
+import org.university.service.feed.TimetableFeed;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(Lifecycle.PER_CLASS)
+class TimetableFeedControllerRestTest {
+
+    private static final TimetableFeed FEED = new TimetableFeed(TimetableScope.GROUP, 1, "FR-33",
+            LocalDate.of(2021, 10, 1), LocalDate.of(2021, 10, 31), "W/\"range-1\"");
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private TimetableFeedService feedServiceMock;
+
+    @BeforeEach
+    public void setUpBeforeClass() throws Exception {
+        mockMvc = MockMvcBuilders.standaloneSetup(new TimetableFeedControllerRest(feedServiceMock)).build();
+    }
+
+    @Test
+    void testGetGroupFeed() throws Exception {
+        when(feedServiceMock.findGroupFeed("FR-33", LocalDate.of(2021, 10, 1), null)).thenReturn(FEED);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, Writer.class).write("BEGIN:VCALENDAR\r\n");
+            return null;
+        }).when(feedServiceMock).writeFeed(eq(FEED), any());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/ics/group/FR-33").param("from", "2021-10-01"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"range-1\""))
+                .andExpect(content().contentType("text/calendar;charset=UTF-8"))
+                .andExpect(content().string("BEGIN:VCALENDAR\r\n"));
+    }
+
+    @Test
+    void testGetGroupFeedWhenNotModified() throws Exception {
+        when(feedServiceMock.findGroupFeed("FR-33", null, null)).thenReturn(FEED);
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/ics/group/FR-33")
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"range-1\""))
+                .andExpect(status().isNotModified());
+        verify(feedServiceMock, never()).writeFeed(any(), any());
+    }
+
+    @Test
+    void testGetTeacherFeedWhenTeacherNotExists() throws Exception {
+        when(feedServiceMock.findTeacherFeed("ann@mail.ru", null, null))
+                .thenThrow(new EntityNotExistException("teachernotexist"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/ics/teacher/ann@mail.ru"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,103 @@
+package org.university.api.v1;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.university.dto.ImportReportDto;
+import org.university.dto.TimetableDemandDto;
+import org.university.dto.TimetableGenerationDto;
+import org.university.dto.TimetableGenerationReportDto;
+import org.university.exceptions.EntityNotExistException;
+import org.university.service.TimetableGeneratorService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(Lifecycle.PER_CLASS)
+class TimetableGeneratorControllerRestTest {
+
+    private MockMvc mockMvc;
+
+    private ObjectMapper mapper;
+
+    @Mock
+    private TimetableGeneratorService generatorServiceMock;
+
+    @BeforeEach
+    public void setUpBeforeClass() throws Exception {
+        mapper = new ObjectMapper();
+        mockMvc = MockMvcBuilders.standaloneSetup(new TimetableGeneratorControllerRest(generatorServiceMock))
+                .build();
+    }
+
+    @Test
+    void testGenerate() throws Exception {
+        TimetableGenerationDto generation = createGeneration();
+        TimetableGenerationReportDto report = new TimetableGenerationReportDto();
+        report.setPlacedLessons(2);
+        report.setImportReport(new ImportReportDto());
+        when(generatorServiceMock.generate(generation)).thenReturn(report);
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post("/api/v1/timetables/generate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(generation));
+        ResultActions result = mockMvc.perform(request);
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.placedLessons", is(2)))
+                .andExpect(jsonPath("$.unplacedLessons", is(0)));
+    }
+
+    @Test
+    void testGenerateWhenGroupNotExists() throws Exception {
+        TimetableGenerationDto generation = createGeneration();
+        when(generatorServiceMock.generate(generation)).thenThrow(new EntityNotExistException("groupnotexist"));
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post("/api/v1/timetables/generate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(generation));
+        ResultActions result = mockMvc.perform(request);
+        result.andExpect(exception -> assertEquals(
+                exception.getResolvedException().getMessage(), "400 BAD_REQUEST \"groupnotexist\""))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGenerateWhenDemandsEmpty() throws Exception {
+        TimetableGenerationDto generation = createGeneration();
+        generation.getDemands().clear();
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post("/api/v1/timetables/generate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(generation));
+        mockMvc.perform(request).andExpect(status().isBadRequest());
+    }
+
+    private static TimetableGenerationDto createGeneration() {
+        TimetableDemandDto demand = new TimetableDemandDto();
+        demand.setCourseName("Law");
+        demand.setGroupName("AB-22");
+        demand.setTeacherEmail("Bob@mail.ru");
+        demand.setHoursPerWeek(2);
+        TimetableGenerationDto generation = new TimetableGenerationDto();
+        generation.setWeekStart("2021-10-25");
+        generation.setDemands(new ArrayList<>(Arrays.asList(demand)));
+        return generation;
+    }
+}
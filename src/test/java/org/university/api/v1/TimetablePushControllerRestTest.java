@@ -0,0 +1,53 @@
+package org.university.api.v1;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.university.entity.TimetableScope;
+import org.university.exceptions.EntityNotExistException;
+import org.university.service.push.TimetablePushRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(Lifecycle.PER_CLASS)
+class TimetablePushControllerRestTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private TimetablePushRegistry pushRegistryMock;
+
+    @BeforeEach
+    public void setUpBeforeClass() throws Exception {
+        mockMvc = MockMvcBuilders.standaloneSetup(new TimetablePushControllerRest(pushRegistryMock)).build();
+    }
+
+    @Test
+    void testSubscribe() throws Exception {
+        when(pushRegistryMock.subscribe(TimetableScope.GROUP, 2)).thenReturn(new SseEmitter());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/timetables/push").param("scope", "GROUP")
+                .param("id", "2"))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void testSubscribeWhenGroupNotExists() throws Exception {
+        when(pushRegistryMock.subscribe(TimetableScope.GROUP, 9))
+                .thenThrow(new EntityNotExistException("groupnotexist"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/timetables/push").param("scope", "GROUP")
+                .param("id", "9"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,41 @@
+package org.university.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * H2 has no exclusion constraints, so the tests run the unique constraints of
+ * the same names from lessonsOverlapConstraintsH2.sql in their place.
+ */
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+@Import(LessonConstraintsInitializer.class)
+class LessonConstraintsInitializerTest {
+
+    private static final String CONSTRAINTS_QUERY = "SELECT CONSTRAINT_NAME FROM INFORMATION_SCHEMA.CONSTRAINTS "
+            + "WHERE TABLE_NAME = 'LESSONS'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LessonConstraintsInitializer initializer;
+
+    @Test
+    void runShouldAddConstraintsWhenLessonsTableCreatedOnEmptySchema() {
+        assertThat(jdbcTemplate.queryForList(CONSTRAINTS_QUERY, String.class)).contains("LESSONS_TEACHER_OVERLAP",
+                "LESSONS_GROUP_OVERLAP", "LESSONS_CLASSROOM_OVERLAP");
+    }
+
+    @Test
+    void runShouldKeepConstraintsWhenRunAgain() throws Exception {
+        initializer.run(null);
+
+        assertThat(jdbcTemplate.queryForList(CONSTRAINTS_QUERY, String.class)).filteredOn(name -> name.endsWith("_OVERLAP"))
+                .hasSize(3);
+    }
+}
@@ -2,19 +2,33 @@ package org.university.controller;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.TestInstance.Lifecycle;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.LoggerFactory;
@@ -28,8 +42,19 @@ import org.university.dto.GroupDto;
 import org.university.dto.UserDto;
 import org.university.entity.DayTimetable;
 import org.university.entity.Lesson;
+import org.university.entity.LessonView;
+import org.university.entity.TimetableScope;
 import org.university.service.DayTimetableService;
+import org.university.service.TimetableExportService;
+import org.university.service.cache.Artifact;
+import org.university.service.cache.ArtifactCache;
+import org.university.service.cache.ArtifactKey;
+import org.university.service.cache.TimetableKey.Period;
+import org.university.service.export.ExportFormat;
+import org.university.service.export.TimetableExport;
 import org.university.utils.CSVDataGenerator;
+import org.university.utils.FileLeases;
+import org.university.utils.FileSender;
 import org.university.utils.CreatorTestEntities;
 
 import ch.qos.logback.classic.Level;
@@ -46,11 +71,21 @@ class CSVControllerTest {
     @Mock
     private DayTimetableService timetableServiceMock;
 
+    @Mock
+    private TimetableExportService exportServiceMock;
+
+    @Mock
+    private ArtifactCache artifactCacheMock;
+
     private CSVController csvController;
 
+    @TempDir
+    Path directory;
+
     @BeforeEach
     public void setUpBeforeClass() throws Exception {
-        csvController = new CSVController(timetableServiceMock, new CSVDataGenerator());
+        csvController = new CSVController(timetableServiceMock, new CSVDataGenerator(), exportServiceMock,
+                artifactCacheMock, new FileSender());
         mockMvc = MockMvcBuilders.standaloneSetup(csvController).build();
     }
 
@@ -58,7 +93,7 @@ class CSVControllerTest {
     void createWeekGroupTimetableCSV() throws Exception {
         GroupDto groupDto = new GroupDto();
         groupDto.setName("test");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
         when(timetableServiceMock.createWeekGroupTimetable(LocalDate.now(), "test")).thenReturn(timetables);
@@ -80,7 +115,7 @@ class CSVControllerTest {
     void createMonthGroupTimetableCSV() throws Exception {
         GroupDto groupDto = new GroupDto();
         groupDto.setName("test");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         lessons.remove(2);
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
@@ -103,7 +138,7 @@ class CSVControllerTest {
         UserDto teacher = new UserDto();
         teacher.setName("test name");
         teacher.setEmail("test email");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
         when(timetableServiceMock.createWeekTeacherTimetable(LocalDate.now(), "test email")).thenReturn(timetables);
@@ -126,7 +161,7 @@ class CSVControllerTest {
         UserDto teacher = new UserDto();
         teacher.setName("test name");
         teacher.setEmail("test email");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         lessons.remove(2);
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
@@ -147,7 +182,8 @@ class CSVControllerTest {
     @Test
     void createWeekGroupTimetableCSVWhenIOException() throws Exception {
         CSVDataGenerator csvDataGeneratorMock = mock(CSVDataGenerator.class);
-        CSVController csvController = new CSVController(timetableServiceMock, csvDataGeneratorMock);
+        CSVController csvController = new CSVController(timetableServiceMock, csvDataGeneratorMock, exportServiceMock,
+                artifactCacheMock, new FileSender());
         mockMvc = MockMvcBuilders.standaloneSetup(csvController).build();
         Logger csvControllerLogger = (Logger) LoggerFactory.getLogger(CSVController.class);
         ListAppender<ILoggingEvent> listAppender = new ListAppender<>();
@@ -169,7 +205,8 @@ class CSVControllerTest {
     @Test
     void createWeekTeacherTimetableCSVWhenIOException() throws Exception {
         CSVDataGenerator csvDataGeneratorMock = mock(CSVDataGenerator.class);
-        CSVController csvController = new CSVController(timetableServiceMock, csvDataGeneratorMock);
+        CSVController csvController = new CSVController(timetableServiceMock, csvDataGeneratorMock, exportServiceMock,
+                artifactCacheMock, new FileSender());
         mockMvc = MockMvcBuilders.standaloneSetup(csvController).build();
         Logger csvControllerLogger = (Logger) LoggerFactory.getLogger(CSVController.class);
         ListAppender<ILoggingEvent> listAppender = new ListAppender<>();
@@ -188,4 +225,51 @@ class CSVControllerTest {
         assertEquals("File creation failed!", logsList.get(0).getMessage());
         assertEquals(Level.ERROR, logsList.get(0).getLevel());
     }
+
+    @Test
+    void createWeekGroupTimetableCSVWhenRenderedBefore() throws Exception {
+        GroupDto groupDto = new GroupDto();
+        groupDto.setName("test");
+        ArtifactKey key = new ArtifactKey(null, ExportFormat.CSV, "hash");
+        Path file = Files.write(directory.resolve("hash.csv"), "\"Date\"\n".getBytes(StandardCharsets.UTF_8));
+        when(artifactCacheMock.findGroupKey("test", Period.WEEK, LocalDate.now(), ExportFormat.CSV))
+                .thenReturn(Optional.of(key));
+        when(artifactCacheMock.get(eq(key), any())).thenReturn(new FileLeases(Duration.ZERO, Clock.systemUTC())
+                .acquire(file, new Artifact(key, file, 7, "digest")));
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post("/csv/weekgroup/").flashAttr("group",
+                groupDto);
+        mockMvc.perform(request).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(MockMvcResultMatchers.header().string("Content-Disposition",
+                        "attachment; filename=test timetable.csv"))
+                .andExpect(MockMvcResultMatchers.content().string("\"Date\"\n"));
+        verifyNoInteractions(timetableServiceMock);
+    }
+
+    @Test
+    void exportTeacherTimetableCSVShouldWriteExportOfTeacherInRequestedSemester() throws Exception {
+        UserDto teacher = new UserDto();
+        teacher.setEmail("Bob@mail.ru");
+        TimetableExport export = new TimetableExport(TimetableScope.TEACHER, 1, "Bob Moren", LocalDate.of(2021, 9, 1),
+                LocalDate.of(2022, 1, 31));
+        when(exportServiceMock.findTeacherExport("Bob@mail.ru", LocalDate.of(2021, 9, 1), LocalDate.of(2022, 1, 31)))
+                .thenReturn(export);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, Writer.class).write("\"Date\"\n");
+            return null;
+        }).when(exportServiceMock).writeCsv(eq(export), any(Writer.class));
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post("/csv/teacher").flashAttr("teacher",
+                teacher).param("semester", "autumn-2021");
+        mockMvc.perform(request).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("Content-Disposition",
+                        "attachment; filename=Bob Moren timetable.csv"))
+                .andExpect(MockMvcResultMatchers.content().string("\"Date\"\n"));
+    }
+
+    @Test
+    void exportUniversityTimetableCSVShouldReturnBadRequestWhenSemesterUnknown() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/csv/all").param("semester", "2021"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        verify(exportServiceMock, never()).writeCsv(any(), any());
+    }
 }
@@ -2,10 +2,14 @@ package org.university.controller;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -28,9 +32,14 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.university.dto.GroupDto;
 import org.university.dto.UserDto;
 import org.university.entity.DayTimetable;
-import org.university.entity.Lesson;
+import org.university.entity.LessonView;
+import org.university.entity.TimetableScope;
 import org.university.service.DayTimetableService;
+import org.university.service.TimetableExportService;
+import org.university.service.cache.ArtifactCache;
+import org.university.service.export.TimetableExport;
 import org.university.utils.CreatorTestEntities;
+import org.university.utils.FileSender;
 import org.university.utils.PDFDataGenerator;
 
 import com.lowagie.text.pdf.PdfReader;
@@ -50,11 +59,18 @@ class PDFControllerTest {
     @Mock
     private DayTimetableService timetableServiceMock;
 
+    @Mock
+    private TimetableExportService exportServiceMock;
+
+    @Mock
+    private ArtifactCache artifactCacheMock;
+
     private PDFController pdfController;
 
     @BeforeEach
     public void setUpBeforeClass() throws Exception {
-        pdfController = new PDFController(timetableServiceMock, new PDFDataGenerator());
+        pdfController = new PDFController(timetableServiceMock, new PDFDataGenerator(), exportServiceMock,
+                artifactCacheMock, new FileSender());
         mockMvc = MockMvcBuilders.standaloneSetup(pdfController).build();
     }
 
@@ -62,7 +78,7 @@ class PDFControllerTest {
     void testCreateWeekGroupTimetablePDF() throws Exception {
         GroupDto groupDto = new GroupDto();
         groupDto.setName("test group week name");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
         when(timetableServiceMock.createWeekGroupTimetable(LocalDate.now(), "test group week name"))
@@ -86,7 +102,7 @@ class PDFControllerTest {
     void testCreateMonthGroupTimetablePDF() throws Exception {
         GroupDto groupDto = new GroupDto();
         groupDto.setName("test group mounth name");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         lessons.remove(2);
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
@@ -111,7 +127,7 @@ class PDFControllerTest {
         UserDto teacher = new UserDto();
         teacher.setName("test teacher week name");
         teacher.setEmail("test email");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
         when(timetableServiceMock.createWeekTeacherTimetable(LocalDate.now(), "test email")).thenReturn(timetables);
@@ -135,7 +151,7 @@ class PDFControllerTest {
         UserDto teacher = new UserDto();
         teacher.setName("test teacher month name");
         teacher.setEmail("test email");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         lessons.remove(2);
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
@@ -157,7 +173,8 @@ class PDFControllerTest {
     @Test
     void testCreateWeekGroupTimetablePDFWhenIOException() throws Exception {
         PDFDataGenerator dataGeneratorMock = Mockito.spy(PDFDataGenerator.class);
-        PDFController pdfController = new PDFController(timetableServiceMock, dataGeneratorMock);
+        PDFController pdfController = new PDFController(timetableServiceMock, dataGeneratorMock, exportServiceMock,
+                artifactCacheMock, new FileSender());
         mockMvc = MockMvcBuilders.standaloneSetup(pdfController).build();
         willAnswer(invocation -> {
             throw new IOException();
@@ -168,7 +185,7 @@ class PDFControllerTest {
         PDFControllerLogger.addAppender(listAppender);
         GroupDto groupDto = new GroupDto();
         groupDto.setName("test group week name");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
         when(timetableServiceMock.createWeekGroupTimetable(LocalDate.now(), "test group week name"))
@@ -180,4 +197,21 @@ class PDFControllerTest {
         assertEquals("File creation failed!", logsList.get(0).getMessage());
         assertEquals(Level.ERROR, logsList.get(0).getLevel());
     }
+
+    @Test
+    void exportGroupTimetablePDFShouldStreamExportOfGroupInRequestedRange() throws Exception {
+        GroupDto groupDto = new GroupDto();
+        groupDto.setName("AB-22");
+        TimetableExport export = new TimetableExport(TimetableScope.GROUP, 1, "AB-22", LocalDate.of(2021, 9, 1),
+                LocalDate.of(2021, 12, 31));
+        when(exportServiceMock.findGroupExport("AB-22", LocalDate.of(2021, 9, 1), LocalDate.of(2021, 12, 31)))
+                .thenReturn(export);
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post("/pdf/group").flashAttr("group", groupDto)
+                .param("from", "2021-09-01").param("to", "2021-12-31");
+        mockMvc.perform(request).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/pdf"))
+                .andExpect(MockMvcResultMatchers.header().string("Content-Disposition",
+                        "attachment; filename=AB-22 timetable.pdf"));
+        verify(exportServiceMock).writePdf(eq(export), any(OutputStream.class));
+    }
 }
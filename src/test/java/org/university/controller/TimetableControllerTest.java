@@ -30,7 +30,7 @@ import org.university.entity.Classroom;
 import org.university.entity.Course;
 import org.university.entity.DayTimetable;
 import org.university.entity.Group;
-import org.university.entity.Lesson;
+import org.university.entity.LessonView;
 import org.university.entity.Teacher;
 import org.university.exceptions.ClassroomBusyException;
 import org.university.exceptions.InvalidClassroomCapacityException;
@@ -79,7 +79,7 @@ class TimetableControllerTest {
 
     @Test
     void testGetTimetable() throws Exception {
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         DayTimetable timetable = new DayTimetable(LocalDate.now(), lessons);
         when(timetableServiceMock.createDayTimetable(LocalDate.now())).thenReturn(timetable);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get("/timetables/");
@@ -93,7 +93,7 @@ class TimetableControllerTest {
     void testGetTimetableOnDay() throws Exception {
         DayTimetableDto timetableDto = new DayTimetableDto();
         timetableDto.setDay("2020-10-20");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         DayTimetable timetable = new DayTimetable(LocalDate.parse("2020-10-20"), lessons);
         when(timetableServiceMock.createDayTimetable(LocalDate.of(2020, Month.OCTOBER, 20))).thenReturn(timetable);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post("/timetables/date/").flashAttr("timetable",
@@ -119,7 +119,7 @@ class TimetableControllerTest {
         DayTimetableDto timetableDto = new DayTimetableDto();
         timetableDto.setDay("2020-10-20");
         timetableDto.setGroupName("Test");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         DayTimetable timetable = new DayTimetable(LocalDate.parse("2020-10-20"), lessons);
         when(timetableServiceMock.createGroupTimetable(LocalDate.of(2020, Month.OCTOBER, 20), "Test"))
                 .thenReturn(timetable);
@@ -145,7 +145,7 @@ class TimetableControllerTest {
     void testCreateWeekGroupTimetable() throws Exception {
         GroupDto groupDto = new GroupDto();
         groupDto.setName("test");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
         when(timetableServiceMock.createWeekGroupTimetable(LocalDate.now(), "test")).thenReturn(timetables);
@@ -163,7 +163,7 @@ class TimetableControllerTest {
     void testCreateMonthGroupTimetable() throws Exception {
         GroupDto groupDto = new GroupDto();
         groupDto.setName("test");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
         when(timetableServiceMock.createMonthGroupTimetable(LocalDate.now(), "test")).thenReturn(timetables);
@@ -182,7 +182,7 @@ class TimetableControllerTest {
         DayTimetableDto timetableDto = new DayTimetableDto();
         timetableDto.setDay("2020-10-20");
         timetableDto.setTeacherEmail("Test");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         DayTimetable timetable = new DayTimetable(LocalDate.parse("2020-10-20"), lessons);
         when(timetableServiceMock.createTeacherTimetable(LocalDate.of(2020, Month.OCTOBER, 20), "Test"))
                 .thenReturn(timetable);
@@ -209,7 +209,7 @@ class TimetableControllerTest {
     void testCreateWeekTeacherTimetable() throws Exception {
         UserDto teacher = new UserDto();
         teacher.setEmail("test");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
         when(timetableServiceMock.createWeekTeacherTimetable(LocalDate.now(), "test")).thenReturn(timetables);
@@ -227,7 +227,7 @@ class TimetableControllerTest {
     void testCreateMonthTeacherTimetable() throws Exception {
         UserDto teacher = new UserDto();
         teacher.setEmail("test");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         List<DayTimetable> timetables = new ArrayList<>();
         timetables.add(new DayTimetable(LocalDate.parse("2020-10-20"), lessons));
         when(timetableServiceMock.createMonthTeacherTimetable(LocalDate.now(), "test")).thenReturn(timetables);
@@ -246,7 +246,7 @@ class TimetableControllerTest {
         LessonDto lesson = new LessonDto();
         lesson.setStartLesson("2010-10-10T10:00");
         lesson.setEndLesson("2010-10-10T12:00");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         DayTimetable timetable = new DayTimetable(LocalDate.parse("2010-10-10"), lessons);
         when(timetableServiceMock.createDayTimetable(LocalDate.of(2010, Month.OCTOBER, 10))).thenReturn(timetable);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post("/timetables/").flashAttr("lesson", lesson);
@@ -323,7 +323,7 @@ class TimetableControllerTest {
     void testDeleteLesson() throws Exception {
         LessonDto lesson = new LessonDto();
         lesson.setStartLesson("2010-10-10T10:00");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         DayTimetable timetable = new DayTimetable(LocalDate.parse("2010-10-10"), lessons);
         when(timetableServiceMock.createDayTimetable(LocalDate.of(2010, Month.OCTOBER, 10))).thenReturn(timetable);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders.delete("/timetables/").flashAttr("lesson",
@@ -393,7 +393,7 @@ class TimetableControllerTest {
         LessonDto lesson = new LessonDto();
         lesson.setStartLesson("2010-10-10T10:00");
         lesson.setEndLesson("2010-10-10T12:00");
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         DayTimetable timetable = new DayTimetable(LocalDate.parse("2010-10-10"), lessons);
         when(timetableServiceMock.createDayTimetable(LocalDate.of(2010, Month.OCTOBER, 10))).thenReturn(timetable);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders.patch("/timetables/").flashAttr("lesson",
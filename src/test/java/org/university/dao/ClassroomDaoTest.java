@@ -2,10 +2,13 @@ package org.university.dao;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Arrays;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.university.entity.Classroom;
+import org.university.entity.ReferenceId;
 import org.university.utils.CreatorTestEntities;
 
 @DataJpaTest
@@ -69,4 +72,22 @@ class ClassroomDaoTest {
         classroomDao.save(updatedClassroom);
         assertThat(classroomDao.findById(1).get()).isEqualTo(updatedClassroom);
     }
+
+    @Test
+    void findAllByNumberInShouldReturnClassroomsWithInputNumbers() {
+        assertThat(classroomDao.findAllByNumberIn(Arrays.asList(2, 25)))
+                .containsExactly(CreatorTestEntities.createClassrooms().get(1));
+    }
+
+    @Test
+    void findAllByCapacityGreaterThanEqualOrderByCapacityAscNumberAscShouldReturnClassroomsFittingInputCapacity() {
+        assertThat(classroomDao.findAllByCapacityGreaterThanEqualOrderByCapacityAscNumberAsc(12))
+                .containsExactly(CreatorTestEntities.createClassrooms().get(1));
+    }
+
+    @Test
+    void findAllReferenceIdsShouldReturnNumberAndIdOfEveryClassroom() {
+        assertThat(classroomDao.findAllReferenceIds()).containsExactlyInAnyOrder(new ReferenceId(1, 1),
+                new ReferenceId(2, 2));
+    }
 }
@@ -2,6 +2,8 @@ package org.university.dao;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Arrays;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -68,4 +70,10 @@ class CourseDaoTest {
         assertThat(courseDao.findById(1).get()).isEqualTo(updatedCourse);
     }
 
+    @Test
+    void findAllByNameInShouldReturnCoursesWithInputNames() {
+        assertThat(courseDao.findAllByNameIn(Arrays.asList("Law", "Art", "History")))
+                .containsExactlyInAnyOrder(CreatorTestEntities.createCourses().get(0),
+                        CreatorTestEntities.createCourses().get(2));
+    }
 }
@@ -2,10 +2,13 @@ package org.university.dao;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Arrays;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.university.entity.Group;
+import org.university.entity.ReferenceId;
 import org.university.entity.Student;
 import org.university.utils.CreatorTestEntities;
 
@@ -72,4 +75,16 @@ class GroupDaoTest {
         groupDao.save(groupWithoutStudent);        
         assertThat(groupDao.findById(2).get()).isEqualTo(groupWithoutStudent);
     }
+
+    @Test
+    void findAllByNameInShouldReturnGroupsWithStudentsWhenInputExistentNames() {
+        assertThat(groupDao.findAllByNameIn(Arrays.asList("AB-22", "FR-33")))
+                .containsExactlyInAnyOrderElementsOf(CreatorTestEntities.createGroups());
+    }
+
+    @Test
+    void findAllReferenceIdsShouldReturnNameAndIdOfEveryGroup() {
+        assertThat(groupDao.findAllReferenceIds()).containsExactlyInAnyOrder(new ReferenceId("AB-22", 1),
+                new ReferenceId("FR-33", 2));
+    }
 }
@@ -0,0 +1,74 @@
+package org.university.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.university.entity.LessonChange;
+
+@DataJpaTest
+class LessonChangeDaoTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2021, Month.OCTOBER, 19, 12, 0);
+
+    @Autowired
+    private LessonChangeDao changeDao;
+
+    private long firstId;
+
+    @BeforeEach
+    void init() {
+        firstId = changeDao.saveAll(Arrays.asList(createChange(1, NOW.minusDays(40)),
+                createChange(2, NOW.minusDays(35)), createChange(3, NOW.minusMinutes(1)), createChange(1, NOW)))
+                .get(0).getId();
+        changeDao.flush();
+    }
+
+    @Test
+    void findAllSealedAfterShouldReturnNothingBeforeChangesSealed() {
+        assertThat(changeDao.findAllSealedAfter(0, PageRequest.of(0, 10))).isEmpty();
+        assertThat(changeDao.findFirstUnsealedId()).isEqualTo(firstId);
+    }
+
+    @Test
+    void sealFromShouldNumberUnsealedChangesFromOffsetInIdOrder() {
+        changeDao.lockForSealing(1L);
+        assertThat(changeDao.sealFrom(firstId + 1, 10 - firstId)).isEqualTo(3);
+        assertThat(changeDao.findAllSealedAfter(0, PageRequest.of(0, 10))).extracting(LessonChange::getPosition)
+                .containsExactly(11L, 12L, 13L);
+        assertThat(changeDao.findFirstUnsealedId()).isEqualTo(firstId);
+        assertThat(changeDao.findLastPosition()).isEqualTo(13L);
+    }
+
+    @Test
+    void findAllSealedAfterShouldReturnChangesAfterTokenOrderedByPosition() {
+        changeDao.sealFrom(firstId, 1 - firstId);
+        assertThat(changeDao.findAllSealedAfter(1, PageRequest.of(0, 10))).extracting(LessonChange::getLessonId)
+                .containsExactly(2, 3, 1);
+    }
+
+    @Test
+    void findAllSealedAfterShouldReturnNoMoreThanPageSize() {
+        changeDao.sealFrom(firstId, 1 - firstId);
+        assertThat(changeDao.findAllSealedAfter(0, PageRequest.of(0, 2))).hasSize(2);
+    }
+
+    @Test
+    void deleteAllOlderThanShouldKeepRecentChanges() {
+        changeDao.sealFrom(firstId, 1 - firstId);
+        assertThat(changeDao.deleteAllOlderThan(NOW.minusDays(30), changeDao.findLastPosition())).isEqualTo(2);
+        assertThat(changeDao.findFirstPosition()).isEqualTo(3L);
+    }
+
+    private static LessonChange createChange(int lessonId, LocalDateTime changedAt) {
+        return LessonChange.builder().withLessonId(lessonId).withType(LessonChange.Type.CREATED)
+                .withChangedAt(changedAt).build();
+    }
+}
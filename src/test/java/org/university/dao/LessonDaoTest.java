@@ -2,15 +2,23 @@ package org.university.dao;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.university.entity.Lesson;
+import org.university.entity.LessonSeries;
+import org.university.entity.LessonSlot;
+import org.university.entity.LessonView;
 import org.university.utils.CreatorTestEntities;
 
 @DataJpaTest
@@ -19,6 +27,9 @@ class LessonDaoTest {
     @Autowired
     private LessonDao lessonDao;
 
+    @Autowired
+    private LessonSeriesDao seriesDao;
+
     @Test
     void saveShouldSaveLessonWhenInputValidLesson() {
         Lesson lesson = CreatorTestEntities.createTestLesson();
@@ -213,6 +224,20 @@ class LessonDaoTest {
         return monthLessons;
     }
 
+    @Test
+    void findAllSlotsShouldReturnSlotOfEveryLesson() {
+        List<LessonSlot> slots = lessonDao.findAllSlots();
+        assertThat(slots).hasSize(9).contains(LessonSlot.of(CreatorTestEntities.createLessons().get(0)),
+                LessonSlot.of(CreatorTestEntities.createLessons().get(1)));
+    }
+
+    @Test
+    void findAllSlotsByIdInShouldReturnSlotsOfExistingLessons() {
+        assertThat(lessonDao.findAllSlotsByIdIn(Arrays.asList(2, 3, 100))).containsExactlyInAnyOrder(
+                LessonSlot.of(CreatorTestEntities.createLessons().get(1)),
+                LessonSlot.of(CreatorTestEntities.createLessons().get(2)));
+    }
+
     private List<Lesson> createTestWeekLessons() {
         List<Lesson> weekLessons = new ArrayList<>();
         Lesson lesson = Lesson.builder()
@@ -240,4 +265,171 @@ class LessonDaoTest {
         weekLessons.add(lesson);
         return weekLessons;
     }
+
+    @Test
+    void findAllSlotsOverlappingShouldReturnSlotsOfInputResourcesInInputPeriod() {
+        assertThat(lessonDao.findAllSlotsOverlapping(LocalDateTime.of(2021, Month.OCTOBER, 19, 0, 0),
+                LocalDateTime.of(2021, Month.OCTOBER, 19, 23, 0), 2, 2, 2)).containsExactlyInAnyOrder(
+                        LessonSlot.of(CreatorTestEntities.createLessons().get(1)),
+                        LessonSlot.of(CreatorTestEntities.createLessons().get(2)));
+    }
+
+    @Test
+    void findAllSlotsOverlappingShouldReturnEmptyListWhenResourcesFreeInInputPeriod() {
+        assertThat(lessonDao.findAllSlotsOverlapping(LocalDateTime.of(2021, Month.OCTOBER, 20, 0, 0),
+                LocalDateTime.of(2021, Month.OCTOBER, 20, 23, 0), 2, 2, 2)).isEmpty();
+    }
+
+    @Test
+    void findAllSlotsOfSeriesFromShouldReturnOnlyLessonsStartingFromInputTime() {
+        LessonSeries series = seriesDao.save(createTestSeries(lessonDao.findById(1).get()));
+        Lesson first = lessonDao.save(createSeriesLesson(series, 1));
+        Lesson second = lessonDao.save(createSeriesLesson(series, 8));
+        assertThat(lessonDao.findAllSlotsOfSeriesFrom(series.getId(), LocalDateTime.of(2021, Month.NOVEMBER, 5, 0, 0)))
+                .containsExactly(LessonSlot.of(second)).doesNotContain(LessonSlot.of(first));
+    }
+
+    @Test
+    void updateSeriesFromShouldUpdateOnlyLessonsStartingFromInputTime() {
+        LessonSeries series = seriesDao.save(createTestSeries(lessonDao.findById(1).get()));
+        int firstId = lessonDao.save(createSeriesLesson(series, 1)).getId();
+        int secondId = lessonDao.save(createSeriesLesson(series, 8)).getId();
+        int updated = lessonDao.updateSeriesFrom(series.getId(), LocalDateTime.of(2021, Month.NOVEMBER, 5, 0, 0),
+                series.getCourse(), CreatorTestEntities.createTeachers().get(1), series.getGroup(),
+                series.getClassroom(), true, "new-link");
+        assertThat(updated).isEqualTo(1);
+        assertThat(lessonDao.findById(firstId).get().getTeacher()).isEqualTo(series.getTeacher());
+        Lesson second = lessonDao.findById(secondId).get();
+        assertThat(second.getTeacher()).isEqualTo(CreatorTestEntities.createTeachers().get(1));
+        assertThat(second.getLessonLink()).isEqualTo("new-link");
+    }
+
+    @Test
+    void deleteSeriesFromShouldDeleteOnlyLessonsStartingFromInputTime() {
+        LessonSeries series = seriesDao.save(createTestSeries(lessonDao.findById(1).get()));
+        int firstId = lessonDao.save(createSeriesLesson(series, 1)).getId();
+        int secondId = lessonDao.save(createSeriesLesson(series, 8)).getId();
+        int deleted = lessonDao.deleteSeriesFrom(series.getId(), LocalDateTime.of(2021, Month.NOVEMBER, 5, 0, 0));
+        assertThat(deleted).isEqualTo(1);
+        assertThat(lessonDao.findAllSlotsOfSeriesFrom(series.getId(), LocalDateTime.of(2021, Month.NOVEMBER, 1, 0, 0)))
+                .extracting(LessonSlot::getId).containsExactly(firstId).doesNotContain(secondId);
+    }
+
+    @Test
+    void findAllIdsMatchingShouldReturnLessonsOfInputGroupStartingInInputPeriod() {
+        assertThat(lessonDao.findAllIdsMatching(LocalDateTime.of(2021, Month.OCTOBER, 19, 0, 0),
+                LocalDateTime.of(2021, Month.OCTOBER, 20, 0, 0), null, 2, null)).containsExactly(2, 3);
+    }
+
+    @Test
+    void findAllIdsMatchingShouldReturnAllLessonsOfInputTeacherWhenOnlyTeacherInput() {
+        assertThat(lessonDao.findAllIdsMatching(LocalDateTime.of(1970, Month.JANUARY, 1, 0, 0),
+                LocalDateTime.of(9999, Month.DECEMBER, 31, 0, 0), 2, null, null)).containsExactly(2, 3, 9);
+    }
+
+    @Test
+    void deleteAllByIdInShouldDeleteOnlyInputLessons() {
+        int deleted = lessonDao.deleteAllByIdIn(Arrays.asList(2, 3));
+        assertThat(deleted).isEqualTo(2);
+        assertThat(lessonDao.findAllIdsMatching(LocalDateTime.of(1970, Month.JANUARY, 1, 0, 0),
+                LocalDateTime.of(9999, Month.DECEMBER, 31, 0, 0), 2, null, null)).containsExactly(9);
+    }
+
+    @Test
+    void findAllViewsBetweenShouldReturnViewsOfLessonsStartingInInputPeriod() {
+        assertThat(lessonDao.findAllViewsBetween(LocalDateTime.of(2021, Month.OCTOBER, 19, 0, 0),
+                LocalDateTime.of(2021, Month.OCTOBER, 19, 23, 0))).isEqualTo(CreatorTestEntities.createLessonViews());
+    }
+
+    @Test
+    void findAllViewsOfTeacherBetweenShouldReturnOnlyViewsOfInputTeacher() {
+        assertThat(lessonDao.findAllViewsOfTeacherBetween(LocalDateTime.of(2021, Month.OCTOBER, 19, 0, 0),
+                LocalDateTime.of(2021, Month.OCTOBER, 19, 23, 0), 2)).extracting(LessonView::getId)
+                        .containsExactly(2, 3);
+    }
+
+    @Test
+    void findAllViewsOfGroupBetweenShouldReturnNamesAndClassroomOfLesson() {
+        LessonView view = lessonDao.findAllViewsOfGroupBetween(LocalDateTime.of(2021, Month.OCTOBER, 19, 0, 0),
+                LocalDateTime.of(2021, Month.OCTOBER, 19, 23, 0), 1).get(0);
+        assertThat(view).isEqualTo(LessonView.of(CreatorTestEntities.createLessons().get(0)));
+    }
+
+    @Test
+    void streamViewsOfGroupBetweenShouldReturnSameViewsAsListQuery() {
+        LocalDateTime from = LocalDateTime.of(2021, Month.OCTOBER, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2021, Month.OCTOBER, 31, 23, 0);
+        try (Stream<LessonView> views = lessonDao.streamViewsOfGroupBetween(from, to, 1)) {
+            assertThat(views.collect(Collectors.toList()))
+                    .isNotEmpty().isEqualTo(lessonDao.findAllViewsOfGroupBetween(from, to, 1));
+        }
+    }
+
+    @Test
+    void streamViewsBetweenShouldReturnViewsOfAllGroupsOrderedByStart() {
+        LocalDateTime from = LocalDateTime.of(2021, Month.OCTOBER, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2021, Month.OCTOBER, 31, 23, 0);
+        try (Stream<LessonView> views = lessonDao.streamViewsBetween(from, to)) {
+            assertThat(views.collect(Collectors.toList())).extracting(LessonView::getStartLesson).isSorted()
+                    .hasSameSizeAs(lessonDao.findAllByStartLessonBetweenOrderByStartLesson(from, to));
+        }
+    }
+
+    @Test
+    void streamViewsOfTeacherBetweenShouldReturnEmptyStreamWhenNoLessonsInRange() {
+        try (Stream<LessonView> views = lessonDao.streamViewsOfTeacherBetween(
+                LocalDateTime.of(2020, Month.OCTOBER, 1, 0, 0), LocalDateTime.of(2020, Month.OCTOBER, 31, 0, 0), 1)) {
+            assertThat(views).isEmpty();
+        }
+    }
+
+    @Test
+    void findAllViewsByIdInShouldReturnViewsOfExistingInputLessons() {
+        assertThat(lessonDao.findAllViewsByIdIn(Arrays.asList(2, 3, 100))).extracting(LessonView::getId)
+                .containsExactlyInAnyOrder(2, 3);
+    }
+
+    @Test
+    void findAllViewsReferencingShouldReturnViewsOfLessonsInInputClassroom() {
+        assertThat(lessonDao.findAllViewsReferencing(null, null, null, 2)).extracting(LessonView::getId)
+                .containsExactlyInAnyOrder(2, 3);
+    }
+
+    @Test
+    void findAllIdsReferencingShouldReturnIdsOfLessonsOfInputGroup() {
+        assertThat(lessonDao.findAllIdsReferencing(null, null, 2, null)).containsExactlyInAnyOrder(2, 3);
+    }
+
+    @Test
+    void findAllViewsShouldReturnViewOfEveryLesson() {
+        assertThat(lessonDao.findAllViews()).hasSize(9);
+    }
+
+    private static LessonSeries createTestSeries(Lesson savedLesson) {
+        return LessonSeries.builder()
+                .withCourse(savedLesson.getCourse())
+                .withTeacher(savedLesson.getTeacher())
+                .withGroup(savedLesson.getGroup())
+                .withClassroom(savedLesson.getClassroom())
+                .withStartLesson(LocalDateTime.of(2021, Month.NOVEMBER, 1, 10, 0))
+                .withEndLesson(LocalDateTime.of(2021, Month.NOVEMBER, 1, 12, 0))
+                .withUntilDate(LocalDate.of(2021, Month.NOVEMBER, 8))
+                .withIntervalWeeks(1)
+                .withExceptionDates(new HashSet<>())
+                .withOnlineLesson(false)
+                .build();
+    }
+
+    private static Lesson createSeriesLesson(LessonSeries series, int day) {
+        return Lesson.builder()
+                .withStartLesson(LocalDateTime.of(2021, Month.NOVEMBER, day, 10, 0))
+                .withEndLesson(LocalDateTime.of(2021, Month.NOVEMBER, day, 12, 0))
+                .withOnlineLesson(false)
+                .withCourse(series.getCourse())
+                .withTeacher(series.getTeacher())
+                .withGroup(series.getGroup())
+                .withClassroom(series.getClassroom())
+                .withSeriesId(series.getId())
+                .build();
+    }
 }
@@ -0,0 +1,46 @@
+package org.university.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.university.entity.LessonSeries;
+import org.university.utils.CreatorTestEntities;
+
+@DataJpaTest
+class LessonSeriesDaoTest {
+
+    @Autowired
+    private LessonSeriesDao seriesDao;
+
+    @Test
+    void saveShouldSaveSeriesWithExceptionDates() {
+        LessonSeries series = LessonSeries.builder()
+                .withCourse(CreatorTestEntities.createCourses().get(0))
+                .withTeacher(CreatorTestEntities.createTeachers().get(0))
+                .withGroup(CreatorTestEntities.createGroups().get(0))
+                .withClassroom(CreatorTestEntities.createClassrooms().get(0))
+                .withStartLesson(LocalDateTime.of(2021, Month.NOVEMBER, 1, 10, 0))
+                .withEndLesson(LocalDateTime.of(2021, Month.NOVEMBER, 1, 12, 0))
+                .withUntilDate(LocalDate.of(2021, Month.DECEMBER, 27))
+                .withIntervalWeeks(1)
+                .withExceptionDates(new HashSet<>(Arrays.asList(LocalDate.of(2021, Month.NOVEMBER, 15))))
+                .withOnlineLesson(false)
+                .build();
+        int id = seriesDao.saveAndFlush(series).getId();
+        assertThat(seriesDao.findById(id).get().getExceptionDates())
+                .containsExactly(LocalDate.of(2021, Month.NOVEMBER, 15));
+    }
+
+    @Test
+    void findByIdShouldReturnEmptyOptionalWhenInputIdNotExists() {
+        assertThat(seriesDao.findById(10)).isEmpty();
+    }
+}
@@ -0,0 +1,53 @@
+package org.university.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.university.entity.ReferenceChange;
+
+@DataJpaTest
+class ReferenceChangeDaoTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2021, Month.OCTOBER, 19, 12, 0);
+
+    @Autowired
+    private ReferenceChangeDao changeDao;
+
+    private long firstId;
+
+    @BeforeEach
+    void init() {
+        firstId = changeDao.saveAll(Arrays.asList(createChange("GROUP", NOW.minusDays(2)),
+                createChange("TEACHER", NOW.minusMinutes(1)), createChange("COURSE", NOW))).get(0).getId();
+        changeDao.flush();
+    }
+
+    @Test
+    void findAllByPositionGreaterThanShouldReturnOnlySealedChangesAfterPosition() {
+        changeDao.lockForSealing(1L);
+        changeDao.sealFrom(firstId + 1, 1 - firstId);
+        assertThat(changeDao.findAllByPositionGreaterThanOrderByPosition(0))
+                .extracting(ReferenceChange::getReference).containsExactly("TEACHER", "COURSE");
+        assertThat(changeDao.findFirstUnsealedId()).isEqualTo(firstId);
+        assertThat(changeDao.findLastPosition()).isEqualTo(3L);
+    }
+
+    @Test
+    void deleteAllOlderThanShouldKeepUnsealedChanges() {
+        changeDao.sealFrom(firstId + 1, 1 - firstId);
+        assertThat(changeDao.deleteAllOlderThan(NOW, changeDao.findLastPosition())).isEqualTo(1);
+        assertThat(changeDao.findAll()).extracting(ReferenceChange::getReference)
+                .containsExactlyInAnyOrder("GROUP", "COURSE");
+    }
+
+    private static ReferenceChange createChange(String reference, LocalDateTime changedAt) {
+        return ReferenceChange.builder().withReference(reference).withChangedAt(changedAt).build();
+    }
+}
@@ -2,6 +2,8 @@ package org.university.dao;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Arrays;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -95,4 +97,10 @@ class StudentDaoTest {
         studentDao.save(updatedStudent);
         assertThat(studentDao.findById(1).get()).isEqualTo(updatedStudent);
     }
+
+    @Test
+    void findAllRegisteredEmailsInShouldReturnEmailsOfStudentsAndTeachers() {
+        assertThat(studentDao.findAllRegisteredEmailsIn(Arrays.asList("Wood@email.ru", "Bob@mail.ru", "new@mail.ru")))
+                .containsExactlyInAnyOrder("Wood@email.ru", "Bob@mail.ru");
+    }
 }
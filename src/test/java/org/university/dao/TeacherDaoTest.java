@@ -2,6 +2,8 @@ package org.university.dao;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Arrays;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -95,4 +97,10 @@ class TeacherDaoTest {
         teacherDao.save(updatedTeacher);
         assertThat(teacherDao.findById(1).get()).isEqualTo(updatedTeacher);
     }
+
+    @Test
+    void findAllByEmailInShouldReturnTeachersWithInputEmails() {
+        assertThat(teacherDao.findAllByEmailIn(Arrays.asList("Ann@mail.ru", "notexist@mail.ru")))
+                .containsExactly(CreatorTestEntities.createTeachers().get(1));
+    }
 }
@@ -0,0 +1,176 @@
+package org.university.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.university.entity.LessonSlot;
+import org.university.service.cache.TimetableKey.Period;
+import org.university.service.event.ReferenceDataChangedEvent.Reference;
+import org.university.service.event.TimetableReferenceChangedEvent;
+import org.university.service.export.ExportFormat;
+import org.university.service.readmodel.TimetableReadModel;
+import org.university.utils.FileLeases;
+import org.university.utils.FileLeases.Lease;
+
+class ArtifactCacheTest {
+
+    private static final LocalDate WEDNESDAY = LocalDate.of(2021, Month.OCTOBER, 20);
+
+    @TempDir
+    Path directory;
+
+    private ResourceVersions versions;
+    private ArtifactCache cache;
+    private AtomicInteger renders;
+
+    @BeforeEach
+    void init() {
+        versions = new ResourceVersions(mock(TimetableReadModel.class),
+                Clock.fixed(Instant.parse("2021-10-18T08:00:00Z"), ZoneOffset.UTC));
+        ReferenceResolver resolverMock = mock(ReferenceResolver.class);
+        when(resolverMock.findGroupId("AB-22")).thenReturn(Optional.of(1));
+        when(resolverMock.findGroupId("FR-33")).thenReturn(Optional.of(2));
+        when(resolverMock.findTeacherId("Bob@mail.ru")).thenReturn(Optional.of(1));
+        cache = new ArtifactCache(versions, resolverMock, directory, 10,
+                new FileLeases(Duration.ZERO, Clock.systemUTC()));
+        renders = new AtomicInteger();
+    }
+
+    @Test
+    void getShouldRenderOnceAndTagArtifactWithDigestOfContent() throws IOException {
+        ArtifactKey key = findGroupKey("AB-22", Period.WEEK);
+        Artifact artifact = get(key, "abc");
+        Artifact cached = get(findGroupKey("AB-22", Period.WEEK), "def");
+        assertThat(renders.get()).isEqualTo(1);
+        assertThat(cached).isEqualTo(artifact);
+        assertThat(artifact.getFile()).hasContent("abc").hasFileName(key.getHash() + ".pdf");
+        assertThat(artifact.getETag())
+                .isEqualTo("\"ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad\"");
+    }
+
+    @Test
+    void findGroupKeyShouldReturnOtherKeyWhenLessonOfGroupChanged() {
+        ArtifactKey before = findGroupKey("AB-22", Period.MONTH);
+        ArtifactKey otherGroup = findGroupKey("FR-33", Period.MONTH);
+        versions.bump(createSlot(5, 1, WEDNESDAY.atTime(10, 0)));
+        assertThat(findGroupKey("AB-22", Period.MONTH).getHash()).isNotEqualTo(before.getHash());
+        assertThat(findGroupKey("FR-33", Period.MONTH)).isEqualTo(otherGroup);
+        assertThat(cache.findGroupKey("none", Period.MONTH, WEDNESDAY, ExportFormat.PDF)).isEmpty();
+    }
+
+    @Test
+    void findTeacherKeyShouldReturnOtherKeyForOtherFormatOrTitle() {
+        ArtifactKey key = cache.findTeacherKey("Bob@mail.ru", "Bob Moren", Period.WEEK, WEDNESDAY, ExportFormat.PDF)
+                .get();
+        assertThat(cache.findTeacherKey("Bob@mail.ru", "Bob", Period.WEEK, WEDNESDAY, ExportFormat.PDF).get()
+                .getHash()).isNotEqualTo(key.getHash());
+        assertThat(cache.findTeacherKey("Bob@mail.ru", "Bob Moren", Period.WEEK, WEDNESDAY, ExportFormat.CSV).get()
+                .getHash()).isNotEqualTo(key.getHash());
+    }
+
+    @Test
+    void getShouldEvictLeastRecentlyUsedArtifactsWhenTotalSizeExceedsLimit() throws IOException {
+        Artifact first = get(findGroupKey("AB-22", Period.WEEK), "1234");
+        Artifact second = get(findGroupKey("AB-22", Period.MONTH), "1234");
+        get(findGroupKey("AB-22", Period.WEEK), "1234");
+        Artifact third = get(findGroupKey("FR-33", Period.WEEK), "1234");
+        assertThat(second.getFile()).doesNotExist();
+        assertThat(first.getFile()).exists();
+        assertThat(third.getFile()).exists();
+        assertThat(cache.getTotalBytes()).isEqualTo(8);
+        get(findGroupKey("AB-22", Period.MONTH), "1234");
+        assertThat(renders.get()).isEqualTo(4);
+    }
+
+    @Test
+    void invalidateShouldDeleteOnlyArtifactsOfChangedScopeAndPeriod() throws IOException {
+        Artifact week = get(findGroupKey("AB-22", Period.WEEK), "1");
+        Artifact otherGroup = get(findGroupKey("FR-33", Period.WEEK), "2");
+        Artifact teacher = get(cache.findTeacherKey("Bob@mail.ru", "Bob Moren", Period.WEEK, WEDNESDAY,
+                ExportFormat.CSV).get(), "3");
+        cache.invalidate(createSlot(5, 1, WEDNESDAY.atTime(10, 0)));
+        assertThat(week.getFile()).doesNotExist();
+        assertThat(otherGroup.getFile()).exists();
+        assertThat(teacher.getFile()).exists();
+        cache.invalidate(createSlot(1, 3, WEDNESDAY.plusWeeks(1).atTime(10, 0)));
+        assertThat(teacher.getFile()).exists();
+        assertThat(cache.getTotalBytes()).isEqualTo(2);
+    }
+
+    @Test
+    void onReferenceChangedShouldDeleteAllArtifacts() throws IOException {
+        Artifact artifact = get(findGroupKey("AB-22", Period.WEEK), "1");
+        cache.onReferenceChanged(new TimetableReferenceChangedEvent(Reference.COURSE, 1));
+        assertThat(artifact.getFile()).doesNotExist();
+        assertThat(cache.getTotalBytes()).isZero();
+    }
+
+    @Test
+    void invalidateShouldDeleteArtifactBeingSentOnlyAfterLeaseClosed() throws IOException {
+        Lease<Artifact> lease = cache.get(findGroupKey("AB-22", Period.WEEK), output -> render(output, "1"));
+        cache.invalidate(createSlot(5, 1, WEDNESDAY.atTime(10, 0)));
+        cache.sweep();
+        assertThat(lease.get().getFile()).exists();
+        assertThat(cache.getTotalBytes()).isZero();
+        lease.close();
+        cache.sweep();
+        assertThat(lease.get().getFile()).doesNotExist();
+    }
+
+    @Test
+    void sweepShouldKeepFileRenderedAgainAfterDeletionPutOff() throws IOException {
+        ArtifactKey key = findGroupKey("AB-22", Period.WEEK);
+        Lease<Artifact> lease = cache.get(key, output -> render(output, "1"));
+        cache.clear();
+        Artifact artifact = get(key, "1");
+        lease.close();
+        cache.sweep();
+        assertThat(artifact.getFile()).hasContent("1");
+        assertThat(renders.get()).isEqualTo(2);
+    }
+
+    @Test
+    void clearDirectoryShouldDeleteFilesOfEarlierRun() throws IOException {
+        Path left = Files.write(directory.resolve("left.pdf"), new byte[] { 1 });
+        cache.clearDirectory();
+        assertThat(left).doesNotExist();
+    }
+
+    private Artifact get(ArtifactKey key, String content) throws IOException {
+        try (Lease<Artifact> lease = cache.get(key, output -> render(output, content))) {
+            return lease.get();
+        }
+    }
+
+    private ArtifactKey findGroupKey(String groupName, Period period) {
+        return cache.findGroupKey(groupName, period, WEDNESDAY, ExportFormat.PDF).get();
+    }
+
+    private void render(OutputStream output, String content) throws IOException {
+        renders.incrementAndGet();
+        output.write(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static LessonSlot createSlot(int teacherId, int groupId, LocalDateTime start) {
+        return new LessonSlot(1, start, start.plusHours(2), teacherId, groupId, 1);
+    }
+}
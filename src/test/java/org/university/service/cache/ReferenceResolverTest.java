@@ -0,0 +1,147 @@
+package org.university.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.university.dao.ClassroomDao;
+import org.university.dao.CourseDao;
+import org.university.dao.GroupDao;
+import org.university.dao.ReferenceChangeDao;
+import org.university.dao.TeacherDao;
+import org.university.entity.ReferenceChange;
+import org.university.entity.ReferenceId;
+import org.university.service.event.ReferenceDataChangedEvent;
+import org.university.service.event.ReferenceDataChangedEvent.Reference;
+import org.university.service.event.TimetableReferenceChangedEvent;
+import org.university.utils.CreatorTestEntities;
+
+class ReferenceResolverTest {
+
+    private CourseDao courseDaoMock;
+    private GroupDao groupDaoMock;
+    private TeacherDao teacherDaoMock;
+    private ClassroomDao classroomDaoMock;
+    private ReferenceChangeDao changeDaoMock;
+    private ReferenceResolver resolver;
+
+    @BeforeEach
+    void init() {
+        courseDaoMock = mock(CourseDao.class);
+        groupDaoMock = mock(GroupDao.class);
+        teacherDaoMock = mock(TeacherDao.class);
+        classroomDaoMock = mock(ClassroomDao.class);
+        changeDaoMock = mock(ReferenceChangeDao.class);
+        when(groupDaoMock.findAllReferenceIds()).thenReturn(Arrays.asList(new ReferenceId("AB-22", 1),
+                new ReferenceId("FR-33", 2)));
+        when(teacherDaoMock.findAllReferenceIds()).thenReturn(Collections.singletonList(
+                new ReferenceId("Bob@mail.ru", 1)));
+        when(changeDaoMock.findLastPosition()).thenReturn(7L);
+        resolver = new ReferenceResolver(courseDaoMock, groupDaoMock, teacherDaoMock, classroomDaoMock,
+                changeDaoMock, Clock.fixed(Instant.parse("2021-10-19T10:00:00Z"), ZoneOffset.UTC));
+        resolver.load();
+    }
+
+    @Test
+    void findGroupIdShouldNotQueryDatabaseWhenGroupLoadedAtStartup() {
+        assertThat(resolver.findGroupId("FR-33")).contains(2);
+        verify(groupDaoMock, never()).findByName(anyString());
+    }
+
+    @Test
+    void findTeacherIdShouldQueryDatabaseOnceWhenTeacherNotLoaded() {
+        when(teacherDaoMock.findByEmail("Ann@mail.ru"))
+                .thenReturn(Optional.of(CreatorTestEntities.createTeachers().get(1)));
+        resolver.findTeacherId("Ann@mail.ru");
+        assertThat(resolver.findTeacherId("Ann@mail.ru")).contains(CreatorTestEntities.createTeachers().get(1).getId());
+        verify(teacherDaoMock, times(1)).findByEmail("Ann@mail.ru");
+    }
+
+    @Test
+    void findCourseIdShouldReturnEmptyOptionalWhenCourseNotExists() {
+        when(courseDaoMock.findByName("Law")).thenReturn(Optional.empty());
+        assertThat(resolver.findCourseId("Law")).isEmpty();
+        assertThat(resolver.findCourseId(null)).isEmpty();
+    }
+
+    @Test
+    void findGroupIdShouldReturnEmptyOptionalWhenGroupRenamedAfterCommit() {
+        when(groupDaoMock.findAllReferenceIds()).thenReturn(Arrays.asList(new ReferenceId("AB-23", 1),
+                new ReferenceId("FR-33", 2)));
+        resolver.onReferenceDataChanged(new TimetableReferenceChangedEvent(Reference.GROUP, 1));
+        assertThat(resolver.findGroupId("AB-22")).isEmpty();
+        assertThat(resolver.findGroupId("AB-23")).contains(1);
+    }
+
+    @Test
+    void onReferenceDataChangedShouldNotReloadIdsWhenStudentsChanged() {
+        resolver.onReferenceDataChanged(new ReferenceDataChangedEvent(Reference.STUDENT));
+        verify(groupDaoMock, times(1)).findAllReferenceIds();
+        verify(teacherDaoMock, times(1)).findAllReferenceIds();
+    }
+
+    @Test
+    void pollChangesShouldReloadOnlyChangedReferencesWhenOtherNodeJournaledChanges() {
+        when(changeDaoMock.findAllByPositionGreaterThanOrderByPosition(7)).thenReturn(Arrays.asList(
+                createChange(8, Reference.TEACHER), createChange(9, Reference.TEACHER)));
+        when(teacherDaoMock.findAllReferenceIds()).thenReturn(new ArrayList<>());
+        resolver.pollChanges();
+        when(changeDaoMock.findAllByPositionGreaterThanOrderByPosition(9)).thenReturn(new ArrayList<>());
+        resolver.pollChanges();
+        verify(teacherDaoMock, times(2)).findAllReferenceIds();
+        verify(groupDaoMock, times(1)).findAllReferenceIds();
+        verify(changeDaoMock).findAllByPositionGreaterThanOrderByPosition(9);
+    }
+
+    @Test
+    void sealShouldNumberUnsealedEntriesAfterLastPosition() {
+        when(changeDaoMock.findFirstUnsealedId()).thenReturn(101L);
+        resolver.seal();
+        verify(changeDaoMock).lockForSealing(anyLong());
+        verify(changeDaoMock).sealFrom(101L, -93L);
+    }
+
+    @Test
+    void sealShouldDoNothingWhenAllEntriesSealed() {
+        when(changeDaoMock.findFirstUnsealedId()).thenReturn(null);
+        resolver.seal();
+        verify(changeDaoMock, never()).sealFrom(anyLong(), anyLong());
+    }
+
+    @Test
+    void recordChangeShouldJournalChangeWhenReferenceResolved() {
+        resolver.recordChange(new ReferenceDataChangedEvent(Reference.CLASSROOM));
+        resolver.recordChange(new ReferenceDataChangedEvent(Reference.STUDENT));
+        verify(changeDaoMock, times(1)).save(any(ReferenceChange.class));
+        verify(changeDaoMock).save(ReferenceChange.builder().withReference("CLASSROOM")
+                .withChangedAt(LocalDateTime.of(2021, 10, 19, 10, 0)).build());
+    }
+
+    @Test
+    void compactShouldDeleteJournalOlderThanDayWhenJournalNotEmpty() {
+        resolver.compact();
+        verify(changeDaoMock).deleteAllOlderThan(LocalDateTime.of(2021, 10, 18, 10, 0), 7L);
+    }
+
+    private static ReferenceChange createChange(long position, Reference reference) {
+        return ReferenceChange.builder().withId(position * 50).withPosition(position).withReference(reference.name())
+                .withChangedAt(LocalDateTime.of(2021, 10, 19, 9, 0)).build();
+    }
+}
@@ -0,0 +1,91 @@
+package org.university.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.university.entity.LessonSlot;
+import org.university.entity.TimetableScope;
+import org.university.service.event.ReferenceDataChangedEvent;
+import org.university.service.event.ReferenceDataChangedEvent.Reference;
+import org.university.service.event.TimetableReferenceChangedEvent;
+import org.university.service.readmodel.TimetableReadModel;
+
+class ResourceVersionsTest {
+
+    private static final TimetableKey GROUP_WEEK = TimetableKey.week(TimetableScope.GROUP, 1,
+            LocalDate.of(2021, 10, 19));
+
+    private ResourceVersions versions;
+
+    @BeforeEach
+    void init() {
+        versions = new ResourceVersions(mock(TimetableReadModel.class),
+                Clock.fixed(Instant.parse("2021-10-19T10:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @Test
+    void getTimetableTagShouldReturnSameTagWhenLessonOfOtherGroupChanged() {
+        String tag = versions.getTimetableTag(GROUP_WEEK);
+        versions.bump(createSlot(2, 2));
+        assertThat(versions.getTimetableTag(GROUP_WEEK)).isEqualTo(tag);
+    }
+
+    @Test
+    void getTimetableTagShouldReturnNewTagWhenLessonOfGroupChanged() {
+        String tag = versions.getTimetableTag(GROUP_WEEK);
+        versions.bump(createSlot(2, 1));
+        assertThat(versions.getTimetableTag(GROUP_WEEK)).isNotEqualTo(tag);
+    }
+
+    @Test
+    void getTimetableTagShouldReturnNewTagWhenLessonReferenceEdited() {
+        String tag = versions.getTimetableTag(GROUP_WEEK);
+        versions.onReferenceDataChanged(new TimetableReferenceChangedEvent(Reference.CLASSROOM, 5));
+        assertThat(versions.getTimetableTag(GROUP_WEEK)).isNotEqualTo(tag);
+    }
+
+    @Test
+    void getRangeTagShouldReturnNewTagWhenLessonOfTeacherChanged() {
+        LocalDate from = LocalDate.of(2021, 10, 1);
+        LocalDate to = LocalDate.of(2021, 12, 31);
+        String tag = versions.getRangeTag(TimetableScope.TEACHER, 1, from, to);
+        versions.bump(createSlot(1, 2));
+        assertThat(versions.getRangeTag(TimetableScope.TEACHER, 1, from, to)).isNotEqualTo(tag)
+                .isNotEqualTo(versions.getRangeTag(TimetableScope.TEACHER, 1, from, to.plusDays(1)));
+    }
+
+    @Test
+    void getTimetableTagShouldReturnDifferentTagsForDifferentWeeks() {
+        assertThat(versions.getTimetableTag(GROUP_WEEK)).isNotEqualTo(versions.getTimetableTag(
+                TimetableKey.week(TimetableScope.GROUP, 1, LocalDate.of(2021, 10, 26))));
+    }
+
+    @Test
+    void getListingTagShouldReturnNewGroupTagWhenStudentChanged() {
+        String groupTag = versions.getListingTag(Reference.GROUP);
+        String classroomTag = versions.getListingTag(Reference.CLASSROOM);
+        versions.onReferenceDataChanged(new ReferenceDataChangedEvent(Reference.STUDENT));
+        assertThat(versions.getListingTag(Reference.GROUP)).isNotEqualTo(groupTag);
+        assertThat(versions.getListingTag(Reference.CLASSROOM)).isEqualTo(classroomTag);
+    }
+
+    @Test
+    void getListingTagShouldReturnDifferentTagWhenInstanceRestarted() {
+        ResourceVersions restarted = new ResourceVersions(mock(TimetableReadModel.class),
+                Clock.fixed(Instant.parse("2021-10-19T11:00:00Z"), ZoneOffset.UTC));
+        assertThat(restarted.getListingTag(Reference.COURSE)).isNotEqualTo(versions.getListingTag(Reference.COURSE));
+    }
+
+    private static LessonSlot createSlot(int teacherId, int groupId) {
+        return new LessonSlot(10, LocalDateTime.of(2021, 10, 20, 10, 0), LocalDateTime.of(2021, 10, 20, 12, 0),
+                teacherId, groupId, 1);
+    }
+}
@@ -0,0 +1,142 @@
+package org.university.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.university.dto.CacheStatsDto;
+import org.university.entity.LessonSlot;
+import org.university.entity.TimetableScope;
+import org.university.service.cache.TimetableKey.Period;
+
+class TimetableCacheTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2021, Month.OCTOBER, 18);
+
+    private MutableClock clock;
+    private TimetableCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void init() {
+        clock = new MutableClock(Instant.parse("2021-10-18T08:00:00Z"));
+        cache = new TimetableCache(3, Duration.ofMinutes(10), clock);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void getShouldLoadOnceAndCountHitsAndMisses() {
+        TimetableKey key = new TimetableKey(TimetableScope.GROUP, 1, Period.WEEK, MONDAY);
+        cache.get(key, loads::incrementAndGet);
+        cache.get(key, loads::incrementAndGet);
+        cache.get(key, loads::incrementAndGet);
+        CacheStatsDto stats = cache.getStats();
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(stats.getHits()).isEqualTo(2);
+        assertThat(stats.getMisses()).isEqualTo(1);
+        assertThat(stats.getHitRatio()).isEqualTo(2.0 / 3);
+    }
+
+    @Test
+    void getShouldEvictLeastRecentlyUsedEntryWhenCacheFull() {
+        TimetableKey first = new TimetableKey(TimetableScope.GROUP, 1, Period.DAY, MONDAY);
+        cache.get(first, loads::incrementAndGet);
+        cache.get(new TimetableKey(TimetableScope.GROUP, 2, Period.DAY, MONDAY), loads::incrementAndGet);
+        cache.get(new TimetableKey(TimetableScope.GROUP, 3, Period.DAY, MONDAY), loads::incrementAndGet);
+        cache.get(first, loads::incrementAndGet);
+        TimetableKey second = new TimetableKey(TimetableScope.GROUP, 2, Period.DAY, MONDAY);
+        cache.get(new TimetableKey(TimetableScope.GROUP, 4, Period.DAY, MONDAY), loads::incrementAndGet);
+        cache.get(second, loads::incrementAndGet);
+        assertThat(loads.get()).isEqualTo(5);
+        assertThat(cache.getStats().getEvictions()).isEqualTo(2);
+        assertThat(cache.getStats().getSize()).isEqualTo(3);
+    }
+
+    @Test
+    void getShouldReloadWhenEntryOlderThanMaxAge() {
+        TimetableKey key = new TimetableKey(TimetableScope.ALL, null, Period.DAY, MONDAY);
+        cache.get(key, loads::incrementAndGet);
+        clock.advance(Duration.ofMinutes(11));
+        cache.get(key, loads::incrementAndGet);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void getShouldNotCacheValueLoadedWhileLessonChanged() {
+        TimetableKey key = new TimetableKey(TimetableScope.GROUP, 1, Period.WEEK, MONDAY);
+        cache.get(key, () -> {
+            cache.invalidate(createSlot(5, 1, LocalDateTime.of(2021, Month.OCTOBER, 20, 10, 0)));
+            return loads.incrementAndGet();
+        });
+        cache.get(key, loads::incrementAndGet);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidateShouldDropEntriesOfLessonGroupTeacherAndAllScopeInLessonPeriod() {
+        LocalDateTime start = LocalDateTime.of(2021, Month.OCTOBER, 20, 10, 0);
+        TimetableKey groupWeek = new TimetableKey(TimetableScope.GROUP, 1, Period.WEEK, MONDAY);
+        TimetableKey teacherMonth = new TimetableKey(TimetableScope.TEACHER, 5, Period.MONTH, MONDAY.withDayOfMonth(1));
+        TimetableKey allDay = new TimetableKey(TimetableScope.ALL, null, Period.DAY, start.toLocalDate());
+        cache.get(groupWeek, loads::incrementAndGet);
+        cache.get(teacherMonth, loads::incrementAndGet);
+        cache.get(allDay, loads::incrementAndGet);
+        cache.invalidate(createSlot(5, 1, start));
+        assertThat(cache.getStats().getSize()).isZero();
+        assertThat(cache.getStats().getInvalidations()).isEqualTo(3);
+    }
+
+    @Test
+    void invalidateShouldKeepEntriesOfOtherGroupsAndOtherPeriods() {
+        TimetableKey otherGroup = new TimetableKey(TimetableScope.GROUP, 2, Period.WEEK, MONDAY);
+        TimetableKey otherWeek = new TimetableKey(TimetableScope.GROUP, 1, Period.WEEK, MONDAY.plusWeeks(1));
+        TimetableKey otherDay = new TimetableKey(TimetableScope.ALL, null, Period.DAY, MONDAY);
+        cache.get(otherGroup, loads::incrementAndGet);
+        cache.get(otherWeek, loads::incrementAndGet);
+        cache.get(otherDay, loads::incrementAndGet);
+        cache.invalidate(createSlot(5, 1, LocalDateTime.of(2021, Month.OCTOBER, 20, 10, 0)));
+        assertThat(cache.getStats().getSize()).isEqualTo(3);
+    }
+
+    private static LessonSlot createSlot(int teacherId, int groupId, LocalDateTime start) {
+        return new LessonSlot(1, start, start.plusHours(2), teacherId, groupId, 1);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.university.service.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.university.exceptions.InvalidLessonTimeException;
+
+class ExportRangeTest {
+
+    @Test
+    void ofShouldReturnGivenDatesWhenSemesterNotGiven() {
+        assertThat(ExportRange.of(LocalDate.of(2021, 9, 1), LocalDate.of(2021, 9, 30), null))
+                .isEqualTo(new ExportRange(LocalDate.of(2021, 9, 1), LocalDate.of(2021, 9, 30)));
+    }
+
+    @Test
+    void ofShouldReturnDaysOfAutumnSemesterUntilEndOfJanuary() {
+        assertThat(ExportRange.of(null, null, "Autumn-2021"))
+                .isEqualTo(new ExportRange(LocalDate.of(2021, 9, 1), LocalDate.of(2022, 1, 31)));
+    }
+
+    @Test
+    void ofShouldReturnDaysOfSpringSemester() {
+        assertThat(ExportRange.of(null, null, "spring-2022"))
+                .isEqualTo(new ExportRange(LocalDate.of(2022, 2, 1), LocalDate.of(2022, 6, 30)));
+    }
+
+    @Test
+    void ofShouldThrowInvalidLessonTimeExceptionWhenSemesterGivenWithDates() {
+        assertThatThrownBy(() -> ExportRange.of(LocalDate.of(2021, 9, 1), null, "autumn-2021"))
+                .isInstanceOf(InvalidLessonTimeException.class).hasMessage("invalidrange");
+    }
+
+    @Test
+    void ofShouldThrowInvalidLessonTimeExceptionWhenSemesterUnknown() {
+        assertThatThrownBy(() -> ExportRange.of(null, null, "summer-2021"))
+                .isInstanceOf(InvalidLessonTimeException.class).hasMessage("invalidsemester");
+    }
+}
@@ -0,0 +1,68 @@
+package org.university.service.feed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.university.entity.LessonView;
+
+class IcsWriterTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2021, 10, 19, 10, 0);
+
+    private StringWriter output;
+    private IcsWriter writer;
+
+    @BeforeEach
+    void init() {
+        output = new StringWriter();
+        writer = new IcsWriter(output, ZoneId.of("Asia/Krasnoyarsk"), START);
+    }
+
+    @Test
+    void writeShouldWriteEventInUtcWithEscapedText() throws IOException {
+        writer.write(createLesson("Law, civil; basics", false, null));
+        assertThat(output.toString()).contains("UID:lesson-1@departmentuniversity\r\n",
+                "DTSTART:20211019T030000Z\r\n", "DTEND:20211019T050000Z\r\n",
+                "SUMMARY:Law\\, civil\\; basics\r\n", "LOCATION:101\\, Main street\r\n",
+                "DESCRIPTION:Teacher: Ann\\nGroup: FR-33\r\n");
+    }
+
+    @Test
+    void writeShouldWriteLinkAsLocationWhenLessonOnline() throws IOException {
+        writer.write(createLesson("Law", true, "https://zoom.us/j/1"));
+        assertThat(output.toString()).contains("LOCATION:https://zoom.us/j/1\r\n", "URL:https://zoom.us/j/1\r\n");
+    }
+
+    @Test
+    void writeShouldFoldLinesLongerThanSeventyFiveOctets() throws IOException {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            name.append('ж');
+        }
+        writer.write(createLesson(name.toString(), false, null));
+        String summary = output.toString().substring(output.toString().indexOf("SUMMARY:"));
+        String firstLine = summary.substring(0, summary.indexOf("\r\n"));
+        assertThat(firstLine.getBytes("UTF-8").length).isLessThanOrEqualTo(75);
+        assertThat(summary).startsWith(firstLine + "\r\n " + "ж");
+        assertThat(summary.replace("\r\n ", "")).startsWith("SUMMARY:" + name + "\r\n");
+    }
+
+    @Test
+    void writeFooterShouldCloseCalendarOpenedByHeader() throws IOException {
+        writer.writeHeader("FR-33 timetable");
+        writer.writeFooter();
+        assertThat(output.toString()).startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n")
+                .contains("X-WR-CALNAME:FR-33 timetable\r\n").endsWith("END:VCALENDAR\r\n");
+    }
+
+    private static LessonView createLesson(String courseName, boolean online, String link) {
+        return new LessonView(1, START, START.plusHours(2), online, link, 1, courseName, 1, "Ann", "ann@mail.ru", 1,
+                "FR-33", 101, "Main street");
+    }
+}
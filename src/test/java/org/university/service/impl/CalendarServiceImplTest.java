@@ -1,11 +1,16 @@
 package org.university.service.impl;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.security.GeneralSecurityException;
+import java.util.Arrays;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -91,4 +96,44 @@ class CalendarServiceImplTest {
         verify(calendarEvents).update("testcalendarid", lessonId, expectedEvent);
         verify(calendarUpdate).execute();
     }
+
+    @Test
+    void createLessonsShouldInsertEventOfEveryLessonWhenOneInsertFailed() throws IOException {
+        ReflectionTestUtils.setField(calendarService, "calendarId", "testcalendarid");
+        ReflectionTestUtils.setField(calendarService, "timeZone", "Asia/Krasnoyarsk");
+        Events calendarEvents = mock(Events.class);
+        Insert calendarInsert = mock(Insert.class);
+        when(calendar.events()).thenReturn(calendarEvents);
+        when(calendarEvents.insert(eq("testcalendarid"), any(Event.class))).thenReturn(calendarInsert);
+        when(calendarInsert.execute()).thenThrow(new IOException()).thenReturn(new Event());
+        calendarService.createLessons(CreatorTestEntities.createLessons());
+        verify(calendarInsert, times(3)).execute();
+    }
+
+    @Test
+    void updateLessonsShouldUpdateEventOfEveryLessonWhenOneUpdateFailed() throws IOException {
+        ReflectionTestUtils.setField(calendarService, "calendarId", "testcalendarid");
+        ReflectionTestUtils.setField(calendarService, "timeZone", "Asia/Krasnoyarsk");
+        Events calendarEvents = mock(Events.class);
+        Update calendarUpdate = mock(Update.class);
+        when(calendar.events()).thenReturn(calendarEvents);
+        when(calendarEvents.update(eq("testcalendarid"), any(String.class), any(Event.class)))
+                .thenReturn(calendarUpdate);
+        when(calendarUpdate.execute()).thenThrow(new IOException()).thenReturn(new Event());
+        calendarService.updateLessons(CreatorTestEntities.createLessons());
+        verify(calendarUpdate, times(3)).execute();
+    }
+
+    @Test
+    void deleteLessonsShouldDeleteEventOfEveryLessonWhenOneDeleteFailed() throws IOException {
+        ReflectionTestUtils.setField(calendarService, "calendarId", "testcalendarid");
+        Events calendarEvents = mock(Events.class);
+        Delete calendarDelete = mock(Delete.class);
+        when(calendar.events()).thenReturn(calendarEvents);
+        when(calendarEvents.delete(eq("testcalendarid"), any(String.class))).thenReturn(calendarDelete);
+        doThrow(new IOException()).doNothing().when(calendarDelete).execute();
+        calendarService.deleteLessons(Arrays.asList(1, 2));
+        verify(calendarEvents).delete("testcalendarid", "lesson1");
+        verify(calendarEvents).delete("testcalendarid", "lesson2");
+    }
 }
@@ -12,11 +12,20 @@ import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 import org.university.dao.ClassroomDao;
+import org.university.dao.CourseDao;
+import org.university.dao.GroupDao;
+import org.university.dao.ReferenceChangeDao;
+import org.university.dao.TeacherDao;
 import org.university.dto.ClassroomDto;
 import org.university.entity.Classroom;
 import org.university.exceptions.EntityAlreadyExistException;
 import org.university.exceptions.EntityNotExistException;
+import org.university.service.LessonBulkDeleteService;
+import org.university.service.cache.ReferenceResolver;
+import org.university.service.event.ReferenceDataChangedEvent.Reference;
+import org.university.service.event.TimetableReferenceChangedEvent;
 import org.university.utils.CreatorTestEntities;
 
 class ClassroomServiceImplTest {
@@ -27,7 +36,7 @@ class ClassroomServiceImplTest {
     @BeforeAll
     static void init() {
         classroomDaoMock = createClassroomDaoMock();
-        classroomService = new ClassroomServiceImpl(classroomDaoMock);
+        classroomService = new ClassroomServiceImpl(classroomDaoMock, mock(ApplicationEventPublisher.class), createResolver(), mock(LessonBulkDeleteService.class));
     }
 
     @Test
@@ -106,7 +115,7 @@ class ClassroomServiceImplTest {
     @Test
     void editShouldUpdateClassroomInDatabaseWhenInputValidClassroom() {
         ClassroomDao classroomDaoMock = mock(ClassroomDao.class);
-        ClassroomServiceImpl classroomService = new ClassroomServiceImpl(classroomDaoMock);
+        ClassroomServiceImpl classroomService = new ClassroomServiceImpl(classroomDaoMock, mock(ApplicationEventPublisher.class), createResolver(), mock(LessonBulkDeleteService.class));
         ClassroomDto classroomDto = new ClassroomDto();
         classroomDto.setId(3);
         classroomDto.setNumber(3);
@@ -117,6 +126,24 @@ class ClassroomServiceImplTest {
         verify(classroomDaoMock).save(classroom);
     }
 
+    @Test
+    void editShouldPublishReferenceChangedEventWhenInputValidClassroom() {
+        ApplicationEventPublisher eventPublisherMock = mock(ApplicationEventPublisher.class);
+        ClassroomServiceImpl classroomService = new ClassroomServiceImpl(mock(ClassroomDao.class), eventPublisherMock, createResolver(), mock(LessonBulkDeleteService.class));
+        ClassroomDto classroomDto = new ClassroomDto();
+        classroomDto.setId(3);
+        classroomDto.setNumber(3);
+        classroomDto.setAddress("new address");
+        classroomDto.setCapacity(30);
+        classroomService.edit(classroomDto);
+        verify(eventPublisherMock).publishEvent(new TimetableReferenceChangedEvent(Reference.CLASSROOM, 3));
+    }
+
+    private static ReferenceResolver createResolver() {
+        return new ReferenceResolver(mock(CourseDao.class), mock(GroupDao.class), mock(TeacherDao.class), createClassroomDaoMock(),
+                mock(ReferenceChangeDao.class));
+    }
+
     private static ClassroomDao createClassroomDaoMock() {
         ClassroomDao classroomDaoMock = mock(ClassroomDao.class);
         when(classroomDaoMock.findByNumber(1))
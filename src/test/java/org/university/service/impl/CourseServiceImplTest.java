@@ -12,12 +12,21 @@ import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.university.dao.ClassroomDao;
 import org.university.dao.CourseDao;
+import org.university.dao.GroupDao;
+import org.university.dao.ReferenceChangeDao;
+import org.university.dao.TeacherDao;
 import org.university.dto.CourseDto;
 import org.university.entity.Course;
 import org.university.exceptions.EntityAlreadyExistException;
 import org.university.exceptions.EntityNotExistException;
 import org.university.service.CourseService;
+import org.university.service.LessonBulkDeleteService;
+import org.university.service.cache.ReferenceResolver;
+import org.university.service.event.ReferenceDataChangedEvent.Reference;
+import org.university.service.event.TimetableReferenceChangedEvent;
 import org.university.utils.CreatorTestEntities;
 
 class CourseServiceImplTest {
@@ -28,7 +37,7 @@ class CourseServiceImplTest {
     @BeforeAll
     static void init() {
         courseDaoMock = createCourseDaoMock();
-        courseService = new CourseServiceImpl(courseDaoMock);
+        courseService = new CourseServiceImpl(courseDaoMock, mock(ApplicationEventPublisher.class), createResolver(), mock(LessonBulkDeleteService.class));
     }
 
     @Test
@@ -123,7 +132,7 @@ class CourseServiceImplTest {
     @Test
     void editShouldNotThrowEntityAlreadyExistWhenCourseWithNameNotExist() {
         CourseDao courseDaoMock = createCourseDaoMock();
-        CourseService courseService = new CourseServiceImpl(courseDaoMock);
+        CourseService courseService = new CourseServiceImpl(courseDaoMock, mock(ApplicationEventPublisher.class), createResolver(), mock(LessonBulkDeleteService.class));
         CourseDto courseDto = new CourseDto();
         courseDto.setId(2);
         courseDto.setName("Law");
@@ -150,6 +159,22 @@ class CourseServiceImplTest {
         verify(courseDaoMock).save(course);
     }
 
+    @Test
+    void editShouldPublishReferenceChangedEventWhenInputValidCourse() {
+        ApplicationEventPublisher eventPublisherMock = mock(ApplicationEventPublisher.class);
+        CourseService courseService = new CourseServiceImpl(createCourseDaoMock(), eventPublisherMock, createResolver(), mock(LessonBulkDeleteService.class));
+        CourseDto courseDto = new CourseDto();
+        courseDto.setId(1);
+        courseDto.setName("Law");
+        courseService.edit(courseDto);
+        verify(eventPublisherMock).publishEvent(new TimetableReferenceChangedEvent(Reference.COURSE, 1));
+    }
+
+    private static ReferenceResolver createResolver() {
+        return new ReferenceResolver(createCourseDaoMock(), mock(GroupDao.class), mock(TeacherDao.class), mock(ClassroomDao.class),
+                mock(ReferenceChangeDao.class));
+    }
+
     private static CourseDao createCourseDaoMock() {
         CourseDao courseDaoMock = mock(CourseDao.class);
         when(courseDaoMock.findByName("Law"))
@@ -3,23 +3,38 @@ package org.university.service.impl;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.Month;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.university.dao.ClassroomDao;
+import org.university.dao.CourseDao;
 import org.university.dao.GroupDao;
-import org.university.dao.LessonDao;
+import org.university.dao.ReferenceChangeDao;
 import org.university.dao.TeacherDao;
 import org.university.entity.DayTimetable;
 import org.university.entity.Lesson;
+import org.university.entity.LessonSlot;
+import org.university.entity.LessonView;
+import org.university.entity.TimetableScope;
 import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.service.cache.ReferenceResolver;
+import org.university.service.cache.TimetableCache;
+import org.university.service.readmodel.TimetableReadModel;
 import org.university.utils.CreatorTestEntities;
 
 class DayTimetableServiceImplTest {
@@ -28,12 +43,13 @@ class DayTimetableServiceImplTest {
 
     @BeforeAll
     static void init() {
-        dayTimetableService = new DayTimetableServiceImpl(createLessonDaoMock(), createTeacherDaoMock(), createGroupDaoMock());
+        dayTimetableService = new DayTimetableServiceImpl(createReadModelMock(), createTeacherDaoMock(), createGroupDaoMock(),
+                createCache(), createResolver());
     }
 
     @Test
     void createTeacherTimetableShouldReturnExpectedTimetableWhenTeacherLessonsExistOnInputDate() {
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         lessons.remove(0);
         assertThat(dayTimetableService.createTeacherTimetable(LocalDate.of(2021, Month.OCTOBER, 19), "Ann@mail.ru"))
                 .isEqualTo(new DayTimetable(LocalDate.of(2021, 10, 19), lessons));
@@ -47,7 +63,7 @@ class DayTimetableServiceImplTest {
 
     @Test
     void createGroupTimetableShouldReturnExpectedTimetableWhenGroupLessonsExistOnInputDate() {
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();
         lessons.remove(2);
         lessons.remove(1);
         assertThat(dayTimetableService.createGroupTimetable(LocalDate.of(2021, Month.OCTOBER, 19), "AB-22"))
@@ -96,14 +112,14 @@ class DayTimetableServiceImplTest {
     
     @Test
     void createDayTimetableShouldReturnExpectedDayTimetableWhenLessonsExistInInputDate() {
-        List<Lesson> lessons = CreatorTestEntities.createLessons();        
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();        
         assertThat(dayTimetableService.createDayTimetable(LocalDate.of(2021, 10, 19)))
         .isEqualTo(new DayTimetable(LocalDate.of(2021, 10, 19), lessons));
     }
     
     @Test
     void createDayTimetableShouldReturnExpectedDayTimetableWhenLessonsNotExistInInputDate() {
-        List<Lesson> lessons = new ArrayList<>();        
+        List<LessonView> lessons = new ArrayList<>();        
         assertThat(dayTimetableService.createDayTimetable(LocalDate.of(2021, 10, 23)))
         .isEqualTo(new DayTimetable(LocalDate.of(2021, 10, 23), lessons));
     }
@@ -142,19 +158,108 @@ class DayTimetableServiceImplTest {
         assertThat(dayTimetableService.createWeekGroupTimetable(LocalDate.of(2021, Month.DECEMBER, 19), "AB-22")).isEmpty();
     }
 
+    @Test
+    void createWeekGroupTimetableShouldReadLessonsOnceWhenWeekRequestedRepeatedly() {
+        TimetableReadModel readModelMock = createReadModelMock();
+        DayTimetableServiceImpl timetableService = new DayTimetableServiceImpl(readModelMock,
+                createTeacherDaoMock(), createGroupDaoMock(), createCache(), createResolver());
+        timetableService.createWeekGroupTimetable(LocalDate.of(2021, Month.OCTOBER, 19), "AB-22");
+        assertThat(timetableService.createWeekGroupTimetable(LocalDate.of(2021, Month.OCTOBER, 21), "AB-22"))
+                .isEqualTo(createTestWeekTimetable());
+        verify(readModelMock, times(1)).findAllOfGroupBetween(LocalDateTime.of(2021, Month.OCTOBER, 18, 0, 0),
+                LocalDateTime.of(2021, Month.OCTOBER, 24, 23, 0), 1);
+    }
+
+    @Test
+    void createWeekGroupTimetableShouldReadLessonsAgainWhenLessonOfGroupChangedInThisWeek() {
+        TimetableReadModel readModelMock = createReadModelMock();
+        TimetableCache cache = createCache();
+        DayTimetableServiceImpl timetableService = new DayTimetableServiceImpl(readModelMock,
+                createTeacherDaoMock(), createGroupDaoMock(), cache, createResolver());
+        timetableService.createWeekGroupTimetable(LocalDate.of(2021, Month.OCTOBER, 19), "AB-22");
+        cache.invalidate(new LessonSlot(1, LocalDateTime.of(2021, Month.OCTOBER, 20, 10, 0),
+                LocalDateTime.of(2021, Month.OCTOBER, 20, 12, 0), 2, 1, 1));
+        timetableService.createWeekGroupTimetable(LocalDate.of(2021, Month.OCTOBER, 19), "AB-22");
+        verify(readModelMock, times(2)).findAllOfGroupBetween(LocalDateTime.of(2021, Month.OCTOBER, 18, 0, 0),
+                LocalDateTime.of(2021, Month.OCTOBER, 24, 23, 0), 1);
+    }
+
+    @Test
+    void createWeekGroupTimetableShouldSplitLessonsByDateWhenWeekCrossesMonthBoundary() {
+        TimetableReadModel readModelMock = mock(TimetableReadModel.class);
+        LessonView september = createTestLessonWithDate(1, LocalDate.of(2021, Month.SEPTEMBER, 30));
+        LessonView october = createTestLessonWithDate(2, LocalDate.of(2021, Month.OCTOBER, 1));
+        when(readModelMock.findAllOfGroupBetween(LocalDateTime.of(2021, Month.SEPTEMBER, 27, 0, 0),
+                LocalDateTime.of(2021, Month.OCTOBER, 3, 23, 0), 1)).thenReturn(Arrays.asList(september, october));
+        DayTimetableServiceImpl timetableService = new DayTimetableServiceImpl(readModelMock,
+                createTeacherDaoMock(), createGroupDaoMock(), createCache(), createResolver());
+        assertThat(timetableService.createWeekGroupTimetable(LocalDate.of(2021, Month.OCTOBER, 1), "AB-22"))
+                .containsExactly(new DayTimetable(LocalDate.of(2021, Month.SEPTEMBER, 30), Arrays.asList(september)),
+                        new DayTimetable(LocalDate.of(2021, Month.OCTOBER, 1), Arrays.asList(october)));
+    }
+
+    @Test
+    void createMonthGroupTimetableShouldReadWholeFebruaryWhenYearNotLeap() {
+        TimetableReadModel readModelMock = mock(TimetableReadModel.class);
+        DayTimetableServiceImpl timetableService = new DayTimetableServiceImpl(readModelMock,
+                createTeacherDaoMock(), createGroupDaoMock(), createCache(), createResolver());
+        timetableService.createMonthGroupTimetable(LocalDate.of(2021, Month.FEBRUARY, 10), "AB-22");
+        verify(readModelMock).findAllOfGroupBetween(LocalDateTime.of(2021, Month.FEBRUARY, 1, 0, 0),
+                LocalDateTime.of(2021, Month.FEBRUARY, 28, 23, 0), 1);
+    }
+
+    @Test
+    void createTimetableShouldReturnOneTimetablePerDayWithLessonsInInputRange() {
+        TimetableReadModel readModelMock = mock(TimetableReadModel.class);
+        GroupDao groupDaoMock = createGroupDaoMock();
+        List<LessonView> lessons = Arrays.asList(createTestLessonWithDate(1, LocalDate.of(2021, Month.SEPTEMBER, 1)),
+                createTestLessonWithDate(2, LocalDate.of(2021, Month.SEPTEMBER, 1)),
+                createTestLessonWithDate(3, LocalDate.of(2021, Month.DECEMBER, 24)));
+        when(groupDaoMock.existsById(1)).thenReturn(true);
+        when(readModelMock.findAllOfGroupBetween(LocalDateTime.of(2021, Month.SEPTEMBER, 1, 0, 0),
+                LocalDate.of(2021, Month.DECEMBER, 31).atTime(LocalTime.MAX), 1)).thenReturn(lessons);
+        DayTimetableServiceImpl timetableService = new DayTimetableServiceImpl(readModelMock,
+                createTeacherDaoMock(), groupDaoMock, createCache(), createResolver());
+        assertThat(timetableService.createTimetable(TimetableScope.GROUP, 1, LocalDate.of(2021, Month.SEPTEMBER, 1),
+                LocalDate.of(2021, Month.DECEMBER, 31))).containsExactly(
+                        new DayTimetable(LocalDate.of(2021, Month.SEPTEMBER, 1), lessons.subList(0, 2)),
+                        new DayTimetable(LocalDate.of(2021, Month.DECEMBER, 24), lessons.subList(2, 3)));
+    }
+
+    @Test
+    void createTimetableShouldThrowInvalidLessonTimeExceptionWhenRangeLongerThanYear() {
+        assertThatThrownBy(() -> dayTimetableService.createTimetable(TimetableScope.ALL, null,
+                LocalDate.of(2021, Month.JANUARY, 1), LocalDate.of(2022, Month.JANUARY, 2)))
+                        .isInstanceOf(InvalidLessonTimeException.class).hasMessage("invalidrange");
+    }
+
+    @Test
+    void createTimetableShouldThrowInvalidLessonTimeExceptionWhenRangeEndsBeforeStart() {
+        assertThatThrownBy(() -> dayTimetableService.createTimetable(TimetableScope.ALL, null,
+                LocalDate.of(2021, Month.OCTOBER, 2), LocalDate.of(2021, Month.OCTOBER, 1)))
+                        .isInstanceOf(InvalidLessonTimeException.class).hasMessage("invalidrange");
+    }
+
+    @Test
+    void createTimetableShouldThrowEntityNotExistExceptionWhenTeacherNotExist() {
+        assertThatThrownBy(() -> dayTimetableService.createTimetable(TimetableScope.TEACHER, 25,
+                LocalDate.of(2021, Month.OCTOBER, 1), LocalDate.of(2021, Month.OCTOBER, 31)))
+                        .isInstanceOf(EntityNotExistException.class).hasMessage("teachernotexist");
+    }
+
     private List<DayTimetable> createTestMonthTimetable() {
         List<DayTimetable> monthTimetable = new ArrayList<>();
-        List<Lesson> lessonsFirst = new ArrayList<>();
-        Lesson lesson = createTestLessonWithDay(4,2);
+        List<LessonView> lessonsFirst = new ArrayList<>();
+        LessonView lesson = createTestLessonWithDay(4,2);
         lessonsFirst.add(lesson);
         monthTimetable.add(new DayTimetable(LocalDate.of(2021, 10, 2), lessonsFirst));
-        List<Lesson> lessonsSecond = new ArrayList<>();
-        lessonsSecond = CreatorTestEntities.createLessons();
+        List<LessonView> lessonsSecond = new ArrayList<>();
+        lessonsSecond = CreatorTestEntities.createLessonViews();
         lessonsSecond.remove(2);
         lessonsSecond.remove(1);
         monthTimetable.add(new DayTimetable(LocalDate.of(2021, 10, 19), lessonsSecond));
         lesson = createTestLessonWithDay(5,30);
-        List<Lesson> lessonsThird = new ArrayList<>();
+        List<LessonView> lessonsThird = new ArrayList<>();
         lessonsThird.add(lesson);
         monthTimetable.add(new DayTimetable(LocalDate.of(2021, 10, 30), lessonsThird));
         return monthTimetable;
@@ -162,46 +267,55 @@ class DayTimetableServiceImplTest {
     
     private List<DayTimetable> createTestWeekTimetable() {
         List<DayTimetable> weekTimetable = new ArrayList<>();
-        List<Lesson> lessonsFirst = new ArrayList<>();
-        Lesson lesson = createTestLessonWithDay(1,18);
+        List<LessonView> lessonsFirst = new ArrayList<>();
+        LessonView lesson = createTestLessonWithDay(1,18);
         lessonsFirst.add(lesson);
         weekTimetable.add(new DayTimetable(LocalDate.of(2021, 10, 18), lessonsFirst));
-        List<Lesson> lessonsSecond = new ArrayList<>();
+        List<LessonView> lessonsSecond = new ArrayList<>();
         lesson = createTestLessonWithDay(2,20);
         lessonsSecond.add(lesson);
         weekTimetable.add(new DayTimetable(LocalDate.of(2021, 10, 20), lessonsSecond));
         lesson = createTestLessonWithDay(3,22);
-        List<Lesson> lessonsThird = new ArrayList<>();
+        List<LessonView> lessonsThird = new ArrayList<>();
         lessonsThird.add(lesson);
         weekTimetable.add(new DayTimetable(LocalDate.of(2021, 10, 22), lessonsThird));
         return weekTimetable;
     }
 
-    private static LessonDao createLessonDaoMock() {
-        LessonDao lessonDaoMock = mock(LessonDao.class);
-        List<Lesson> lessons = CreatorTestEntities.createLessons();        
+    private static TimetableReadModel createReadModelMock() {
+        TimetableReadModel readModelMock = mock(TimetableReadModel.class);
+        List<LessonView> lessons = CreatorTestEntities.createLessonViews();        
         lessons.remove(0);
-        when(lessonDaoMock.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0), 2)).thenReturn(lessons);
+        when(readModelMock.findAllOfTeacherBetween(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0), 2)).thenReturn(lessons);
         lessons = new ArrayList<>();
         lessons.add(createTestLessonWithDay(4,2));
         lessons.add(createTestLessonWithDay(1,19));
         lessons.add(createTestLessonWithDay(5,30));
-        when(lessonDaoMock.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 1,0,0),LocalDateTime.of(2021, Month.OCTOBER, 31,23,0), 1)).thenReturn(lessons);
-        when(lessonDaoMock.findAllByStartLessonBetweenAndGroupIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 1,0,0),LocalDateTime.of(2021, Month.OCTOBER, 31,23,0), 1)).thenReturn(lessons);
-        lessons = CreatorTestEntities.createLessons();
+        when(readModelMock.findAllOfTeacherBetween(LocalDateTime.of(2021, Month.OCTOBER, 1,0,0),LocalDateTime.of(2021, Month.OCTOBER, 31,23,0), 1)).thenReturn(lessons);
+        when(readModelMock.findAllOfGroupBetween(LocalDateTime.of(2021, Month.OCTOBER, 1,0,0),LocalDateTime.of(2021, Month.OCTOBER, 31,23,0), 1)).thenReturn(lessons);
+        lessons = CreatorTestEntities.createLessonViews();
         lessons.remove(2);
         lessons.remove(1);
-        when(lessonDaoMock.findAllByStartLessonBetweenAndGroupIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0), 1)).thenReturn(lessons);
-        lessons = CreatorTestEntities.createLessons();
-        when(lessonDaoMock.findAllByStartLessonBetweenOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0))).thenReturn(lessons);
-        when(lessonDaoMock.findAllByStartLessonBetweenOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 21,0,0),LocalDateTime.of(2021, Month.OCTOBER, 21,23,0))).thenReturn(new ArrayList<Lesson>());
-        List<Lesson> weekLessons = new ArrayList<>();
+        when(readModelMock.findAllOfGroupBetween(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0), 1)).thenReturn(lessons);
+        lessons = CreatorTestEntities.createLessonViews();
+        when(readModelMock.findAllBetween(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0))).thenReturn(lessons);
+        when(readModelMock.findAllBetween(LocalDateTime.of(2021, Month.OCTOBER, 21,0,0),LocalDateTime.of(2021, Month.OCTOBER, 21,23,0))).thenReturn(new ArrayList<LessonView>());
+        List<LessonView> weekLessons = new ArrayList<>();
         weekLessons.add(createTestLessonWithDay(1,18));
         weekLessons.add(createTestLessonWithDay(2,20));
         weekLessons.add(createTestLessonWithDay(3,22));
-        when(lessonDaoMock.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 18,0,0), LocalDateTime.of(2021, Month.OCTOBER, 24,23,0), 1)).thenReturn(weekLessons);
-        when(lessonDaoMock.findAllByStartLessonBetweenAndGroupIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 18,0,0), LocalDateTime.of(2021, Month.OCTOBER, 24,23,0), 1)).thenReturn(weekLessons);
-        return lessonDaoMock;
+        when(readModelMock.findAllOfTeacherBetween(LocalDateTime.of(2021, Month.OCTOBER, 18,0,0), LocalDateTime.of(2021, Month.OCTOBER, 24,23,0), 1)).thenReturn(weekLessons);
+        when(readModelMock.findAllOfGroupBetween(LocalDateTime.of(2021, Month.OCTOBER, 18,0,0), LocalDateTime.of(2021, Month.OCTOBER, 24,23,0), 1)).thenReturn(weekLessons);
+        return readModelMock;
+    }
+
+    private static TimetableCache createCache() {
+        return new TimetableCache(100, Duration.ofMinutes(10), Clock.systemUTC());
+    }
+
+    private static ReferenceResolver createResolver() {
+        return new ReferenceResolver(mock(CourseDao.class), createGroupDaoMock(), createTeacherDaoMock(),
+                mock(ClassroomDao.class), mock(ReferenceChangeDao.class));
     }
 
     private static TeacherDao createTeacherDaoMock() {
@@ -222,8 +336,13 @@ class DayTimetableServiceImplTest {
         return groupDaoMock;
     }
     
-    private static Lesson createTestLessonWithDay(int id, int day) {
-        return Lesson.builder()
+    private static LessonView createTestLessonWithDate(int id, LocalDate date) {
+        return new LessonView(id, date.atTime(10, 0), date.atTime(12, 0), false, null, 1, "Law", 1, "Bob",
+                "Bob@mail.ru", 1, "AB-22", 1, "Address");
+    }
+
+    private static LessonView createTestLessonWithDay(int id, int day) {
+        return LessonView.of(Lesson.builder()
                 .withId(id)
                 .withStartLesson(LocalDateTime.of(2021, Month.OCTOBER, day, 10, 00, 00))
                 .withEndLesson(LocalDateTime.of(2021, Month.OCTOBER, day, 12, 00, 00))
@@ -233,6 +352,6 @@ class DayTimetableServiceImplTest {
                 .withCourse(CreatorTestEntities.createCourses().get(0))
                 .withTeacher(CreatorTestEntities.createTeachers().get(0))
                 .withGroup(CreatorTestEntities.createGroups().get(0))
-                .build();
+                .build());
     }
 }
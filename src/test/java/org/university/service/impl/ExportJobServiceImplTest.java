@@ -0,0 +1,234 @@
+package org.university.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.university.dto.ExportJobDto;
+import org.university.dto.ExportRequestDto;
+import org.university.entity.TimetableScope;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.ExportNotReadyException;
+import org.university.exceptions.ExportRejectedException;
+import org.university.service.TimetableExportService;
+import org.university.service.export.ExportFormat;
+import org.university.service.export.ExportJob;
+import org.university.service.export.TimetableExport;
+import org.university.utils.FileLeases.Lease;
+
+class ExportJobServiceImplTest {
+
+    private static final LocalDate FROM = LocalDate.of(2021, 9, 1);
+    private static final LocalDate TO = LocalDate.of(2021, 12, 31);
+    private static final TimetableExport GROUP_EXPORT = new TimetableExport(TimetableScope.GROUP, 1, "AB-22", FROM,
+            TO);
+
+    @TempDir
+    Path directory;
+
+    private TimetableExportService exportServiceMock;
+    private List<Runnable> pendingRenders;
+    private MutableClock clock;
+
+    @BeforeEach
+    void init() {
+        exportServiceMock = mock(TimetableExportService.class);
+        pendingRenders = new ArrayList<>();
+        clock = new MutableClock(Instant.parse("2021-10-19T10:00:00Z"));
+        when(exportServiceMock.findGroupExport("AB-22", FROM, TO)).thenReturn(GROUP_EXPORT);
+    }
+
+    @Test
+    void submitShouldRenderExportIntoStoreWhenWorkerRunsJob() throws IOException {
+        doAnswer(invocation -> {
+            invocation.getArgument(1, Writer.class).write("csv");
+            return null;
+        }).when(exportServiceMock).writeCsv(eq(GROUP_EXPORT), any(Writer.class));
+        ExportJobServiceImpl jobService = createJobService(Runnable::run);
+        ExportJobDto job = jobService.submit(createRequest(ExportFormat.CSV), "Bob@mail.ru");
+        ExportJob finished = jobService.findFinishedJob(job.getId(), "Bob@mail.ru").get();
+        assertThat(finished.getFile()).hasContent("csv");
+        assertThat(finished.getFileName()).isEqualTo("AB-22 timetable.csv");
+        assertThat(jobService.findJob(job.getId(), "Bob@mail.ru").getSize()).isEqualTo(3L);
+        assertThat(jobService.getStats().getCompleted()).isEqualTo(1);
+    }
+
+    @Test
+    void submitShouldRenderPdfOfWholeUniversityWhenPdfRequested() {
+        TimetableExport export = new TimetableExport(TimetableScope.ALL, null, "University", FROM, TO);
+        when(exportServiceMock.findUniversityExport(FROM, TO)).thenReturn(export);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("%PDF-".getBytes(StandardCharsets.ISO_8859_1));
+            return null;
+        }).when(exportServiceMock).writePdf(eq(export), any(OutputStream.class));
+        ExportRequestDto request = createRequest(ExportFormat.PDF);
+        request.setScope(TimetableScope.ALL);
+        ExportJobServiceImpl jobService = createJobService(Runnable::run);
+        ExportJobDto job = jobService.submit(request, "Bob@mail.ru");
+        ExportJob finished = jobService.findFinishedJob(job.getId(), "Bob@mail.ru").get();
+        assertThat(finished.getFile()).hasContent("%PDF-");
+        assertThat(finished.getFileName()).isEqualTo("University timetable.pdf");
+        assertThat(finished.getFormat().getContentType()).isEqualTo("application/pdf");
+    }
+
+    @Test
+    void submitShouldReturnQueuedJobWithoutRenderingWhenWorkersBusy() {
+        ExportJobServiceImpl jobService = createJobService(pendingRenders::add);
+        ExportJobDto job = jobService.submit(createRequest(ExportFormat.CSV), "Bob@mail.ru");
+        assertThat(job.getStatus()).isEqualTo("QUEUED");
+        assertThat(jobService.getStats().getQueued()).isEqualTo(1);
+        assertThatThrownBy(() -> jobService.findFinishedJob(job.getId(), "Bob@mail.ru"))
+                .isInstanceOf(ExportNotReadyException.class).hasMessage("exportnotready");
+    }
+
+    @Test
+    void submitShouldThrowExportRejectedExceptionWhenUserHasTooManyActiveJobs() {
+        ExportJobServiceImpl jobService = createJobService(pendingRenders::add);
+        jobService.submit(createRequest(ExportFormat.CSV), "Bob@mail.ru");
+        jobService.submit(createRequest(ExportFormat.CSV), "Bob@mail.ru");
+        assertThatThrownBy(() -> jobService.submit(createRequest(ExportFormat.CSV), "Bob@mail.ru"))
+                .isInstanceOf(ExportRejectedException.class).hasMessage("exportlimit");
+        jobService.submit(createRequest(ExportFormat.CSV), "Ann@mail.ru");
+        pendingRenders.get(0).run();
+        jobService.submit(createRequest(ExportFormat.CSV), "Bob@mail.ru");
+        assertThat(jobService.getStats().getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    void submitShouldThrowExportRejectedExceptionWhenQueueFull() {
+        ExportJobServiceImpl jobService = createJobService(task -> {
+            throw new RejectedExecutionException();
+        });
+        assertThatThrownBy(() -> jobService.submit(createRequest(ExportFormat.CSV), "Bob@mail.ru"))
+                .isInstanceOf(ExportRejectedException.class).hasMessage("exportqueuefull");
+        assertThat(jobService.getStats().getQueued()).isZero();
+    }
+
+    @Test
+    void findJobShouldThrowEntityNotExistExceptionWhenJobOfOtherUser() {
+        ExportJobServiceImpl jobService = createJobService(pendingRenders::add);
+        ExportJobDto job = jobService.submit(createRequest(ExportFormat.CSV), "Bob@mail.ru");
+        assertThatThrownBy(() -> jobService.findJob(job.getId(), "Ann@mail.ru"))
+                .isInstanceOf(EntityNotExistException.class).hasMessage("exportnotexist");
+    }
+
+    @Test
+    void submitShouldMarkJobFailedAndRemoveFileWhenRenderingFails() throws IOException {
+        doThrow(new IOException()).when(exportServiceMock).writeCsv(eq(GROUP_EXPORT), any(Writer.class));
+        ExportJobServiceImpl jobService = createJobService(Runnable::run);
+        ExportJobDto job = jobService.submit(createRequest(ExportFormat.CSV), "Bob@mail.ru");
+        assertThat(jobService.findJob(job.getId(), "Bob@mail.ru").getError()).isEqualTo("exportfailed");
+        assertThat(jobService.getStats().getFailed()).isEqualTo(1);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void purgeExpiredShouldDeleteFileOfJobFinishedBeforeRetention() {
+        ExportJobServiceImpl jobService = createJobService(Runnable::run);
+        ExportJobDto job = jobService.submit(createRequest(ExportFormat.CSV), "Bob@mail.ru");
+        Path file;
+        try (Lease<ExportJob> lease = jobService.findFinishedJob(job.getId(), "Bob@mail.ru")) {
+            file = lease.get().getFile();
+        }
+        jobService.purgeExpired();
+        assertThat(file).exists();
+        clock.advance(Duration.ofMinutes(61));
+        jobService.purgeExpired();
+        assertThat(file).doesNotExist();
+        assertThatThrownBy(() -> jobService.findJob(job.getId(), "Bob@mail.ru"))
+                .isInstanceOf(EntityNotExistException.class);
+    }
+
+    @Test
+    void purgeExpiredShouldDeleteFileOfExpiredJobOnlyAfterDownloadEnds() {
+        ExportJobServiceImpl jobService = createJobService(Runnable::run);
+        ExportJobDto job = jobService.submit(createRequest(ExportFormat.CSV), "Bob@mail.ru");
+        Lease<ExportJob> lease = jobService.findFinishedJob(job.getId(), "Bob@mail.ru");
+        clock.advance(Duration.ofMinutes(61));
+        jobService.purgeExpired();
+        assertThat(lease.get().getFile()).exists();
+        lease.close();
+        jobService.purgeExpired();
+        assertThat(lease.get().getFile()).exists();
+        clock.advance(Duration.ofMinutes(1));
+        jobService.purgeExpired();
+        assertThat(lease.get().getFile()).doesNotExist();
+    }
+
+    @Test
+    void clearDirectoryShouldDeleteFilesOfEarlierRun() throws IOException {
+        Path left = Files.write(directory.resolve("job-0.csv"), new byte[] { 1 });
+        createJobService(Runnable::run).clearDirectory();
+        assertThat(left).doesNotExist();
+    }
+
+    private ExportJobServiceImpl createJobService(Executor executor) {
+        return new ExportJobServiceImpl(exportServiceMock, executor, directory, 2, Duration.ofMinutes(60), clock);
+    }
+
+    private static ExportRequestDto createRequest(ExportFormat format) {
+        ExportRequestDto request = new ExportRequestDto();
+        request.setScope(TimetableScope.GROUP);
+        request.setName("AB-22");
+        request.setFormat(format);
+        request.setFrom(FROM.toString());
+        request.setTo(TO.toString());
+        return request;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package org.university.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.university.dao.ClassroomDao;
+import org.university.dao.GroupDao;
+import org.university.dao.TeacherDao;
+import org.university.dto.FreeSlotDto;
+import org.university.dto.FreeSlotQueryDto;
+import org.university.entity.Lesson;
+import org.university.entity.LessonSlot;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.service.index.LessonConflictIndex;
+import org.university.utils.CreatorTestEntities;
+
+class FreeSlotServiceImplTest {
+
+    private ClassroomDao classroomDaoMock;
+    private List<LessonSlot> slots;
+    private FreeSlotServiceImpl freeSlotService;
+
+    @BeforeEach
+    void init() {
+        TeacherDao teacherDaoMock = mock(TeacherDao.class);
+        GroupDao groupDaoMock = mock(GroupDao.class);
+        classroomDaoMock = mock(ClassroomDao.class);
+        when(teacherDaoMock.findByEmail("Bob@mail.ru"))
+                .thenReturn(Optional.of(CreatorTestEntities.createTeachers().get(0)));
+        when(groupDaoMock.findByName("AB-22")).thenReturn(Optional.of(CreatorTestEntities.createGroups().get(0)));
+        when(classroomDaoMock.findAllByCapacityGreaterThanEqualOrderByCapacityAscNumberAsc(anyInt()))
+                .thenReturn(CreatorTestEntities.createClassrooms());
+        slots = new ArrayList<>();
+        for (Lesson lesson : CreatorTestEntities.createLessons()) {
+            slots.add(LessonSlot.of(lesson));
+        }
+        slots.add(new LessonSlot(20, LocalDateTime.of(2021, Month.OCTOBER, 20, 9, 0),
+                LocalDateTime.of(2021, Month.OCTOBER, 20, 13, 0), 5, 5, 1));
+        freeSlotService = new FreeSlotServiceImpl(teacherDaoMock, groupDaoMock, classroomDaoMock,
+                LessonConflictIndex.of(slots));
+    }
+
+    @Test
+    void findFreeSlotsShouldThrowIllegalArgumentExceptionWhenInputNull() {
+        assertThatThrownBy(() -> freeSlotService.findFreeSlots(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void findFreeSlotsShouldSkipTimeTouchingTeacherAndGroupLessons() {
+        FreeSlotQueryDto query = createQuery("2021-10-19", "2021-10-19", 60);
+        query.setLimit(3);
+        assertThat(freeSlotService.findFreeSlots(query)).containsExactly(
+                new FreeSlotDto("2021-10-19T12:15", "2021-10-19T13:15", 1),
+                new FreeSlotDto("2021-10-19T12:30", "2021-10-19T13:30", 1),
+                new FreeSlotDto("2021-10-19T12:45", "2021-10-19T13:45", 1));
+    }
+
+    @Test
+    void findFreeSlotsShouldOfferLargerClassroomWhenSmallestBusy() {
+        FreeSlotQueryDto query = createQuery("2021-10-20", "2021-10-20", 90);
+        query.setLimit(1);
+        assertThat(freeSlotService.findFreeSlots(query))
+                .containsExactly(new FreeSlotDto("2021-10-20T09:00", "2021-10-20T10:30", 2));
+    }
+
+    @Test
+    void findFreeSlotsShouldNotStartLessonsAfterWorkTime() {
+        FreeSlotQueryDto query = createQuery("2021-10-21", "2021-10-21", 45);
+        query.setLimit(100);
+        List<FreeSlotDto> freeSlots = freeSlotService.findFreeSlots(query);
+        assertThat(freeSlots).hasSize(40);
+        assertThat(freeSlots.get(freeSlots.size() - 1).getStartLesson()).isEqualTo("2021-10-21T18:45");
+    }
+
+    @Test
+    void findFreeSlotsShouldSkipSundays() {
+        assertThat(freeSlotService.findFreeSlots(createQuery("2021-10-24", "2021-10-24", 60))).isEmpty();
+    }
+
+    @Test
+    void findFreeSlotsShouldContinueOnNextDayWhenDayHasNotEnoughSlots() {
+        slots.add(new LessonSlot(21, LocalDateTime.of(2021, Month.OCTOBER, 21, 9, 0),
+                LocalDateTime.of(2021, Month.OCTOBER, 21, 18, 30), 1, 5, 5));
+        FreeSlotServiceImpl service = new FreeSlotServiceImpl(mockTeacherDao(), mockGroupDao(), classroomDaoMock,
+                LessonConflictIndex.of(slots));
+        FreeSlotQueryDto query = createQuery("2021-10-21", "2021-10-22", 60);
+        query.setLimit(2);
+        assertThat(service.findFreeSlots(query)).containsExactly(
+                new FreeSlotDto("2021-10-21T18:45", "2021-10-21T19:45", 1),
+                new FreeSlotDto("2021-10-22T09:00", "2021-10-22T10:00", 1));
+    }
+
+    @Test
+    void findFreeSlotsShouldRequestClassroomsFittingWholeGroup() {
+        freeSlotService.findFreeSlots(createQuery("2021-10-24", "2021-10-24", 60));
+        verify(classroomDaoMock).findAllByCapacityGreaterThanEqualOrderByCapacityAscNumberAsc(4);
+    }
+
+    @Test
+    void findFreeSlotsShouldThrowInvalidLessonTimeExceptionWhenRangeReversed() {
+        assertThatThrownBy(() -> freeSlotService.findFreeSlots(createQuery("2021-10-20", "2021-10-19", 60)))
+                .isInstanceOf(InvalidLessonTimeException.class).hasMessage("invalidrange");
+    }
+
+    @Test
+    void findFreeSlotsShouldThrowInvalidLessonTimeExceptionWhenDateNotParsed() {
+        assertThatThrownBy(() -> freeSlotService.findFreeSlots(createQuery("19.10.2021", "2021-10-19", 60)))
+                .isInstanceOf(InvalidLessonTimeException.class).hasMessage("invalidtime");
+    }
+
+    @Test
+    void findFreeSlotsShouldThrowEntityNotExistExceptionWhenTeacherNotExists() {
+        FreeSlotQueryDto query = createQuery("2021-10-19", "2021-10-19", 60);
+        query.setTeacherEmail("Nobody@mail.ru");
+        assertThatThrownBy(() -> freeSlotService.findFreeSlots(query)).isInstanceOf(EntityNotExistException.class)
+                .hasMessage("teachernotexist");
+    }
+
+    private static TeacherDao mockTeacherDao() {
+        TeacherDao teacherDaoMock = mock(TeacherDao.class);
+        when(teacherDaoMock.findByEmail("Bob@mail.ru"))
+                .thenReturn(Optional.of(CreatorTestEntities.createTeachers().get(0)));
+        return teacherDaoMock;
+    }
+
+    private static GroupDao mockGroupDao() {
+        GroupDao groupDaoMock = mock(GroupDao.class);
+        when(groupDaoMock.findByName("AB-22")).thenReturn(Optional.of(CreatorTestEntities.createGroups().get(0)));
+        return groupDaoMock;
+    }
+
+    private static FreeSlotQueryDto createQuery(String from, String to, int duration) {
+        FreeSlotQueryDto query = new FreeSlotQueryDto();
+        query.setTeacherEmail("Bob@mail.ru");
+        query.setGroupName("AB-22");
+        query.setFrom(from);
+        query.setTo(to);
+        query.setDuration(duration);
+        return query;
+    }
+}
@@ -6,22 +6,44 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
+import java.time.Month;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.university.dao.ClassroomDao;
+import org.university.dao.CourseDao;
 import org.university.dao.GroupDao;
+import org.university.dao.LessonChangeDao;
+import org.university.dao.LessonDao;
+import org.university.dao.ReferenceChangeDao;
 import org.university.dao.StudentDao;
+import org.university.dao.TeacherDao;
 import org.university.dto.GroupDto;
 import org.university.dto.StudentDto;
 import org.university.entity.Group;
+import org.university.entity.LessonChange;
+import org.university.entity.LessonSlot;
+import org.university.entity.LessonView;
 import org.university.entity.Student;
 import org.university.exceptions.EntityAlreadyExistException;
 import org.university.exceptions.EntityNotExistException;
+import org.university.service.CalendarService;
+import org.university.service.LessonBulkDeleteService;
+import org.university.service.LessonChangeService;
+import org.university.service.cache.ReferenceResolver;
+import org.university.service.event.ReferenceDataChangedEvent.Reference;
+import org.university.service.event.TimetableReferenceChangedEvent;
+import org.university.service.index.LessonConflictIndex;
+import org.university.service.readmodel.TimetableReadModel;
 import org.university.utils.CreatorTestEntities;
 
 class GroupServiceImplTest {
@@ -34,7 +56,7 @@ class GroupServiceImplTest {
     static void init() {
         groupDaoMock = createGroupDaoMock();
         studentDaoMock = mock(StudentDao.class);
-        groupService = new GroupServiceImpl(groupDaoMock, studentDaoMock);
+        groupService = new GroupServiceImpl(groupDaoMock, studentDaoMock, mock(ApplicationEventPublisher.class), createResolver(), mock(LessonBulkDeleteService.class));
     }
 
     @Test
@@ -113,6 +135,36 @@ class GroupServiceImplTest {
         verify(groupDaoMock).deleteById(group.getId());
     }
 
+    @Test
+    void deleteShouldRemoveLessonsOfGroupFromTimetableAndConflictChecks() {
+        LessonDao lessonDaoMock = mock(LessonDao.class);
+        when(lessonDaoMock.findAllIdsReferencing(null, null, 2, null)).thenReturn(Arrays.asList(2, 3));
+        LessonConflictIndex conflictIndex = new LessonConflictIndex(lessonDaoMock, mock(LessonChangeDao.class));
+        conflictIndex.load(CreatorTestEntities.createLessons().stream().map(LessonSlot::of)
+                .collect(Collectors.toList()));
+        TimetableReadModel readModel = new TimetableReadModel(lessonDaoMock, mock(LessonChangeDao.class),
+                conflictIndex);
+        readModel.load(CreatorTestEntities.createLessonViews());
+        LessonChangeService changeServiceMock = mock(LessonChangeService.class);
+        LessonBulkDeleteServiceImpl lessonDeleteService = new LessonBulkDeleteServiceImpl(lessonDaoMock,
+                createGroupDaoMock(), mock(TeacherDao.class), mock(ClassroomDao.class), mock(CalendarService.class),
+                conflictIndex, changeServiceMock);
+        GroupDao groupDaoMock = createGroupDaoMock();
+        GroupServiceImpl groupService = new GroupServiceImpl(groupDaoMock, studentDaoMock,
+                mock(ApplicationEventPublisher.class), createResolver(), lessonDeleteService);
+        GroupDto group = new GroupDto();
+        group.setId(2);
+        groupService.delete(group);
+        LocalDateTime day = LocalDateTime.of(2021, Month.OCTOBER, 19, 0, 0);
+        assertThat(readModel.findAllOfGroupBetween(day, day.plusDays(1), 2)).isEmpty();
+        assertThat(readModel.findAllBetween(day, day.plusDays(1))).extracting(LessonView::getId).containsExactly(1);
+        assertThat(conflictIndex.isGroupBusy(2, day.withHour(15), day.withHour(17), null)).isFalse();
+        assertThat(conflictIndex.isClassroomBusy(2, day.withHour(21), day.withHour(22), null)).isFalse();
+        assertThat(conflictIndex.isGroupBusy(1, day.withHour(10), day.withHour(12), null)).isTrue();
+        verify(changeServiceMock).recordChanges(LessonChange.Type.DELETED, Arrays.asList(2, 3));
+        verify(groupDaoMock).deleteById(2);
+    }
+
     @Test
     void deleteShouldThrowIllegalArgumentExceptionWhenInputNull() {
         assertThatThrownBy(() -> groupService.delete(null)).isInstanceOf(IllegalArgumentException.class);
@@ -190,7 +242,7 @@ class GroupServiceImplTest {
     void addStudentToGroupShouldInsertStudentToGroupAndDeleteFromOld() {
         GroupDao groupDaoMock = createGroupDaoMock();
         StudentDao studentDaoMock = mock(StudentDao.class);
-        GroupServiceImpl groupService = new GroupServiceImpl(groupDaoMock, studentDaoMock);
+        GroupServiceImpl groupService = new GroupServiceImpl(groupDaoMock, studentDaoMock, mock(ApplicationEventPublisher.class), createResolver(), mock(LessonBulkDeleteService.class));
         StudentDto studentDto = new StudentDto();
         studentDto.setId(6);
         studentDto.setGroupName("AB-22");
@@ -241,7 +293,7 @@ class GroupServiceImplTest {
     void deleteStudentFromGroupShouldDeleteStudentFromGroup() {
         GroupDao groupDaoMock = createGroupDaoMock();
         StudentDao studentDaoMock = mock(StudentDao.class);
-        GroupServiceImpl groupService = new GroupServiceImpl(groupDaoMock, studentDaoMock);
+        GroupServiceImpl groupService = new GroupServiceImpl(groupDaoMock, studentDaoMock, mock(ApplicationEventPublisher.class), createResolver(), mock(LessonBulkDeleteService.class));
         StudentDto studentDto = new StudentDto();
         studentDto.setId(1);
         studentDto.setGroupName("AB-22");
@@ -257,6 +309,23 @@ class GroupServiceImplTest {
         assertThatThrownBy(() -> groupService.deleteStudentFromGroup(null)).isInstanceOf(IllegalArgumentException.class);
     }
 
+    @Test
+    void editShouldPublishReferenceChangedEventWhenInputValidGroup() {
+        ApplicationEventPublisher eventPublisherMock = mock(ApplicationEventPublisher.class);
+        GroupServiceImpl groupService = new GroupServiceImpl(createGroupDaoMock(), mock(StudentDao.class),
+                eventPublisherMock, createResolver(), mock(LessonBulkDeleteService.class));
+        GroupDto group = new GroupDto();
+        group.setId(1);
+        group.setName("NN-55");
+        groupService.edit(group);
+        verify(eventPublisherMock).publishEvent(new TimetableReferenceChangedEvent(Reference.GROUP, 1));
+    }
+
+    private static ReferenceResolver createResolver() {
+        return new ReferenceResolver(mock(CourseDao.class), createGroupDaoMock(), mock(TeacherDao.class), mock(ClassroomDao.class),
+                mock(ReferenceChangeDao.class));
+    }
+
     private static GroupDao createGroupDaoMock() {
         GroupDao groupDaoMock = mock(GroupDao.class);
         when(groupDaoMock.findByName("FR-33"))
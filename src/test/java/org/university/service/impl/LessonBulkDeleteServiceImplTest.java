@@ -0,0 +1,155 @@
+package org.university.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.university.dao.ClassroomDao;
+import org.university.dao.GroupDao;
+import org.university.dao.LessonChangeDao;
+import org.university.dao.LessonDao;
+import org.university.dao.TeacherDao;
+import org.university.dto.BulkDeleteReportDto;
+import org.university.dto.LessonBulkDeleteDto;
+import org.university.entity.Lesson;
+import org.university.entity.LessonChange;
+import org.university.entity.LessonSlot;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.service.CalendarService;
+import org.university.service.LessonChangeService;
+import org.university.service.index.LessonConflictIndex;
+import org.university.utils.CreatorTestEntities;
+
+class LessonBulkDeleteServiceImplTest {
+
+    private LessonDao lessonDaoMock;
+    private GroupDao groupDaoMock;
+    private CalendarService calendarServiceMock;
+    private LessonChangeService changeServiceMock;
+    private LessonConflictIndex conflictIndex;
+    private LessonBulkDeleteServiceImpl bulkDeleteService;
+
+    @BeforeEach
+    void init() {
+        lessonDaoMock = mock(LessonDao.class);
+        groupDaoMock = mock(GroupDao.class);
+        TeacherDao teacherDaoMock = mock(TeacherDao.class);
+        ClassroomDao classroomDaoMock = mock(ClassroomDao.class);
+        calendarServiceMock = mock(CalendarService.class);
+        changeServiceMock = mock(LessonChangeService.class);
+        when(groupDaoMock.findByName("FR-33")).thenReturn(Optional.of(CreatorTestEntities.createGroups().get(1)));
+        when(teacherDaoMock.findByEmail("Ann@mail.ru"))
+                .thenReturn(Optional.of(CreatorTestEntities.createTeachers().get(1)));
+        conflictIndex = new LessonConflictIndex(lessonDaoMock, mock(LessonChangeDao.class));
+        List<LessonSlot> slots = new ArrayList<>();
+        for (Lesson lesson : CreatorTestEntities.createLessons()) {
+            slots.add(LessonSlot.of(lesson));
+        }
+        conflictIndex.load(slots);
+        bulkDeleteService = new LessonBulkDeleteServiceImpl(lessonDaoMock, groupDaoMock, teacherDaoMock,
+                classroomDaoMock, calendarServiceMock, conflictIndex, changeServiceMock);
+    }
+
+    @Test
+    void deleteLessonsShouldThrowIllegalArgumentExceptionWhenInputNull() {
+        assertThatThrownBy(() -> bulkDeleteService.deleteLessons(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void deleteLessonsShouldThrowInvalidLessonTimeExceptionWhenNoCriteriaInput() {
+        assertThatThrownBy(() -> bulkDeleteService.deleteLessons(new LessonBulkDeleteDto()))
+                .isInstanceOf(InvalidLessonTimeException.class).hasMessage("invalidrange");
+    }
+
+    @Test
+    void deleteLessonsShouldThrowInvalidLessonTimeExceptionWhenRangeEndsBeforeStart() {
+        LessonBulkDeleteDto criteria = createCriteria("2021-10-25", "2021-10-18");
+        assertThatThrownBy(() -> bulkDeleteService.deleteLessons(criteria))
+                .isInstanceOf(InvalidLessonTimeException.class).hasMessage("invalidrange");
+    }
+
+    @Test
+    void deleteLessonsShouldThrowEntityNotExistExceptionWhenGroupNotExists() {
+        LessonBulkDeleteDto criteria = createCriteria("2021-10-18", "2021-10-24");
+        criteria.setGroupName("XX-00");
+        when(groupDaoMock.findByName("XX-00")).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> bulkDeleteService.deleteLessons(criteria))
+                .isInstanceOf(EntityNotExistException.class).hasMessage("groupnotexist");
+    }
+
+    @Test
+    void deleteLessonsShouldDeleteMatchingLessonsAndReturnTheirIds() {
+        LessonBulkDeleteDto criteria = createCriteria("2021-10-18", "2021-10-24");
+        criteria.setGroupName("FR-33");
+        List<Integer> ids = Arrays.asList(2, 3);
+        when(lessonDaoMock.findAllIdsMatching(LocalDateTime.of(2021, Month.OCTOBER, 18, 0, 0),
+                LocalDateTime.of(2021, Month.OCTOBER, 25, 0, 0), null, 2, null)).thenReturn(ids);
+        when(lessonDaoMock.deleteAllByIdIn(ids)).thenReturn(2);
+        BulkDeleteReportDto report = bulkDeleteService.deleteLessons(criteria);
+        assertThat(report.getDeleted()).isEqualTo(2);
+        assertThat(report.getLessonIds()).containsExactly(2, 3);
+        assertThat(conflictIndex.contains(2)).isFalse();
+        assertThat(conflictIndex.contains(1)).isTrue();
+        verify(calendarServiceMock).deleteLessons(ids);
+        verify(changeServiceMock).recordChanges(LessonChange.Type.DELETED, ids);
+    }
+
+    @Test
+    void deleteLessonsShouldDeleteInChunksWhenManyLessonsMatch() {
+        LessonBulkDeleteDto criteria = createCriteria("2021-10-18", "2021-10-24");
+        List<Integer> ids = IntStream.rangeClosed(1, 2500).boxed().collect(Collectors.toList());
+        when(lessonDaoMock.findAllIdsMatching(any(), any(), any(), any(), any())).thenReturn(ids);
+        when(lessonDaoMock.deleteAllByIdIn(anyCollection())).thenAnswer(invocation -> invocation
+                .<List<Integer>>getArgument(0).size());
+        BulkDeleteReportDto report = bulkDeleteService.deleteLessons(criteria);
+        assertThat(report.getDeleted()).isEqualTo(2500);
+        verify(lessonDaoMock).deleteAllByIdIn(ids.subList(0, 1000));
+        verify(lessonDaoMock).deleteAllByIdIn(ids.subList(1000, 2000));
+        verify(lessonDaoMock).deleteAllByIdIn(ids.subList(2000, 2500));
+        verify(changeServiceMock).recordChanges(LessonChange.Type.DELETED, ids);
+    }
+
+    @Test
+    void deleteLessonsShouldSearchWholeTimelineWhenOnlyTeacherInput() {
+        LessonBulkDeleteDto criteria = new LessonBulkDeleteDto();
+        criteria.setTeacherEmail("Ann@mail.ru");
+        bulkDeleteService.deleteLessons(criteria);
+        verify(lessonDaoMock).findAllIdsMatching(LocalDateTime.of(1970, Month.JANUARY, 1, 0, 0),
+                LocalDateTime.of(9999, Month.DECEMBER, 31, 0, 0), 2, null, null);
+    }
+
+    @Test
+    void deleteLessonsShouldNotDeleteWhenNoLessonMatches() {
+        LessonBulkDeleteDto criteria = createCriteria("2021-10-18", "2021-10-24");
+        when(lessonDaoMock.findAllIdsMatching(any(), any(), any(), any(), any())).thenReturn(Collections.emptyList());
+        BulkDeleteReportDto report = bulkDeleteService.deleteLessons(criteria);
+        assertThat(report.getDeleted()).isZero();
+        verify(lessonDaoMock, never()).deleteAllByIdIn(anyCollection());
+        verify(calendarServiceMock, never()).deleteLessons(any());
+    }
+
+    private static LessonBulkDeleteDto createCriteria(String from, String to) {
+        LessonBulkDeleteDto criteria = new LessonBulkDeleteDto();
+        criteria.setFrom(from);
+        criteria.setTo(to);
+        return criteria;
+    }
+}
@@ -0,0 +1,135 @@
+package org.university.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.domain.PageRequest;
+import org.university.dao.LessonChangeDao;
+import org.university.dao.LessonDao;
+import org.university.dto.LessonChangesDto;
+import org.university.entity.LessonChange;
+import org.university.entity.LessonView;
+import org.university.exceptions.InvalidTokenException;
+
+class LessonChangeServiceImplTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2021, Month.OCTOBER, 19, 12, 0);
+
+    private LessonChangeDao changeDaoMock;
+    private LessonDao lessonDaoMock;
+    private LessonChangeServiceImpl changeService;
+
+    @BeforeEach
+    void init() {
+        changeDaoMock = mock(LessonChangeDao.class);
+        lessonDaoMock = mock(LessonDao.class);
+        changeService = new LessonChangeServiceImpl(changeDaoMock, lessonDaoMock, Duration.ofDays(30), 3,
+                Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+        when(changeDaoMock.findFirstPosition()).thenReturn(5L);
+        when(changeDaoMock.findLastPosition()).thenReturn(20L);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void recordChangesShouldSaveOneEntryPerLessonSkippingNullIds() {
+        changeService.recordChanges(LessonChange.Type.UPDATED, Arrays.asList(3, null, 3, 4));
+        ArgumentCaptor<List<LessonChange>> captor = ArgumentCaptor.forClass(List.class);
+        verify(changeDaoMock).saveAll(captor.capture());
+        assertThat(captor.getValue()).extracting(LessonChange::getLessonId).containsExactly(3, 4);
+        assertThat(captor.getValue()).allMatch(change -> change.getType() == LessonChange.Type.UPDATED
+                && change.getChangedAt().equals(NOW));
+    }
+
+    @Test
+    void findChangesSinceShouldReturnHeadTokenWithoutChangesWhenTokenNull() throws InvalidTokenException {
+        LessonChangesDto changes = changeService.findChangesSince(null);
+        assertThat(changes.getToken()).isEqualTo(20);
+        assertThat(changes.getLessons()).isEmpty();
+        verify(changeDaoMock, never()).findAllSealedAfter(anyLong(), any());
+    }
+
+    @Test
+    void findChangesSinceShouldThrowInvalidTokenExceptionWhenChangesAfterTokenCompacted() {
+        assertThatThrownBy(() -> changeService.findChangesSince(3L)).isInstanceOf(InvalidTokenException.class)
+                .hasMessage("tokenexpired");
+    }
+
+    @Test
+    void findChangesSinceShouldThrowInvalidTokenExceptionWhenTokenAfterHead() {
+        assertThatThrownBy(() -> changeService.findChangesSince(21L)).isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void findChangesSinceShouldReturnCurrentLessonsAndDeletedIdsOfSealedChanges() throws InvalidTokenException {
+        when(changeDaoMock.findAllSealedAfter(10L, PageRequest.of(0, 3))).thenReturn(
+                Arrays.asList(createChange(11, 1), createChange(12, 2), createChange(14, 1)));
+        LessonView view = new LessonView(1, NOW, NOW.plusHours(2), false, null, 1, "Law", 1, "Teacher",
+                "teacher@mail.ru", 1, "Group", 1, "Address");
+        when(lessonDaoMock.findAllViewsByIdIn(Arrays.asList(1, 2)))
+                .thenReturn(new ArrayList<>(Collections.singletonList(view)));
+        LessonChangesDto changes = changeService.findChangesSince(10L);
+        assertThat(changes.getToken()).isEqualTo(14);
+        assertThat(changes.isMore()).isTrue();
+        assertThat(changes.getLessons()).containsExactly(view);
+        assertThat(changes.getDeletedLessonIds()).containsExactly(2);
+    }
+
+    @Test
+    void findChangesSinceShouldKeepTokenWhenNoSealedChanges() throws InvalidTokenException {
+        when(changeDaoMock.findAllSealedAfter(anyLong(), any())).thenReturn(new ArrayList<>());
+        LessonChangesDto changes = changeService.findChangesSince(20L);
+        assertThat(changes.getToken()).isEqualTo(20);
+        assertThat(changes.isMore()).isFalse();
+        verify(lessonDaoMock, never()).findAllViewsByIdIn(any());
+    }
+
+    @Test
+    void sealShouldNumberUnsealedChangesAfterLastPositionUnderLock() {
+        when(changeDaoMock.findFirstUnsealedId()).thenReturn(100L);
+        when(changeDaoMock.sealFrom(100L, -79L)).thenReturn(7);
+        assertThat(changeService.seal()).isEqualTo(7);
+        InOrder inOrder = inOrder(changeDaoMock);
+        inOrder.verify(changeDaoMock).lockForSealing(anyLong());
+        inOrder.verify(changeDaoMock).findLastPosition();
+        inOrder.verify(changeDaoMock).sealFrom(100L, -79L);
+    }
+
+    @Test
+    void sealShouldDoNothingWhenAllChangesSealed() {
+        when(changeDaoMock.findFirstUnsealedId()).thenReturn(null);
+        assertThat(changeService.seal()).isZero();
+        verify(changeDaoMock, never()).sealFrom(anyLong(), anyLong());
+    }
+
+    @Test
+    void compactShouldDeleteEntriesOlderThanRetentionExceptLast() {
+        when(changeDaoMock.deleteAllOlderThan(NOW.minusDays(30), 20L)).thenReturn(4);
+        assertThat(changeService.compact()).isEqualTo(4);
+    }
+
+    private static LessonChange createChange(long position, int lessonId) {
+        return LessonChange.builder().withId(position * 50).withPosition(position).withLessonId(lessonId).withType(LessonChange.Type.UPDATED)
+                .withChangedAt(NOW.minusMinutes(1)).build();
+    }
+}
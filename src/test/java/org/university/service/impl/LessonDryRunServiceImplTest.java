@@ -0,0 +1,175 @@
+package org.university.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.university.dao.ClassroomDao;
+import org.university.dao.CourseDao;
+import org.university.dao.GroupDao;
+import org.university.dao.TeacherDao;
+import org.university.dto.DryRunReportDto;
+import org.university.dto.ImportErrorDto;
+import org.university.dto.LessonChangeDto;
+import org.university.dto.LessonChangeDto.Operation;
+import org.university.dto.LessonDto;
+import org.university.entity.Lesson;
+import org.university.entity.LessonSlot;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.service.index.LessonConflictIndex;
+import org.university.service.validator.LessonValidator;
+import org.university.utils.CreatorTestEntities;
+
+class LessonDryRunServiceImplTest {
+
+    private LessonValidator validatorMock;
+    private LessonConflictIndex conflictIndex;
+    private LessonDryRunServiceImpl dryRunService;
+
+    @BeforeEach
+    void init() {
+        validatorMock = mock(LessonValidator.class);
+        List<LessonSlot> slots = new ArrayList<>();
+        for (Lesson lesson : CreatorTestEntities.createLessons()) {
+            slots.add(LessonSlot.of(lesson));
+        }
+        conflictIndex = LessonConflictIndex.of(slots);
+        dryRunService = createDryRunService(validatorMock);
+    }
+
+    @Test
+    void validateShouldThrowIllegalArgumentExceptionWhenInputNull() {
+        assertThatThrownBy(() -> dryRunService.validate(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void validateShouldReturnValidReportWhenChangesHaveNoConflicts() {
+        DryRunReportDto report = dryRunService.validate(Arrays.asList(
+                change(Operation.CREATE, createLessonDto(null, "Law", "AB-22", "Bob@mail.ru", 1, "2021-10-20T10:00",
+                        "2021-10-20T12:00")),
+                change(Operation.CREATE, createLessonDto(null, "Math", "FR-33", "Ann@mail.ru", 2,
+                        "2021-10-20T10:00", "2021-10-20T12:00"))));
+        assertThat(report.isValid()).isTrue();
+        assertThat(report.getChecked()).isEqualTo(2);
+    }
+
+    @Test
+    void validateShouldReportEveryViolationOfEveryChange() {
+        doThrow(new InvalidLessonTimeException("sunday")).when(validatorMock)
+                .validateTime(argThat(lesson -> lesson.getStartLesson().getDayOfMonth() == 24));
+        DryRunReportDto report = dryRunService.validate(Arrays.asList(
+                change(Operation.CREATE, createLessonDto(null, "Law", "AB-22", "Bob@mail.ru", 1, "2021-10-19T11:00",
+                        "2021-10-19T13:00")),
+                change(Operation.CREATE, createLessonDto(null, "Law", "AB-22", "Bob@mail.ru", 1, "2021-10-24T10:00",
+                        "2021-10-24T12:00")),
+                change(Operation.CREATE, createLessonDto(null, "History", "AB-22", "Bob@mail.ru", 1,
+                        "2021-10-25T10:00", "2021-10-25T12:00"))));
+        assertThat(report.getViolations()).containsExactly(new ImportErrorDto(1, "groupteacherbusy"),
+                new ImportErrorDto(1, "classroombusy"), new ImportErrorDto(2, "sunday"),
+                new ImportErrorDto(3, "coursenotexist"));
+    }
+
+    @Test
+    void validateShouldReportEveryBrokenRuleOfOneChange() {
+        LessonDto lessonDto = createLessonDto(null, "Law", "AB-22", "Bob@mail.ru", 1, "2021-10-24T10:00",
+                "2021-10-24T12:00");
+        lessonDto.setOnlineLesson(true);
+        LessonDryRunServiceImpl dryRunService = createDryRunService(new LessonValidator());
+        DryRunReportDto report = dryRunService.validate(Arrays.asList(change(Operation.CREATE, lessonDto)));
+        assertThat(report.getViolations()).containsExactly(new ImportErrorDto(1, "sunday"),
+                new ImportErrorDto(1, "onlinelink"));
+    }
+
+    @Test
+    void validateShouldCheckCreateAgainstTimeFreedByLaterDelete() {
+        DryRunReportDto report = dryRunService.validate(Arrays.asList(
+                change(Operation.CREATE, createLessonDto(null, "Law", "AB-22", "Bob@mail.ru", 1, "2021-10-19T10:00",
+                        "2021-10-19T12:00")),
+                change(Operation.DELETE, createLessonDto(1, null, null, null, null, null, null))));
+        assertThat(report.isValid()).isTrue();
+    }
+
+    @Test
+    void validateShouldCheckEditWithoutConflictWithItsOwnSavedVersion() {
+        DryRunReportDto report = dryRunService.validate(Arrays.asList(change(Operation.EDIT,
+                createLessonDto(1, "Law", "AB-22", "Bob@mail.ru", 1, "2021-10-19T11:00", "2021-10-19T13:00"))));
+        assertThat(report.isValid()).isTrue();
+    }
+
+    @Test
+    void validateShouldReportConflictBetweenProposedChanges() {
+        DryRunReportDto report = dryRunService.validate(Arrays.asList(
+                change(Operation.EDIT, createLessonDto(2, "Math", "FR-33", "Ann@mail.ru", 2, "2021-10-20T10:00",
+                        "2021-10-20T12:00")),
+                change(Operation.CREATE, createLessonDto(null, "Law", "AB-22", "Bob@mail.ru", 2, "2021-10-20T11:00",
+                        "2021-10-20T12:30"))));
+        assertThat(report.getViolations()).containsExactly(new ImportErrorDto(2, "classroombusy"));
+    }
+
+    @Test
+    void validateShouldReportEditOrDeleteOfNotExistingLesson() {
+        DryRunReportDto report = dryRunService.validate(Arrays.asList(
+                change(Operation.DELETE, createLessonDto(40, null, null, null, null, null, null)),
+                change(Operation.EDIT, createLessonDto(null, "Law", "AB-22", "Bob@mail.ru", 1, "2021-10-20T10:00",
+                        "2021-10-20T12:00")),
+                change(null, null)));
+        assertThat(report.getViolations()).containsExactly(new ImportErrorDto(1, "lessonnotexist"),
+                new ImportErrorDto(2, "lessonnotexist"), new ImportErrorDto(3, "invalidchange"));
+    }
+
+    @Test
+    void validateShouldNotChangeConflictIndex() {
+        dryRunService.validate(Arrays.asList(
+                change(Operation.DELETE, createLessonDto(1, null, null, null, null, null, null)),
+                change(Operation.CREATE, createLessonDto(null, "Math", "FR-33", "Ann@mail.ru", 2,
+                        "2021-10-20T10:00", "2021-10-20T12:00"))));
+        assertThat(conflictIndex.contains(1)).isTrue();
+        assertThat(conflictIndex.isTeacherBusy(2, LocalDateTime.parse("2021-10-20T10:00"),
+                LocalDateTime.parse("2021-10-20T12:00"), null)).isFalse();
+    }
+
+    private LessonDryRunServiceImpl createDryRunService(LessonValidator validator) {
+        CourseDao courseDaoMock = mock(CourseDao.class);
+        GroupDao groupDaoMock = mock(GroupDao.class);
+        TeacherDao teacherDaoMock = mock(TeacherDao.class);
+        ClassroomDao classroomDaoMock = mock(ClassroomDao.class);
+        when(courseDaoMock.findAllByNameIn(anyCollection())).thenReturn(CreatorTestEntities.createCourses());
+        when(groupDaoMock.findAllByNameIn(anyCollection())).thenReturn(CreatorTestEntities.createGroups());
+        when(teacherDaoMock.findAllByEmailIn(anyCollection())).thenReturn(CreatorTestEntities.createTeachers());
+        when(classroomDaoMock.findAllByNumberIn(anyCollection())).thenReturn(CreatorTestEntities.createClassrooms());
+        return new LessonDryRunServiceImpl(courseDaoMock, groupDaoMock, teacherDaoMock, classroomDaoMock, validator,
+                conflictIndex);
+    }
+
+    private static LessonChangeDto change(Operation operation, LessonDto lesson) {
+        LessonChangeDto change = new LessonChangeDto();
+        change.setOperation(operation);
+        change.setLesson(lesson);
+        return change;
+    }
+
+    private static LessonDto createLessonDto(Integer id, String course, String group, String teacher,
+            Integer classroom, String start, String end) {
+        LessonDto lessonDto = new LessonDto();
+        lessonDto.setId(id);
+        lessonDto.setCourseName(course);
+        lessonDto.setGroupName(group);
+        lessonDto.setTeacherEmail(teacher);
+        lessonDto.setClassroomNumber(classroom);
+        lessonDto.setStartLesson(start);
+        lessonDto.setEndLesson(end);
+        lessonDto.setOnlineLesson(false);
+        return lessonDto;
+    }
+}
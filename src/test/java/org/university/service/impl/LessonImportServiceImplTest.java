@@ -0,0 +1,197 @@
+package org.university.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.university.dao.ClassroomDao;
+import org.university.dao.CourseDao;
+import org.university.dao.GroupDao;
+import org.university.dao.LessonChangeDao;
+import org.university.dao.LessonDao;
+import org.university.dao.TeacherDao;
+import org.university.dto.ImportErrorDto;
+import org.university.dto.ImportReportDto;
+import org.university.dto.LessonDto;
+import org.university.entity.Lesson;
+import org.university.entity.LessonSlot;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.service.CalendarService;
+import org.university.service.LessonChangeService;
+import org.university.service.index.LessonConflictIndex;
+import org.university.service.validator.LessonValidator;
+import org.university.utils.CreatorTestEntities;
+
+class LessonImportServiceImplTest {
+
+    private LessonDao lessonDaoMock;
+    private CourseDao courseDaoMock;
+    private LessonValidator validatorMock;
+    private CalendarService calendarServiceMock;
+    private LessonChangeService changeServiceMock;
+    private LessonImportServiceImpl importService;
+
+    @BeforeEach
+    void init() {
+        lessonDaoMock = mock(LessonDao.class);
+        courseDaoMock = mock(CourseDao.class);
+        GroupDao groupDaoMock = mock(GroupDao.class);
+        TeacherDao teacherDaoMock = mock(TeacherDao.class);
+        ClassroomDao classroomDaoMock = mock(ClassroomDao.class);
+        validatorMock = mock(LessonValidator.class);
+        calendarServiceMock = mock(CalendarService.class);
+        changeServiceMock = mock(LessonChangeService.class);
+        when(courseDaoMock.findAllByNameIn(anyCollection())).thenReturn(CreatorTestEntities.createCourses());
+        when(groupDaoMock.findAllByNameIn(anyCollection())).thenReturn(CreatorTestEntities.createGroups());
+        when(teacherDaoMock.findAllByEmailIn(anyCollection())).thenReturn(CreatorTestEntities.createTeachers());
+        when(classroomDaoMock.findAllByNumberIn(anyCollection())).thenReturn(CreatorTestEntities.createClassrooms());
+        LessonConflictIndex conflictIndex = new LessonConflictIndex(lessonDaoMock, mock(LessonChangeDao.class));
+        List<LessonSlot> slots = new ArrayList<>();
+        for (Lesson lesson : CreatorTestEntities.createLessons()) {
+            slots.add(LessonSlot.of(lesson));
+        }
+        conflictIndex.load(slots);
+        importService = new LessonImportServiceImpl(lessonDaoMock, courseDaoMock, groupDaoMock, teacherDaoMock,
+                classroomDaoMock, validatorMock, calendarServiceMock, conflictIndex, changeServiceMock);
+    }
+
+    @Test
+    void importLessonsShouldThrowIllegalArgumentExceptionWhenInputNull() {
+        assertThatThrownBy(() -> importService.importLessons(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void importLessonsShouldSendLessonsToCalendarOnlyAfterCommit() {
+        List<LessonDto> lessons = Arrays.asList(
+                createLessonDto("Law", "AB-22", "Bob@mail.ru", 1, "2021-10-20T10:00", "2021-10-20T12:00"));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            importService.importLessons(lessons);
+            verify(calendarServiceMock, never()).createLessons(anyList());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(calendarServiceMock).createLessons(argThat(saved -> saved.size() == 1));
+    }
+
+    @Test
+    void importLessonsShouldSaveAllLessonsWhenAllRowsValid() {
+        List<LessonDto> lessons = Arrays.asList(
+                createLessonDto("Law", "AB-22", "Bob@mail.ru", 1, "2021-10-20T10:00", "2021-10-20T12:00"),
+                createLessonDto("Math", "FR-33", "Ann@mail.ru", 2, "2021-10-20T10:00", "2021-10-20T12:00"));
+        ImportReportDto report = importService.importLessons(lessons);
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getErrors()).isEmpty();
+        verify(lessonDaoMock).saveAll(listOfSize(2));
+        verify(lessonDaoMock).flush();
+    }
+
+    @Test
+    void importLessonsShouldResolveReferencesOnceForWholeBatch() {
+        List<LessonDto> lessons = Arrays.asList(
+                createLessonDto("Law", "AB-22", "Bob@mail.ru", 1, "2021-10-20T10:00", "2021-10-20T12:00"),
+                createLessonDto("Law", "AB-22", "Bob@mail.ru", 1, "2021-10-21T10:00", "2021-10-21T12:00"),
+                createLessonDto("Law", "AB-22", "Bob@mail.ru", 1, "2021-10-22T10:00", "2021-10-22T12:00"));
+        importService.importLessons(lessons);
+        verify(courseDaoMock, times(1)).findAllByNameIn(anyCollection());
+    }
+
+    @Test
+    void importLessonsShouldReportRowWhenReferenceNotExists() {
+        List<LessonDto> lessons = Arrays.asList(
+                createLessonDto("History", "AB-22", "Bob@mail.ru", 1, "2021-10-20T10:00", "2021-10-20T12:00"));
+        ImportReportDto report = importService.importLessons(lessons);
+        assertThat(report.getImported()).isZero();
+        assertThat(report.getErrors()).containsExactly(new ImportErrorDto(1, "coursenotexist"));
+    }
+
+    @Test
+    void importLessonsShouldReportRowWhenTimeNotParsed() {
+        List<LessonDto> lessons = Arrays.asList(
+                createLessonDto("Law", "AB-22", "Bob@mail.ru", 1, "20.10.2021 10:00", "2021-10-20T12:00"));
+        ImportReportDto report = importService.importLessons(lessons);
+        assertThat(report.getErrors()).containsExactly(new ImportErrorDto(1, "invalidtime"));
+    }
+
+    @Test
+    void importLessonsShouldReportRowWhenValidatorRejectsLesson() {
+        doThrow(new InvalidLessonTimeException("sunday")).when(validatorMock).validate(
+                argThat(lesson -> lesson.getStartLesson().getDayOfMonth() == 24));
+        List<LessonDto> lessons = Arrays.asList(
+                createLessonDto("Law", "AB-22", "Bob@mail.ru", 1, "2021-10-20T10:00", "2021-10-20T12:00"),
+                createLessonDto("Law", "AB-22", "Bob@mail.ru", 1, "2021-10-24T10:00", "2021-10-24T12:00"));
+        ImportReportDto report = importService.importLessons(lessons);
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getErrors()).containsExactly(new ImportErrorDto(2, "sunday"));
+    }
+
+    @Test
+    void importLessonsShouldReportRowWhenTeacherBusyWithSavedLesson() {
+        List<LessonDto> lessons = Arrays.asList(
+                createLessonDto("Law", "AB-22", "Bob@mail.ru", 1, "2021-10-19T11:00", "2021-10-19T13:00"));
+        ImportReportDto report = importService.importLessons(lessons);
+        assertThat(report.getErrors()).containsExactly(new ImportErrorDto(1, "groupteacherbusy"));
+    }
+
+    @Test
+    void importLessonsShouldReportRowWhenClassroomBusyWithEarlierRow() {
+        List<LessonDto> lessons = Arrays.asList(
+                createLessonDto("Law", "AB-22", "Bob@mail.ru", 1, "2021-10-20T10:00", "2021-10-20T12:00"),
+                createLessonDto("Math", "FR-33", "Ann@mail.ru", 1, "2021-10-20T11:00", "2021-10-20T13:00"));
+        ImportReportDto report = importService.importLessons(lessons);
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getErrors()).containsExactly(new ImportErrorDto(2, "classroombusy"));
+    }
+
+    @Test
+    void importLessonsShouldReportRowWhenGroupBusyWithEarlierRow() {
+        List<LessonDto> lessons = Arrays.asList(
+                createLessonDto("Law", "AB-22", "Bob@mail.ru", 1, "2021-10-20T10:00", "2021-10-20T12:00"),
+                createLessonDto("Math", "AB-22", "Ann@mail.ru", 2, "2021-10-20T12:00", "2021-10-20T13:00"));
+        ImportReportDto report = importService.importLessons(lessons);
+        assertThat(report.getErrors()).containsExactly(new ImportErrorDto(2, "groupteacherbusy"));
+    }
+
+    @Test
+    void importLessonsShouldSendSavedLessonsToCalendar() {
+        List<LessonDto> lessons = Arrays.asList(
+                createLessonDto("Law", "AB-22", "Bob@mail.ru", 1, "2021-10-20T10:00", "2021-10-20T12:00"),
+                createLessonDto("History", "AB-22", "Bob@mail.ru", 1, "2021-10-21T10:00", "2021-10-21T12:00"));
+        importService.importLessons(lessons);
+        verify(calendarServiceMock).createLessons(listOfSize(1));
+    }
+
+    private static List<Lesson> listOfSize(int expectedSize) {
+        return argThat(lessons -> lessons.size() == expectedSize);
+    }
+
+    private static LessonDto createLessonDto(String course, String group, String teacher, int classroom,
+            String start, String end) {
+        LessonDto lessonDto = new LessonDto();
+        lessonDto.setCourseName(course);
+        lessonDto.setGroupName(group);
+        lessonDto.setTeacherEmail(teacher);
+        lessonDto.setClassroomNumber(classroom);
+        lessonDto.setStartLesson(start);
+        lessonDto.setEndLesson(end);
+        lessonDto.setOnlineLesson(false);
+        return lessonDto;
+    }
+}
@@ -0,0 +1,262 @@
+package org.university.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.university.dao.ClassroomDao;
+import org.university.dao.CourseDao;
+import org.university.dao.GroupDao;
+import org.university.dao.LessonDao;
+import org.university.dao.LessonSeriesDao;
+import org.university.dao.TeacherDao;
+import org.university.dto.LessonSeriesDto;
+import org.university.entity.Lesson;
+import org.university.entity.LessonChange;
+import org.university.entity.LessonSeries;
+import org.university.entity.LessonSlot;
+import org.university.exceptions.ClassroomBusyException;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.service.CalendarService;
+import org.university.service.LessonChangeService;
+import org.university.service.index.LessonConflictIndex;
+import org.university.service.validator.LessonValidator;
+import org.university.utils.CreatorTestEntities;
+
+class LessonSeriesServiceImplTest {
+
+    private LessonSeriesDao seriesDaoMock;
+    private LessonDao lessonDaoMock;
+    private CalendarService calendarServiceMock;
+    private LessonChangeService changeServiceMock;
+    private LessonSeriesServiceImpl seriesService;
+
+    @BeforeEach
+    void init() {
+        seriesDaoMock = mock(LessonSeriesDao.class);
+        lessonDaoMock = mock(LessonDao.class);
+        CourseDao courseDaoMock = mock(CourseDao.class);
+        GroupDao groupDaoMock = mock(GroupDao.class);
+        TeacherDao teacherDaoMock = mock(TeacherDao.class);
+        ClassroomDao classroomDaoMock = mock(ClassroomDao.class);
+        calendarServiceMock = mock(CalendarService.class);
+        changeServiceMock = mock(LessonChangeService.class);
+        when(courseDaoMock.findByName("Law")).thenReturn(Optional.of(CreatorTestEntities.createCourses().get(0)));
+        when(groupDaoMock.findByName("AB-22")).thenReturn(Optional.of(CreatorTestEntities.createGroups().get(0)));
+        when(teacherDaoMock.findByEmail("Bob@mail.ru"))
+                .thenReturn(Optional.of(CreatorTestEntities.createTeachers().get(0)));
+        when(teacherDaoMock.findByEmail("Ann@mail.ru"))
+                .thenReturn(Optional.of(CreatorTestEntities.createTeachers().get(1)));
+        when(classroomDaoMock.findByNumber(1)).thenReturn(Optional.of(CreatorTestEntities.createClassrooms().get(0)));
+        when(seriesDaoMock.save(any(LessonSeries.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        seriesService = new LessonSeriesServiceImpl(seriesDaoMock, lessonDaoMock, courseDaoMock, groupDaoMock,
+                teacherDaoMock, classroomDaoMock, mock(LessonValidator.class), calendarServiceMock,
+                LessonConflictIndex.of(Collections.emptyList()), changeServiceMock);
+    }
+
+    @Test
+    void addSeriesShouldThrowIllegalArgumentExceptionWhenInputNull() {
+        assertThatThrownBy(() -> seriesService.addSeries(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void addSeriesShouldSaveWeeklyLessonsUntilEndDateExceptExceptionDates() {
+        LessonSeriesDto seriesDto = createSeriesDto();
+        seriesDto.setExceptionDates(Arrays.asList("2021-11-15"));
+        seriesService.addSeries(seriesDto);
+        List<Lesson> lessons = captureSavedLessons();
+        assertThat(lessons).extracting(Lesson::getStartLesson).containsExactly(
+                LocalDateTime.of(2021, Month.NOVEMBER, 1, 10, 0), LocalDateTime.of(2021, Month.NOVEMBER, 8, 10, 0),
+                LocalDateTime.of(2021, Month.NOVEMBER, 22, 10, 0), LocalDateTime.of(2021, Month.NOVEMBER, 29, 10, 0));
+        assertThat(lessons).extracting(Lesson::getEndLesson)
+                .allMatch(end -> end.getHour() == 12 && end.getMinute() == 0);
+    }
+
+    @Test
+    void addSeriesShouldSaveEveryOtherWeekWhenIntervalIsTwoWeeks() {
+        LessonSeriesDto seriesDto = createSeriesDto();
+        seriesDto.setIntervalWeeks(2);
+        seriesService.addSeries(seriesDto);
+        assertThat(captureSavedLessons()).extracting(Lesson::getStartLesson).containsExactly(
+                LocalDateTime.of(2021, Month.NOVEMBER, 1, 10, 0), LocalDateTime.of(2021, Month.NOVEMBER, 15, 10, 0),
+                LocalDateTime.of(2021, Month.NOVEMBER, 29, 10, 0));
+    }
+
+    @Test
+    void addSeriesShouldCheckWholeSeriesWithOneQuery() {
+        seriesService.addSeries(createSeriesDto());
+        verify(lessonDaoMock, times(1)).findAllSlotsOverlapping(LocalDateTime.of(2021, Month.NOVEMBER, 1, 10, 0),
+                LocalDateTime.of(2021, Month.NOVEMBER, 29, 12, 0), 1, 1, 1);
+    }
+
+    @Test
+    void addSeriesShouldThrowInvalidLessonTimeExceptionWhenTeacherBusyInOneOccurrence() {
+        when(lessonDaoMock.findAllSlotsOverlapping(any(), any(), anyInt(), anyInt(), anyInt()))
+                .thenReturn(Arrays.asList(new LessonSlot(20, LocalDateTime.of(2021, Month.NOVEMBER, 22, 11, 0),
+                        LocalDateTime.of(2021, Month.NOVEMBER, 22, 13, 0), 1, 2, 2)));
+        assertThatThrownBy(() -> seriesService.addSeries(createSeriesDto()))
+                .isInstanceOf(InvalidLessonTimeException.class).hasMessage("groupteacherbusy");
+        verify(lessonDaoMock, never()).saveAll(any());
+    }
+
+    @Test
+    void addSeriesShouldThrowClassroomBusyExceptionWhenClassroomBusyInOneOccurrence() {
+        when(lessonDaoMock.findAllSlotsOverlapping(any(), any(), anyInt(), anyInt(), anyInt()))
+                .thenReturn(Arrays.asList(new LessonSlot(20, LocalDateTime.of(2021, Month.NOVEMBER, 8, 9, 0),
+                        LocalDateTime.of(2021, Month.NOVEMBER, 8, 10, 0), 2, 2, 1)));
+        assertThatThrownBy(() -> seriesService.addSeries(createSeriesDto()))
+                .isInstanceOf(ClassroomBusyException.class);
+    }
+
+    @Test
+    void addSeriesShouldThrowInvalidLessonTimeExceptionWhenEndDateBeforeStart() {
+        LessonSeriesDto seriesDto = createSeriesDto();
+        seriesDto.setUntilDate("2021-10-01");
+        assertThatThrownBy(() -> seriesService.addSeries(seriesDto)).isInstanceOf(InvalidLessonTimeException.class)
+                .hasMessage("invaliduntil");
+    }
+
+    @Test
+    void addSeriesShouldThrowInvalidLessonTimeExceptionWhenSeriesLongerThanYear() {
+        LessonSeriesDto seriesDto = createSeriesDto();
+        seriesDto.setUntilDate("2099-12-31");
+        assertThatThrownBy(() -> seriesService.addSeries(seriesDto)).isInstanceOf(InvalidLessonTimeException.class)
+                .hasMessage("invaliduntil");
+        verify(seriesDaoMock, never()).save(any());
+    }
+
+    @Test
+    void addSeriesShouldThrowInvalidLessonTimeExceptionWhenIntervalNotPositive() {
+        LessonSeriesDto seriesDto = createSeriesDto();
+        seriesDto.setIntervalWeeks(0);
+        assertThatThrownBy(() -> seriesService.addSeries(seriesDto)).isInstanceOf(InvalidLessonTimeException.class)
+                .hasMessage("invalidinterval");
+    }
+
+    @Test
+    void editSeriesShouldThrowEntityNotExistExceptionWhenSeriesNotExists() {
+        LessonSeriesDto seriesDto = createSeriesDto();
+        seriesDto.setId(7);
+        when(seriesDaoMock.findById(7)).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> seriesService.editSeries(seriesDto)).isInstanceOf(EntityNotExistException.class);
+    }
+
+    @Test
+    void editSeriesShouldUpdateFutureLessonsWithOneQueryWhenRuleNotChanged() {
+        LessonSeries series = createSeries();
+        when(seriesDaoMock.findById(5)).thenReturn(Optional.of(series));
+        when(lessonDaoMock.findAllSlotsOfSeriesFrom(5, LocalDateTime.of(2021, Month.NOVEMBER, 20, 0, 0)))
+                .thenReturn(Arrays.asList(
+                        new LessonSlot(31, LocalDateTime.of(2021, Month.NOVEMBER, 22, 10, 0),
+                                LocalDateTime.of(2021, Month.NOVEMBER, 22, 12, 0), 1, 1, 1),
+                        new LessonSlot(32, LocalDateTime.of(2021, Month.NOVEMBER, 29, 10, 0),
+                                LocalDateTime.of(2021, Month.NOVEMBER, 29, 12, 0), 1, 1, 1)));
+        LessonSeriesDto seriesDto = createSeriesDto();
+        seriesDto.setId(5);
+        seriesDto.setTeacherEmail("Ann@mail.ru");
+        seriesDto.setEditFrom("2021-11-20");
+        seriesService.editSeries(seriesDto);
+        verify(lessonDaoMock).updateSeriesFrom(eq(5), eq(LocalDateTime.of(2021, Month.NOVEMBER, 20, 0, 0)),
+                eq(series.getCourse()), eq(CreatorTestEntities.createTeachers().get(1)), eq(series.getGroup()),
+                eq(series.getClassroom()), eq(false), eq(null));
+        verify(lessonDaoMock, never()).saveAll(any());
+        verify(lessonDaoMock, never()).deleteSeriesFrom(anyInt(), any());
+        verify(calendarServiceMock).updateLessons(argThat(lessons -> lessons.size() == 2));
+    }
+
+    @Test
+    void editSeriesShouldThrowInvalidLessonTimeExceptionWhenNewTeacherBusyInFutureLesson() {
+        when(seriesDaoMock.findById(5)).thenReturn(Optional.of(createSeries()));
+        when(lessonDaoMock.findAllSlotsOfSeriesFrom(5, LocalDateTime.of(2021, Month.NOVEMBER, 20, 0, 0)))
+                .thenReturn(Arrays.asList(new LessonSlot(31, LocalDateTime.of(2021, Month.NOVEMBER, 22, 10, 0),
+                        LocalDateTime.of(2021, Month.NOVEMBER, 22, 12, 0), 1, 1, 1)));
+        when(lessonDaoMock.findAllSlotsOverlapping(any(), any(), anyInt(), anyInt(), anyInt()))
+                .thenReturn(Arrays.asList(
+                        new LessonSlot(31, LocalDateTime.of(2021, Month.NOVEMBER, 22, 10, 0),
+                                LocalDateTime.of(2021, Month.NOVEMBER, 22, 12, 0), 1, 1, 1),
+                        new LessonSlot(40, LocalDateTime.of(2021, Month.NOVEMBER, 22, 11, 0),
+                                LocalDateTime.of(2021, Month.NOVEMBER, 22, 12, 0), 2, 2, 2)));
+        LessonSeriesDto seriesDto = createSeriesDto();
+        seriesDto.setId(5);
+        seriesDto.setTeacherEmail("Ann@mail.ru");
+        seriesDto.setEditFrom("2021-11-20");
+        assertThatThrownBy(() -> seriesService.editSeries(seriesDto)).isInstanceOf(InvalidLessonTimeException.class);
+        verify(lessonDaoMock, never()).updateSeriesFrom(anyInt(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void editSeriesShouldRegenerateFutureLessonsWhenTimeChanged() {
+        when(seriesDaoMock.findById(5)).thenReturn(Optional.of(createSeries()));
+        when(lessonDaoMock.findAllSlotsOfSeriesFrom(5, LocalDateTime.of(2021, Month.NOVEMBER, 20, 0, 0)))
+                .thenReturn(Arrays.asList(new LessonSlot(31, LocalDateTime.of(2021, Month.NOVEMBER, 22, 10, 0),
+                        LocalDateTime.of(2021, Month.NOVEMBER, 22, 12, 0), 1, 1, 1)));
+        LessonSeriesDto seriesDto = createSeriesDto();
+        seriesDto.setId(5);
+        seriesDto.setStartLesson("2021-11-01T14:00");
+        seriesDto.setEndLesson("2021-11-01T15:30");
+        seriesDto.setEditFrom("2021-11-20");
+        seriesService.editSeries(seriesDto);
+        verify(lessonDaoMock).deleteSeriesFrom(5, LocalDateTime.of(2021, Month.NOVEMBER, 20, 0, 0));
+        assertThat(captureSavedLessons()).extracting(Lesson::getStartLesson).containsExactly(
+                LocalDateTime.of(2021, Month.NOVEMBER, 22, 14, 0), LocalDateTime.of(2021, Month.NOVEMBER, 29, 14, 0));
+        verify(calendarServiceMock).deleteLessons(Arrays.asList(31));
+        verify(changeServiceMock).recordChanges(LessonChange.Type.DELETED, Arrays.asList(31));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Lesson> captureSavedLessons() {
+        ArgumentCaptor<List<Lesson>> captor = ArgumentCaptor.forClass(List.class);
+        verify(lessonDaoMock).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    private static LessonSeries createSeries() {
+        return LessonSeries.builder()
+                .withId(5)
+                .withCourse(CreatorTestEntities.createCourses().get(0))
+                .withTeacher(CreatorTestEntities.createTeachers().get(0))
+                .withGroup(CreatorTestEntities.createGroups().get(0))
+                .withClassroom(CreatorTestEntities.createClassrooms().get(0))
+                .withStartLesson(LocalDateTime.of(2021, Month.NOVEMBER, 1, 10, 0))
+                .withEndLesson(LocalDateTime.of(2021, Month.NOVEMBER, 1, 12, 0))
+                .withUntilDate(LocalDate.of(2021, Month.NOVEMBER, 30))
+                .withIntervalWeeks(1)
+                .withExceptionDates(new HashSet<>())
+                .withOnlineLesson(false)
+                .build();
+    }
+
+    private static LessonSeriesDto createSeriesDto() {
+        LessonSeriesDto seriesDto = new LessonSeriesDto();
+        seriesDto.setCourseName("Law");
+        seriesDto.setTeacherEmail("Bob@mail.ru");
+        seriesDto.setGroupName("AB-22");
+        seriesDto.setClassroomNumber(1);
+        seriesDto.setStartLesson("2021-11-01T10:00");
+        seriesDto.setEndLesson("2021-11-01T12:00");
+        seriesDto.setUntilDate("2021-11-30");
+        seriesDto.setOnlineLesson(false);
+        return seriesDto;
+    }
+}
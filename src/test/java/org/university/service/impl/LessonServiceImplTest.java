@@ -3,8 +3,12 @@ package org.university.service.impl;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -13,23 +17,32 @@ import java.security.GeneralSecurityException;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.university.dao.LessonChangeDao;
 import org.university.dao.LessonDao;
 import org.university.dto.LessonDto;
 import org.university.entity.Group;
 import org.university.entity.Lesson;
+import org.university.entity.LessonChange;
+import org.university.entity.LessonSlot;
 import org.university.entity.Teacher;
 import org.university.exceptions.ClassroomBusyException;
 import org.university.exceptions.EntityAlreadyExistException;
 import org.university.exceptions.EntityNotExistException;
 import org.university.exceptions.InvalidLessonTimeException;
 import org.university.service.CalendarService;
+import org.university.service.LessonChangeService;
+import org.university.service.index.LessonConflictIndex;
 import org.university.service.mapper.LessonDtoMapper;
 import org.university.service.validator.LessonValidator;
 import org.university.utils.CreatorTestEntities;
@@ -47,14 +60,16 @@ class LessonServiceImplTest {
     private static LessonDtoMapper mapperMock;
     private static CalendarService calendarServiceMock;
     private static LessonValidator lessonValidatorMock;
+    private static LessonChangeService changeServiceMock;
 
     @BeforeAll
     static void init() {
         lessonDaoMock = createLessonDaoMock();
         mapperMock = mock(LessonDtoMapper.class);
         calendarServiceMock = mock(CalendarServiceImpl.class);
+        changeServiceMock = mock(LessonChangeService.class);
         lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock,
-                calendarServiceMock);
+                calendarServiceMock, createConflictIndex(CreatorTestEntities.createLessons()), changeServiceMock);
         lessonMock = createLessonMock();
     }
 
@@ -93,7 +108,7 @@ class LessonServiceImplTest {
         LessonDto lessonDto = new LessonDto();
         when(mapperMock.mapDtoToEntity(lessonDto)).thenReturn(lessonMock);
         lessonService.addLesson(lessonDto);
-        verify(lessonDaoMock).save(lessonMock);
+        verify(lessonDaoMock).saveAndFlush(lessonMock);
     }
 
     @Test
@@ -101,12 +116,13 @@ class LessonServiceImplTest {
         Lesson lessonMock = createLessonMock();
         when(lessonMock.getStartLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 15, 00, 00));
         when(lessonMock.getEndLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 16, 00, 00));
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
-        when(lessonDaoMock.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(
-                LocalDateTime.of(2021, Month.OCTOBER, 19, 0, 0), LocalDateTime.of(2021, Month.OCTOBER, 19, 23, 0), 2))
-                        .thenReturn(lessons);
+        LessonConflictIndex conflictIndex = createConflictIndex(Arrays.asList(createLesson(4,
+                LocalDateTime.of(2021, Month.OCTOBER, 19, 15, 00, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 19, 16, 30, 00), 1, 0, 0)));
         LessonDto lessonDto = new LessonDto();
         when(mapperMock.mapDtoToEntity(lessonDto)).thenReturn(lessonMock);
+        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock,
+                calendarServiceMock, conflictIndex, changeServiceMock);
         assertThatThrownBy(() -> lessonService.addLesson(lessonDto)).isInstanceOf(InvalidLessonTimeException.class);
     }
 
@@ -115,14 +131,13 @@ class LessonServiceImplTest {
         when(lessonMock.getStartLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 10, 00, 00));
         when(lessonMock.getEndLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 12, 00, 00));
         when(lessonMock.getOnlineLesson()).thenReturn(false);
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
-        lessons.remove(2);
-        lessons.remove(1);
-        when(lessonDaoMock.findAllByStartLessonBetweenAndGroupIdOrderByStartLesson(
-                LocalDateTime.of(2021, Month.OCTOBER, 19, 0, 0), LocalDateTime.of(2021, Month.OCTOBER, 19, 23, 0), 2))
-                        .thenReturn(lessons);
+        LessonConflictIndex conflictIndex = createConflictIndex(Arrays.asList(createLesson(4,
+                LocalDateTime.of(2021, Month.OCTOBER, 19, 10, 00, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 19, 12, 00, 00), 0, 1, 0)));
         LessonDto lessonDto = new LessonDto();
         when(mapperMock.mapDtoToEntity(lessonDto)).thenReturn(lessonMock);
+        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock,
+                calendarServiceMock, conflictIndex, changeServiceMock);
         assertThatThrownBy(() -> lessonService.addLesson(lessonDto)).isInstanceOf(InvalidLessonTimeException.class);
     }
     
@@ -131,17 +146,13 @@ class LessonServiceImplTest {
         when(lessonMock.getStartLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 10, 00, 00));
         when(lessonMock.getEndLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 12, 00, 00));
         when(lessonMock.getOnlineLesson()).thenReturn(false);
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
-        lessons.remove(2);
-        lessons.remove(1);
-        when(lessonDaoMock.findAllByStartLessonBetweenAndGroupIdOrderByStartLesson(
-                LocalDateTime.of(2021, Month.OCTOBER, 19, 0, 0), LocalDateTime.of(2021, Month.OCTOBER, 19, 23, 0), 2))
-                        .thenReturn(lessons);
-        when(lessonDaoMock.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(
-                LocalDateTime.of(2021, Month.OCTOBER, 19, 0, 0), LocalDateTime.of(2021, Month.OCTOBER, 19, 23, 0), 2))
-                        .thenReturn(lessons);
+        LessonConflictIndex conflictIndex = createConflictIndex(Arrays.asList(createLesson(4,
+                LocalDateTime.of(2021, Month.OCTOBER, 19, 11, 00, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 19, 13, 00, 00), 1, 1, 0)));
         LessonDto lessonDto = new LessonDto();
         when(mapperMock.mapDtoToEntity(lessonDto)).thenReturn(lessonMock);
+        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock,
+                calendarServiceMock, conflictIndex, changeServiceMock);
         assertThatThrownBy(() -> lessonService.addLesson(lessonDto)).isInstanceOf(InvalidLessonTimeException.class);
     }
 
@@ -152,19 +163,41 @@ class LessonServiceImplTest {
         LessonDto lessonDto = new LessonDto();
         when(mapperMock.mapDtoToEntity(lessonDto)).thenReturn(lessonMock);
         lessonService.addLesson(lessonDto);
-        verify(lessonDaoMock).save(lessonMock);
+        verify(lessonDaoMock).saveAndFlush(lessonMock);
         verify(calendarServiceMock).createLesson(lessonMock);
     }
 
+    @Test
+    void addLessonShouldThrowClassroomBusyExceptionWhenInsertViolatesClassroomOverlapConstraint() {
+        Lesson lessonMock = createLessonMock();
+        LessonDao lessonDaoMock = createLessonDaoMock();
+        LessonDto lessonDto = new LessonDto();
+        when(mapperMock.mapDtoToEntity(lessonDto)).thenReturn(lessonMock);
+        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock,
+                calendarServiceMock, createConflictIndex(CreatorTestEntities.createLessons()), changeServiceMock);
+        when(lessonDaoMock.saveAndFlush(lessonMock)).thenThrow(new DataIntegrityViolationException(
+                "conflicting key value violates exclusion constraint \"lessons_classroom_overlap\""));
+        assertThatThrownBy(() -> lessonService.addLesson(lessonDto)).isInstanceOf(ClassroomBusyException.class);
+    }
+
+    @Test
+    void addLessonShouldThrowInvalidLessonTimeExceptionWhenInsertViolatesTeacherOverlapConstraint() {
+        Lesson lessonMock = createLessonMock();
+        LessonDao lessonDaoMock = createLessonDaoMock();
+        LessonDto lessonDto = new LessonDto();
+        when(mapperMock.mapDtoToEntity(lessonDto)).thenReturn(lessonMock);
+        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock,
+                calendarServiceMock, createConflictIndex(CreatorTestEntities.createLessons()), changeServiceMock);
+        when(lessonDaoMock.saveAndFlush(lessonMock)).thenThrow(new DataIntegrityViolationException(
+                "conflicting key value violates exclusion constraint \"lessons_teacher_overlap\""));
+        assertThatThrownBy(() -> lessonService.addLesson(lessonDto)).isInstanceOf(InvalidLessonTimeException.class);
+    }
+
     @Test
     void addLessonShouldThrowInvalidLessonTimeExceptionWhenLessonAfterLastButNotBeforeNext() {
         Lesson lessonMock = createLessonMock();
         when(lessonMock.getStartLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 18, 00, 00));
         when(lessonMock.getEndLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 21, 00, 00));
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
-        when(lessonDaoMock.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(
-                LocalDateTime.of(2021, Month.OCTOBER, 19, 0, 0), LocalDateTime.of(2021, Month.OCTOBER, 19, 23, 0), 2))
-                        .thenReturn(lessons);
         LessonDto lessonDto = new LessonDto();
         when(mapperMock.mapDtoToEntity(lessonDto)).thenReturn(lessonMock);
         assertThatThrownBy(() -> lessonService.addLesson(lessonDto)).isInstanceOf(InvalidLessonTimeException.class);
@@ -176,14 +209,10 @@ class LessonServiceImplTest {
         when(lessonMock.getStartLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 22, 30, 00));
         when(lessonMock.getEndLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 22, 55, 00));
         when(lessonMock.getId()).thenReturn(null);
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
-        when(lessonDaoMock.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(
-                LocalDateTime.of(2021, Month.OCTOBER, 19, 0, 0), LocalDateTime.of(2021, Month.OCTOBER, 19, 23, 0), 2))
-                        .thenReturn(lessons);
         LessonDto lessonDto = new LessonDto();
         when(mapperMock.mapDtoToEntity(lessonDto)).thenReturn(lessonMock);
         lessonService.addLesson(lessonDto);
-        verify(lessonDaoMock).save(lessonMock);
+        verify(lessonDaoMock).saveAndFlush(lessonMock);
     }
     
     @Test
@@ -192,14 +221,12 @@ class LessonServiceImplTest {
         when(lessonMock.getStartLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 22, 30, 00));
         when(lessonMock.getEndLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 22, 55, 00));
         when(lessonMock.getId()).thenReturn(null);
-        List<Lesson> lessons = new ArrayList<>();
-        when(lessonDaoMock.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(
-                LocalDateTime.of(2021, Month.OCTOBER, 19, 0, 0), LocalDateTime.of(2021, Month.OCTOBER, 19, 23, 0), 2))
-                        .thenReturn(lessons);
         LessonDto lessonDto = new LessonDto();
         when(mapperMock.mapDtoToEntity(lessonDto)).thenReturn(lessonMock);
+        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock,
+                calendarServiceMock, createConflictIndex(new ArrayList<>()), changeServiceMock);
         lessonService.addLesson(lessonDto);
-        verify(lessonDaoMock).save(lessonMock);
+        verify(lessonDaoMock).saveAndFlush(lessonMock);
     }
 
     @Test
@@ -208,13 +235,9 @@ class LessonServiceImplTest {
         when(lessonMock.getStartLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 9, 00, 00));
         when(lessonMock.getEndLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 9, 30, 00));
         LessonDto lessonDto = new LessonDto();
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
-        when(lessonDaoMock.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(
-                LocalDateTime.of(2021, Month.OCTOBER, 19, 0, 0), LocalDateTime.of(2021, Month.OCTOBER, 19, 23, 0), 2))
-                        .thenReturn(lessons);
         when(mapperMock.mapDtoToEntity(lessonDto)).thenReturn(lessonMock);
         lessonService.addLesson(lessonDto);
-        verify(lessonDaoMock).save(lessonMock);
+        verify(lessonDaoMock).saveAndFlush(lessonMock);
     }
 
     @Test
@@ -224,31 +247,33 @@ class LessonServiceImplTest {
         when(lessonMock.getEndLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 12, 00, 00));
         when(lessonMock.getClassroom()).thenReturn(CreatorTestEntities.createClassrooms().get(0));
         when(lessonMock.getId()).thenReturn(null);
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
-        lessons.remove(0);
-        when(lessonDaoMock.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(
-                LocalDateTime.of(2021, Month.OCTOBER, 19, 0, 0), LocalDateTime.of(2021, Month.OCTOBER, 19, 23, 0), 2))
-                        .thenReturn(lessons);
-        when(lessonDaoMock.findAllByStartLessonBetweenAndGroupIdOrderByStartLesson(
-                LocalDateTime.of(2021, Month.OCTOBER, 19, 0, 0), LocalDateTime.of(2021, Month.OCTOBER, 19, 23, 0), 2))
-                        .thenReturn(lessons);
         LessonDto lessonDto = new LessonDto();
         when(mapperMock.mapDtoToEntity(lessonDto)).thenReturn(lessonMock);
         assertThatThrownBy(() -> lessonService.addLesson(lessonDto)).isInstanceOf(ClassroomBusyException.class);
     }
     
+    @Test
+    void addLessonShouldPutSavedLessonToConflictIndex() {
+        Lesson lesson = createLesson(4, LocalDateTime.of(2021, Month.OCTOBER, 20, 10, 00, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 20, 11, 00, 00), 0, 0, 0);
+        LessonDto lessonDto = new LessonDto();
+        when(mapperMock.mapDtoToEntity(lessonDto)).thenReturn(lesson);
+        LessonConflictIndex conflictIndex = createConflictIndex(new ArrayList<>());
+        LessonServiceImpl lessonService = new LessonServiceImpl(mock(LessonDao.class), mock(LessonValidator.class),
+                mapperMock, calendarServiceMock, conflictIndex, changeServiceMock);
+        lessonService.addLesson(lessonDto);
+        assertThat(conflictIndex.isTeacherBusy(1, LocalDateTime.of(2021, Month.OCTOBER, 20, 10, 30, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 20, 12, 00, 00), null)).isTrue();
+    }
+
     @Test
     void addLessonShouldLoggingErrorMessageWhenAddToCalendarFailed() throws IOException, GeneralSecurityException {
         LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock,
-                calendarServiceMock);
+                calendarServiceMock, createConflictIndex(CreatorTestEntities.createLessons()), changeServiceMock);
         Lesson lessonMock = createLessonMock();
         when(lessonMock.getStartLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 9, 00, 00));
         when(lessonMock.getEndLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 9, 30, 00));
         LessonDto lessonDto = new LessonDto();
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
-        when(lessonDaoMock.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(
-                LocalDateTime.of(2021, Month.OCTOBER, 19, 0, 0), LocalDateTime.of(2021, Month.OCTOBER, 19, 23, 0), 2))
-                        .thenReturn(lessons);
         when(mapperMock.mapDtoToEntity(lessonDto)).thenReturn(lessonMock);
         doThrow(new GeneralSecurityException()).when(calendarServiceMock).createLesson(lessonMock);
         Logger lessonServiceLogger = (Logger) LoggerFactory.getLogger(LessonServiceImpl.class);
@@ -257,7 +282,7 @@ class LessonServiceImplTest {
         lessonServiceLogger.addAppender(listAppender);
         List<ILoggingEvent> logsList = listAppender.list;
         lessonService.addLesson(lessonDto);
-        verify(lessonDaoMock).save(lessonMock);
+        verify(lessonDaoMock).saveAndFlush(lessonMock);
         assertEquals("Add in calendar failed", logsList.get(0).getMessage());
         assertEquals(Level.ERROR, logsList.get(0).getLevel());
     }
@@ -267,19 +292,43 @@ class LessonServiceImplTest {
         LessonDao lessonDaoMock = createLessonDaoMock();
         CalendarService calendarServiceMock = mock(CalendarServiceImpl.class);
         LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock,
-                calendarServiceMock);        
+                calendarServiceMock, createConflictIndex(CreatorTestEntities.createLessons()), changeServiceMock);        
         LessonDto lessonDtoMock = mock(LessonDto.class);
         when(lessonDtoMock.getId()).thenReturn(1);
         lessonService.delete(lessonDtoMock);
         verify(lessonDaoMock).deleteById(1);
         verify(calendarServiceMock).deleteLesson(Integer.toString(1));
     }
+
+    @Test
+    void deleteShouldRemoveLessonFromConflictIndex() {
+        LessonConflictIndex conflictIndex = createConflictIndex(CreatorTestEntities.createLessons());
+        LessonServiceImpl lessonService = new LessonServiceImpl(createLessonDaoMock(), mock(LessonValidator.class),
+                mapperMock, mock(CalendarServiceImpl.class), conflictIndex, changeServiceMock);
+        LessonDto lessonDto = new LessonDto();
+        lessonDto.setId(1);
+        lessonService.delete(lessonDto);
+        assertThat(conflictIndex.isClassroomBusy(1, LocalDateTime.of(2021, Month.OCTOBER, 19, 10, 00, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 19, 12, 00, 00), null)).isFalse();
+    }
+
+    @Test
+    void deleteShouldRecordDeletedLessonInChangeJournal() {
+        LessonChangeService changeService = mock(LessonChangeService.class);
+        LessonServiceImpl lessonService = new LessonServiceImpl(createLessonDaoMock(), mock(LessonValidator.class),
+                mapperMock, mock(CalendarServiceImpl.class), createConflictIndex(CreatorTestEntities.createLessons()),
+                changeService);
+        LessonDto lessonDto = new LessonDto();
+        lessonDto.setId(1);
+        lessonService.delete(lessonDto);
+        verify(changeService).recordChanges(LessonChange.Type.DELETED, Collections.singletonList(1));
+    }
     
     @Test
     void deleteShouldLoggingErrorMessageWhenDeleteFromCalendarFailed() throws IOException, GeneralSecurityException {
         LessonDao lessonDaoMock = createLessonDaoMock();
         LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock,
-                calendarServiceMock);
+                calendarServiceMock, createConflictIndex(CreatorTestEntities.createLessons()), changeServiceMock);
         LessonDto lessonDtoMock = mock(LessonDto.class);
         when(lessonDtoMock.getId()).thenReturn(1);
         doThrow(new GeneralSecurityException()).when(calendarServiceMock).deleteLesson(Integer.toString(1));
@@ -304,7 +353,6 @@ class LessonServiceImplTest {
         assertThatThrownBy(() -> lessonService.edit(null)).isInstanceOf(IllegalArgumentException.class);
     }
 
-
     @Test
     void editShouldThrowInvalidLessonTimeExceptionWhenTeacherBusyThisTime() {
         LessonDto lessonDto = createLessonDto();
@@ -319,12 +367,10 @@ class LessonServiceImplTest {
         when(lessonMock.getGroup()).thenReturn(CreatorTestEntities.createGroups().get(1));
         when(lessonMock.getTeacher()).thenReturn(CreatorTestEntities.createTeachers().get(0)); 
         LessonDao lessonDaoMock = createLessonDaoMock();
-        List<Lesson> lessons = new ArrayList<>();
-        lessons.add(CreatorTestEntities.createLessons().get(0));
-        when(lessonDaoMock.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0), 1)).thenReturn(lessons);    
         when(lessonDaoMock.findById(2)).thenReturn(Optional.ofNullable(CreatorTestEntities.createLessons().get(1)));        
-        when(mapperMock.mapDtoToEntity(lessonDto)).thenReturn(lessonMock);
-        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock, calendarServiceMock);
+        when(mapperMock.mapDtoToEntity(eq(lessonDto), any(Lesson.class))).thenReturn(lessonMock);
+        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock, calendarServiceMock,
+                createConflictIndex(CreatorTestEntities.createLessons()), changeServiceMock);
         assertThatThrownBy(() -> lessonService.edit(lessonDto)).isInstanceOf(InvalidLessonTimeException.class);
     }
     
@@ -341,17 +387,11 @@ class LessonServiceImplTest {
         when(lessonMock.getEndLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 12, 00, 00));               
         when(lessonMock.getGroup()).thenReturn(CreatorTestEntities.createGroups().get(0));
         when(lessonMock.getTeacher()).thenReturn(CreatorTestEntities.createTeachers().get(1));
-        when(mapperMock.mapDtoToEntity(lessonDto)).thenReturn(lessonMock);        
+        when(mapperMock.mapDtoToEntity(eq(lessonDto), any(Lesson.class))).thenReturn(lessonMock);        
         LessonDao lessonDaoMock = createLessonDaoMock();
-        List<Lesson> groupLessons = new ArrayList<>();
-        groupLessons.add(CreatorTestEntities.createLessons().get(0));
-        List<Lesson> teacherLessons = new ArrayList<>();
-        teacherLessons.add(CreatorTestEntities.createLessons().get(1));
-        teacherLessons.add(CreatorTestEntities.createLessons().get(2));
-        when(lessonDaoMock.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0), 2)).thenReturn(teacherLessons);
-        when(lessonDaoMock.findAllByStartLessonBetweenAndGroupIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0), 1)).thenReturn(groupLessons);
         when(lessonDaoMock.findById(2)).thenReturn(Optional.ofNullable(CreatorTestEntities.createLessons().get(1)));
-        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock, calendarServiceMock);
+        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock, calendarServiceMock,
+                createConflictIndex(CreatorTestEntities.createLessons()), changeServiceMock);
         assertThatThrownBy(() -> lessonService.edit(lessonDto)).isInstanceOf(InvalidLessonTimeException.class);
     }
     
@@ -371,16 +411,12 @@ class LessonServiceImplTest {
         when(lessonMock.getStartLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 15, 00, 00));
         when(lessonMock.getEndLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 17, 00, 00));
         when(lessonMock.getClassroom()).thenReturn(CreatorTestEntities.createClassrooms().get(1));
-        when(mapperMock.mapDtoToEntity(lessonDto)).thenReturn(lessonMock);
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
-        lessons.remove(0);
-        when(lessonDaoMock.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0), 2)).thenReturn(lessons);
-        when(lessonDaoMock.findAllByStartLessonBetweenAndGroupIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0), 2)).thenReturn(lessons);
-        when(lessonDaoMock.findAllByStartLessonBetweenOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0))).thenReturn(lessons);
+        when(mapperMock.mapDtoToEntity(eq(lessonDto), any(Lesson.class))).thenReturn(lessonMock);
         when(lessonDaoMock.findById(2)).thenReturn(Optional.ofNullable(CreatorTestEntities.createLessons().get(1)));
-        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock, calendarServiceMock);
+        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock, calendarServiceMock,
+                createConflictIndex(CreatorTestEntities.createLessons()), changeServiceMock);
         lessonService.edit(lessonDto);
-        verify(lessonDaoMock).save(lessonMock);
+        verify(lessonDaoMock).saveAndFlush(lessonMock);
     }
     
     @Test
@@ -399,16 +435,12 @@ class LessonServiceImplTest {
         when(lessonMock.getStartLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 13, 00, 00));
         when(lessonMock.getEndLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 14, 00, 00));
         when(lessonMock.getClassroom()).thenReturn(CreatorTestEntities.createClassrooms().get(0));
-        when(mapperMock.mapDtoToEntity(lessonDto)).thenReturn(lessonMock);        
-        List<Lesson> lessons = new ArrayList<>();
-        lessons.add(CreatorTestEntities.createLessons().get(0));
-        when(lessonDaoMock.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0), 1)).thenReturn(lessons);
-        when(lessonDaoMock.findAllByStartLessonBetweenAndGroupIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0), 1)).thenReturn(lessons);
-        when(lessonDaoMock.findAllByStartLessonBetweenOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0))).thenReturn(lessons);
+        when(mapperMock.mapDtoToEntity(eq(lessonDto), any(Lesson.class))).thenReturn(lessonMock);        
         when(lessonDaoMock.findById(2)).thenReturn(Optional.ofNullable(CreatorTestEntities.createLessons().get(1)));
-        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock, calendarServiceMock);
+        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock, calendarServiceMock,
+                createConflictIndex(CreatorTestEntities.createLessons()), changeServiceMock);
         lessonService.edit(lessonDto);
-        verify(lessonDaoMock).save(lessonMock);
+        verify(lessonDaoMock).saveAndFlush(lessonMock);
     }
 
     @Test
@@ -427,16 +459,12 @@ class LessonServiceImplTest {
         when(lessonMock.getStartLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 8, 00, 00));
         when(lessonMock.getEndLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 9, 00, 00));
         when(lessonMock.getClassroom()).thenReturn(CreatorTestEntities.createClassrooms().get(0));
-        when(mapperMock.mapDtoToEntity(lessonDto)).thenReturn(lessonMock);        
-        List<Lesson> lessons = new ArrayList<>();
-        lessons.add(CreatorTestEntities.createLessons().get(0));
-        when(lessonDaoMock.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0), 1)).thenReturn(lessons);
-        when(lessonDaoMock.findAllByStartLessonBetweenAndGroupIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0), 1)).thenReturn(lessons);
-        when(lessonDaoMock.findAllByStartLessonBetweenOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0))).thenReturn(lessons);
+        when(mapperMock.mapDtoToEntity(eq(lessonDto), any(Lesson.class))).thenReturn(lessonMock);        
         when(lessonDaoMock.findById(2)).thenReturn(Optional.ofNullable(CreatorTestEntities.createLessons().get(1)));
-        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock, calendarServiceMock);
+        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock, calendarServiceMock,
+                createConflictIndex(CreatorTestEntities.createLessons()), changeServiceMock);
         lessonService.edit(lessonDto);
-        verify(lessonDaoMock).save(lessonMock);
+        verify(lessonDaoMock).saveAndFlush(lessonMock);
     }
     
     @Test
@@ -455,19 +483,12 @@ class LessonServiceImplTest {
         when(lessonMock.getStartLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 22, 10, 00));
         when(lessonMock.getEndLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 22, 50, 00));
         when(lessonMock.getClassroom()).thenReturn(CreatorTestEntities.createClassrooms().get(0));
-        when(mapperMock.mapDtoToEntity(lessonDto)).thenReturn(lessonMock);        
-        List<Lesson> lessons = new ArrayList<>();
-        lessons.add(CreatorTestEntities.createLessons().get(1));
-        lessons.add(CreatorTestEntities.createLessons().get(2));
-        List<Lesson> classroomLessons = new ArrayList<>();
-        classroomLessons.add(CreatorTestEntities.createLessons().get(0));
-        when(lessonDaoMock.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0), 2)).thenReturn(lessons);
-        when(lessonDaoMock.findAllByStartLessonBetweenAndGroupIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0), 2)).thenReturn(lessons);
-        when(lessonDaoMock.findAllByStartLessonBetweenOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0))).thenReturn(classroomLessons);
+        when(mapperMock.mapDtoToEntity(eq(lessonDto), any(Lesson.class))).thenReturn(lessonMock);        
         when(lessonDaoMock.findById(1)).thenReturn(Optional.ofNullable(CreatorTestEntities.createLessons().get(0)));
-        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock, calendarServiceMock);
+        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock, calendarServiceMock,
+                createConflictIndex(CreatorTestEntities.createLessons()), changeServiceMock);
         lessonService.edit(lessonDto);
-        verify(lessonDaoMock).save(lessonMock);
+        verify(lessonDaoMock).saveAndFlush(lessonMock);
     }
     
     @Test
@@ -487,19 +508,12 @@ class LessonServiceImplTest {
         when(lessonMock.getStartLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 10, 00, 00));
         when(lessonMock.getEndLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 14, 00, 00));
         when(lessonMock.getClassroom()).thenReturn(CreatorTestEntities.createClassrooms().get(0));
-        when(mapperMock.mapDtoToEntity(lessonDto)).thenReturn(lessonMock);        
-        List<Lesson> lessons = new ArrayList<>();
-        lessons.add(CreatorTestEntities.createLessons().get(1));
-        lessons.add(CreatorTestEntities.createLessons().get(2));
-        List<Lesson> classroomLessons = new ArrayList<>();
-        classroomLessons.add(CreatorTestEntities.createLessons().get(0));
-        when(lessonDaoMock.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0), 2)).thenReturn(lessons);
-        when(lessonDaoMock.findAllByStartLessonBetweenAndGroupIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0), 2)).thenReturn(lessons);
-        when(lessonDaoMock.findAllByStartLessonBetweenOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0))).thenReturn(classroomLessons);
+        when(mapperMock.mapDtoToEntity(eq(lessonDto), any(Lesson.class))).thenReturn(lessonMock);        
         when(lessonDaoMock.findById(1)).thenReturn(Optional.ofNullable(CreatorTestEntities.createLessons().get(0)));
-        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock, calendarServiceMock);
+        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock, calendarServiceMock,
+                createConflictIndex(CreatorTestEntities.createLessons()), changeServiceMock);
         lessonService.edit(lessonDto);
-        verify(lessonDaoMock).save(lessonMock);
+        verify(lessonDaoMock).saveAndFlush(lessonMock);
     }
     
     @Test
@@ -518,21 +532,44 @@ class LessonServiceImplTest {
         when(lessonMock.getStartLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 18, 00, 00));
         when(lessonMock.getEndLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 19, 00, 00));
         when(lessonMock.getClassroom()).thenReturn(CreatorTestEntities.createClassrooms().get(0));
-        when(mapperMock.mapDtoToEntity(lessonDto)).thenReturn(lessonMock);        
-        List<Lesson> lessons = new ArrayList<>();
-        lessons.add(CreatorTestEntities.createLessons().get(1));
-        lessons.add(CreatorTestEntities.createLessons().get(2));
-        List<Lesson> classroomLessons = new ArrayList<>();
-        classroomLessons.add(CreatorTestEntities.createLessons().get(0));
-        when(lessonDaoMock.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0), 2)).thenReturn(lessons);
-        when(lessonDaoMock.findAllByStartLessonBetweenAndGroupIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0), 2)).thenReturn(lessons);
-        when(lessonDaoMock.findAllByStartLessonBetweenOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0))).thenReturn(classroomLessons);
+        when(mapperMock.mapDtoToEntity(eq(lessonDto), any(Lesson.class))).thenReturn(lessonMock);        
         when(lessonDaoMock.findById(1)).thenReturn(Optional.ofNullable(CreatorTestEntities.createLessons().get(0)));
-        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock, calendarServiceMock);
+        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock, calendarServiceMock,
+                createConflictIndex(CreatorTestEntities.createLessons()), changeServiceMock);
         lessonService.edit(lessonDto);
-        verify(lessonDaoMock).save(lessonMock);
+        verify(lessonDaoMock).saveAndFlush(lessonMock);
     }
     
+    @Test
+    void editShouldKeepLessonInSeriesWhenOccurrenceEdited() {
+        Lesson lesson = CreatorTestEntities.createLessons().get(1);
+        Lesson persisted = Lesson.builder().withId(lesson.getId()).withCourse(lesson.getCourse())
+                .withGroup(lesson.getGroup()).withTeacher(lesson.getTeacher()).withClassroom(lesson.getClassroom())
+                .withStartLesson(lesson.getStartLesson()).withEndLesson(lesson.getEndLesson())
+                .withOnlineLesson(lesson.getOnlineLesson()).withLessonLink(lesson.getLessonLink()).withSeriesId(7)
+                .build();
+        LessonDto lessonDto = new LessonDto();
+        lessonDto.setId(2);
+        lessonDto.setStartLesson(persisted.getStartLesson().toString());
+        lessonDto.setEndLesson(persisted.getEndLesson().toString());
+        lessonDto.setCourseName(persisted.getCourse().getName());
+        lessonDto.setGroupName(persisted.getGroup().getName());
+        lessonDto.setTeacherEmail(persisted.getTeacher().getEmail());
+        lessonDto.setClassroomNumber(persisted.getClassroom().getNumber());
+        lessonDto.setOnlineLesson(true);
+        lessonDto.setLessonLink("new-link");
+        LessonDao lessonDaoMock = createLessonDaoMock();
+        when(lessonDaoMock.findById(2)).thenReturn(Optional.of(persisted));
+        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class),
+                new LessonDtoMapper(), calendarServiceMock, createConflictIndex(CreatorTestEntities.createLessons()),
+                changeServiceMock);
+        lessonService.edit(lessonDto);
+        ArgumentCaptor<Lesson> saved = ArgumentCaptor.forClass(Lesson.class);
+        verify(lessonDaoMock).saveAndFlush(saved.capture());
+        assertThat(saved.getValue().getLessonLink()).isEqualTo("new-link");
+        assertThat(saved.getValue().getSeriesId()).isEqualTo(7);
+    }
+
     @Test
     void editShouldLoggingErrorMessageWhenEditCalendarFailed() throws IOException, GeneralSecurityException {
         LessonDto lessonDto = new LessonDto();
@@ -549,14 +586,10 @@ class LessonServiceImplTest {
         when(lessonMock.getStartLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 15, 00, 00));
         when(lessonMock.getEndLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 17, 00, 00));
         when(lessonMock.getClassroom()).thenReturn(CreatorTestEntities.createClassrooms().get(1));
-        when(mapperMock.mapDtoToEntity(lessonDto)).thenReturn(lessonMock);
-        List<Lesson> lessons = CreatorTestEntities.createLessons();
-        lessons.remove(0);
-        when(lessonDaoMock.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0), 2)).thenReturn(lessons);
-        when(lessonDaoMock.findAllByStartLessonBetweenAndGroupIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0), 2)).thenReturn(lessons);
-        when(lessonDaoMock.findAllByStartLessonBetweenOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0))).thenReturn(lessons);
+        when(mapperMock.mapDtoToEntity(eq(lessonDto), any(Lesson.class))).thenReturn(lessonMock);
         when(lessonDaoMock.findById(2)).thenReturn(Optional.ofNullable(CreatorTestEntities.createLessons().get(1)));
-        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock, calendarServiceMock);
+        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock, calendarServiceMock,
+                createConflictIndex(CreatorTestEntities.createLessons()), changeServiceMock);
         doThrow(new GeneralSecurityException()).when(calendarServiceMock).updateLesson(lessonMock);
         Logger lessonServiceLogger = (Logger) LoggerFactory.getLogger(LessonServiceImpl.class);
         ListAppender<ILoggingEvent> listAppender = new ListAppender<>();
@@ -564,7 +597,7 @@ class LessonServiceImplTest {
         lessonServiceLogger.addAppender(listAppender);
         List<ILoggingEvent> logsList = listAppender.list;
         lessonService.edit(lessonDto);
-        verify(lessonDaoMock).save(lessonMock);
+        verify(lessonDaoMock).saveAndFlush(lessonMock);
         assertEquals("Edit in calendar failed", logsList.get(0).getMessage());
         assertEquals(Level.ERROR, logsList.get(0).getLevel());
     }
@@ -585,17 +618,10 @@ class LessonServiceImplTest {
         when(lessonMock.getStartLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 10, 00, 00));
         when(lessonMock.getEndLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 11, 00, 00));
         when(lessonMock.getClassroom()).thenReturn(CreatorTestEntities.createClassrooms().get(0));
-        when(mapperMock.mapDtoToEntity(lessonDto)).thenReturn(lessonMock);
-        List<Lesson> lessons = new ArrayList<>();
-        lessons.add(CreatorTestEntities.createLessons().get(1));
-        lessons.add(CreatorTestEntities.createLessons().get(2));
-        List<Lesson> classroomLessons = new ArrayList<>();
-        classroomLessons.add(CreatorTestEntities.createLessons().get(0));
-        when(lessonDaoMock.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0), 2)).thenReturn(lessons);
-        when(lessonDaoMock.findAllByStartLessonBetweenAndGroupIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0), 2)).thenReturn(lessons);
-        when(lessonDaoMock.findAllByStartLessonBetweenOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0))).thenReturn(classroomLessons);        
+        when(mapperMock.mapDtoToEntity(eq(lessonDto), any(Lesson.class))).thenReturn(lessonMock);
         when(lessonDaoMock.findById(2)).thenReturn(Optional.ofNullable(CreatorTestEntities.createLessons().get(1)));       
-        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock, calendarServiceMock);
+        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock, calendarServiceMock,
+                createConflictIndex(CreatorTestEntities.createLessons()), changeServiceMock);
         assertThatThrownBy(() -> lessonService.edit(lessonDto)).isInstanceOf(ClassroomBusyException.class);
     }
     
@@ -615,11 +641,7 @@ class LessonServiceImplTest {
         when(lessonMock.getStartLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 15, 00, 00));
         when(lessonMock.getEndLesson()).thenReturn(LocalDateTime.of(2021, Month.OCTOBER, 19, 17, 00, 00));
         when(lessonMock.getClassroom()).thenReturn(CreatorTestEntities.createClassrooms().get(0));
-        when(mapperMock.mapDtoToEntity(lessonDto)).thenReturn(lessonMock);
-        List<Lesson> lessons = new ArrayList<>();
-        lessons.add(CreatorTestEntities.createLessons().get(1));
-        lessons.add(CreatorTestEntities.createLessons().get(2));
-        List<Lesson> classroomLessons = new ArrayList<>();
+        when(mapperMock.mapDtoToEntity(eq(lessonDto), any(Lesson.class))).thenReturn(lessonMock);
         Lesson lesson = Lesson.builder()
                 .withId(5)
                 .withStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19, 15, 00, 00))
@@ -631,15 +653,79 @@ class LessonServiceImplTest {
                 .withTeacher(CreatorTestEntities.createTeachers().get(0))
                 .withGroup(CreatorTestEntities.createGroups().get(0))
                 .build();
-        classroomLessons.add(lesson);
-        when(lessonDaoMock.findAllByStartLessonBetweenAndTeacherIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0), 2)).thenReturn(lessons);
-        when(lessonDaoMock.findAllByStartLessonBetweenAndGroupIdOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0), 2)).thenReturn(lessons);
-        when(lessonDaoMock.findAllByStartLessonBetweenOrderByStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 19,0,0),LocalDateTime.of(2021, Month.OCTOBER, 19,23,0))).thenReturn(classroomLessons);        
+        List<Lesson> lessons = CreatorTestEntities.createLessons();
+        lessons.add(lesson);
         when(lessonDaoMock.findById(2)).thenReturn(Optional.ofNullable(CreatorTestEntities.createLessons().get(1)));       
-        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock, calendarServiceMock);
+        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDaoMock, mock(LessonValidator.class), mapperMock, calendarServiceMock,
+                createConflictIndex(lessons), changeServiceMock);
         assertThatThrownBy(() -> lessonService.edit(lessonDto)).isInstanceOf(ClassroomBusyException.class);
     }
 
+    @Test
+    void editShouldReadLessonOnceAndSkipScheduleChecksWhenOnlyLinkChanged() {
+        LessonDao lessonDao = mock(LessonDao.class);
+        LessonValidator validator = mock(LessonValidator.class);
+        LessonDtoMapper mapper = mock(LessonDtoMapper.class);
+        LessonDto lessonDto = new LessonDto();
+        lessonDto.setId(2);
+        Lesson edited = createEditedLesson(LocalDateTime.of(2021, Month.OCTOBER, 19, 15, 00, 00), 1,
+                "new-test-link");
+        when(lessonDao.findById(2)).thenReturn(Optional.of(CreatorTestEntities.createLessons().get(1)));
+        when(mapper.mapDtoToEntity(eq(lessonDto), any(Lesson.class))).thenReturn(edited);
+        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDao, validator, mapper,
+                mock(CalendarService.class), createConflictIndex(CreatorTestEntities.createLessons()),
+                changeServiceMock);
+        lessonService.edit(lessonDto);
+        verify(lessonDao, times(1)).findById(2);
+        verify(validator).validateLink(edited);
+        verify(validator, never()).validateTime(edited);
+        verify(validator, never()).validateCapacity(edited);
+        verify(lessonDao).saveAndFlush(edited);
+    }
+
+    @Test
+    void editShouldCheckOnlyClassroomScheduleWhenOnlyClassroomChanged() {
+        LessonDao lessonDao = mock(LessonDao.class);
+        LessonValidator validator = mock(LessonValidator.class);
+        LessonDtoMapper mapper = mock(LessonDtoMapper.class);
+        LessonDto lessonDto = new LessonDto();
+        lessonDto.setId(2);
+        LocalDateTime start = LocalDateTime.of(2021, Month.OCTOBER, 19, 15, 00, 00);
+        Lesson edited = createEditedLesson(start, 0, "test-link");
+        when(lessonDao.findById(2)).thenReturn(Optional.of(CreatorTestEntities.createLessons().get(1)));
+        when(mapper.mapDtoToEntity(eq(lessonDto), any(Lesson.class))).thenReturn(edited);
+        LessonConflictIndex conflictIndex = createConflictIndex(CreatorTestEntities.createLessons());
+        conflictIndex.load(Collections.singletonList(new LessonSlot(10, start, start.plusHours(2), 2, 2, 2)));
+        LessonServiceImpl lessonService = new LessonServiceImpl(lessonDao, validator, mapper,
+                mock(CalendarService.class), conflictIndex, changeServiceMock);
+        lessonService.edit(lessonDto);
+        verify(validator).validateCapacity(edited);
+        verify(validator, never()).validateTime(edited);
+        verify(lessonDao).saveAndFlush(edited);
+    }
+
+    @Test
+    void editShouldThrowEntityNotExistExceptionWhenLessonNotExist() {
+        LessonDto lessonDto = new LessonDto();
+        lessonDto.setId(10);
+        assertThatThrownBy(() -> lessonService.edit(lessonDto)).isInstanceOf(EntityNotExistException.class)
+                .hasMessage("lessonnotexist");
+    }
+
+    private static Lesson createEditedLesson(LocalDateTime start, int classroom, String link) {
+        return Lesson.builder()
+                .withId(2)
+                .withStartLesson(start)
+                .withEndLesson(start.plusHours(2))
+                .withOnlineLesson(true)
+                .withLessonLink(link)
+                .withClassroom(CreatorTestEntities.createClassrooms().get(classroom))
+                .withCourse(CreatorTestEntities.createCourses().get(1))
+                .withTeacher(CreatorTestEntities.createTeachers().get(1))
+                .withGroup(CreatorTestEntities.createGroups().get(1))
+                .build();
+    }
+
     private static Lesson createLessonMock() {
         Lesson lessonMock = mock(Lesson.class);
         Group groupMock = mock(Group.class);
@@ -679,9 +765,31 @@ class LessonServiceImplTest {
                         .thenReturn(Optional.empty());
         when(lessonDaoMock.findById(1)).thenReturn(Optional.ofNullable(CreatorTestEntities.createLessons().get(0)));
         when(lessonDaoMock.findById(10)).thenReturn(Optional.empty());
-        when(lessonDaoMock.findAllByStartLessonBetweenOrderByStartLesson(
-                LocalDateTime.of(2021, Month.OCTOBER, 19, 0, 0), LocalDateTime.of(2021, Month.OCTOBER, 19, 23, 0)))
-                        .thenReturn(CreatorTestEntities.createLessons());
         return lessonDaoMock;
     }
+
+    private static LessonConflictIndex createConflictIndex(List<Lesson> lessons) {
+        LessonConflictIndex conflictIndex = new LessonConflictIndex(mock(LessonDao.class),
+                mock(LessonChangeDao.class));
+        List<LessonSlot> slots = new ArrayList<>();
+        for (Lesson lesson : lessons) {
+            slots.add(LessonSlot.of(lesson));
+        }
+        conflictIndex.load(slots);
+        return conflictIndex;
+    }
+
+    private static Lesson createLesson(int id, LocalDateTime start, LocalDateTime end, int teacher, int group,
+            int classroom) {
+        return Lesson.builder()
+                .withId(id)
+                .withStartLesson(start)
+                .withEndLesson(end)
+                .withOnlineLesson(false)
+                .withClassroom(CreatorTestEntities.createClassrooms().get(classroom))
+                .withCourse(CreatorTestEntities.createCourses().get(0))
+                .withTeacher(CreatorTestEntities.createTeachers().get(teacher))
+                .withGroup(CreatorTestEntities.createGroups().get(group))
+                .build();
+    }
 }
@@ -14,6 +14,7 @@ import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -58,7 +59,8 @@ class StudentServiceImplTest {
         roleDaoMock = createRoleDaoMock();
         secureTokenServiceMock = createTokenServiceMock();        
         studentService = new StudentServiceImpl(studentDaoMock, createCourseDaoMock(), createEmailServiceMock(), secureTokenServiceMock,
-                new UserValidator(studentDaoMock, teacherDaoMock, temporaryDaoMock, createEncoderMock()), createEncoderMock(), roleDaoMock);
+                new UserValidator(studentDaoMock, teacherDaoMock, temporaryDaoMock, createEncoderMock()), createEncoderMock(), roleDaoMock,
+                mock(ApplicationEventPublisher.class));
     }
 
     @Test
@@ -285,7 +287,8 @@ class StudentServiceImplTest {
     void deleteStudentFromCourseShouldNotDeleteStudentWhenStudentWithoutCourse() {
         StudentDao studentDaoMock = createStudentDaoMock();        
         StudentService studentService = new StudentServiceImpl(studentDaoMock, createCourseDaoMock(), createEmailServiceMock(), secureTokenServiceMock,
-                new UserValidator(studentDaoMock, null, temporaryDaoMock, createEncoderMock()), createEncoderMock(), roleDaoMock);
+                new UserValidator(studentDaoMock, null, temporaryDaoMock, createEncoderMock()), createEncoderMock(), roleDaoMock,
+                mock(ApplicationEventPublisher.class));
         Student studentWithotCourse = CreatorTestEntities.createStudents().get(0);
         Course course = CreatorTestEntities.createCourses().get(0);
         studentWithotCourse.removeCourse(course);
@@ -321,7 +324,8 @@ class StudentServiceImplTest {
     void editShouldUpdateStudentInDatabaseWhenInputValidStudent() {
         StudentDao studentDaoMock = createStudentDaoMock();
         StudentServiceImpl studentService = new StudentServiceImpl(studentDaoMock, createCourseDaoMock(), createEmailServiceMock(), secureTokenServiceMock,
-                new UserValidator(studentDaoMock, teacherDaoMock, temporaryDaoMock, createEncoderMock()), createEncoderMock(), roleDaoMock);
+                new UserValidator(studentDaoMock, teacherDaoMock, temporaryDaoMock, createEncoderMock()), createEncoderMock(), roleDaoMock,
+                mock(ApplicationEventPublisher.class));
         StudentDto studentDto = new StudentDto();
         studentDto.setId(1);
         studentDto.setSex(Sex.FEMALE);
@@ -12,6 +12,7 @@ import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -31,7 +32,11 @@ import org.university.exceptions.EmailExistException;
 import org.university.exceptions.EntityAlreadyExistException;
 import org.university.exceptions.EntityNotExistException;
 import org.university.service.EmailService;
+import org.university.service.LessonBulkDeleteService;
 import org.university.service.SecureTokenService;
+import org.university.service.event.ReferenceDataChangedEvent;
+import org.university.service.event.ReferenceDataChangedEvent.Reference;
+import org.university.service.event.TimetableReferenceChangedEvent;
 import org.university.service.validator.UserValidator;
 import org.university.utils.CreatorTestEntities;
 import org.university.utils.Sex;
@@ -53,7 +58,8 @@ class TeacherServiceImplTest {
         temporaryDaoMock = createTemporaryUserDaoMock();
         secureTokenServiceMock = createTokenServiceMock();
         teacherService = new TeacherServiceImpl(teacherDaoMock, createEmailServiceMock(), secureTokenServiceMock, 
-                new UserValidator(studentDaoMock, teacherDaoMock, temporaryDaoMock, createEncoderMock()), createEncoderMock(), roleDaoMock);
+                new UserValidator(studentDaoMock, teacherDaoMock, temporaryDaoMock, createEncoderMock()), createEncoderMock(), roleDaoMock,
+                mock(ApplicationEventPublisher.class), mock(LessonBulkDeleteService.class));
     }
 
     @Test
@@ -133,6 +139,18 @@ class TeacherServiceImplTest {
         verify(teacherDaoMock).deleteById(1);
     }
 
+    @Test
+    void deleteShouldPublishTeacherChangeWhenTeacherDeleted() {
+        ApplicationEventPublisher eventPublisherMock = mock(ApplicationEventPublisher.class);
+        TeacherServiceImpl teacherService = new TeacherServiceImpl(teacherDaoMock, createEmailServiceMock(), secureTokenServiceMock,
+                new UserValidator(studentDaoMock, teacherDaoMock, temporaryDaoMock, createEncoderMock()), createEncoderMock(), roleDaoMock,
+                eventPublisherMock, mock(LessonBulkDeleteService.class));
+        UserDto teacher = new UserDto();
+        teacher.setId(2);
+        teacherService.delete(teacher);
+        verify(eventPublisherMock).publishEvent(new ReferenceDataChangedEvent(Reference.TEACHER));
+    }
+
     @Test
     void deleteShouldThrowIllegalArgumentExceptionWhenInputNull() {
         assertThatThrownBy(() -> teacherService.delete(null)).isInstanceOf(IllegalArgumentException.class);
@@ -175,8 +193,10 @@ class TeacherServiceImplTest {
     @Test
     void editShouldUpdateTeacherInDatabaseWhenInputValidTeacher() {
         TeacherDao teacherDaoMock = createTeacherDaoMock();
+        ApplicationEventPublisher eventPublisherMock = mock(ApplicationEventPublisher.class);
         TeacherServiceImpl teacherService = new TeacherServiceImpl(teacherDaoMock, createEmailServiceMock(), secureTokenServiceMock,
-                new UserValidator(studentDaoMock, teacherDaoMock, temporaryDaoMock, createEncoderMock()), createEncoderMock(), roleDaoMock);
+                new UserValidator(studentDaoMock, teacherDaoMock, temporaryDaoMock, createEncoderMock()), createEncoderMock(), roleDaoMock,
+                eventPublisherMock, mock(LessonBulkDeleteService.class));
         UserDto teacherDto = new UserDto();
         teacherDto.setId(1);
         teacherDto.setSex(Sex.MALE);
@@ -201,6 +221,7 @@ class TeacherServiceImplTest {
         when(teacherDaoMock.findById(1)).thenReturn(Optional.ofNullable(teacher));
         teacherService.edit(teacherDto);
         verify(teacherDaoMock).save(teacher);
+        verify(eventPublisherMock).publishEvent(new TimetableReferenceChangedEvent(Reference.TEACHER, 1));
     }
     
     @Test
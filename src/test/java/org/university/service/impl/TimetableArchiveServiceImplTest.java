@@ -0,0 +1,144 @@
+package org.university.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.university.dao.GroupDao;
+import org.university.dao.LessonDao;
+import org.university.dao.TeacherDao;
+import org.university.entity.ReferenceId;
+import org.university.entity.TimetableScope;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.service.TimetableExportService;
+import org.university.service.export.ExportFormat;
+import org.university.service.export.TimetableExport;
+import org.university.utils.CSVDataGenerator;
+import org.university.utils.CreatorTestEntities;
+import org.university.utils.PDFDataGenerator;
+
+class TimetableArchiveServiceImplTest {
+
+    private static final LocalDate FROM = LocalDate.of(2021, 9, 1);
+    private static final LocalDate TO = LocalDate.of(2021, 12, 31);
+
+    private TimetableExportService exportServiceMock;
+    private LessonDao lessonDaoMock;
+    private GroupDao groupDaoMock;
+    private TeacherDao teacherDaoMock;
+
+    @BeforeEach
+    void init() {
+        exportServiceMock = mock(TimetableExportService.class);
+        lessonDaoMock = mock(LessonDao.class);
+        groupDaoMock = mock(GroupDao.class);
+        teacherDaoMock = mock(TeacherDao.class);
+        when(exportServiceMock.findUniversityExport(FROM, TO))
+                .thenReturn(new TimetableExport(TimetableScope.ALL, null, "University", FROM, TO));
+        when(lessonDaoMock.findAllViewsBetween(FROM.atStartOfDay(), TO.atTime(LocalTime.MAX)))
+                .thenReturn(CreatorTestEntities.createLessonViews());
+        when(groupDaoMock.findAllReferenceIds()).thenReturn(Arrays.asList(new ReferenceId("AB-22", 1),
+                new ReferenceId("FR-33", 2), new ReferenceId("CD-44", 3)));
+        when(teacherDaoMock.findAll()).thenReturn(CreatorTestEntities.createTeachers());
+    }
+
+    @Test
+    void writeArchiveShouldWriteCsvOfEveryGroupAndTeacherFromOneLessonQuery() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        createArchiveService(new PDFDataGenerator(), Runnable::run, 2).writeArchive(ExportFormat.CSV, FROM, TO,
+                output);
+        Map<String, String> entries = readEntries(output.toByteArray());
+        assertThat(entries).containsOnlyKeys("groups/AB-22.csv", "groups/FR-33.csv", "groups/CD-44.csv",
+                "teachers/Bob@mail.ru.csv", "teachers/Ann@mail.ru.csv");
+        assertThat(entries.get("groups/FR-33.csv").split("\n")).containsExactly(
+                "\"Date\",\"Start lesson\",\"End lesson\",\"Teacher\",\"Course\",\"Classroom\",\"Lesson link\"",
+                "\"2021-10-19\",\"15:00\",\"17:00\",\"Ann Moren\",\"Math\",\"2\",\"test-link\"",
+                "\"\",\"21:00\",\"22:00\",\"Ann Moren\",\"Math\",\"2\",\"test-link\"");
+        assertThat(entries.get("groups/CD-44.csv").split("\n")).hasSize(1);
+        assertThat(entries.get("teachers/Bob@mail.ru.csv").split("\n")).containsExactly(
+                "\"Date\",\"Start lesson\",\"End lesson\",\"Group\",\"Course\",\"Classroom\",\"Lesson link\"",
+                "\"2021-10-19\",\"10:00\",\"12:00\",\"AB-22\",\"Law\",\"1\",");
+        verify(lessonDaoMock, times(1)).findAllViewsBetween(any(), any());
+        verifyNoMoreInteractions(lessonDaoMock);
+    }
+
+    @Test
+    void writeArchiveShouldWritePdfOfEveryGroupAndTeacherWhenRenderedInParallel() throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            createArchiveService(new PDFDataGenerator(), executor, 2).writeArchive(ExportFormat.PDF, FROM, TO,
+                    output);
+        } finally {
+            executor.shutdown();
+        }
+        Map<String, String> entries = readEntries(output.toByteArray());
+        assertThat(entries).hasSize(5).containsKeys("groups/AB-22.pdf", "teachers/Ann@mail.ru.pdf");
+        assertThat(entries.values()).allMatch(content -> content.startsWith("%PDF-"));
+    }
+
+    @Test
+    void writeArchiveShouldThrowIOExceptionWhenTimetableRenderingFails() {
+        PDFDataGenerator pdfGeneratorMock = mock(PDFDataGenerator.class);
+        when(pdfGeneratorMock.writeTimetable(any(), any(), any(), any())).thenThrow(new IllegalStateException());
+        assertThatThrownBy(() -> createArchiveService(pdfGeneratorMock, Runnable::run, 2)
+                .writeArchive(ExportFormat.PDF, FROM, TO, new ByteArrayOutputStream()))
+                .isInstanceOf(IOException.class).hasMessage("exportfailed")
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void writeArchiveShouldThrowInvalidLessonTimeExceptionBeforeQueryWhenRangeInvalid() {
+        when(exportServiceMock.findUniversityExport(TO, FROM))
+                .thenThrow(new InvalidLessonTimeException("invalidrange"));
+        assertThatThrownBy(() -> createArchiveService(new PDFDataGenerator(), Runnable::run, 2)
+                .writeArchive(ExportFormat.CSV, TO, FROM, new ByteArrayOutputStream()))
+                .isInstanceOf(InvalidLessonTimeException.class).hasMessage("invalidrange");
+        verifyNoMoreInteractions(lessonDaoMock);
+    }
+
+    private TimetableArchiveServiceImpl createArchiveService(PDFDataGenerator pdfGenerator, Executor executor,
+            int window) {
+        return new TimetableArchiveServiceImpl(exportServiceMock, lessonDaoMock, groupDaoMock, teacherDaoMock,
+                new CSVDataGenerator(), pdfGenerator, executor, window);
+    }
+
+    private static Map<String, String> readEntries(byte[] archive) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream input = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            ZipEntry entry;
+            while ((entry = input.getNextEntry()) != null) {
+                ByteArrayOutputStream content = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    content.write(buffer, 0, read);
+                }
+                entries.put(entry.getName(), new String(content.toByteArray(), StandardCharsets.ISO_8859_1));
+            }
+        }
+        return entries;
+    }
+}
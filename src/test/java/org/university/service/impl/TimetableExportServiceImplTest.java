@@ -0,0 +1,126 @@
+package org.university.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.university.dao.GroupDao;
+import org.university.dao.LessonDao;
+import org.university.dao.TeacherDao;
+import org.university.entity.Group;
+import org.university.entity.LessonView;
+import org.university.entity.TimetableScope;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.service.cache.ReferenceResolver;
+import org.university.service.export.TimetableExport;
+import org.university.utils.CSVDataGenerator;
+import org.university.utils.CreatorTestEntities;
+import org.university.utils.PDFDataGenerator;
+
+import com.lowagie.text.pdf.PdfReader;
+import com.lowagie.text.pdf.parser.PdfTextExtractor;
+
+class TimetableExportServiceImplTest {
+
+    private static final LocalDate FROM = LocalDate.of(2021, 9, 1);
+    private static final LocalDate TO = LocalDate.of(2021, 12, 31);
+
+    private GroupDao groupDaoMock;
+    private LessonDao lessonDaoMock;
+    private ReferenceResolver resolverMock;
+    private TimetableExportServiceImpl exportService;
+
+    @BeforeEach
+    void init() {
+        groupDaoMock = mock(GroupDao.class);
+        lessonDaoMock = mock(LessonDao.class);
+        resolverMock = mock(ReferenceResolver.class);
+        exportService = new TimetableExportServiceImpl(groupDaoMock, mock(TeacherDao.class), lessonDaoMock,
+                resolverMock, new CSVDataGenerator(), new PDFDataGenerator());
+    }
+
+    @Test
+    void findGroupExportShouldReturnExportOfGroupWhenGroupExists() {
+        Group group = CreatorTestEntities.createGroups().get(0);
+        when(resolverMock.findGroupId(group.getName())).thenReturn(Optional.of(group.getId()));
+        when(groupDaoMock.findById(group.getId())).thenReturn(Optional.of(group));
+        assertThat(exportService.findGroupExport(group.getName(), FROM, TO)).isEqualTo(
+                new TimetableExport(TimetableScope.GROUP, group.getId(), group.getName(), FROM, TO));
+    }
+
+    @Test
+    void findTeacherExportShouldThrowEntityNotExistExceptionWhenTeacherNotExists() {
+        when(resolverMock.findTeacherId("none@mail.ru")).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> exportService.findTeacherExport("none@mail.ru", FROM, TO))
+                .isInstanceOf(EntityNotExistException.class).hasMessage("teachernotexist");
+    }
+
+    @Test
+    void findUniversityExportShouldThrowInvalidLessonTimeExceptionWhenRangeLongerThanYear() {
+        assertThatThrownBy(() -> exportService.findUniversityExport(FROM, FROM.plusYears(2)))
+                .isInstanceOf(InvalidLessonTimeException.class).hasMessage("invalidrange");
+        assertThatThrownBy(() -> exportService.findUniversityExport(TO, FROM))
+                .isInstanceOf(InvalidLessonTimeException.class).hasMessage("invalidrange");
+    }
+
+    @Test
+    void writeCsvShouldWriteRowPerStreamedLessonAndCloseStream() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(lessonDaoMock.streamViewsBetween(FROM.atStartOfDay(), TO.atTime(LocalTime.MAX))).thenReturn(
+                CreatorTestEntities.createLessonViews().stream().onClose(() -> closed.set(true)));
+        StringWriter output = new StringWriter();
+        exportService.writeCsv(exportService.findUniversityExport(FROM, TO), output);
+        assertThat(output.toString().split("\n")).containsExactly(
+                "\"Date\",\"Start lesson\",\"End lesson\",\"Group\",\"Teacher\",\"Course\",\"Classroom\",\"Lesson link\"",
+                "\"2021-10-19\",\"10:00\",\"12:00\",\"AB-22\",\"Bob Moren\",\"Law\",\"1\",",
+                "\"\",\"15:00\",\"17:00\",\"FR-33\",\"Ann Moren\",\"Math\",\"2\",\"test-link\"",
+                "\"\",\"21:00\",\"22:00\",\"FR-33\",\"Ann Moren\",\"Math\",\"2\",\"test-link\"");
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void writeCsvShouldWriteOnlyHeaderWhenGroupHasNoLessonsInRange() throws IOException {
+        TimetableExport export = new TimetableExport(TimetableScope.GROUP, 1, "AB-22", FROM, TO);
+        when(lessonDaoMock.streamViewsOfGroupBetween(FROM.atStartOfDay(), TO.atTime(LocalTime.MAX), 1))
+                .thenReturn(Stream.empty());
+        StringWriter output = new StringWriter();
+        exportService.writeCsv(export, output);
+        assertThat(output.toString()).isEqualTo(
+                "\"Date\",\"Start lesson\",\"End lesson\",\"Teacher\",\"Course\",\"Classroom\",\"Lesson link\"\n");
+    }
+
+    @Test
+    void writePdfShouldWriteStreamedLessonsOnPagesRepeatingHeaderAndCloseStream() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<LessonView> lessons = IntStream.range(0, 500).mapToObj(i -> {
+            LocalDateTime start = LocalDateTime.of(2021, 9, 1, 8, 0).plusHours(i);
+            return new LessonView(i, start, start.plusMinutes(90), false, "test-link", 1, "Math", 1, "Ann Moren",
+                    "Moren@mail.ru", 2, "FR-33", 2, "test-address");
+        });
+        when(lessonDaoMock.streamViewsBetween(FROM.atStartOfDay(), TO.atTime(LocalTime.MAX)))
+                .thenReturn(lessons.onClose(() -> closed.set(true)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exportService.writePdf(exportService.findUniversityExport(FROM, TO), output);
+        PdfReader reader = new PdfReader(output.toByteArray());
+        int pages = reader.getNumberOfPages();
+        assertThat(pages).isGreaterThan(1);
+        String lastPage = new PdfTextExtractor(reader).getTextFromPage(pages);
+        assertThat(lastPage).contains("Teacher", "Course", "FR-33");
+        assertThat(closed).isTrue();
+    }
+}
@@ -0,0 +1,90 @@
+package org.university.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.university.dao.GroupDao;
+import org.university.dao.LessonDao;
+import org.university.dao.TeacherDao;
+import org.university.entity.LessonView;
+import org.university.entity.TimetableScope;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.service.cache.ResourceVersions;
+import org.university.service.feed.TimetableFeed;
+import org.university.service.readmodel.TimetableReadModel;
+import org.university.utils.CreatorTestEntities;
+
+class TimetableFeedServiceImplTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2021, 10, 19);
+
+    private GroupDao groupDaoMock;
+    private LessonDao lessonDaoMock;
+    private TimetableFeedServiceImpl feedService;
+
+    @BeforeEach
+    void init() {
+        groupDaoMock = mock(GroupDao.class);
+        lessonDaoMock = mock(LessonDao.class);
+        ResourceVersions versions = new ResourceVersions(mock(TimetableReadModel.class),
+                Clock.fixed(Instant.parse("2021-10-19T00:00:00Z"), ZoneOffset.UTC));
+        feedService = new TimetableFeedServiceImpl(groupDaoMock, mock(TeacherDao.class), lessonDaoMock, versions, 14,
+                120, ZoneOffset.UTC, Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+        when(groupDaoMock.findByName("FR-33")).thenReturn(Optional.of(CreatorTestEntities.createGroups().get(0)));
+    }
+
+    @Test
+    void findGroupFeedShouldUseConfiguredRangeWhenRangeNotGiven() {
+        TimetableFeed feed = feedService.findGroupFeed("FR-33", null, null);
+        assertThat(feed.getScope()).isEqualTo(TimetableScope.GROUP);
+        assertThat(feed.getFrom()).isEqualTo(TODAY.minusDays(14));
+        assertThat(feed.getTo()).isEqualTo(TODAY.plusDays(120));
+        assertThat(feed.getTag()).startsWith("W/\"range-");
+    }
+
+    @Test
+    void findGroupFeedShouldThrowEntityNotExistExceptionWhenGroupNotExists() {
+        when(groupDaoMock.findByName("XX-11")).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> feedService.findGroupFeed("XX-11", null, null))
+                .isInstanceOf(EntityNotExistException.class).hasMessage("groupnotexist");
+    }
+
+    @Test
+    void findGroupFeedShouldThrowInvalidLessonTimeExceptionWhenRangeLongerThanYear() {
+        assertThatThrownBy(() -> feedService.findGroupFeed("FR-33", TODAY, TODAY.plusYears(2)))
+                .isInstanceOf(InvalidLessonTimeException.class).hasMessage("invalidrange");
+    }
+
+    @Test
+    void writeFeedShouldWriteEveryStreamedLessonAsEvent() throws IOException {
+        TimetableFeed feed = feedService.findGroupFeed("FR-33", TODAY, TODAY);
+        when(lessonDaoMock.streamViewsOfGroupBetween(TODAY.atStartOfDay(), TODAY.atTime(LocalTime.MAX),
+                feed.getEntityId())).thenReturn(Stream.of(createLesson(1), createLesson(2)));
+        StringWriter output = new StringWriter();
+        feedService.writeFeed(feed, output);
+        assertThat(output.toString()).startsWith("BEGIN:VCALENDAR").endsWith("END:VCALENDAR\r\n")
+                .contains("UID:lesson-1@", "UID:lesson-2@");
+    }
+
+    private static LessonView createLesson(int id) {
+        LocalDateTime start = TODAY.atTime(10, 0);
+        return new LessonView(id, start, start.plusHours(2), false, null, 1, "Law", 1, "Ann", "ann@mail.ru", 1,
+                "FR-33", 101, "Main street");
+    }
+}
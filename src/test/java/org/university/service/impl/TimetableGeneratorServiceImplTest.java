@@ -0,0 +1,182 @@
+package org.university.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.university.dao.ClassroomDao;
+import org.university.dao.CourseDao;
+import org.university.dao.GroupDao;
+import org.university.dao.TeacherDao;
+import org.university.dto.ImportReportDto;
+import org.university.dto.LessonDto;
+import org.university.dto.TimetableDemandDto;
+import org.university.dto.TimetableGenerationDto;
+import org.university.dto.TimetableGenerationReportDto;
+import org.university.entity.Lesson;
+import org.university.entity.LessonSlot;
+import org.university.exceptions.EntityNotExistException;
+import org.university.exceptions.InvalidLessonTimeException;
+import org.university.service.LessonImportService;
+import org.university.service.index.LessonConflictIndex;
+import org.university.service.solver.TimetableSolver;
+import org.university.utils.CreatorTestEntities;
+
+class TimetableGeneratorServiceImplTest {
+
+    private ForkJoinPool pool;
+    private LessonImportService importServiceMock;
+    private TimetableGeneratorServiceImpl generatorService;
+
+    @BeforeEach
+    void init() {
+        CourseDao courseDaoMock = mock(CourseDao.class);
+        GroupDao groupDaoMock = mock(GroupDao.class);
+        TeacherDao teacherDaoMock = mock(TeacherDao.class);
+        ClassroomDao classroomDaoMock = mock(ClassroomDao.class);
+        importServiceMock = mock(LessonImportService.class);
+        when(courseDaoMock.findAllByNameIn(anyCollection())).thenReturn(CreatorTestEntities.createCourses());
+        when(groupDaoMock.findAllByNameIn(anyCollection())).thenReturn(CreatorTestEntities.createGroups());
+        when(teacherDaoMock.findAllByEmailIn(anyCollection())).thenReturn(CreatorTestEntities.createTeachers());
+        when(classroomDaoMock.findAll()).thenReturn(CreatorTestEntities.createClassrooms());
+        when(importServiceMock.importLessons(anyList())).thenReturn(new ImportReportDto());
+        List<LessonSlot> slots = new ArrayList<>();
+        for (Lesson lesson : CreatorTestEntities.createLessons()) {
+            slots.add(LessonSlot.of(lesson));
+        }
+        pool = new ForkJoinPool(2);
+        generatorService = new TimetableGeneratorServiceImpl(courseDaoMock, groupDaoMock, teacherDaoMock,
+                classroomDaoMock, LessonConflictIndex.of(slots), new TimetableSolver(pool), importServiceMock);
+    }
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void generateShouldThrowIllegalArgumentExceptionWhenInputNull() {
+        assertThatThrownBy(() -> generatorService.generate(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void generateShouldImportEveryWeeklyLessonForEveryWeekOfRange() {
+        TimetableGenerationDto generation = createGeneration("2021-10-25", "2021-11-07",
+                createDemand("Law", "AB-22", "Bob@mail.ru", 3), createDemand("Math", "FR-33", "Ann@mail.ru", 2));
+        TimetableGenerationReportDto report = generatorService.generate(generation);
+        assertThat(report.getPlacedLessons()).isEqualTo(5);
+        assertThat(report.getUnplacedLessons()).isZero();
+        List<LessonDto> lessons = captureImportedLessons();
+        assertThat(lessons).hasSize(10);
+        assertThat(lessons).allSatisfy(lesson -> {
+            LocalDateTime start = LocalDateTime.parse(lesson.getStartLesson());
+            assertThat(start.getDayOfWeek()).isNotEqualTo(DayOfWeek.SUNDAY);
+            assertThat(start.getHour()).isBetween(9, 18);
+            assertThat(start.toLocalDate()).isBetween("2021-10-25", "2021-11-07");
+        });
+    }
+
+    @Test
+    void generateShouldNotPlaceLessonsTouchingExistingLessons() {
+        TimetableGenerationDto generation = createGeneration("2021-10-18", null,
+                createDemand("Law", "AB-22", "Bob@mail.ru", 48));
+        TimetableGenerationReportDto report = generatorService.generate(generation);
+        assertThat(report.getPlacedLessons()).isEqualTo(45);
+        assertThat(report.getUnplacedLessons()).isEqualTo(3);
+        assertThat(captureImportedLessons()).extracting(LessonDto::getStartLesson)
+                .doesNotContain("2021-10-19T09:00", "2021-10-19T10:15", "2021-10-19T11:30")
+                .contains("2021-10-19T12:45");
+    }
+
+    @Test
+    void generateShouldSkipDaysBeforeWeekStart() {
+        TimetableGenerationDto generation = createGeneration("2021-10-23", "2021-10-23",
+                createDemand("Law", "AB-22", "Bob@mail.ru", 48));
+        generatorService.generate(generation);
+        assertThat(captureImportedLessons()).hasSize(8).extracting(LessonDto::getStartLesson)
+                .allMatch(start -> start.startsWith("2021-10-23"));
+    }
+
+    @Test
+    void generateShouldThrowEntityNotExistExceptionWhenTeacherNotExists() {
+        TimetableGenerationDto generation = createGeneration("2021-10-25", null,
+                createDemand("Law", "AB-22", "Nobody@mail.ru", 2));
+        assertThatThrownBy(() -> generatorService.generate(generation)).isInstanceOf(EntityNotExistException.class)
+                .hasMessage("teachernotexist");
+        verify(importServiceMock, never()).importLessons(anyList());
+    }
+
+    @Test
+    void generateShouldThrowInvalidLessonTimeExceptionWhenHoursPerWeekNotPositive() {
+        TimetableGenerationDto generation = createGeneration("2021-10-25", null,
+                createDemand("Law", "AB-22", "Bob@mail.ru", 0));
+        assertThatThrownBy(() -> generatorService.generate(generation))
+                .isInstanceOf(InvalidLessonTimeException.class).hasMessage("invalidhours");
+    }
+
+    @Test
+    void generateShouldThrowInvalidLessonTimeExceptionWhenUntilDateBeforeWeekStart() {
+        TimetableGenerationDto generation = createGeneration("2021-10-25", "2021-10-20",
+                createDemand("Law", "AB-22", "Bob@mail.ru", 2));
+        assertThatThrownBy(() -> generatorService.generate(generation))
+                .isInstanceOf(InvalidLessonTimeException.class).hasMessage("invaliduntil");
+    }
+
+    @Test
+    void generateShouldThrowInvalidLessonTimeExceptionWhenUntilDateFarAhead() {
+        TimetableGenerationDto generation = createGeneration("2021-10-25", "+999999999-12-31",
+                createDemand("Law", "AB-22", "Bob@mail.ru", 2));
+        assertThatThrownBy(() -> generatorService.generate(generation))
+                .isInstanceOf(InvalidLessonTimeException.class).hasMessage("invaliduntil");
+    }
+
+    @Test
+    void generateShouldThrowInvalidLessonTimeExceptionWhenMoreWeeksThanLimit() {
+        TimetableGenerationDto generation = createGeneration("2021-10-27", "2022-04-25",
+                createDemand("Law", "AB-22", "Bob@mail.ru", 2));
+        assertThatThrownBy(() -> generatorService.generate(generation))
+                .isInstanceOf(InvalidLessonTimeException.class).hasMessage("invaliduntil");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<LessonDto> captureImportedLessons() {
+        ArgumentCaptor<List<LessonDto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(importServiceMock).importLessons(captor.capture());
+        return captor.getValue();
+    }
+
+    private static TimetableGenerationDto createGeneration(String weekStart, String untilDate,
+            TimetableDemandDto... demands) {
+        TimetableGenerationDto generation = new TimetableGenerationDto();
+        generation.setWeekStart(weekStart);
+        generation.setUntilDate(untilDate);
+        generation.setDemands(Arrays.asList(demands));
+        generation.setTimeBudgetMillis(1000);
+        return generation;
+    }
+
+    private static TimetableDemandDto createDemand(String course, String group, String teacher, int hours) {
+        TimetableDemandDto demand = new TimetableDemandDto();
+        demand.setCourseName(course);
+        demand.setGroupName(group);
+        demand.setTeacherEmail(teacher);
+        demand.setHoursPerWeek(hours);
+        return demand;
+    }
+}
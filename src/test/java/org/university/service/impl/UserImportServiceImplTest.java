@@ -0,0 +1,204 @@
+package org.university.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.validation.Validation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.university.dao.RoleDao;
+import org.university.dao.StudentDao;
+import org.university.dao.TeacherDao;
+import org.university.dto.ImportErrorDto;
+import org.university.dto.ImportReportDto;
+import org.university.dto.UserDto;
+import org.university.entity.Student;
+import org.university.entity.Teacher;
+import org.university.entity.User;
+import org.university.service.PhotoService;
+import org.university.service.event.ReferenceDataChangedEvent;
+import org.university.service.event.ReferenceDataChangedEvent.Reference;
+import org.university.service.event.UsersImportedEvent;
+import org.university.service.event.UsersImportedEvent.Account;
+import org.university.utils.CreatorTestEntities;
+import org.university.utils.Sex;
+
+class UserImportServiceImplTest {
+
+    private StudentDao studentDaoMock;
+    private TeacherDao teacherDaoMock;
+    private PasswordEncoder encoderMock;
+    private ApplicationEventPublisher eventPublisherMock;
+    private EntityManager entityManagerMock;
+    private Set<String> registeredEmails;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void init() {
+        studentDaoMock = mock(StudentDao.class);
+        teacherDaoMock = mock(TeacherDao.class);
+        encoderMock = mock(PasswordEncoder.class);
+        eventPublisherMock = mock(ApplicationEventPublisher.class);
+        entityManagerMock = mock(EntityManager.class);
+        registeredEmails = new HashSet<>(Arrays.asList("Wood@email.ru", "Bob@mail.ru"));
+        when(encoderMock.encode(anyString())).thenAnswer(invocation -> "hash-" + invocation.getArgument(0));
+        when(studentDaoMock.findAllRegisteredEmailsIn(anyCollection())).thenAnswer(invocation -> invocation
+                .getArgument(0, Collection.class).stream().filter(registeredEmails::contains)
+                .collect(Collectors.toList()));
+        when(studentDaoMock.saveAll(anyList())).thenAnswer(invocation -> register(invocation.getArgument(0)));
+        when(teacherDaoMock.saveAll(anyList())).thenAnswer(invocation -> register(invocation.getArgument(0)));
+    }
+
+    @Test
+    void importStudentsShouldThrowIllegalArgumentExceptionWhenInputNull() {
+        assertThatThrownBy(() -> createImportService(Runnable::run, 2).importStudents(null, Locale.ENGLISH))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void importStudentsShouldSaveValidRowsAndReportRejectedRowsInOrder() {
+        List<UserDto> students = Arrays.asList(createUser("John Smith", "Smith@email.ru"),
+                createUser("Kate Smith", "Kate@email.ru"), createUser("John Smith", "Smith@email.ru"),
+                createUser("Jane Wood", "Wood@email.ru"), createUser("Ann Smith", "Ann@email.ru"));
+        students.get(1).setPassword(null);
+        ImportReportDto report = createImportService(Runnable::run, 2).importStudents(students.iterator(),
+                Locale.ENGLISH);
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getErrors()).containsExactly(new ImportErrorDto(2, "invaliduser"),
+                new ImportErrorDto(3, "useremailexist"), new ImportErrorDto(4, "useremailexist"));
+        ArgumentCaptor<List<Student>> saved = captor();
+        verify(studentDaoMock, times(2)).saveAll(saved.capture());
+        verify(studentDaoMock, times(2)).flush();
+        Student student = saved.getAllValues().get(0).get(0);
+        assertThat(student.getPassword()).isEqualTo("hash-secret");
+        assertThat(student.getRole()).isEqualTo(CreatorTestEntities.createRoles().get(0));
+        assertThat(student.getPhoto()).isEqualTo("default-photo");
+        assertThat(student.isEnabled()).isTrue();
+        assertThat(saved.getAllValues().get(1)).extracting(User::getEmail).containsExactly("Ann@email.ru");
+        verify(encoderMock, times(2)).encode(anyString());
+        verify(eventPublisherMock, times(2)).publishEvent(any(UsersImportedEvent.class));
+        verify(eventPublisherMock).publishEvent(new ReferenceDataChangedEvent(Reference.STUDENT));
+    }
+
+    @Test
+    void importStudentsShouldClearPersistenceContextAndPublishAccountsOfEveryChunk() {
+        List<UserDto> students = Arrays.asList(createUser("John Smith", "Smith@email.ru"),
+                createUser("Kate Smith", "Kate@email.ru"), createUser("Ann Smith", "Ann@email.ru"));
+        createImportService(Runnable::run, 2).importStudents(students.iterator(), Locale.ENGLISH);
+        InOrder inOrder = inOrder(studentDaoMock, entityManagerMock, eventPublisherMock);
+        inOrder.verify(studentDaoMock).flush();
+        inOrder.verify(entityManagerMock).clear();
+        inOrder.verify(eventPublisherMock).publishEvent(new UsersImportedEvent(Arrays.asList(
+                new Account("John Smith", "Smith@email.ru"), new Account("Kate Smith", "Kate@email.ru")),
+                Locale.ENGLISH));
+        inOrder.verify(studentDaoMock).flush();
+        inOrder.verify(entityManagerMock).clear();
+        inOrder.verify(eventPublisherMock).publishEvent(new UsersImportedEvent(
+                Arrays.asList(new Account("Ann Smith", "Ann@email.ru")), Locale.ENGLISH));
+    }
+
+    @Test
+    void importStudentsShouldRejectRepeatedEmailOfSameChunk() {
+        List<UserDto> students = Arrays.asList(createUser("John Smith", "Smith@email.ru"),
+                createUser("John Smith", "Smith@email.ru"));
+        ImportReportDto report = createImportService(Runnable::run, 10).importStudents(students.iterator(),
+                Locale.ENGLISH);
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getErrors()).containsExactly(new ImportErrorDto(2, "useremailexist"));
+        verify(studentDaoMock, times(1)).findAllRegisteredEmailsIn(anyCollection());
+    }
+
+    @Test
+    void importTeachersShouldHashPasswordsOnPoolAndRejectTeachersWithoutDegree() {
+        List<UserDto> teachers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            UserDto teacher = createUser("Teacher", "teacher" + i + "@mail.ru");
+            teacher.setScientificDegree("professor");
+            teachers.add(teacher);
+        }
+        teachers.get(9).setScientificDegree(" ");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        ImportReportDto report;
+        try {
+            report = createImportService(executor, 3).importTeachers(teachers.iterator(), Locale.ENGLISH);
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(report.getImported()).isEqualTo(9);
+        assertThat(report.getErrors()).containsExactly(new ImportErrorDto(10, "invaliduser"));
+        ArgumentCaptor<List<Teacher>> saved = captor();
+        verify(teacherDaoMock, times(3)).saveAll(saved.capture());
+        assertThat(saved.getAllValues().stream().flatMap(List::stream).map(Teacher::getPassword))
+                .hasSize(9).allMatch("hash-secret"::equals);
+        verify(studentDaoMock, never()).saveAll(anyList());
+        verify(eventPublisherMock).publishEvent(new ReferenceDataChangedEvent(Reference.TEACHER));
+    }
+
+    @Test
+    void importStudentsShouldNotPublishChangeWhenNoRowImported() {
+        UserDto student = createUser("John Smith", "not email");
+        ImportReportDto report = createImportService(Runnable::run, 2)
+                .importStudents(Arrays.asList(student).iterator(), Locale.ENGLISH);
+        assertThat(report.getErrors()).containsExactly(new ImportErrorDto(1, "invaliduser"));
+        verify(studentDaoMock, never()).saveAll(anyList());
+        verify(eventPublisherMock, never()).publishEvent(any(Object.class));
+    }
+
+    private UserImportServiceImpl createImportService(java.util.concurrent.Executor executor, int chunkSize) {
+        RoleDao roleDaoMock = mock(RoleDao.class);
+        when(roleDaoMock.findByName("STUDENT")).thenReturn(Optional.of(CreatorTestEntities.createRoles().get(0)));
+        when(roleDaoMock.findByName("TEACHER")).thenReturn(Optional.of(CreatorTestEntities.createRoles().get(1)));
+        PhotoService photoServiceMock = mock(PhotoService.class);
+        when(photoServiceMock.findDefaultPhoto(any())).thenReturn("default-photo");
+        return new UserImportServiceImpl(studentDaoMock, teacherDaoMock, roleDaoMock, encoderMock, photoServiceMock,
+                Validation.buildDefaultValidatorFactory().getValidator(), eventPublisherMock, entityManagerMock, executor, chunkSize);
+    }
+
+    private <E extends User> List<E> register(List<E> users) {
+        users.forEach(user -> registeredEmails.add(user.getEmail()));
+        return users;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static <E> ArgumentCaptor<List<E>> captor() {
+        return (ArgumentCaptor) ArgumentCaptor.forClass(List.class);
+    }
+
+    private static UserDto createUser(String name, String email) {
+        UserDto user = new UserDto();
+        user.setSex(Sex.MALE);
+        user.setName(name);
+        user.setEmail(email);
+        user.setPhone("89758657788");
+        user.setPassword("secret");
+        return user;
+    }
+}
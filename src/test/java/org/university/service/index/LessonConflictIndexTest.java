@@ -0,0 +1,235 @@
+package org.university.service.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.university.dao.LessonChangeDao;
+import org.university.dao.LessonDao;
+import org.university.entity.Lesson;
+import org.university.entity.LessonChange;
+import org.university.entity.LessonSlot;
+import org.university.utils.CreatorTestEntities;
+
+class LessonConflictIndexTest {
+
+    private LessonDao lessonDaoMock;
+    private LessonChangeDao changeDaoMock;
+    private LessonConflictIndex conflictIndex;
+
+    @BeforeEach
+    void init() {
+        lessonDaoMock = mock(LessonDao.class);
+        changeDaoMock = mock(LessonChangeDao.class);
+        List<LessonSlot> slots = new ArrayList<>();
+        for (Lesson lesson : CreatorTestEntities.createLessons()) {
+            slots.add(LessonSlot.of(lesson));
+        }
+        when(lessonDaoMock.findAllSlots()).thenReturn(slots);
+        conflictIndex = new LessonConflictIndex(lessonDaoMock, changeDaoMock);
+        conflictIndex.load();
+    }
+
+    @Test
+    void isTeacherBusyShouldReturnTrueWhenInputTimeOverlapsTeacherLesson() {
+        assertThat(conflictIndex.isTeacherBusy(2, LocalDateTime.of(2021, Month.OCTOBER, 19, 16, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 19, 18, 00), null)).isTrue();
+    }
+
+    @Test
+    void isTeacherBusyShouldReturnTrueWhenInputTimeTouchesTeacherLesson() {
+        assertThat(conflictIndex.isTeacherBusy(2, LocalDateTime.of(2021, Month.OCTOBER, 19, 17, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 19, 18, 00), null)).isTrue();
+    }
+
+    @Test
+    void pollChangesShouldFreeSlotsOfLessonsMovedOrDeletedOnOtherNodes() {
+        LessonSlot moved = new LessonSlot(2, LocalDateTime.of(2021, Month.OCTOBER, 20, 15, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 20, 17, 00), 2, 2, 2);
+        when(changeDaoMock.findAllSealedAfter(0, PageRequest.of(0, 500))).thenReturn(Arrays.asList(
+                createChange(1, 2), createChange(2, 3)));
+        when(lessonDaoMock.findAllSlotsByIdIn(new LinkedHashSet<>(Arrays.asList(2, 3))))
+                .thenReturn(Collections.singletonList(moved));
+        conflictIndex.pollChanges();
+        assertThat(conflictIndex.isTeacherBusy(2, LocalDateTime.of(2021, Month.OCTOBER, 19, 15, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 19, 23, 00), null)).isFalse();
+        assertThat(conflictIndex.isClassroomBusy(2, LocalDateTime.of(2021, Month.OCTOBER, 20, 16, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 20, 18, 00), null)).isTrue();
+        assertThat(conflictIndex.contains(3)).isFalse();
+        conflictIndex.pollChanges();
+        verify(changeDaoMock).findAllSealedAfter(2, PageRequest.of(0, 500));
+    }
+
+    @Test
+    void isTeacherBusyShouldReturnFalseWhenInputTimeBetweenTeacherLessons() {
+        assertThat(conflictIndex.isTeacherBusy(2, LocalDateTime.of(2021, Month.OCTOBER, 19, 18, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 19, 19, 00), null)).isFalse();
+    }
+
+    @Test
+    void isTeacherBusyShouldReturnFalseWhenOnlyExcludedLessonOverlaps() {
+        assertThat(conflictIndex.isTeacherBusy(2, LocalDateTime.of(2021, Month.OCTOBER, 19, 16, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 19, 18, 00), 2)).isFalse();
+    }
+
+    @Test
+    void isTeacherBusyShouldReturnFalseWhenTeacherHasNoLessons() {
+        assertThat(conflictIndex.isTeacherBusy(25, LocalDateTime.of(2021, Month.OCTOBER, 19, 16, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 19, 18, 00), null)).isFalse();
+    }
+
+    @Test
+    void isGroupBusyShouldReturnTrueWhenInputTimeInsideGroupLesson() {
+        assertThat(conflictIndex.isGroupBusy(1, LocalDateTime.of(2021, Month.OCTOBER, 19, 10, 30),
+                LocalDateTime.of(2021, Month.OCTOBER, 19, 11, 00), null)).isTrue();
+    }
+
+    @Test
+    void isClassroomBusyShouldReturnTrueWhenInputTimeCoversClassroomLesson() {
+        assertThat(conflictIndex.isClassroomBusy(2, LocalDateTime.of(2021, Month.OCTOBER, 19, 14, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 19, 23, 00), null)).isTrue();
+    }
+
+    @Test
+    void isClassroomBusyShouldReturnTrueWhenLongLessonStartedEarlier() {
+        conflictIndex.load(Arrays.asList(new LessonSlot(10, LocalDateTime.of(2021, Month.OCTOBER, 1, 9, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 30, 18, 00), 1, 1, 1)));
+        assertThat(conflictIndex.isClassroomBusy(1, LocalDateTime.of(2021, Month.OCTOBER, 25, 14, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 25, 15, 00), null)).isTrue();
+    }
+
+    @Test
+    void putShouldMoveLessonWhenLessonWithSameIdExists() {
+        Lesson lesson = Lesson.builder()
+                .withId(2)
+                .withStartLesson(LocalDateTime.of(2021, Month.OCTOBER, 20, 15, 00))
+                .withEndLesson(LocalDateTime.of(2021, Month.OCTOBER, 20, 17, 00))
+                .withTeacher(CreatorTestEntities.createTeachers().get(1))
+                .withGroup(CreatorTestEntities.createGroups().get(1))
+                .withClassroom(CreatorTestEntities.createClassrooms().get(1))
+                .build();
+        conflictIndex.put(lesson);
+        assertThat(conflictIndex.isTeacherBusy(2, LocalDateTime.of(2021, Month.OCTOBER, 19, 15, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 19, 16, 00), null)).isFalse();
+        assertThat(conflictIndex.isTeacherBusy(2, LocalDateTime.of(2021, Month.OCTOBER, 20, 15, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 20, 16, 00), null)).isTrue();
+    }
+
+    @Test
+    void putShouldNotifyListenersWithPreviousAndNewSlotOfLesson() {
+        List<LessonSlot> notified = new ArrayList<>();
+        conflictIndex.addListener(notified::add);
+        LessonSlot moved = new LessonSlot(2, LocalDateTime.of(2021, Month.OCTOBER, 20, 15, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 20, 17, 00), 2, 2, 2);
+        conflictIndex.put(moved);
+        assertThat(notified).containsExactly(LessonSlot.of(CreatorTestEntities.createLessons().get(1)), moved);
+    }
+
+    @Test
+    void removeShouldNotifyListenersWithRemovedSlot() {
+        List<LessonSlot> notified = new ArrayList<>();
+        conflictIndex.addListener(notified::add);
+        conflictIndex.remove(1);
+        conflictIndex.remove(10);
+        assertThat(notified).containsExactly(LessonSlot.of(CreatorTestEntities.createLessons().get(0)));
+    }
+
+    @Test
+    void addChangeListenerShouldNotifyPairsOfOldAndNewSlot() {
+        List<LessonSlot[]> notified = new ArrayList<>();
+        conflictIndex.addChangeListener((previous, slot) -> notified.add(new LessonSlot[] { previous, slot }));
+        LessonSlot added = new LessonSlot(20, LocalDateTime.of(2021, Month.OCTOBER, 25, 15, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 25, 17, 00), 2, 2, 2);
+        conflictIndex.put(added);
+        conflictIndex.remove(20);
+        assertThat(notified).containsExactly(new LessonSlot[] { null, added }, new LessonSlot[] { added, null });
+    }
+
+    @Test
+    void removeShouldFreeLessonTimeForAllResources() {
+        conflictIndex.remove(1);
+        LocalDateTime start = LocalDateTime.of(2021, Month.OCTOBER, 19, 10, 00);
+        LocalDateTime end = LocalDateTime.of(2021, Month.OCTOBER, 19, 12, 00);
+        assertThat(conflictIndex.isTeacherBusy(1, start, end, null)).isFalse();
+        assertThat(conflictIndex.isGroupBusy(1, start, end, null)).isFalse();
+        assertThat(conflictIndex.isClassroomBusy(1, start, end, null)).isFalse();
+    }
+
+    @Test
+    void teacherBusySlotsShouldMarkQuartersTouchedByTeacherLessons() {
+        BitSet expected = new BitSet();
+        expected.set(60, 69);
+        expected.set(84, 89);
+        assertThat(conflictIndex.teacherBusySlots(2, LocalDate.of(2021, Month.OCTOBER, 19))).isEqualTo(expected);
+    }
+
+    @Test
+    void classroomBusySlotsShouldMarkWholeDayWhenLongLessonCoversIt() {
+        conflictIndex.load(Arrays.asList(new LessonSlot(10, LocalDateTime.of(2021, Month.OCTOBER, 1, 9, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 30, 18, 00), 1, 1, 1)));
+        assertThat(conflictIndex.classroomBusySlots(1, LocalDate.of(2021, Month.OCTOBER, 25)).cardinality())
+                .isEqualTo(LessonConflictIndex.SLOTS_PER_DAY);
+    }
+
+    @Test
+    void groupBusySlotsShouldReflectLessonPutAfterFirstRequest() {
+        LocalDate day = LocalDate.of(2021, Month.OCTOBER, 20);
+        assertThat(conflictIndex.groupBusySlots(1, day).isEmpty()).isTrue();
+        conflictIndex.put(new LessonSlot(10, LocalDateTime.of(2021, Month.OCTOBER, 20, 10, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 20, 11, 00), 1, 1, 1));
+        BitSet expected = new BitSet();
+        expected.set(40, 45);
+        assertThat(conflictIndex.groupBusySlots(1, day)).isEqualTo(expected);
+    }
+
+    @Test
+    void teacherBusySlotsShouldReturnCopyOfKeptBitset() {
+        LocalDate day = LocalDate.of(2021, Month.OCTOBER, 19);
+        conflictIndex.teacherBusySlots(1, day).clear();
+        assertThat(conflictIndex.teacherBusySlots(1, day).get(40)).isTrue();
+    }
+
+    @Test
+    void sandboxShouldIgnoreSavedLessonWhenItRemoved() {
+        ConflictSandbox sandbox = conflictIndex.sandbox();
+        LessonSlot slot = new LessonSlot(-1, LocalDateTime.of(2021, Month.OCTOBER, 19, 11, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 19, 13, 00), 1, 1, 1);
+        assertThat(sandbox.isTeacherOrGroupBusy(slot)).isTrue();
+        sandbox.remove(1);
+        assertThat(sandbox.isTeacherOrGroupBusy(slot)).isFalse();
+        assertThat(sandbox.isClassroomBusy(slot)).isFalse();
+        assertThat(conflictIndex.isTeacherBusy(1, slot.getStartLesson(), slot.getEndLesson(), null)).isTrue();
+    }
+
+    @Test
+    void sandboxShouldFreePlannedLessonTimeWhenItRemoved() {
+        ConflictSandbox sandbox = conflictIndex.sandbox();
+        sandbox.add(new LessonSlot(-1, LocalDateTime.of(2021, Month.OCTOBER, 20, 10, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 20, 12, 00), 1, 1, 1));
+        LessonSlot slot = new LessonSlot(-2, LocalDateTime.of(2021, Month.OCTOBER, 20, 11, 00),
+                LocalDateTime.of(2021, Month.OCTOBER, 20, 13, 00), 2, 2, 1);
+        assertThat(sandbox.isClassroomBusy(slot)).isTrue();
+        sandbox.remove(-1);
+        assertThat(sandbox.isClassroomBusy(slot)).isFalse();
+    }
+
+    private static LessonChange createChange(long position, int lessonId) {
+        return LessonChange.builder().withId(position).withPosition(position).withLessonId(lessonId)
+                .withType(LessonChange.Type.UPDATED).withChangedAt(LocalDateTime.of(2021, Month.OCTOBER, 19, 12, 00))
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package org.university.service.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.university.service.EmailService;
+import org.university.service.event.UsersImportedEvent;
+import org.university.service.event.UsersImportedEvent.Account;
+
+class AccountMailQueueTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendQueuedMailsShouldSendAtMostBatchOfQueuedMails() {
+        AccountMailQueue queue = new AccountMailQueue(Mockito.mock(EmailService.class), 10, 2);
+        queue.onUsersImported(new UsersImportedEvent(Arrays.asList(new Account("Jane Wood", "Wood@email.ru"),
+                new Account("Ann Lee", "Lee@email.ru"), new Account("Bob Moren", "Bob@mail.ru")), Locale.ENGLISH));
+        assertThat(queue.getPendingCount()).isEqualTo(3);
+        queue.sendQueuedMails();
+        assertThat(queue.getPendingCount()).isEqualTo(1);
+        queue.sendQueuedMails();
+        assertThat(queue.getPendingCount()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onUsersImportedShouldDropMailsWhenQueueIsFull() {
+        AccountMailQueue queue = new AccountMailQueue(Mockito.mock(EmailService.class), 2, 50);
+        Account account = new Account("Jane Wood", "Wood@email.ru");
+        queue.onUsersImported(new UsersImportedEvent(Arrays.asList(account, account, account), Locale.ENGLISH));
+        assertThat(queue.getPendingCount()).isEqualTo(2);
+    }
+}
@@ -1,6 +1,8 @@
 package org.university.service.mapper;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
@@ -18,10 +20,15 @@ import org.university.dao.ClassroomDao;
 import org.university.dao.CourseDao;
 import org.university.dao.TeacherDao;
 import org.university.dto.LessonDto;
+import org.university.entity.Classroom;
+import org.university.entity.Course;
 import org.university.entity.Group;
 import org.university.entity.Lesson;
 import org.university.entity.Student;
+import org.university.entity.Teacher;
+import org.university.exceptions.EntityNotExistException;
 import org.university.service.GroupService;
+import org.university.service.cache.ReferenceResolver;
 import org.university.utils.CreatorTestEntities;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,15 +46,24 @@ class LessonDtoMapperTest {
     @Mock
     private ClassroomDao classroomDaoMock;
     
+    @Mock
+    private ReferenceResolver resolverMock;
+    
     @InjectMocks
     private LessonDtoMapper lessonMapper;    
 
     @Test
     void mapDtoToEntityShouldReturnExpectedLessonWhenInputValidLessonDto() {        
-        when(courseDaoMock.findByName("Law")).thenReturn(Optional.of(CreatorTestEntities.createCourses().get(0)));
+        Course course = CreatorTestEntities.createCourses().get(0);
+        Teacher teacher = CreatorTestEntities.createTeachers().get(0);
+        Classroom classroom = CreatorTestEntities.createClassrooms().get(0);
+        when(resolverMock.findCourseId("Law")).thenReturn(Optional.of(course.getId()));
+        when(courseDaoMock.findById(course.getId())).thenReturn(Optional.of(course));
         when(groupServiceMock.createGroup("AB-22")).thenReturn(createGroupWithStudents());
-        when(teacherDaoMock.findByEmail("Bob@mail.ru")).thenReturn(Optional.of(CreatorTestEntities.createTeachers().get(0)));
-        when(classroomDaoMock.findByNumber(1)).thenReturn(Optional.of(CreatorTestEntities.createClassrooms().get(0)));
+        when(resolverMock.findTeacherId("Bob@mail.ru")).thenReturn(Optional.of(teacher.getId()));
+        when(teacherDaoMock.findById(teacher.getId())).thenReturn(Optional.of(teacher));
+        when(resolverMock.findClassroomId(1)).thenReturn(Optional.of(classroom.getId()));
+        when(classroomDaoMock.findById(classroom.getId())).thenReturn(Optional.of(classroom));
         LessonDto lessonDto = new LessonDto();
         lessonDto.setCourseName("Law");
         lessonDto.setGroupName("AB-22");
@@ -60,6 +76,44 @@ class LessonDtoMapperTest {
         assertThat(lessonMapper.mapDtoToEntity(lessonDto)).isEqualTo(createExceptLesson());       
     }
     
+    @Test
+    void mapDtoToEntityShouldReusePersistedReferencesWhenDtoNotChangeThem() {
+        Lesson persisted = CreatorTestEntities.createLessons().get(0);
+        LessonDto lessonDto = new LessonDto();
+        lessonDto.setCourseName(persisted.getCourse().getName());
+        lessonDto.setGroupName(persisted.getGroup().getName());
+        lessonDto.setTeacherEmail(persisted.getTeacher().getEmail());
+        lessonDto.setClassroomNumber(2);
+        lessonDto.setStartLesson("2021-10-19T10:00");
+        lessonDto.setEndLesson("2021-10-19T12:00");
+        lessonDto.setOnlineLesson(false);
+        Classroom classroom = CreatorTestEntities.createClassrooms().get(1);
+        when(resolverMock.findClassroomId(2)).thenReturn(Optional.of(classroom.getId()));
+        when(classroomDaoMock.findById(classroom.getId())).thenReturn(Optional.of(classroom));
+        Lesson lesson = lessonMapper.mapDtoToEntity(lessonDto, persisted);
+        assertThat(lesson.getId()).isEqualTo(persisted.getId());
+        assertThat(lesson.getGroup()).isSameAs(persisted.getGroup());
+        assertThat(lesson.getClassroom()).isEqualTo(CreatorTestEntities.createClassrooms().get(1));
+        verifyNoInteractions(courseDaoMock, groupServiceMock, teacherDaoMock);
+    }
+
+    @Test
+    void mapDtoToEntityShouldThrowEntityNotExistExceptionWhenTeacherNotResolved() {
+        Lesson persisted = CreatorTestEntities.createLessons().get(0);
+        LessonDto lessonDto = new LessonDto();
+        lessonDto.setCourseName(persisted.getCourse().getName());
+        lessonDto.setGroupName(persisted.getGroup().getName());
+        lessonDto.setTeacherEmail("notexist@mail.ru");
+        lessonDto.setClassroomNumber(persisted.getClassroom().getNumber());
+        lessonDto.setStartLesson("2021-10-19T10:00");
+        lessonDto.setEndLesson("2021-10-19T12:00");
+        lessonDto.setOnlineLesson(false);
+        when(resolverMock.findTeacherId("notexist@mail.ru")).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> lessonMapper.mapDtoToEntity(lessonDto, persisted))
+                .isInstanceOf(EntityNotExistException.class).hasMessage("teachernotexist");
+        verifyNoInteractions(teacherDaoMock);
+    }
+
     private Group createGroupWithStudents() {        
         Set<Student> students = new HashSet<>();
         students.add(CreatorTestEntities.createStudents().get(0));
@@ -0,0 +1,222 @@
+package org.university.service.push;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.university.dao.GroupDao;
+import org.university.dao.TeacherDao;
+import org.university.entity.LessonSlot;
+import org.university.entity.TimetableScope;
+import org.university.exceptions.EntityNotExistException;
+
+class TimetablePushRegistryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2021, 10, 19, 10, 0);
+
+    private List<Runnable> pendingTasks;
+    private MutableClock clock;
+    private TimetablePushRegistry registry;
+
+    @BeforeEach
+    void init() {
+        pendingTasks = new ArrayList<>();
+        GroupDao groupDaoMock = mock(GroupDao.class);
+        when(groupDaoMock.existsById(1)).thenReturn(true);
+        clock = new MutableClock(Instant.parse("2021-10-19T10:00:00Z"));
+        registry = new TimetablePushRegistry(groupDaoMock, mock(TeacherDao.class), pendingTasks::add, 2,
+                Duration.ofMinutes(1), Duration.ofSeconds(10), clock);
+    }
+
+    @Test
+    void subscribeShouldThrowEntityNotExistExceptionWhenGroupNotExists() {
+        assertThatThrownBy(() -> registry.subscribe(TimetableScope.GROUP, 5))
+                .isInstanceOf(EntityNotExistException.class).hasMessage("groupnotexist");
+    }
+
+    @Test
+    void publishShouldSendEventToSubscribersOfOldAndNewGroupOnly() {
+        RecordingEmitter oldGroup = subscribe(TimetableScope.GROUP, 1);
+        RecordingEmitter newGroup = subscribe(TimetableScope.GROUP, 2);
+        RecordingEmitter otherGroup = subscribe(TimetableScope.GROUP, 3);
+        RecordingEmitter all = subscribe(TimetableScope.ALL, null);
+        registry.publish(createSlot(1, 1), createSlot(1, 2));
+        runPendingTasks();
+        assertThat(oldGroup.getEventNames()).containsExactly("updated");
+        assertThat(newGroup.getEventNames()).containsExactly("updated");
+        assertThat(all.getEventNames()).containsExactly("updated");
+        assertThat(otherGroup.getEventNames()).isEmpty();
+    }
+
+    @Test
+    void publishShouldScheduleOneDrainPerSubscriberWhileEventsPending() {
+        RecordingEmitter subscriber = subscribe(TimetableScope.TEACHER, 1);
+        registry.publish(null, createSlot(1, 1));
+        registry.publish(createSlot(1, 1), null);
+        assertThat(pendingTasks).hasSize(1);
+        runPendingTasks();
+        assertThat(subscriber.getEventNames()).containsExactly("created", "deleted");
+    }
+
+    @Test
+    void publishShouldReplaceBufferedEventsWithResyncWhenBufferOverflows() {
+        RecordingEmitter subscriber = subscribe(TimetableScope.GROUP, 1);
+        for (int i = 1; i <= 3; i++) {
+            registry.publish(null, createSlot(i, 1));
+        }
+        runPendingTasks();
+        assertThat(subscriber.getEventNames()).containsExactly("resync");
+    }
+
+    @Test
+    void heartbeatShouldRemoveSubscriberWhenSendFails() {
+        RecordingEmitter subscriber = subscribe(TimetableScope.GROUP, 1);
+        subscriber.failing = true;
+        registry.heartbeat();
+        runPendingTasks();
+        registry.publish(null, createSlot(1, 1));
+        assertThat(pendingTasks).isEmpty();
+        registry.heartbeat();
+        assertThat(registry.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    void heartbeatShouldDropSubscriberWhoseSendStalledLongerThanSendTimeout() {
+        RecordingEmitter stalled = subscribe(TimetableScope.GROUP, 1);
+        RecordingEmitter other = subscribe(TimetableScope.GROUP, 1);
+        stalled.onSend = () -> {
+            clock.advance(Duration.ofSeconds(11));
+            registry.heartbeat();
+        };
+        registry.publish(null, createSlot(1, 1));
+        runPendingTasks();
+        assertThat(stalled.isCompleted()).isTrue();
+        assertThat(registry.getSubscriberCount()).isEqualTo(1);
+        registry.publish(null, createSlot(2, 1));
+        runPendingTasks();
+        assertThat(stalled.getEventNames()).containsExactly("created");
+        assertThat(other.getEventNames()).containsExactly("created", "created");
+    }
+
+    @Test
+    void heartbeatShouldScheduleOneTaskPerBatchOfIdleSubscribers() {
+        List<RecordingEmitter> subscribers = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            subscribers.add(subscribe(TimetableScope.ALL, null));
+        }
+        registry.heartbeat();
+        assertThat(pendingTasks).hasSize(2);
+        runPendingTasks();
+        assertThat(subscribers).allMatch(subscriber -> subscriber.events.size() == 1);
+    }
+
+    @Test
+    void unsubscribingLastSubscriberOfGroupShouldForgetGroup() {
+        RecordingEmitter first = subscribe(TimetableScope.GROUP, 1);
+        RecordingEmitter second = subscribe(TimetableScope.GROUP, 1);
+        first.completionCallback.run();
+        assertThat(registry.isSubscribed(TimetableScope.GROUP, 1)).isTrue();
+        second.completionCallback.run();
+        assertThat(registry.isSubscribed(TimetableScope.GROUP, 1)).isFalse();
+        assertThat(registry.getSubscriberCount()).isZero();
+    }
+
+    private RecordingEmitter subscribe(TimetableScope scope, Integer id) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        registry.register(scope, id, emitter);
+        return emitter;
+    }
+
+    private void runPendingTasks() {
+        List<Runnable> tasks = new ArrayList<>(pendingTasks);
+        pendingTasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private static LessonSlot createSlot(int id, int groupId) {
+        return new LessonSlot(id, START, START.plusHours(2), 1, groupId, 1);
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new ArrayList<>();
+        private boolean failing;
+        private boolean completed;
+        private Runnable onSend = () -> {};
+        private Runnable completionCallback;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            onSend.run();
+            events.add(builder.build().stream().map(part -> part.getData().toString())
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public synchronized void onCompletion(Runnable callback) {
+            completionCallback = callback;
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+
+        boolean isCompleted() {
+            return completed;
+        }
+
+        List<String> getEventNames() {
+            return events.stream().filter(event -> event.contains("event:"))
+                    .map(event -> event.substring(event.indexOf("event:") + 6, event.indexOf('\n',
+                            event.indexOf("event:"))))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
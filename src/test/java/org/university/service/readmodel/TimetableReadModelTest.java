@@ -0,0 +1,205 @@
+package org.university.service.readmodel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.university.dao.LessonChangeDao;
+import org.university.dao.LessonDao;
+import org.university.entity.LessonChange;
+import org.university.entity.LessonSlot;
+import org.university.entity.LessonView;
+import org.university.service.event.ReferenceDataChangedEvent.Reference;
+import org.university.service.event.TimetableReferenceChangedEvent;
+import org.university.service.index.LessonConflictIndex;
+
+class TimetableReadModelTest {
+
+    private static final LocalDateTime DAY_START = LocalDateTime.of(2021, 10, 19, 0, 0);
+    private static final LocalDateTime DAY_END = LocalDateTime.of(2021, 10, 19, 23, 0);
+
+    private LessonDao lessonDaoMock;
+    private LessonChangeDao changeDaoMock;
+    private LessonConflictIndex conflictIndex;
+    private TimetableReadModel readModel;
+
+    @BeforeEach
+    void init() {
+        lessonDaoMock = mock(LessonDao.class);
+        changeDaoMock = mock(LessonChangeDao.class);
+        conflictIndex = new LessonConflictIndex(lessonDaoMock, changeDaoMock);
+        readModel = new TimetableReadModel(lessonDaoMock, changeDaoMock, conflictIndex);
+        readModel.load(Arrays.asList(createEntry(3, 15, 1, 1, "Law"), createEntry(1, 10, 1, 1, "Law"),
+                createEntry(2, 10, 2, 2, "Math"), createEntry(4, 34, 1, 1, "Law")));
+    }
+
+    @Test
+    void findAllBetweenShouldReturnEntriesOrderedByStartAndIdWhenEntriesInRange() {
+        assertThat(readModel.findAllBetween(DAY_START, DAY_END)).extracting(LessonView::getId)
+                .containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void findAllOfTeacherBetweenShouldReturnOnlyEntriesOfTeacher() {
+        assertThat(readModel.findAllOfTeacherBetween(DAY_START, DAY_END.plusDays(1), 1))
+                .extracting(LessonView::getId).containsExactly(1, 3, 4);
+    }
+
+    @Test
+    void findAllOfGroupBetweenShouldReturnEmptyListWhenGroupHasNoEntries() {
+        assertThat(readModel.findAllOfGroupBetween(DAY_START, DAY_END, 5)).isEmpty();
+    }
+
+    @Test
+    void findAllBetweenShouldNotQueryDatabaseWhenNothingChanged() {
+        readModel.findAllBetween(DAY_START, DAY_END);
+        verify(lessonDaoMock, never()).findAllViewsByIdIn(anyCollection());
+    }
+
+    @Test
+    void findAllBetweenShouldReloadChangedLessonOnceWhenIndexReportsChange() {
+        LessonView moved = createEntry(1, 18, 1, 1, "Law");
+        when(lessonDaoMock.findAllViewsByIdIn(Collections.singletonList(1))).thenReturn(
+                new ArrayList<>(Collections.singletonList(moved)));
+        conflictIndex.put(new LessonSlot(1, moved.getStartLesson(), moved.getEndLesson(), 1, 1, 1));
+        assertThat(readModel.findAllBetween(DAY_START, DAY_END)).containsExactly(
+                createEntry(2, 10, 2, 2, "Math"), createEntry(3, 15, 1, 1, "Law"), moved);
+        readModel.findAllBetween(DAY_START, DAY_END);
+        verify(lessonDaoMock).findAllViewsByIdIn(Collections.singletonList(1));
+    }
+
+    @Test
+    void pollChangesShouldReloadLessonsChangedOnOtherNodesAndNotifyOldAndNewSlots() {
+        LessonView moved = createEntry(1, 18, 2, 2, "Law");
+        when(changeDaoMock.findAllSealedAfter(0, PageRequest.of(0, 500))).thenReturn(Arrays.asList(
+                createChange(1, 1), createChange(2, 2), createChange(3, 1)));
+        when(lessonDaoMock.findAllViewsByIdIn(anyCollection())).thenReturn(
+                new ArrayList<>(Collections.singletonList(moved)));
+        List<LessonSlot> notified = new ArrayList<>();
+        readModel.addListener(notified::add);
+        readModel.pollChanges();
+        assertThat(readModel.findAllOfGroupBetween(DAY_START, DAY_END, 2)).containsExactly(moved);
+        assertThat(readModel.findAllOfGroupBetween(DAY_START, DAY_END, 1)).extracting(LessonView::getId)
+                .containsExactly(3);
+        assertThat(notified).extracting(LessonSlot::getId, LessonSlot::getGroupId)
+                .containsExactly(tuple(1, 1), tuple(2, 2), tuple(1, 2));
+        readModel.pollChanges();
+        verify(changeDaoMock).findAllSealedAfter(3, PageRequest.of(0, 500));
+    }
+
+    @Test
+    void pollChangesShouldNotQueryLessonsWhenNoChangesSealed() {
+        when(changeDaoMock.findAllSealedAfter(anyLong(), any())).thenReturn(new ArrayList<>());
+        readModel.pollChanges();
+        verify(lessonDaoMock, never()).findAllViewsByIdIn(anyCollection());
+    }
+
+    @Test
+    void findAllOfGroupBetweenShouldNotReturnEntryWhenLessonDeleted() {
+        when(lessonDaoMock.findAllViewsByIdIn(Collections.singletonList(2))).thenReturn(new ArrayList<>());
+        readModel.markStale(2);
+        assertThat(readModel.findAllOfGroupBetween(DAY_START, DAY_END, 2)).isEmpty();
+        assertThat(readModel.size()).isEqualTo(3);
+    }
+
+    @Test
+    void findAllBetweenShouldReturnNewCourseNameWhenCourseEdited() {
+        when(lessonDaoMock.findAllViewsReferencing(1, null, null, null)).thenReturn(Arrays.asList(
+                createEntry(1, 10, 1, 1, "Civil law"), createEntry(3, 15, 1, 1, "Civil law")));
+        readModel.onReferenceChanged(new TimetableReferenceChangedEvent(Reference.COURSE, 1));
+        assertThat(readModel.findAllBetween(DAY_START, DAY_END)).extracting(LessonView::getCourseName)
+                .containsExactly("Civil law", "Math", "Civil law");
+    }
+
+    @Test
+    void findGroupIdShouldReturnIdWhenGroupHasEntries() {
+        assertThat(readModel.findGroupId("Group 2")).contains(2);
+        assertThat(readModel.findTeacherId("teacher5@mail.ru")).isEmpty();
+    }
+
+    @Test
+    void findGroupIdShouldReturnEmptyWhenLastLessonOfGroupDeleted() {
+        when(lessonDaoMock.findAllViewsByIdIn(Collections.singletonList(2))).thenReturn(new ArrayList<>());
+        readModel.markStale(2);
+        assertThat(readModel.findGroupId("Group 2")).isEmpty();
+        assertThat(readModel.findTeacherId("teacher2@mail.ru")).isEmpty();
+        assertThat(readModel.findGroupId("Group 1")).contains(1);
+    }
+
+    @Test
+    void findTeacherIdShouldForgetOldEmailWhenTeacherEdited() {
+        when(lessonDaoMock.findAllViewsReferencing(null, 2, null, null)).thenReturn(Arrays.asList(
+                new LessonView(2, DAY_START.plusHours(10), DAY_START.plusHours(12), false, null, 1, "Math", 2,
+                        "Teacher 2", "new@mail.ru", 2, "Group 2", 1, "Address")));
+        readModel.onReferenceChanged(new TimetableReferenceChangedEvent(Reference.TEACHER, 2));
+        assertThat(readModel.findTeacherId("new@mail.ru")).contains(2);
+        assertThat(readModel.findTeacherId("teacher2@mail.ru")).isEmpty();
+    }
+
+    @Test
+    void findAllBetweenShouldReturnNewestEntryWhenLessonChangedDuringRefresh() throws Exception {
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(lessonDaoMock.findAllViewsByIdIn(Collections.singletonList(1))).thenAnswer(invocation -> {
+            querying.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new ArrayList<>(Collections.singletonList(createEntry(1, 16, 1, 1, "Law")));
+        }).thenReturn(new ArrayList<>(Collections.singletonList(createEntry(1, 18, 1, 1, "Law"))));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            readModel.markStale(1);
+            Future<List<LessonView>> first = executor.submit(() -> readModel.findAllBetween(DAY_START, DAY_END));
+            querying.await(5, TimeUnit.SECONDS);
+            readModel.markStale(1);
+            Future<List<LessonView>> second = executor.submit(() -> readModel.findAllBetween(DAY_START, DAY_END));
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            assertThat(second.get(5, TimeUnit.SECONDS)).contains(createEntry(1, 18, 1, 1, "Law"));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(readModel.findAllBetween(DAY_START, DAY_END)).contains(createEntry(1, 18, 1, 1, "Law"))
+                .doesNotContain(createEntry(1, 16, 1, 1, "Law"));
+    }
+
+    @Test
+    void addListenerShouldNotifyListenerWhenLessonRemoved() {
+        List<LessonSlot> notified = new ArrayList<>();
+        readModel.addListener(notified::add);
+        conflictIndex.load(Collections.singletonList(new LessonSlot(1, DAY_START.plusHours(10),
+                DAY_START.plusHours(12), 1, 1, 1)));
+        conflictIndex.remove(1);
+        assertThat(notified).extracting(LessonSlot::getId).containsExactly(1);
+    }
+
+    private static LessonView createEntry(int id, int hour, int teacherId, int groupId, String courseName) {
+        return new LessonView(id, DAY_START.plusHours(hour), DAY_START.plusHours(hour + 2), false, null, 1,
+                courseName, teacherId, "Teacher " + teacherId, "teacher" + teacherId + "@mail.ru", groupId,
+                "Group " + groupId, 1, "Address");
+    }
+
+    private static LessonChange createChange(long position, int lessonId) {
+        return LessonChange.builder().withId(position).withPosition(position).withLessonId(lessonId)
+                .withType(LessonChange.Type.UPDATED).withChangedAt(DAY_START).build();
+    }
+}
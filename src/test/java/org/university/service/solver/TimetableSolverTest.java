@@ -0,0 +1,112 @@
+package org.university.service.solver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+
+@TestInstance(Lifecycle.PER_CLASS)
+class TimetableSolverTest {
+
+    private static final Duration BUDGET = Duration.ofSeconds(2);
+
+    private ForkJoinPool pool;
+    private TimetableSolver solver;
+
+    @BeforeAll
+    void init() {
+        pool = new ForkJoinPool(2);
+        solver = new TimetableSolver(pool);
+    }
+
+    @AfterAll
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void solveShouldPlaceEveryUnitWithoutClashesWhenProblemFeasible() {
+        TimetableProblem problem = new TimetableProblem(periodDays(6, 4));
+        int[] teachers = { problem.addTeacher(new boolean[24]), problem.addTeacher(new boolean[24]) };
+        int[] groups = { problem.addGroup(new boolean[24]), problem.addGroup(new boolean[24]),
+                problem.addGroup(new boolean[24]) };
+        int[] rooms = { problem.addRoom(new boolean[24]), problem.addRoom(new boolean[24]) };
+        for (int group : groups) {
+            for (int teacher : teachers) {
+                problem.addDemand(teacher, group, rooms, 3);
+            }
+        }
+        TimetableSolution solution = solver.solve(problem, BUDGET, 1);
+        assertThat(solution.getPlacedUnits()).isEqualTo(problem.getUnits());
+        Set<String> used = new HashSet<>();
+        for (int unit = 0; unit < problem.getUnits(); unit++) {
+            int period = solution.getPeriod(unit);
+            assertThat(used.add("t" + problem.teacher(unit) + "p" + period)).isTrue();
+            assertThat(used.add("g" + problem.group(unit) + "p" + period)).isTrue();
+            assertThat(used.add("r" + solution.getRoom(unit) + "p" + period)).isTrue();
+        }
+    }
+
+    @Test
+    void solveShouldAvoidBlockedPeriods() {
+        TimetableProblem problem = new TimetableProblem(periodDays(2, 3));
+        int teacher = problem.addTeacher(new boolean[] { true, true, false, true, true, true });
+        int group = problem.addGroup(new boolean[6]);
+        int room = problem.addRoom(new boolean[6]);
+        problem.addDemand(teacher, group, new int[] { room }, 1);
+        TimetableSolution solution = solver.solve(problem, BUDGET, 1);
+        assertThat(solution.isPlaced(0)).isTrue();
+        assertThat(solution.getPeriod(0)).isEqualTo(2);
+    }
+
+    @Test
+    void solveShouldSpreadUnitsOfDemandOverDays() {
+        TimetableProblem problem = new TimetableProblem(periodDays(3, 4));
+        int teacher = problem.addTeacher(new boolean[12]);
+        int group = problem.addGroup(new boolean[12]);
+        int room = problem.addRoom(new boolean[12]);
+        problem.addDemand(teacher, group, new int[] { room }, 3);
+        TimetableSolution solution = solver.solve(problem, BUDGET, 1);
+        Set<Integer> days = new HashSet<>();
+        for (int unit = 0; unit < 3; unit++) {
+            days.add(problem.periodDays[solution.getPeriod(unit)]);
+        }
+        assertThat(days).containsExactlyInAnyOrder(0, 1, 2);
+    }
+
+    @Test
+    void solveShouldLeaveUnitsUnplacedWhenTeacherHasNotEnoughPeriods() {
+        TimetableProblem problem = new TimetableProblem(periodDays(1, 2));
+        int teacher = problem.addTeacher(new boolean[2]);
+        int group = problem.addGroup(new boolean[2]);
+        int room = problem.addRoom(new boolean[2]);
+        problem.addDemand(teacher, group, new int[] { room }, 3);
+        assertThat(solver.solve(problem, BUDGET, 1).getPlacedUnits()).isEqualTo(2);
+    }
+
+    @Test
+    void solveShouldLeaveUnitUnplacedWhenNoClassroomFits() {
+        TimetableProblem problem = new TimetableProblem(periodDays(1, 2));
+        int teacher = problem.addTeacher(new boolean[2]);
+        int group = problem.addGroup(new boolean[2]);
+        problem.addRoom(new boolean[2]);
+        problem.addDemand(teacher, group, new int[0], 1);
+        assertThat(solver.solve(problem, BUDGET, 1).isPlaced(0)).isFalse();
+    }
+
+    private static int[] periodDays(int days, int periodsPerDay) {
+        int[] periodDays = new int[days * periodsPerDay];
+        for (int period = 0; period < periodDays.length; period++) {
+            periodDays[period] = period / periodsPerDay;
+        }
+        return periodDays;
+    }
+}
@@ -11,6 +11,7 @@ import org.university.entity.Classroom;
 import org.university.entity.Course;
 import org.university.entity.Group;
 import org.university.entity.Lesson;
+import org.university.entity.LessonView;
 import org.university.entity.Role;
 import org.university.entity.Student;
 import org.university.entity.Teacher;
@@ -172,6 +173,14 @@ public class CreatorTestEntities {
         return lessons;
     }
     
+    public static List<LessonView> createLessonViews() {
+        List<LessonView> lessons = new ArrayList<>();
+        for (Lesson lesson : createLessons()) {
+            lessons.add(LessonView.of(lesson));
+        }
+        return lessons;
+    }
+
     public static List<Student> createStudents(){
         List<Student> students = new ArrayList<>();
         Set<Course> coursesFirstStudent = new HashSet<>();
@@ -0,0 +1,104 @@
+package org.university.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.university.utils.FileLeases.Lease;
+
+class FileLeasesTest {
+
+    @TempDir
+    Path directory;
+
+    private MutableClock clock;
+    private FileLeases leases;
+    private Path file;
+
+    @BeforeEach
+    void init() throws IOException {
+        clock = new MutableClock(Instant.parse("2021-10-19T10:00:00Z"));
+        leases = new FileLeases(Duration.ofMinutes(1), clock);
+        file = Files.write(directory.resolve("artifact.pdf"), new byte[] { 1 });
+    }
+
+    @Test
+    void deleteShouldDeleteFileAtOnceWhenNeverLeased() {
+        leases.delete(file);
+        assertThat(file).doesNotExist();
+        assertThat(leases.getPendingDeletions()).isZero();
+    }
+
+    @Test
+    void deleteShouldPutOffDeletionUntilGraceAfterLastLeaseReleased() {
+        Lease<String> first = leases.acquire(file, "first");
+        Lease<String> second = leases.acquire(file, "second");
+        leases.delete(file);
+        first.close();
+        first.close();
+        assertThat(leases.sweep()).isZero();
+        second.close();
+        clock.advance(Duration.ofSeconds(59));
+        assertThat(leases.sweep()).isZero();
+        assertThat(file).exists();
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(leases.sweep()).isEqualTo(1);
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void keepShouldCancelDeletionPutOff() {
+        leases.acquire(file, "value").close();
+        leases.delete(file);
+        leases.keep(file);
+        clock.advance(Duration.ofMinutes(2));
+        leases.sweep();
+        assertThat(file).exists();
+        assertThat(leases.getPendingDeletions()).isZero();
+    }
+
+    @Test
+    void clearDirectoryShouldDeleteAllFilesOfDirectory() {
+        FileLeases.clearDirectory(directory);
+        FileLeases.clearDirectory(directory.resolve("missing"));
+        assertThat(file).doesNotExist();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,3 @@
+ALTER TABLE lessons ADD CONSTRAINT IF NOT EXISTS lessons_teacher_overlap UNIQUE (lesson_teacher, lesson_start);
+ALTER TABLE lessons ADD CONSTRAINT IF NOT EXISTS lessons_group_overlap UNIQUE (lesson_group, lesson_start);
+ALTER TABLE lessons ADD CONSTRAINT IF NOT EXISTS lessons_classroom_overlap UNIQUE (lesson_classroom, lesson_start);
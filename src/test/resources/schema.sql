@@ -64,6 +64,33 @@ CONSTRAINT FK_group_id FOREIGN KEY (group_id) REFERENCES groups (group_id) ON DE
 CONSTRAINT PK_student_id_group_id PRIMARY KEY(student_id, group_id)
 );
 
+DROP TABLE IF EXISTS lesson_series CASCADE;
+CREATE TABLE lesson_series(
+series_id IDENTITY NOT NULL PRIMARY KEY,
+series_start TIMESTAMP NOT NULL,
+series_end TIMESTAMP NOT NULL,
+series_until DATE NOT NULL,
+series_interval INT NOT NULL,
+series_online BOOLEAN NOT NULL,
+series_link VARCHAR(300),
+series_classroom INT,
+series_course INT,
+series_teacher INT,
+series_group INT,
+CONSTRAINT FK_series_classroom FOREIGN KEY (series_classroom) REFERENCES classrooms (classroom_id) ON DELETE CASCADE,
+CONSTRAINT FK_series_course FOREIGN KEY (series_course) REFERENCES courses (course_id) ON DELETE CASCADE,
+CONSTRAINT FK_series_teacher FOREIGN KEY (series_teacher) REFERENCES teachers (teacher_id) ON DELETE CASCADE,
+CONSTRAINT FK_series_group FOREIGN KEY (series_group) REFERENCES groups (group_id) ON DELETE CASCADE
+);
+
+DROP TABLE IF EXISTS lesson_series_exceptions CASCADE;
+CREATE TABLE lesson_series_exceptions(
+series_id INT NOT NULL,
+exception_date DATE NOT NULL,
+CONSTRAINT FK_exception_series FOREIGN KEY (series_id) REFERENCES lesson_series (series_id) ON DELETE CASCADE,
+CONSTRAINT PK_series_id_exception_date PRIMARY KEY(series_id, exception_date)
+);
+
 DROP TABLE IF EXISTS lessons CASCADE;
 CREATE TABLE lessons(
 lesson_id IDENTITY NOT NULL PRIMARY KEY,
@@ -75,11 +102,33 @@ lesson_classroom INT,
 lesson_course INT,
 lesson_teacher INT,
 lesson_group INT,
+lesson_series INT,
 CONSTRAINT FK_lesson_classroom FOREIGN KEY (lesson_classroom) REFERENCES classrooms (classroom_id) ON DELETE CASCADE,
 CONSTRAINT FK_lesson_course FOREIGN KEY (lesson_course) REFERENCES courses (course_id) ON DELETE CASCADE,
 CONSTRAINT FK_lesson_teacher FOREIGN KEY (lesson_teacher) REFERENCES teachers (teacher_id) ON DELETE CASCADE,
-CONSTRAINT FK_lesson_group FOREIGN KEY (lesson_group) REFERENCES groups (group_id) ON DELETE CASCADE
+CONSTRAINT FK_lesson_group FOREIGN KEY (lesson_group) REFERENCES groups (group_id) ON DELETE CASCADE,
+CONSTRAINT FK_lesson_series FOREIGN KEY (lesson_series) REFERENCES lesson_series (series_id) ON DELETE SET NULL
+);
+
+DROP TABLE IF EXISTS lesson_changes CASCADE;
+CREATE TABLE lesson_changes(
+change_id IDENTITY NOT NULL PRIMARY KEY,
+change_lesson INT NOT NULL,
+change_type VARCHAR(10) NOT NULL,
+change_time TIMESTAMP NOT NULL,
+change_position BIGINT
+);
+CREATE INDEX lesson_changes_time ON lesson_changes(change_time);
+CREATE UNIQUE INDEX lesson_changes_position ON lesson_changes(change_position);
+CREATE ALIAS IF NOT EXISTS pg_advisory_xact_lock FOR "java.lang.Long.signum";
+DROP TABLE IF EXISTS reference_changes CASCADE;
+CREATE TABLE reference_changes(
+change_id IDENTITY NOT NULL PRIMARY KEY,
+change_reference VARCHAR(10) NOT NULL,
+change_time TIMESTAMP NOT NULL,
+change_position BIGINT
 );
+CREATE UNIQUE INDEX reference_changes_position ON reference_changes(change_position);
 
 DROP TABLE IF EXISTS roles CASCADE;
 CREATE TABLE roles(
@@ -118,12 +167,12 @@ INSERT INTO students_to_groups (student_id, group_id) VALUES(3,1);
 INSERT INTO students_to_groups (student_id, group_id) VALUES(4,1);
 INSERT INTO students_to_groups (student_id, group_id) VALUES(5,2);
 INSERT INTO students_to_groups (student_id, group_id) VALUES(6,2);
-INSERT INTO lessons VALUES(1, '2021-10-19 10:00:00', '2021-10-19 12:00:00', false, null, 1,1,1,1); 
-INSERT INTO lessons VALUES(2, '2021-10-19 15:00:00', '2021-10-19 17:00:00', true, 'test-link', 2,2,2,2); 
-INSERT INTO lessons VALUES(3, '2021-10-19 21:00:00', '2021-10-19 22:00:00', true, 'test-link', 2,2,2,2);
-INSERT INTO lessons VALUES(4, '2021-10-2 10:00:00', '2021-10-2 12:00:00', false, null, 1,1,1,1); 
-INSERT INTO lessons VALUES(5, '2021-10-30 10:00:00', '2021-10-30 12:00:00', false, null, 1,1,1,1); 
-INSERT INTO lessons VALUES(6, '2021-12-15 21:00:00', '2021-12-15 22:00:00', false, null, 1,1,1,1); 
-INSERT INTO lessons VALUES(7, '2021-07-12 21:00:00', '2021-07-12 22:00:00', false, null, 1,1,1,1); 
-INSERT INTO lessons VALUES(8, '2021-07-21 21:00:00', '2021-12-15 22:00:00', false, null, 1,1,1,1); 
-INSERT INTO lessons VALUES(9, '2021-07-15 21:00:00', '2021-07-15 22:00:00', false, null, 1,1,2,1);
+INSERT INTO lessons VALUES(1, '2021-10-19 10:00:00', '2021-10-19 12:00:00', false, null, 1,1,1,1, null); 
+INSERT INTO lessons VALUES(2, '2021-10-19 15:00:00', '2021-10-19 17:00:00', true, 'test-link', 2,2,2,2, null); 
+INSERT INTO lessons VALUES(3, '2021-10-19 21:00:00', '2021-10-19 22:00:00', true, 'test-link', 2,2,2,2, null);
+INSERT INTO lessons VALUES(4, '2021-10-2 10:00:00', '2021-10-2 12:00:00', false, null, 1,1,1,1, null); 
+INSERT INTO lessons VALUES(5, '2021-10-30 10:00:00', '2021-10-30 12:00:00', false, null, 1,1,1,1, null); 
+INSERT INTO lessons VALUES(6, '2021-12-15 21:00:00', '2021-12-15 22:00:00', false, null, 1,1,1,1, null); 
+INSERT INTO lessons VALUES(7, '2021-07-12 21:00:00', '2021-07-12 22:00:00', false, null, 1,1,1,1, null); 
+INSERT INTO lessons VALUES(8, '2021-07-21 21:00:00', '2021-12-15 22:00:00', false, null, 1,1,1,1, null); 
+INSERT INTO lessons VALUES(9, '2021-07-15 21:00:00', '2021-07-15 22:00:00', false, null, 1,1,2,1, null);